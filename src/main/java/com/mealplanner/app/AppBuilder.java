@@ -3,6 +3,7 @@ package com.mealplanner.app;
 import com.mealplanner.interface_adapter.ViewManagerModel;
 import com.mealplanner.interface_adapter.controller.AdjustServingSizeController;
 import com.mealplanner.interface_adapter.controller.BrowseRecipeController;
+import com.mealplanner.interface_adapter.controller.BrowseSearchPipeline;
 import com.mealplanner.interface_adapter.controller.DeleteMealController;
 import com.mealplanner.interface_adapter.controller.GetRecommendationsController;
 import com.mealplanner.interface_adapter.controller.LoginController;
@@ -28,7 +29,8 @@ import com.mealplanner.interface_adapter.view_model.RecipeSearchViewModel;
 import com.mealplanner.interface_adapter.view_model.RecipeStoreViewModel;
 import com.mealplanner.interface_adapter.view_model.ScheduleViewModel;
 import com.mealplanner.interface_adapter.view_model.SignupViewModel;
-import com.mealplanner.repository.impl.FileRecipeRepository;
+import com.mealplanner.repository.RecipeRepository;
+import com.mealplanner.util.IngredientAutocomplete;
 import com.mealplanner.view.BrowseRecipeView;
 import com.mealplanner.view.DashboardView;
 import com.mealplanner.view.LoginView;
@@ -44,11 +46,17 @@ public class AppBuilder {
     private final ViewManager viewManager;
     private final ViewManagerModel viewManagerModel;
     private final RecipeDetailViewModel recipeDetailViewModel;
+    // Single recipe repository shared by every flow so the cached catalog stays consistent
+    private final RecipeRepository recipeRepository;
+    // Ingredient suggestions shared by the ingredient search and recipe editor
+    private final IngredientAutocomplete ingredientAutocomplete;
 
     public AppBuilder() {
         this.viewManagerModel = new ViewManagerModel();
         this.viewManager = new ViewManager(viewManagerModel);
         this.recipeDetailViewModel = new RecipeDetailViewModel();
+        this.recipeRepository = UseCaseFactory.createRecipeRepository();
+        this.ingredientAutocomplete = UseCaseFactory.createIngredientAutocomplete(recipeRepository);
     }
 
     public ViewManagerModel getViewManagerModel() {
@@ -78,6 +86,10 @@ public class AppBuilder {
         var deleteMealInteractor = UseCaseFactory.createDeleteMealInteractor(mealPlanPresenter, viewManagerModel);
         DeleteMealController deleteMealController = new DeleteMealController(deleteMealInteractor);
 
+        // Batch Meal Flow (Shared Presenter) - bulk slot changes with one schedule read and write
+        var batchMealInteractor = UseCaseFactory.createBatchMealInteractor(mealPlanPresenter, viewManagerModel);
+        com.mealplanner.interface_adapter.controller.BatchMealController batchMealController = new com.mealplanner.interface_adapter.controller.BatchMealController(batchMealInteractor);
+
         // Build other flows
         buildStoreRecipeFlow();
         buildBrowseRecipeFlow();
@@ -86,13 +98,10 @@ public class AppBuilder {
         buildSignupFlow(scheduleController);
         buildLoginFlow(scheduleController); // Ensure login is built
 
-        // Create shared RecipeRepository for Schedule and Dashboard
-        FileRecipeRepository recipeRepository = new FileRecipeRepository();
-
         // Build Schedule View - Create a separate RecipeBrowseViewModel for ScheduleView's auto-fill feature
         RecipeBrowseViewModel scheduleRecommendationsViewModel = new RecipeBrowseViewModel();
         GetRecommendationsPresenter scheduleRecommendationsPresenter = new GetRecommendationsPresenter(scheduleRecommendationsViewModel);
-        var scheduleRecommendationsInteractor = UseCaseFactory.createGetRecommendationsInteractor(scheduleRecommendationsPresenter);
+        var scheduleRecommendationsInteractor = UseCaseFactory.createGetRecommendationsInteractor(scheduleRecommendationsPresenter, recipeRepository);
         GetRecommendationsController scheduleRecommendationsController = new GetRecommendationsController(scheduleRecommendationsInteractor);
         
         ScheduleView scheduleView = new ScheduleView(
@@ -102,8 +111,10 @@ public class AppBuilder {
             recipeRepository, 
             scheduleRecommendationsController,  // Phase 5: Added for auto-fill
             scheduleRecommendationsViewModel,   // Phase 5: Added for auto-fill
-            addMealController,                  // Phase 6: Added for Copy Last Week
-            deleteMealController                // Added for delete meal functionality
+            addMealController,                  // Phase 6: Added for auto-fill
+            deleteMealController,               // Added for delete meal functionality
+            batchMealController,                // Copy Last Week applies all slots in one batch
+            mealPlanViewModel                   // Receives batch results
         );
         viewManager.addView(ViewManager.SCHEDULE_VIEW, scheduleView);
 
@@ -111,7 +122,7 @@ public class AppBuilder {
         // Using a separate ViewModel for DashboardView (can be shared with BrowseRecipeView in future if needed)
         RecipeBrowseViewModel recommendationsViewModel = new RecipeBrowseViewModel();
         GetRecommendationsPresenter recommendationsPresenter = new GetRecommendationsPresenter(recommendationsViewModel);
-        var recommendationsInteractor = UseCaseFactory.createGetRecommendationsInteractor(recommendationsPresenter);
+        var recommendationsInteractor = UseCaseFactory.createGetRecommendationsInteractor(recommendationsPresenter, recipeRepository);
         GetRecommendationsController recommendationsController = new GetRecommendationsController(recommendationsInteractor);
 
         // Build Dashboard View - PHASE 3: Inject GetRecommendationsController and ViewModel
@@ -144,48 +155,42 @@ public class AppBuilder {
     private void buildStoreRecipeFlow() {
         RecipeStoreViewModel viewModel = new RecipeStoreViewModel();
         StoreRecipePresenter presenter = new StoreRecipePresenter(viewModel);
-        FileRecipeRepository repository = new FileRecipeRepository();
-        var interactor = UseCaseFactory.createStoreRecipeInteractor(presenter, repository);
+        var interactor = UseCaseFactory.createStoreRecipeInteractor(presenter, recipeRepository);
         StoreRecipeController controller = new StoreRecipeController(interactor);
-        StoreRecipeView view = new StoreRecipeView(controller, viewModel, viewManagerModel, repository);
+        StoreRecipeView view = new StoreRecipeView(controller, viewModel, viewManagerModel, recipeRepository, ingredientAutocomplete);
         viewManager.addView(ViewManager.STORE_RECIPE_VIEW, view);
     }
 
     private void buildBrowseRecipeFlow() {
         RecipeBrowseViewModel viewModel = new RecipeBrowseViewModel();
         BrowseRecipePresenter presenter = new BrowseRecipePresenter(viewModel, viewManagerModel);
-        var interactor = UseCaseFactory.createBrowseRecipeInteractor(presenter);
+        // Results of searches superseded by a newer query never reach the presenter
+        BrowseSearchPipeline searchPipeline = new BrowseSearchPipeline();
+        var interactor = UseCaseFactory.createBrowseRecipeInteractor(searchPipeline.guard(presenter));
         BrowseRecipeController controller = new BrowseRecipeController(interactor);
 
         // Phase 5: GetRecommendations flow
         GetRecommendationsPresenter recommendationsPresenter = new GetRecommendationsPresenter(viewModel);
-        var recommendationsInteractor = UseCaseFactory.createGetRecommendationsInteractor(recommendationsPresenter);
+        var recommendationsInteractor = UseCaseFactory.createGetRecommendationsInteractor(recommendationsPresenter, recipeRepository);
         GetRecommendationsController recommendationsController = new GetRecommendationsController(recommendationsInteractor);
         
         // Phase 1: StoreRecipeController for bookmark functionality
         RecipeStoreViewModel storeViewModel = new RecipeStoreViewModel();
         StoreRecipePresenter storePresenter = new StoreRecipePresenter(storeViewModel);
-        FileRecipeRepository storeRepository = new FileRecipeRepository();
-        var storeInteractor = UseCaseFactory.createStoreRecipeInteractor(storePresenter, storeRepository);
+        var storeInteractor = UseCaseFactory.createStoreRecipeInteractor(storePresenter, recipeRepository);
         StoreRecipeController storeRecipeController = new StoreRecipeController(storeInteractor);
         
-        // Create RecipeRepository for local database recipes
-        FileRecipeRepository recipeRepository = new FileRecipeRepository();
-        
-        BrowseRecipeView view = new BrowseRecipeView(viewModel, controller, viewManagerModel, recipeDetailViewModel, recipeRepository, recommendationsController, storeRecipeController);
+        BrowseRecipeView view = new BrowseRecipeView(viewModel, controller, viewManagerModel, recipeDetailViewModel, recipeRepository, recommendationsController, storeRecipeController, searchPipeline);
         viewManager.addView(ViewManager.BROWSE_RECIPE_VIEW, view);
     }
 
     private void buildSearchByIngredientsFlow() {
         RecipeSearchViewModel viewModel = new RecipeSearchViewModel();
         SearchByIngredientsPresenter presenter = new SearchByIngredientsPresenter(viewModel, viewManagerModel);
-        var interactor = UseCaseFactory.createSearchByIngredientsInteractor(presenter);
+        var interactor = UseCaseFactory.createSearchByIngredientsInteractor(presenter, recipeRepository);
         SearchByIngredientsController controller = new SearchByIngredientsController(interactor);
         
-        // Create RecipeRepository for local database recipes
-        FileRecipeRepository recipeRepository = new FileRecipeRepository();
-        
-        SearchByIngredientsView view = new SearchByIngredientsView(controller, viewModel, viewManagerModel, recipeDetailViewModel, recipeRepository);
+        SearchByIngredientsView view = new SearchByIngredientsView(controller, viewModel, viewManagerModel, recipeDetailViewModel, recipeRepository, ingredientAutocomplete);
         viewManager.addView(ViewManager.SEARCH_BY_INGREDIENTS_VIEW, view);
     }
 
@@ -197,12 +202,11 @@ public class AppBuilder {
         // Phase 2: StoreRecipeController for save to cookbook functionality
         RecipeStoreViewModel storeViewModel = new RecipeStoreViewModel();
         StoreRecipePresenter storePresenter = new StoreRecipePresenter(storeViewModel);
-        FileRecipeRepository storeRepository = new FileRecipeRepository();
-        var storeInteractor = UseCaseFactory.createStoreRecipeInteractor(storePresenter, storeRepository);
+        var storeInteractor = UseCaseFactory.createStoreRecipeInteractor(storePresenter, recipeRepository);
         StoreRecipeController storeRecipeController = new StoreRecipeController(storeInteractor);
         
-        // Phase 2: RecipeRepository for duplicate checking (reuse storeRepository)
-        RecipeDetailView view = new RecipeDetailView(recipeDetailViewModel, controller, addMealController, viewManagerModel, storeRecipeController, storeRepository);
+        // Phase 2: RecipeRepository for duplicate checking (shared repository)
+        RecipeDetailView view = new RecipeDetailView(recipeDetailViewModel, controller, addMealController, viewManagerModel, storeRecipeController, recipeRepository);
         viewManager.addView(ViewManager.RECIPE_DETAIL_VIEW, view);
     }
 
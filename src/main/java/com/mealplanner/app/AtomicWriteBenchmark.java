@@ -0,0 +1,71 @@
+package com.mealplanner.app;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import com.mealplanner.util.AtomicFileWriter;
+
+/**
+ * Benchmark comparing plain writes, atomic (temp file + fsync + rename) writes and
+ * group-committed atomic writes of schedule-sized JSON files.
+ *
+ * Usage: AtomicWriteBenchmark [fileCount] [batchSize]
+ */
+public class AtomicWriteBenchmark {
+
+    private static final String SAMPLE_JSON = "{\"scheduleId\":\"%s\",\"userId\":\"user-1\",\"mealsByDate\":"
+            + "{\"2025-12-01\":{\"BREAKFAST\":\"r1\",\"LUNCH\":\"r2\",\"DINNER\":\"r3\"},"
+            + "\"2025-12-02\":{\"BREAKFAST\":\"r4\",\"LUNCH\":\"r5\",\"DINNER\":\"r6\"}}}";
+
+    public static void main(String[] args) throws IOException {
+        int fileCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        Path directory = Files.createTempDirectory("atomic-write-benchmark");
+        try {
+            System.out.println("=== Atomic write benchmark (" + fileCount + " files) ===\n");
+
+            long start = System.nanoTime();
+            for (int i = 0; i < fileCount; i++) {
+                try (FileWriter writer = new FileWriter(directory.resolve("plain-" + i + ".json").toFile())) {
+                    writer.write(String.format(SAMPLE_JSON, i));
+                }
+            }
+            report("Plain FileWriter (no fsync)", start, fileCount);
+
+            start = System.nanoTime();
+            for (int i = 0; i < fileCount; i++) {
+                AtomicFileWriter.write(directory.resolve("atomic-" + i + ".json"), String.format(SAMPLE_JSON, i));
+            }
+            report("Atomic write", start, fileCount);
+
+            start = System.nanoTime();
+            AtomicFileWriter.Batch batch = AtomicFileWriter.batch();
+            for (int i = 0; i < fileCount; i++) {
+                batch.add(directory.resolve("batch-" + i + ".json"), String.format(SAMPLE_JSON, i));
+                if (batch.size() == batchSize) {
+                    batch.commit();
+                }
+            }
+            batch.commit();
+            report("Atomic group commit (batch " + batchSize + ")", start, fileCount);
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    private static void report(String label, long startNanos, int fileCount) {
+        double micros = (System.nanoTime() - startNanos) / 1_000.0;
+        System.out.printf("%-40s %10.1f us/write%n", label, micros / fileCount);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -7,10 +7,14 @@ import javafx.scene.control.ScrollPane;
 import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.stage.Stage;
+import com.mealplanner.data_access.api.ApiRateLimiter;
 import com.mealplanner.interface_adapter.ViewManagerModel;
+import com.mealplanner.repository.impl.RecipeSearchIndex;
 import com.mealplanner.util.FontLoader;
+import com.mealplanner.util.HttpClientProvider;
 import com.mealplanner.util.ImageCacheManager;
 import com.mealplanner.util.LayoutDebugger;
+import com.mealplanner.util.TaskScheduler;
 import com.mealplanner.view.SidebarPanel;
 import com.mealplanner.view.ViewManager;
 import javafx.application.Platform;
@@ -154,6 +158,11 @@ public class Main extends Application {
             // 종료 시 캐시 정리
             primaryStage.setOnCloseRequest(event -> {
                 ImageCacheManager.getInstance().shutdown();
+                TaskScheduler.getInstance().shutdown();
+                ApiRateLimiter.getInstance().flushLedger();
+                UseCaseFactory.shutdown();
+                RecipeSearchIndex.flushAll();
+                HttpClientProvider.getInstance().shutdown();
                 Platform.exit();
                 System.exit(0);
             });
@@ -0,0 +1,159 @@
+package com.mealplanner.app;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import com.mealplanner.data_access.api.ApiResponseParser;
+import com.mealplanner.data_access.api.StreamingRecipeParser;
+import com.mealplanner.entity.Recipe;
+
+/**
+ * Benchmark comparing the org.json tree parser with the streaming parser on a complexSearch
+ * response as returned with addRecipeInformation=true and fillIngredients=true.
+ *
+ * Reports latency per response and bytes allocated per response on the benchmark thread.
+ *
+ * Usage: RecipeParsingBenchmark [recipesPerResponse] [iterations]
+ */
+public class RecipeParsingBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200;
+
+    public static void main(String[] args) throws Exception {
+        int recipeCount = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+        String response = sampleSearchResponse(recipeCount);
+        System.out.printf("=== Recipe parsing benchmark (%d recipes, %.1f KB per response, %d iterations) ===%n%n",
+                recipeCount, response.length() / 1024.0, iterations);
+
+        // Both parsers must agree before their speed is worth comparing
+        if (!parseWithTree(response).equals(parseStreaming(response))) {
+            throw new IllegalStateException("Parsers returned different recipes");
+        }
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            parseWithTree(response);
+            parseStreaming(response);
+        }
+
+        measure("org.json tree + ApiResponseParser", iterations, () -> parseWithTree(response));
+        measure("StreamingRecipeParser", iterations, () -> parseStreaming(response));
+    }
+
+    @FunctionalInterface
+    private interface Parse {
+        List<Recipe> run() throws Exception;
+    }
+
+    private static void measure(String label, int iterations, Parse parse) throws Exception {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        int recipes = 0;
+        for (int i = 0; i < iterations; i++) {
+            recipes += parse.run().size();
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / iterations;
+        long allocated = allocatedBytes() - allocatedBefore;
+        System.out.printf("%-40s %10.1f us/response %10.1f KB allocated/response (%d recipes)%n",
+                label, micros, allocated / 1024.0 / iterations, recipes / iterations);
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static List<Recipe> parseWithTree(String response) {
+        JSONArray results = new JSONObject(response).getJSONArray("results");
+        List<Recipe> recipes = new ArrayList<>();
+        for (int i = 0; i < results.length(); i++) {
+            try {
+                recipes.add(ApiResponseParser.parseRecipe(results.getJSONObject(i)));
+            } catch (Exception e) {
+                // Skipped like BrowseRecipeAPIParser did
+            }
+        }
+        return recipes;
+    }
+
+    private static List<Recipe> parseStreaming(String response) throws IOException {
+        return StreamingRecipeParser.parseSearchResults(new StringReader(response)).getRecipes();
+    }
+
+    /**
+     * Build a response shaped like Spoonacular's, including the fields the app never reads.
+     */
+    private static String sampleSearchResponse(int recipeCount) {
+        JSONArray results = new JSONArray();
+        for (int r = 0; r < recipeCount; r++) {
+            JSONObject recipe = new JSONObject();
+            recipe.put("id", 600000 + r);
+            recipe.put("title", "Sample Recipe " + r);
+            recipe.put("readyInMinutes", 20 + r % 40);
+            recipe.put("servings", 1 + r % 6);
+            recipe.put("sourceUrl", "https://example.com/recipe/" + r);
+            recipe.put("image", "https://img.spoonacular.com/recipes/" + (600000 + r) + "-312x231.jpg");
+            recipe.put("summary", "A <b>tasty</b> sample recipe. ".repeat(20));
+            recipe.put("diets", new JSONArray(List.of("gluten free", "dairy free")));
+            recipe.put("dishTypes", new JSONArray(List.of("lunch", "main course", "dinner")));
+            recipe.put("winePairing", new JSONObject().put("pairedWines", new JSONArray(List.of("merlot")))
+                    .put("pairingText", "Merlot pairs well. ".repeat(10)));
+
+            JSONArray ingredients = new JSONArray();
+            for (int i = 0; i < 12; i++) {
+                JSONObject measure = new JSONObject().put("amount", 1.5).put("unitShort", "cup").put("unitLong", "cups");
+                ingredients.put(new JSONObject()
+                        .put("id", 1000 + i)
+                        .put("name", "ingredient " + i)
+                        .put("nameClean", "ingredient " + i)
+                        .put("original", "1.5 cups ingredient " + i + ", chopped")
+                        .put("amount", 1.5)
+                        .put("unit", "cups")
+                        .put("aisle", "Produce")
+                        .put("meta", new JSONArray(List.of("chopped")))
+                        .put("measures", new JSONObject().put("us", measure).put("metric", measure)));
+            }
+            recipe.put("extendedIngredients", ingredients);
+
+            JSONArray steps = new JSONArray();
+            for (int s = 0; s < 6; s++) {
+                steps.put(new JSONObject()
+                        .put("number", s + 1)
+                        .put("step", "Do step " + (s + 1) + " carefully and wait until done.")
+                        .put("ingredients", new JSONArray().put(new JSONObject().put("id", 1000 + s).put("name", "ingredient " + s)))
+                        .put("equipment", new JSONArray().put(new JSONObject().put("id", 404784).put("name", "oven"))));
+            }
+            recipe.put("analyzedInstructions", new JSONArray().put(new JSONObject().put("name", "").put("steps", steps)));
+
+            JSONArray nutrients = new JSONArray();
+            String[] names = {"Calories", "Fat", "Saturated Fat", "Carbohydrates", "Net Carbohydrates", "Sugar",
+                    "Cholesterol", "Sodium", "Protein", "Vitamin C", "Fiber", "Iron", "Calcium", "Potassium"};
+            for (int n = 0; n < names.length; n++) {
+                nutrients.put(new JSONObject().put("name", names[n]).put("amount", 10.0 + n + r)
+                        .put("unit", "g").put("percentOfDailyNeeds", 5.5));
+            }
+            JSONArray perIngredient = new JSONArray();
+            for (int i = 0; i < 12; i++) {
+                perIngredient.put(new JSONObject().put("id", 1000 + i).put("name", "ingredient " + i)
+                        .put("amount", 1.5).put("unit", "cups").put("nutrients", nutrients));
+            }
+            recipe.put("nutrition", new JSONObject()
+                    .put("nutrients", nutrients)
+                    .put("ingredients", perIngredient)
+                    .put("caloricBreakdown", new JSONObject().put("percentProtein", 20.1).put("percentFat", 30.2)));
+            results.put(recipe);
+        }
+        return new JSONObject().put("results", results).put("offset", 0)
+                .put("number", recipeCount).put("totalResults", 5000).toString();
+    }
+}
@@ -3,14 +3,23 @@ package com.mealplanner.app;
 // Factory class for creating use case interactors with properly wired dependencies.
 // Responsible: Everyone
 
+import com.mealplanner.config.ApiConfig;
+import com.mealplanner.config.AppConfig;
 import com.mealplanner.data_access.api.EdamamApiClient;
+import com.mealplanner.data_access.api.ApiCircuitBreaker;
+import com.mealplanner.data_access.api.ApiRateLimiter;
+import com.mealplanner.data_access.api.ApiResponseDiskCache;
+import com.mealplanner.data_access.api.ApiResponseParser;
 import com.mealplanner.data_access.api.SpoonacularApiClient;
 import com.mealplanner.data_access.database.AdjustServingSizeDataAccessObject;
 import com.mealplanner.data_access.database.BrowseRecipeAPIParser;
+import com.mealplanner.data_access.database.LocalPantrySearchDataAccessObject;
+import com.mealplanner.data_access.database.LocalRecipeCatalog;
 import com.mealplanner.data_access.database.FileScheduleDataAccessObject;
 import com.mealplanner.data_access.database.FileUserDataAccessObject;
 import com.mealplanner.data_access.database.SearchByIngredientsDataAccessObject;
 import com.mealplanner.interface_adapter.ViewManagerModel;
+import com.mealplanner.repository.DataChangeListener;
 import com.mealplanner.repository.RecipeRepository;
 import com.mealplanner.use_case.adjust_serving_size.AdjustServingSizeDataAccessInterface;
 import com.mealplanner.use_case.adjust_serving_size.AdjustServingSizeInputBoundary;
@@ -27,6 +36,10 @@ import com.mealplanner.use_case.signup.SignupOutputBoundary;
 import com.mealplanner.use_case.manage_meal_plan.add.AddMealDataAccessInterface;
 import com.mealplanner.use_case.manage_meal_plan.add.AddMealInputBoundary;
 import com.mealplanner.use_case.manage_meal_plan.add.AddMealOutputBoundary;
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealDataAccessInterface;
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealInputBoundary;
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealInteractor;
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealOutputBoundary;
 import com.mealplanner.use_case.manage_meal_plan.delete.DeleteMealDataAccessInterface;
 import com.mealplanner.use_case.manage_meal_plan.delete.DeleteMealInputBoundary;
 import com.mealplanner.use_case.manage_meal_plan.delete.DeleteMealOutputBoundary;
@@ -50,11 +63,26 @@ import com.mealplanner.use_case.update_nutrition_goals.UpdateNutritionGoalsInput
 import com.mealplanner.use_case.update_nutrition_goals.UpdateNutritionGoalsOutputBoundary;
 import com.mealplanner.repository.UserRepository;
 import com.mealplanner.repository.impl.FileUserRepository;
+import com.mealplanner.repository.impl.CachingRecipeRepository;
+import com.mealplanner.repository.impl.DataDirectoryWatcher;
 import com.mealplanner.repository.impl.FileRecipeRepository;
+import com.mealplanner.util.HttpClientProvider;
+import com.mealplanner.util.IngredientAutocomplete;
+import com.mealplanner.util.TaskScheduler;
 import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
 
 public class UseCaseFactory {
 
+    private static final Logger logger = LoggerFactory.getLogger(UseCaseFactory.class);
+
+    private static SpoonacularApiClient spoonacularApiClient;
+    private static RecipeRepository sharedRecipeRepository;
+    private static DataDirectoryWatcher recipeWatcher;
+
     // Private constructor to prevent instantiation
     private UseCaseFactory() {
         throw new AssertionError("UseCaseFactory should not be instantiated");
@@ -63,36 +91,120 @@ public class UseCaseFactory {
     // ========== 공통 인스턴스 생성 메서드 ==========
 
     /**
-     * Creates a new OkHttpClient instance.
+     * Returns the shared OkHttpClient. All HTTP clients share its connection pool.
      */
     public static OkHttpClient createOkHttpClient() {
-        return new OkHttpClient();
+        return HttpClientProvider.getInstance().getClient();
     }
 
     /**
-     * Creates a SpoonacularApiClient instance.
+     * Returns the SpoonacularApiClient shared by all use cases, created on first use.
+     * Sharing one client lets every view reuse its response cache, and identical requests
+     * made at the same time (e.g. recommendations at startup) share one HTTP call.
      */
-    public static SpoonacularApiClient createSpoonacularApiClient() {
-        OkHttpClient client = createOkHttpClient();
-        return new SpoonacularApiClient(client);
+    public static synchronized SpoonacularApiClient createSpoonacularApiClient() {
+        if (spoonacularApiClient == null) {
+            OkHttpClient client = HttpClientProvider.getInstance().forSpoonacular();
+            ApiResponseDiskCache diskCache = AppConfig.isApiDiskCacheEnabled() ? ApiResponseDiskCache.getInstance() : null;
+            spoonacularApiClient = new SpoonacularApiClient(client, diskCache, ApiRateLimiter.getInstance(),
+                    ApiCircuitBreaker.getInstance());
+        }
+        return spoonacularApiClient;
     }
 
     /**
      * Creates an EdamamApiClient instance.
      */
     public static EdamamApiClient createEdamamApiClient() {
-        OkHttpClient client = createOkHttpClient();
+        OkHttpClient client = HttpClientProvider.getInstance().forEdamam();
         return new EdamamApiClient(client);
     }
 
+    /**
+     * Returns the RecipeRepository shared by all use cases, created on first use.
+     * It is a write-through caching repository over the recipe files when recipe caching is
+     * enabled, kept up to date by a single watcher on the recipe directory, so every view
+     * sees the same cached catalog and its change notifications.
+     */
+    public static synchronized RecipeRepository createRecipeRepository() {
+        if (sharedRecipeRepository == null) {
+            if (!AppConfig.isRecipeCacheEnabled()) {
+                sharedRecipeRepository = new FileRecipeRepository();
+            } else {
+                CachingRecipeRepository repository =
+                        new CachingRecipeRepository(new FileRecipeRepository(), AppConfig.getRecipeCacheMaxSize());
+                recipeWatcher = createDataDirectoryWatcher(AppConfig.getRecipeDataPath(), repository);
+                sharedRecipeRepository = repository;
+            }
+        }
+        return sharedRecipeRepository;
+    }
+
+    /**
+     * Stops the watcher of the shared recipe repository (called at application shutdown).
+     */
+    public static synchronized void shutdown() {
+        if (recipeWatcher != null) {
+            recipeWatcher.close();
+            recipeWatcher = null;
+        }
+    }
+
+    /**
+     * Creates the ingredient autocomplete over the given repository's recipes.
+     * The saved recipes and the ingredient names in cached API responses are indexed
+     * in the background, so suggestions fill in shortly after startup.
+     */
+    public static IngredientAutocomplete createIngredientAutocomplete(RecipeRepository recipeRepository) {
+        IngredientAutocomplete autocomplete = new IngredientAutocomplete(recipeRepository);
+        TaskScheduler.getInstance().submit("ingredient-autocomplete-load", TaskScheduler.Priority.NORMAL, () -> {
+            autocomplete.load();
+            if (AppConfig.isApiDiskCacheEnabled()) {
+                ApiResponseDiskCache.getInstance().forEachResponse(
+                        body -> autocomplete.addNames(ApiResponseParser.parseIngredientNames(body)));
+            }
+            logger.info("Ingredient autocomplete ready with {} names", autocomplete.size());
+        });
+        return autocomplete;
+    }
+
+    /**
+     * Creates and starts a watcher that reports changes in a data directory to the given listener.
+     * Returns null when watching is disabled or the platform does not support it
+     * (the listener then only sees in-process writes).
+     */
+    public static DataDirectoryWatcher createDataDirectoryWatcher(String directory, DataChangeListener listener) {
+        if (!AppConfig.isDataWatchEnabled()) {
+            return null;
+        }
+        DataDirectoryWatcher watcher = new DataDirectoryWatcher(
+                directory, AppConfig.getDataFileExtension(), AppConfig.getDataWatchDebounceMillis());
+        watcher.addListener(listener);
+        try {
+            watcher.start();
+            return watcher;
+        } catch (IOException e) {
+            logger.warn("Could not watch data directory {}: {}", directory, e.getMessage());
+            return null;
+        }
+    }
+
     // ========== DataAccessObject 생성 메서드 ==========
 
+    /**
+     * Creates the catalog of local recipes searched while Spoonacular is unavailable.
+     */
+    public static LocalRecipeCatalog createOfflineRecipeCatalog() {
+        return new LocalRecipeCatalog(createRecipeRepository());
+    }
+
     /**
      * Creates a BrowseRecipeDataAccessInterface instance.
+     * Searches fall back to the local recipes while the Spoonacular circuit breaker is open.
      */
     public static BrowseRecipeDataAccessInterface createBrowseRecipeDataAccess() {
         SpoonacularApiClient apiClient = createSpoonacularApiClient();
-        return new BrowseRecipeAPIParser(apiClient);
+        return new BrowseRecipeAPIParser(apiClient, createOfflineRecipeCatalog());
     }
 
     /**
@@ -109,10 +221,23 @@ public class UseCaseFactory {
 
     /**
      * Creates a SearchByIngredientsDataAccessInterface instance.
+     * Searches fall back to the local recipes while the Spoonacular circuit breaker is open.
      */
     public static SearchByIngredientsDataAccessInterface createSearchByIngredientsDataAccess() {
+        return createSearchByIngredientsDataAccess(createRecipeRepository());
+    }
+
+    /**
+     * Creates a SearchByIngredientsDataAccessInterface matching against the given repository's
+     * recipes, in the configured search.ingredients.mode.
+     */
+    public static SearchByIngredientsDataAccessInterface createSearchByIngredientsDataAccess(RecipeRepository recipeRepository) {
         SpoonacularApiClient apiClient = createSpoonacularApiClient();
-        return new SearchByIngredientsDataAccessObject(apiClient);
+        LocalPantrySearchDataAccessObject localProvider =
+                new LocalPantrySearchDataAccessObject(recipeRepository, ApiConfig.getSpoonacularMaxResults());
+        SearchByIngredientsDataAccessObject.Mode mode =
+                SearchByIngredientsDataAccessObject.Mode.fromName(AppConfig.getIngredientSearchMode());
+        return new SearchByIngredientsDataAccessObject(apiClient, localProvider, mode);
     }
 
     // ========== Interactor 생성 메서드 ==========
@@ -151,10 +276,20 @@ public class UseCaseFactory {
      * Creates a SearchByIngredientsInteractor with properly wired dependencies.
      */
     public static SearchByIngredientsInputBoundary createSearchByIngredientsInteractor(SearchByIngredientsOutputBoundary presenter) {
+        return createSearchByIngredientsInteractor(presenter, createRecipeRepository());
+    }
+
+    /**
+     * Creates a SearchByIngredientsInteractor that matches saved recipes through the given repository.
+     */
+    public static SearchByIngredientsInputBoundary createSearchByIngredientsInteractor(SearchByIngredientsOutputBoundary presenter, RecipeRepository recipeRepository) {
         if (presenter == null) {
             throw new IllegalArgumentException("Presenter cannot be null");
         }
-        SearchByIngredientsDataAccessInterface dataAccess = createSearchByIngredientsDataAccess();
+        if (recipeRepository == null) {
+            throw new IllegalArgumentException("Repository cannot be null");
+        }
+        SearchByIngredientsDataAccessInterface dataAccess = createSearchByIngredientsDataAccess(recipeRepository);
         return new com.mealplanner.use_case.search_by_ingredients.SearchByIngredientsInteractor(dataAccess, presenter);
     }
 
@@ -235,17 +370,40 @@ public class UseCaseFactory {
         return new com.mealplanner.use_case.manage_meal_plan.delete.DeleteMealInteractor(dataAccess, presenter);
     }
 
+    /**
+     * Creates a BatchMealInteractor with properly wired dependencies.
+     */
+    public static BatchMealInputBoundary createBatchMealInteractor(BatchMealOutputBoundary presenter, ViewManagerModel viewManagerModel) {
+        if (presenter == null) {
+            throw new IllegalArgumentException("Presenter cannot be null");
+        }
+        if (viewManagerModel == null) {
+            throw new IllegalArgumentException("ViewManagerModel cannot be null");
+        }
+        BatchMealDataAccessInterface dataAccess = new FileScheduleDataAccessObject(new FileUserDataAccessObject(), viewManagerModel);
+        return new BatchMealInteractor(dataAccess, presenter);
+    }
+
     /**
      * Creates a GetRecommendationsInteractor with properly wired dependencies.
      */
     public static GetRecommendationsInputBoundary createGetRecommendationsInteractor(GetRecommendationsOutputBoundary presenter) {
+        return createGetRecommendationsInteractor(presenter, createRecipeRepository());
+    }
+
+    /**
+     * Creates a GetRecommendationsInteractor that reads saved recipes through the given repository.
+     */
+    public static GetRecommendationsInputBoundary createGetRecommendationsInteractor(GetRecommendationsOutputBoundary presenter, RecipeRepository recipeRepository) {
         if (presenter == null) {
             throw new IllegalArgumentException("Presenter cannot be null");
         }
+        if (recipeRepository == null) {
+            throw new IllegalArgumentException("Repository cannot be null");
+        }
         SpoonacularApiClient apiClient = createSpoonacularApiClient();
         UserRepository userRepository = new FileUserRepository("data/users");
-        RecipeRepository recipeRepository = new FileRecipeRepository();
-        GetRecommendationsDataAccessInterface dataAccess = new com.mealplanner.data_access.database.FileRecipeDataAccessObject(userRepository, recipeRepository);
+        GetRecommendationsDataAccessInterface dataAccess = new com.mealplanner.data_access.database.FileRecipeDataAccessObject(userRepository, recipeRepository, apiClient);
         return new com.mealplanner.use_case.get_recommendations.GetRecommendationsInteractor(dataAccess, apiClient, presenter);
     }
 
@@ -41,6 +41,15 @@ public class ApiConfig {
         return ConfigLoader.getIntProperty("spoonacular.max.results", 10);
     }
 
+    /**
+     * Gets how many recipes are requested per call to the bulk information endpoint.
+     *
+     * @return recipes per bulk request (default: 50)
+     */
+    public static int getSpoonacularBulkChunkSize() {
+        return ConfigLoader.getIntProperty("spoonacular.bulk.chunk.size", 50);
+    }
+
     /**
      * Gets the timeout in seconds for Spoonacular API calls.
      *
@@ -60,6 +69,192 @@ public class ApiConfig {
         return apiKey != null && !apiKey.trim().isEmpty();
     }
 
+    /**
+     * Gets the number of Spoonacular requests allowed per minute on average.
+     *
+     * @return requests per minute (default: 60)
+     */
+    public static int getSpoonacularRequestsPerMinute() {
+        return ConfigLoader.getIntProperty("spoonacular.rate.per.minute", 60);
+    }
+
+    /**
+     * Gets the number of Spoonacular requests that may be sent back to back.
+     *
+     * @return burst size (default: 5)
+     */
+    public static int getSpoonacularBurst() {
+        return ConfigLoader.getIntProperty("spoonacular.rate.burst", 5);
+    }
+
+    /**
+     * Gets the daily Spoonacular quota in points.
+     *
+     * @return points per day (default: 150, the free plan)
+     */
+    public static int getSpoonacularDailyPoints() {
+        return ConfigLoader.getIntProperty("spoonacular.quota.daily.points", 150);
+    }
+
+    /**
+     * Gets the number of daily points kept for user-initiated requests.
+     * Background prefetches are refused once fewer points remain.
+     *
+     * @return reserved points (default: 30)
+     */
+    public static int getSpoonacularPrefetchReserve() {
+        return ConfigLoader.getIntProperty("spoonacular.quota.prefetch.reserve", 30);
+    }
+
+    /**
+     * Gets how long a request may wait for the rate limiter before failing.
+     *
+     * @return max wait in seconds (default: 10)
+     */
+    public static int getSpoonacularMaxWaitSeconds() {
+        return ConfigLoader.getIntProperty("spoonacular.rate.max.wait.seconds", 10);
+    }
+
+    /**
+     * Gets the file recording the Spoonacular points used today.
+     *
+     * @return ledger file path (default: "data/cache/spoonacular-quota.json")
+     */
+    public static String getSpoonacularQuotaLedgerPath() {
+        return ConfigLoader.getProperty("spoonacular.quota.ledger.path", "data/cache/spoonacular-quota.json");
+    }
+
+    // Spoonacular circuit breaker
+
+    /**
+     * Gets how many recent calls the circuit breaker's failure and slow-call rates cover.
+     *
+     * @return window size in calls (default: 20)
+     */
+    public static int getCircuitWindowSize() {
+        return ConfigLoader.getIntProperty("spoonacular.circuit.window.size", 20);
+    }
+
+    /**
+     * Gets how many calls the window needs before the circuit breaker may open.
+     *
+     * @return minimum calls (default: 5)
+     */
+    public static int getCircuitMinimumCalls() {
+        return ConfigLoader.getIntProperty("spoonacular.circuit.minimum.calls", 5);
+    }
+
+    /**
+     * Gets the share of failed calls that opens the circuit breaker.
+     *
+     * @return failure rate between 0 and 1 (default: 0.5)
+     */
+    public static double getCircuitFailureRateThreshold() {
+        return ConfigLoader.getDoubleProperty("spoonacular.circuit.failure.rate", 0.5);
+    }
+
+    /**
+     * Gets how long a call may take before the circuit breaker counts it as slow.
+     *
+     * @return slow call threshold in milliseconds (default: 8000)
+     */
+    public static long getCircuitSlowCallMillis() {
+        return ConfigLoader.getIntProperty("spoonacular.circuit.slow.call.ms", 8000);
+    }
+
+    /**
+     * Gets the share of slow calls that opens the circuit breaker.
+     *
+     * @return slow call rate between 0 and 1 (default: 0.8)
+     */
+    public static double getCircuitSlowCallRateThreshold() {
+        return ConfigLoader.getDoubleProperty("spoonacular.circuit.slow.call.rate", 0.8);
+    }
+
+    /**
+     * Gets how long the open circuit breaker refuses calls before probing the API again.
+     *
+     * @return open interval in seconds (default: 30)
+     */
+    public static int getCircuitOpenSeconds() {
+        return ConfigLoader.getIntProperty("spoonacular.circuit.open.seconds", 30);
+    }
+
+    /**
+     * Gets how many successful probes close a half-open circuit breaker.
+     *
+     * @return probe count (default: 2)
+     */
+    public static int getCircuitHalfOpenProbes() {
+        return ConfigLoader.getIntProperty("spoonacular.circuit.halfopen.probes", 2);
+    }
+
+    // Spoonacular stand-in server (local replay of recorded responses)
+
+    /**
+     * Gets the port the Spoonacular stand-in server listens on.
+     *
+     * @return port (default: 8089)
+     */
+    public static int getStandInPort() {
+        return ConfigLoader.getIntProperty("spoonacular.standin.port", 8089);
+    }
+
+    /**
+     * Gets the directory holding the stand-in server's recorded responses.
+     *
+     * @return fixture directory (default: "data/fixtures/spoonacular")
+     */
+    public static String getStandInFixturesPath() {
+        return ConfigLoader.getProperty("spoonacular.standin.fixtures.path", "data/fixtures/spoonacular");
+    }
+
+    /**
+     * Gets the latency the stand-in server adds to every response.
+     *
+     * @return latency in milliseconds (default: 0)
+     */
+    public static int getStandInLatencyMillis() {
+        return ConfigLoader.getIntProperty("spoonacular.standin.latency.ms", 0);
+    }
+
+    /**
+     * Gets the random extra latency, up to this many milliseconds, added to every response.
+     *
+     * @return jitter in milliseconds (default: 0)
+     */
+    public static int getStandInLatencyJitterMillis() {
+        return ConfigLoader.getIntProperty("spoonacular.standin.latency.jitter.ms", 0);
+    }
+
+    /**
+     * Gets the fraction of requests the stand-in server fails with a 500.
+     *
+     * @return error rate between 0 and 1 (default: 0)
+     */
+    public static double getStandInErrorRate() {
+        return ConfigLoader.getDoubleProperty("spoonacular.standin.error.rate", 0.0);
+    }
+
+    /**
+     * Gets the fraction of requests the stand-in server answers with a 429.
+     *
+     * @return rate limit rate between 0 and 1 (default: 0)
+     */
+    public static double getStandInRateLimitRate() {
+        return ConfigLoader.getDoubleProperty("spoonacular.standin.ratelimit.rate", 0.0);
+    }
+
+    /**
+     * Gets the API the stand-in server forwards to and records from, if recording.
+     *
+     * @return upstream base URL, or null to replay fixtures only (default: null)
+     */
+    public static String getStandInRecordUpstream() {
+        String upstream = ConfigLoader.getProperty("spoonacular.standin.record.upstream");
+        return upstream == null || upstream.trim().isEmpty() ? null : upstream.trim();
+    }
+
     // Edamam API Configuration
 
     /**
@@ -79,6 +79,24 @@ public class AppConfig {
         return ConfigLoader.getProperty("data.file.extension", ".json");
     }
 
+    /**
+     * Checks if data directories are watched for changes made outside the application.
+     *
+     * @return true if directory watching is enabled (default: true)
+     */
+    public static boolean isDataWatchEnabled() {
+        return ConfigLoader.getBooleanProperty("data.watch.enabled", true);
+    }
+
+    /**
+     * Gets the quiet period used to coalesce bursts of file change events.
+     *
+     * @return debounce interval in milliseconds (default: 300)
+     */
+    public static int getDataWatchDebounceMillis() {
+        return ConfigLoader.getIntProperty("data.watch.debounce.ms", 300);
+    }
+
     // Cache Configuration
 
     /**
@@ -108,6 +126,144 @@ public class AppConfig {
         return ConfigLoader.getIntProperty("cache.max.size", 100);
     }
 
+    /**
+     * Checks if API responses are also cached on disk across restarts.
+     *
+     * @return true if the disk cache is enabled (default: true)
+     */
+    public static boolean isApiDiskCacheEnabled() {
+        return ConfigLoader.getBooleanProperty("cache.api.enabled", true);
+    }
+
+    /**
+     * Gets the directory holding cached API responses.
+     *
+     * @return cache directory path (default: "data/cache/api")
+     */
+    public static String getApiCachePath() {
+        return ConfigLoader.getProperty("cache.api.path", "data/cache/api");
+    }
+
+    /**
+     * Gets the size budget of the API response disk cache.
+     * Least recently used responses are evicted beyond it.
+     *
+     * @return max cache size in bytes (default: 50 MB)
+     */
+    public static long getApiCacheMaxBytes() {
+        return ConfigLoader.getIntProperty("cache.api.max.mb", 50) * 1024L * 1024L;
+    }
+
+    /**
+     * Gets how long responses of one API endpoint stay in the disk cache.
+     *
+     * @param endpoint       Endpoint name used in the property key, e.g. "recipe"
+     * @param defaultMinutes Value used when cache.api.ttl.{endpoint}.minutes is not set
+     * @return time-to-live in minutes
+     */
+    public static int getApiCacheTtlMinutes(String endpoint, int defaultMinutes) {
+        return ConfigLoader.getIntProperty("cache.api.ttl." + endpoint + ".minutes", defaultMinutes);
+    }
+
+    /**
+     * Checks if the in-memory recipe catalog cache is enabled.
+     *
+     * @return true if recipe caching is enabled (default: true)
+     */
+    public static boolean isRecipeCacheEnabled() {
+        return ConfigLoader.getBooleanProperty("cache.recipes.enabled", true);
+    }
+
+    /**
+     * Gets the maximum number of recipes kept in the in-memory recipe cache.
+     *
+     * @return max cached recipes (default: 1000)
+     */
+    public static int getRecipeCacheMaxSize() {
+        return ConfigLoader.getIntProperty("cache.recipes.max.size", 1000);
+    }
+
+    // Background Task Configuration
+
+    /**
+     * Gets the number of worker threads shared by all background tasks.
+     *
+     * @return worker pool size (default: 4)
+     */
+    public static int getTaskPoolSize() {
+        return ConfigLoader.getIntProperty("tasks.pool.size", 4);
+    }
+
+    /**
+     * Gets the maximum number of background tasks waiting for a worker.
+     * Further submissions are rejected until the queue drains.
+     *
+     * @return max queued tasks (default: 200)
+     */
+    public static int getTaskQueueCapacity() {
+        return ConfigLoader.getIntProperty("tasks.queue.capacity", 200);
+    }
+
+    // HTTP Configuration
+
+    /**
+     * Gets the number of idle HTTP connections kept for reuse.
+     *
+     * @return max idle connections (default: 8)
+     */
+    public static int getHttpPoolMaxIdle() {
+        return ConfigLoader.getIntProperty("http.pool.max.idle", 8);
+    }
+
+    /**
+     * Gets how long an idle HTTP connection is kept alive.
+     *
+     * @return keep-alive in seconds (default: 300)
+     */
+    public static int getHttpKeepAliveSeconds() {
+        return ConfigLoader.getIntProperty("http.pool.keepalive.seconds", 300);
+    }
+
+    /**
+     * Gets the number of concurrent HTTP calls allowed to one host.
+     *
+     * @return max calls per host (default: 4)
+     */
+    public static int getHttpMaxRequestsPerHost() {
+        return ConfigLoader.getIntProperty("http.max.requests.per.host", 4);
+    }
+
+    /**
+     * Gets the HTTP connect timeout.
+     *
+     * @return timeout in seconds (default: 10)
+     */
+    public static int getHttpConnectTimeoutSeconds() {
+        return ConfigLoader.getIntProperty("http.connect.timeout.seconds", 10);
+    }
+
+    /**
+     * Gets the timeout for downloading one recipe image.
+     *
+     * @return timeout in seconds (default: 20)
+     */
+    public static int getHttpImageTimeoutSeconds() {
+        return ConfigLoader.getIntProperty("http.images.timeout.seconds", 20);
+    }
+
+    // Search Configuration
+
+    /**
+     * Gets where ingredient searches are answered from: "api" (Spoonacular, saved recipes
+     * while it is unavailable), "local" (saved recipes only) or "hybrid" (saved recipes first,
+     * topped up from Spoonacular).
+     *
+     * @return ingredient search mode (default: hybrid)
+     */
+    public static String getIngredientSearchMode() {
+        return ConfigLoader.getProperty("search.ingredients.mode", "hybrid");
+    }
+
     // UI Configuration
 
     /**
@@ -182,6 +182,31 @@ public class ConfigLoader {
         }
     }
 
+    /**
+     * Gets a configuration property as a double.
+     *
+     * @param key the property key
+     * @param defaultValue the default value if property not found or not a valid number
+     * @return the property value as double, or defaultValue if not found/invalid
+     */
+    public static double getDoubleProperty(String key, double defaultValue) {
+        if (key == null) {
+            return defaultValue;
+        }
+        if (!initialized) {
+            initialize();
+        }
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     /**
      * Gets a configuration property as a boolean.
      *
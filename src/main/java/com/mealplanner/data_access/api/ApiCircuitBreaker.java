@@ -0,0 +1,351 @@
+package com.mealplanner.data_access.api;
+
+// Circuit breaker that stops calling Spoonacular while it is failing or too slow.
+// Responsible: Everyone (API integration shared responsibility)
+
+import com.mealplanner.config.ApiConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+
+/**
+ * Circuit breaker over the outcomes of recent API calls.
+ *
+ * CLOSED: calls go through and their outcomes are kept in a window of the last calls. Once the
+ * window holds enough calls and the share of failures or of slow calls reaches its threshold,
+ * the breaker opens.
+ *
+ * OPEN: calls are refused at once with a {@link CircuitOpenException}, so callers can answer
+ * from local data instead of waiting for a timeout. After the open interval the breaker goes
+ * half-open.
+ *
+ * HALF_OPEN: a few probe calls are let through. If they all succeed quickly the breaker closes
+ * with an empty window; a failed or slow probe opens it again.
+ *
+ * Failures are network errors and 5xx responses; other responses (e.g. 401 or 429) say the
+ * service is up and count as successes.
+ */
+public class ApiCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiCircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static ApiCircuitBreaker instance;
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallMillis;
+    private final double slowCallRateThreshold;
+    private final long openMillis;
+    private final int halfOpenProbes;
+    private final Clock clock;
+
+    // Ring buffer of the last outcomes while closed
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int next = 0;
+    private int buffered = 0;
+    private int failures = 0;
+    private int slow = 0;
+
+    private State state = State.CLOSED;
+    private long stateSince;
+    private int probesInFlight = 0;
+    private int probeSuccesses = 0;
+
+    private long successfulCalls = 0;
+    private long failedCallsTotal = 0;
+    private long slowCallsTotal = 0;
+    private long rejectedCalls = 0;
+    private long timesOpened = 0;
+
+    /**
+     * Get the breaker shared by all Spoonacular clients, configured from application.properties.
+     */
+    public static synchronized ApiCircuitBreaker getInstance() {
+        if (instance == null) {
+            instance = new ApiCircuitBreaker(
+                    ApiConfig.getCircuitWindowSize(),
+                    ApiConfig.getCircuitMinimumCalls(),
+                    ApiConfig.getCircuitFailureRateThreshold(),
+                    ApiConfig.getCircuitSlowCallMillis(),
+                    ApiConfig.getCircuitSlowCallRateThreshold(),
+                    ApiConfig.getCircuitOpenSeconds() * 1000L,
+                    ApiConfig.getCircuitHalfOpenProbes(),
+                    Clock.systemUTC());
+        }
+        return instance;
+    }
+
+    /**
+     * @param windowSize            Number of recent calls the rates are computed over
+     * @param minimumCalls          Calls needed in the window before the breaker may open
+     * @param failureRateThreshold  Share of failed calls (0-1) that opens the breaker
+     * @param slowCallMillis        Calls taking at least this long count as slow
+     * @param slowCallRateThreshold Share of slow calls (0-1) that opens the breaker
+     * @param openMillis            How long calls are refused before probing again
+     * @param halfOpenProbes        Successful probes needed to close the breaker
+     * @param clock                 Time source
+     */
+    public ApiCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long slowCallMillis,
+                             double slowCallRateThreshold, long openMillis, int halfOpenProbes, Clock clock) {
+        if (windowSize <= 0 || halfOpenProbes <= 0) {
+            throw new IllegalArgumentException("Window size and half-open probes must be positive");
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallMillis = slowCallMillis;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openMillis = Math.max(0, openMillis);
+        this.halfOpenProbes = halfOpenProbes;
+        this.clock = clock;
+        this.failedCalls = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+        this.stateSince = clock.millis();
+    }
+
+    /**
+     * Ask to make one call. Every granted permission must be followed by exactly one of
+     * {@link #onSuccess}, {@link #onFailure} or {@link #releasePermission}.
+     *
+     * @throws CircuitOpenException if the breaker is open, or half-open with all probes taken
+     */
+    public synchronized void acquirePermission() throws CircuitOpenException {
+        if (state == State.OPEN && clock.millis() - stateSince >= openMillis) {
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.CLOSED) {
+            return;
+        }
+        if (state == State.HALF_OPEN && probesInFlight + probeSuccesses < halfOpenProbes) {
+            probesInFlight++;
+            return;
+        }
+        rejectedCalls++;
+        throw new CircuitOpenException(getRemainingOpenMillis());
+    }
+
+    /**
+     * @return whether a call made now would be let through, without taking a permission
+     */
+    public synchronized boolean isCallPermitted() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                return clock.millis() - stateSince >= openMillis;
+            default:
+                return probesInFlight + probeSuccesses < halfOpenProbes;
+        }
+    }
+
+    /**
+     * Record a call that reached the service.
+     *
+     * @param elapsedMillis How long the call took
+     */
+    public synchronized void onSuccess(long elapsedMillis) {
+        successfulCalls++;
+        record(false, elapsedMillis);
+    }
+
+    /**
+     * Record a call that failed with a network error or a 5xx response.
+     *
+     * @param elapsedMillis How long the call took before failing
+     */
+    public synchronized void onFailure(long elapsedMillis) {
+        failedCallsTotal++;
+        record(true, elapsedMillis);
+    }
+
+    /**
+     * Give back a permission whose call was never made or was cancelled by the caller.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    private void record(boolean failed, long elapsedMillis) {
+        boolean isSlow = elapsedMillis >= slowCallMillis;
+        if (isSlow) {
+            slowCallsTotal++;
+        }
+        switch (state) {
+            case CLOSED:
+                addToWindow(failed, isSlow);
+                if (buffered >= minimumCalls
+                        && (failures >= failureRateThreshold * buffered || slow >= slowCallRateThreshold * buffered)) {
+                    logger.warn("Spoonacular circuit opened: {} of {} recent calls failed, {} slow",
+                            failures, buffered, slow);
+                    transitionTo(State.OPEN);
+                }
+                break;
+            case HALF_OPEN:
+                if (probesInFlight > 0) {
+                    probesInFlight--;
+                }
+                if (failed || isSlow) {
+                    logger.warn("Spoonacular probe {}; circuit opened again", failed ? "failed" : "was slow");
+                    transitionTo(State.OPEN);
+                } else if (++probeSuccesses >= halfOpenProbes) {
+                    logger.info("Spoonacular circuit closed after {} successful probes", probeSuccesses);
+                    transitionTo(State.CLOSED);
+                }
+                break;
+            default:
+                // A call started before the breaker opened; it says nothing about the probes
+                break;
+        }
+    }
+
+    private void addToWindow(boolean failed, boolean isSlow) {
+        if (buffered == windowSize) {
+            failures -= failedCalls[next] ? 1 : 0;
+            slow -= slowCalls[next] ? 1 : 0;
+        } else {
+            buffered++;
+        }
+        failedCalls[next] = failed;
+        slowCalls[next] = isSlow;
+        failures += failed ? 1 : 0;
+        slow += isSlow ? 1 : 0;
+        next = (next + 1) % windowSize;
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        stateSince = clock.millis();
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (newState == State.OPEN) {
+            timesOpened++;
+        }
+        if (newState == State.CLOSED) {
+            next = 0;
+            buffered = 0;
+            failures = 0;
+            slow = 0;
+        }
+    }
+
+    private long getRemainingOpenMillis() {
+        return state == State.OPEN ? Math.max(0, openMillis - (clock.millis() - stateSince)) : 0;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(state, clock.millis() - stateSince, getRemainingOpenMillis(),
+                buffered == 0 ? 0 : (double) failures / buffered,
+                buffered == 0 ? 0 : (double) slow / buffered,
+                buffered, successfulCalls, failedCallsTotal, slowCallsTotal, rejectedCalls, timesOpened);
+    }
+
+    /**
+     * Snapshot of the breaker state and counters.
+     */
+    public static class Stats {
+        private final State state;
+        private final long millisInState;
+        private final long remainingOpenMillis;
+        private final double failureRate;
+        private final double slowCallRate;
+        private final int bufferedCalls;
+        private final long successfulCalls;
+        private final long failedCalls;
+        private final long slowCalls;
+        private final long rejectedCalls;
+        private final long timesOpened;
+
+        Stats(State state, long millisInState, long remainingOpenMillis, double failureRate, double slowCallRate,
+              int bufferedCalls, long successfulCalls, long failedCalls, long slowCalls, long rejectedCalls,
+              long timesOpened) {
+            this.state = state;
+            this.millisInState = millisInState;
+            this.remainingOpenMillis = remainingOpenMillis;
+            this.failureRate = failureRate;
+            this.slowCallRate = slowCallRate;
+            this.bufferedCalls = bufferedCalls;
+            this.successfulCalls = successfulCalls;
+            this.failedCalls = failedCalls;
+            this.slowCalls = slowCalls;
+            this.rejectedCalls = rejectedCalls;
+            this.timesOpened = timesOpened;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public long getMillisInState() {
+            return millisInState;
+        }
+
+        /**
+         * @return time until the breaker lets a probe through, or 0 unless open
+         */
+        public long getRemainingOpenMillis() {
+            return remainingOpenMillis;
+        }
+
+        /**
+         * @return share of failed calls in the current window
+         */
+        public double getFailureRate() {
+            return failureRate;
+        }
+
+        /**
+         * @return share of slow calls in the current window
+         */
+        public double getSlowCallRate() {
+            return slowCallRate;
+        }
+
+        public int getBufferedCalls() {
+            return bufferedCalls;
+        }
+
+        public long getSuccessfulCalls() {
+            return successfulCalls;
+        }
+
+        public long getFailedCalls() {
+            return failedCalls;
+        }
+
+        public long getSlowCalls() {
+            return slowCalls;
+        }
+
+        /**
+         * @return calls refused without reaching the service
+         */
+        public long getRejectedCalls() {
+            return rejectedCalls;
+        }
+
+        public long getTimesOpened() {
+            return timesOpened;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Circuit %s for %d ms: %.0f%% failed, %.0f%% slow of %d calls; "
+                            + "%d ok, %d failed, %d slow, %d rejected, opened %d times",
+                    state, millisInState, failureRate * 100, slowCallRate * 100, bufferedCalls,
+                    successfulCalls, failedCalls, slowCalls, rejectedCalls, timesOpened);
+        }
+    }
+}
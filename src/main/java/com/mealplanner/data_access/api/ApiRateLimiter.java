@@ -0,0 +1,460 @@
+package com.mealplanner.data_access.api;
+
+// Client-side pacing and daily quota budget for Spoonacular requests.
+// Responsible: Everyone (API integration shared responsibility)
+
+import com.google.gson.Gson;
+import com.mealplanner.config.ApiConfig;
+import com.mealplanner.util.AtomicFileWriter;
+import com.mealplanner.util.TaskScheduler.Priority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiter with a persisted daily quota ledger.
+ *
+ * Requests take a token from a bucket refilled at a steady rate; when the bucket is empty,
+ * user-initiated requests wait (up to a limit) and prefetches are refused. Waiting requests
+ * are served by priority, so a queued search is never starved by background work.
+ *
+ * Points used today are stored in a small JSON ledger so the budget survives restarts, and
+ * are corrected from Spoonacular's quota headers when present. The ledger is written on a
+ * timer rather than per request, right away when the day rolls over, and by
+ * {@link #flushLedger()} at shutdown; a crash loses at most a few seconds of accounting. The last points of the day
+ * are reserved for user-initiated requests. After a 429 all requests pause, for Retry-After
+ * if given, otherwise for an exponentially growing interval that resets on success.
+ */
+public class ApiRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiRateLimiter.class);
+    private static final long INITIAL_BACKOFF_MS = 1_000;
+    private static final long MAX_BACKOFF_MS = 60_000;
+    private static final long LEDGER_FLUSH_DELAY_MS = 5_000;
+
+    // Writes the ledger outside the limiter monitor, shared by all limiters
+    private static final ScheduledExecutorService ledgerTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "api-quota-ledger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static ApiRateLimiter instance;
+
+    private final Clock clock;
+    private final double tokensPerMilli;
+    private final int burst;
+    private final double dailyPoints;
+    private final double prefetchReserve;
+    private final long maxWaitMillis;
+    private final Path ledgerFile;
+    private final Gson gson = new Gson();
+    // Serializes ledger writes so an older snapshot never overwrites a newer one
+    private final Object ledgerWriteLock = new Object();
+
+    private double tokens;
+    private long lastRefill;
+    private long blockedUntil = 0;
+    private long backoffMillis = 0;
+    private final Map<Priority, Integer> waiting = new EnumMap<>(Priority.class);
+
+    private LocalDate ledgerDate;
+    private double pointsUsed;
+    private boolean ledgerDirty = false;
+    private ScheduledFuture<?> pendingLedgerFlush;
+
+    private long requests = 0;
+    private long throttled = 0;
+    private long rejected = 0;
+    private long rateLimitedResponses = 0;
+
+    /**
+     * On-disk form of the ledger.
+     */
+    private static class Ledger {
+        String date;
+        double pointsUsed;
+    }
+
+    /**
+     * Get the limiter shared by all Spoonacular clients, configured from application.properties.
+     */
+    public static synchronized ApiRateLimiter getInstance() {
+        if (instance == null) {
+            instance = new ApiRateLimiter(
+                    ApiConfig.getSpoonacularRequestsPerMinute(),
+                    ApiConfig.getSpoonacularBurst(),
+                    ApiConfig.getSpoonacularDailyPoints(),
+                    ApiConfig.getSpoonacularPrefetchReserve(),
+                    ApiConfig.getSpoonacularMaxWaitSeconds() * 1000L,
+                    ApiConfig.getSpoonacularQuotaLedgerPath(),
+                    Clock.systemUTC());
+        }
+        return instance;
+    }
+
+    /**
+     * @param requestsPerMinute Average request rate
+     * @param burst             Requests that may be sent back to back
+     * @param dailyPoints       Daily quota in points
+     * @param prefetchReserve   Points kept for user-initiated requests
+     * @param maxWaitMillis     How long a request may wait for a token
+     * @param ledgerFile        File recording today's points, or null to keep them in memory only
+     * @param clock             Time source; the quota day follows UTC like Spoonacular's
+     */
+    public ApiRateLimiter(int requestsPerMinute, int burst, int dailyPoints, int prefetchReserve,
+                          long maxWaitMillis, String ledgerFile, Clock clock) {
+        if (requestsPerMinute <= 0 || burst <= 0 || dailyPoints <= 0) {
+            throw new IllegalArgumentException("Rate, burst and daily points must be positive");
+        }
+        this.clock = clock;
+        this.tokensPerMilli = requestsPerMinute / 60_000.0;
+        this.burst = burst;
+        this.dailyPoints = dailyPoints;
+        this.prefetchReserve = Math.max(0, prefetchReserve);
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+        this.ledgerFile = ledgerFile != null ? Paths.get(ledgerFile) : null;
+        this.tokens = burst;
+        this.lastRefill = clock.millis();
+        loadLedger();
+    }
+
+    /**
+     * Take a token for one request, waiting if needed.
+     *
+     * @param priority Priority of the caller; PREFETCH requests never wait
+     * @throws IOException if the daily quota is used up, the request would dip into the
+     *                     reserve or would wait too long
+     */
+    public synchronized void acquire(Priority priority) throws IOException {
+        Priority effective = priority != null ? priority : Priority.NORMAL;
+        long deadline = clock.millis() + maxWaitMillis;
+        boolean counted = false;
+        waiting.merge(effective, 1, Integer::sum);
+        try {
+            while (true) {
+                long wait = tryAcquire(effective, deadline, counted);
+                if (wait == 0) {
+                    return;
+                }
+                counted = true;
+                wait(wait);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the Spoonacular rate limit");
+        } finally {
+            waiting.merge(effective, -1, Integer::sum);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Take a token without blocking the calling thread. Same rules as {@link #acquire}, but a
+     * request that has to wait is retried on a timer instead of parking a thread. Such requests
+     * still give way to blocked callers of higher priority, but are not themselves counted as
+     * waiting.
+     *
+     * @return a future completed once the token is taken, or failed with the IOException
+     *         {@link #acquire} would throw; cancelling it stops waiting
+     */
+    public CompletableFuture<Void> acquireAsync(Priority priority) {
+        Priority effective = priority != null ? priority : Priority.NORMAL;
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        retryAcquire(effective, clock.millis() + maxWaitMillis, false, permit);
+        return permit;
+    }
+
+    private void retryAcquire(Priority priority, long deadline, boolean counted, CompletableFuture<Void> permit) {
+        if (permit.isDone()) {
+            return;
+        }
+        long wait;
+        try {
+            synchronized (this) {
+                wait = tryAcquire(priority, deadline, counted);
+            }
+        } catch (IOException e) {
+            permit.completeExceptionally(e);
+            return;
+        }
+        if (wait == 0) {
+            permit.complete(null);
+        } else {
+            CompletableFuture.delayedExecutor(wait, TimeUnit.MILLISECONDS)
+                    .execute(() -> retryAcquire(priority, deadline, true, permit));
+        }
+    }
+
+    /**
+     * Take a token if one is available now.
+     *
+     * @param counted Whether this request was already counted as throttled
+     * @return 0 if the token was taken, otherwise how long to wait before trying again
+     * @throws IOException if the request is refused
+     */
+    private long tryAcquire(Priority priority, long deadline, boolean counted) throws IOException {
+        rollOverIfNewDay();
+        if (pointsUsed >= dailyPoints) {
+            rejected++;
+            throw new IOException(String.format(
+                    "Daily Spoonacular quota of %.0f points is used up; it resets at midnight UTC", dailyPoints));
+        }
+        if (priority == Priority.PREFETCH && dailyPoints - pointsUsed <= prefetchReserve) {
+            rejected++;
+            throw new IOException("Remaining Spoonacular quota is reserved for user-initiated requests");
+        }
+
+        long now = clock.millis();
+        refill(now);
+        if (now >= blockedUntil && tokens >= 1 && !higherPriorityWaiting(priority)) {
+            tokens -= 1;
+            requests++;
+            // Charged one point up front; corrected by recordResponse from the quota headers
+            pointsUsed += 1;
+            scheduleLedgerFlush(LEDGER_FLUSH_DELAY_MS);
+            return 0;
+        }
+        if (priority == Priority.PREFETCH) {
+            rejected++;
+            throw new IOException("Spoonacular rate limit reached; prefetch skipped");
+        }
+        if (now >= deadline) {
+            rejected++;
+            throw new IOException("Timed out waiting for the Spoonacular rate limit");
+        }
+        if (!counted) {
+            throttled++;
+        }
+        long untilToken = tokens >= 1 ? 1 : (long) Math.ceil((1 - tokens) / tokensPerMilli);
+        long wait = Math.max(Math.max(blockedUntil - now, untilToken), 1);
+        return Math.max(Math.min(wait, deadline - now), 1);
+    }
+
+    /**
+     * Account for a response.
+     *
+     * @param statusCode        HTTP status
+     * @param quotaUsed         X-API-Quota-Used header (points used today), or null
+     * @param requestPoints     X-API-Quota-Request header (points of this request), or null
+     * @param retryAfterSeconds Retry-After header, or null
+     */
+    public synchronized void recordResponse(int statusCode, Double quotaUsed, Double requestPoints,
+                                            Long retryAfterSeconds) {
+        rollOverIfNewDay();
+        if (quotaUsed != null) {
+            pointsUsed = quotaUsed;
+        } else if (requestPoints != null) {
+            pointsUsed += requestPoints - 1;
+        }
+
+        if (statusCode == 429) {
+            rateLimitedResponses++;
+            backoffMillis = retryAfterSeconds != null && retryAfterSeconds > 0
+                    ? retryAfterSeconds * 1000
+                    : Math.min(Math.max(backoffMillis * 2, INITIAL_BACKOFF_MS), MAX_BACKOFF_MS);
+            blockedUntil = clock.millis() + backoffMillis;
+            logger.warn("Spoonacular rate limit hit; pausing requests for {} ms", backoffMillis);
+        } else if (statusCode == 402) {
+            pointsUsed = Math.max(pointsUsed, dailyPoints);
+            logger.warn("Spoonacular reports the daily quota is used up");
+        } else if (statusCode >= 200 && statusCode < 300) {
+            backoffMillis = 0;
+        }
+        scheduleLedgerFlush(LEDGER_FLUSH_DELAY_MS);
+        notifyAll();
+    }
+
+    /**
+     * @return a snapshot of the limiter counters
+     */
+    public synchronized Stats getStats() {
+        rollOverIfNewDay();
+        refill(clock.millis());
+        return new Stats(pointsUsed, Math.max(0, dailyPoints - pointsUsed), dailyPoints, requests,
+                throttled, rejected, rateLimitedResponses, Math.max(0, blockedUntil - clock.millis()));
+    }
+
+    private boolean higherPriorityWaiting(Priority priority) {
+        for (Map.Entry<Priority, Integer> entry : waiting.entrySet()) {
+            if (entry.getKey().compareTo(priority) < 0 && entry.getValue() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void refill(long now) {
+        if (now > lastRefill) {
+            tokens = Math.min(burst, tokens + (now - lastRefill) * tokensPerMilli);
+            lastRefill = now;
+        }
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock.withZone(ZoneOffset.UTC));
+    }
+
+    private void rollOverIfNewDay() {
+        LocalDate today = today();
+        if (!today.equals(ledgerDate)) {
+            ledgerDate = today;
+            pointsUsed = 0;
+            scheduleLedgerFlush(0);
+        }
+    }
+
+    private void loadLedger() {
+        ledgerDate = today();
+        pointsUsed = 0;
+        if (ledgerFile == null || !Files.exists(ledgerFile)) {
+            return;
+        }
+        try {
+            Ledger ledger = gson.fromJson(Files.readString(ledgerFile, StandardCharsets.UTF_8), Ledger.class);
+            if (ledger != null && ledgerDate.toString().equals(ledger.date)) {
+                pointsUsed = ledger.pointsUsed;
+                logger.info("Spoonacular points used today: {}", pointsUsed);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to read Spoonacular quota ledger {}: {}", ledgerFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Mark the ledger as changed and make sure a write is scheduled within the given delay.
+     */
+    private void scheduleLedgerFlush(long delayMillis) {
+        if (ledgerFile == null) {
+            return;
+        }
+        ledgerDirty = true;
+        if (pendingLedgerFlush != null) {
+            if (pendingLedgerFlush.getDelay(TimeUnit.MILLISECONDS) <= delayMillis) {
+                return;
+            }
+            pendingLedgerFlush.cancel(false);
+        }
+        pendingLedgerFlush = ledgerTimer.schedule(this::flushLedger, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Write the ledger now if it changed since the last write. Called from the timer and at
+     * application shutdown.
+     */
+    public void flushLedger() {
+        if (ledgerFile == null) {
+            return;
+        }
+        synchronized (ledgerWriteLock) {
+            Ledger ledger = new Ledger();
+            synchronized (this) {
+                if (pendingLedgerFlush != null) {
+                    pendingLedgerFlush.cancel(false);
+                    pendingLedgerFlush = null;
+                }
+                if (!ledgerDirty) {
+                    return;
+                }
+                ledgerDirty = false;
+                ledger.date = ledgerDate.toString();
+                ledger.pointsUsed = pointsUsed;
+            }
+            try {
+                if (ledgerFile.getParent() != null) {
+                    Files.createDirectories(ledgerFile.getParent());
+                }
+                AtomicFileWriter.write(ledgerFile, gson.toJson(ledger));
+            } catch (IOException e) {
+                logger.warn("Failed to write Spoonacular quota ledger {}: {}", ledgerFile, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Point-in-time limiter statistics.
+     */
+    public static class Stats {
+        private final double pointsUsed;
+        private final double pointsRemaining;
+        private final double dailyPoints;
+        private final long requests;
+        private final long throttled;
+        private final long rejected;
+        private final long rateLimitedResponses;
+        private final long backoffRemainingMillis;
+
+        Stats(double pointsUsed, double pointsRemaining, double dailyPoints, long requests, long throttled,
+              long rejected, long rateLimitedResponses, long backoffRemainingMillis) {
+            this.pointsUsed = pointsUsed;
+            this.pointsRemaining = pointsRemaining;
+            this.dailyPoints = dailyPoints;
+            this.requests = requests;
+            this.throttled = throttled;
+            this.rejected = rejected;
+            this.rateLimitedResponses = rateLimitedResponses;
+            this.backoffRemainingMillis = backoffRemainingMillis;
+        }
+
+        public double getPointsUsed() {
+            return pointsUsed;
+        }
+
+        public double getPointsRemaining() {
+            return pointsRemaining;
+        }
+
+        public double getDailyPoints() {
+            return dailyPoints;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        /**
+         * @return requests that had to wait for a token
+         */
+        public long getThrottled() {
+            return throttled;
+        }
+
+        /**
+         * @return requests refused for quota, reserve, rate or timeout reasons
+         */
+        public long getRejected() {
+            return rejected;
+        }
+
+        public long getRateLimitedResponses() {
+            return rateLimitedResponses;
+        }
+
+        public long getBackoffRemainingMillis() {
+            return backoffRemainingMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("points=%.2f/%.0f remaining=%.2f requests=%d throttled=%d rejected=%d 429s=%d backoff=%dms",
+                    pointsUsed, dailyPoints, pointsRemaining, requests, throttled, rejected,
+                    rateLimitedResponses, backoffRemainingMillis);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.mealplanner.data_access.api;
+
+// Canonical form of an API request, used both to build the URL and as the cache key.
+// Responsible: Everyone (API integration shared responsibility)
+
+import com.mealplanner.util.StringUtil;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * An API request with normalized parameters.
+ *
+ * Requests that the API answers identically get the same cache key: parameters are sorted by
+ * name, free-text queries are trimmed, whitespace-collapsed and lower-cased, and ingredient
+ * lists are normalized the same way per item and sorted. Credentials are never part of the
+ * key, so it is safe to write to disk and survives API key rotation.
+ *
+ * The request URL is built from the same normalized parameters, so the cached response is
+ * always the response to exactly the request that was sent.
+ */
+public class ApiRequest {
+
+    private static final Set<String> CREDENTIAL_PARAMS = Set.of("apikey", "app_id", "app_key");
+
+    private final String path;
+    private final Map<String, String> params = new TreeMap<>();
+
+    private ApiRequest(String path) {
+        this.path = Objects.requireNonNull(path, "Path cannot be null");
+    }
+
+    /**
+     * @param path Endpoint path, e.g. "/recipes/complexSearch"
+     */
+    public static ApiRequest to(String path) {
+        return new ApiRequest(path);
+    }
+
+    /**
+     * Add a parameter as is. Credentials are rejected; they are added by {@link #toUrl}.
+     */
+    public ApiRequest param(String name, Object value) {
+        if (CREDENTIAL_PARAMS.contains(name.toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Credentials are not part of the request key: " + name);
+        }
+        if (value != null) {
+            params.put(name, String.valueOf(value));
+        }
+        return this;
+    }
+
+    /**
+     * Add a free-text query, trimmed, whitespace-collapsed and lower-cased. Empty values are skipped.
+     */
+    public ApiRequest query(String name, String value) {
+        String normalized = normalizeText(value);
+        return normalized.isEmpty() ? this : param(name, normalized);
+    }
+
+    /**
+     * Add a comma-separated list (e.g. ingredients) with each item normalized like a query,
+     * duplicates removed and items sorted. Empty lists are skipped.
+     */
+    public ApiRequest list(String name, String commaSeparated) {
+        return commaSeparated == null ? this : list(name, Arrays.asList(commaSeparated.split(",")));
+    }
+
+    /**
+     * @see #list(String, String)
+     */
+    public ApiRequest list(String name, Collection<String> items) {
+        if (items == null) {
+            return this;
+        }
+        String joined = items.stream()
+                .map(ApiRequest::normalizeText)
+                .filter(item -> !item.isEmpty())
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+        return joined.isEmpty() ? this : param(name, joined);
+    }
+
+    /**
+     * @return canonical key without credentials, e.g. "/recipes/complexSearch?number=12&query=pasta"
+     */
+    public String getCacheKey() {
+        StringBuilder key = new StringBuilder(path);
+        char separator = '?';
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            key.append(separator).append(param.getKey()).append('=')
+               .append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return the full request URL with the API key appended
+     */
+    public String toUrl(String baseUrl, String apiKey) {
+        String key = getCacheKey();
+        if (StringUtil.isNullOrEmpty(apiKey)) {
+            return baseUrl + key;
+        }
+        return baseUrl + key + (params.isEmpty() ? '?' : '&') + "apiKey="
+                + URLEncoder.encode(apiKey, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return getCacheKey();
+    }
+
+    private static String normalizeText(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
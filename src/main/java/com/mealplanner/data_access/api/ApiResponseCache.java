@@ -0,0 +1,358 @@
+package com.mealplanner.data_access.api;
+
+// Concurrent in-memory cache for API responses with single-flight loading.
+// Responsible: Everyone (API integration shared responsibility)
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-memory response cache that never blocks readers.
+ *
+ * Entries live in a {@link ConcurrentHashMap}, so lookups do not contend with each other or
+ * with writers. When several threads miss on the same key at once, only the first one calls
+ * the loader; the others wait for and share its result (single flight). Failures are not
+ * cached, so the next caller tries again.
+ *
+ * {@link #getOrLoadAsync} shares flights with {@link #getOrLoad}. Each asynchronous caller gets
+ * its own future; cancelling it (or timing it out) only detaches that caller, and the load
+ * itself is cancelled once no caller is waiting for it any more.
+ *
+ * The size bound is approximate: when an insert exceeds it, expired entries are dropped and
+ * then the least recently read entries until the cache is back under the bound.
+ */
+public class ApiResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiResponseCache.class);
+
+    /**
+     * Loads a response on a cache miss, e.g. with an HTTP call.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        String load() throws IOException;
+    }
+
+    /**
+     * Starts loading a response on a cache miss without blocking, e.g. with an enqueued HTTP call.
+     * Cancelling the returned future should abort the load.
+     */
+    @FunctionalInterface
+    public interface AsyncLoader {
+        CompletableFuture<String> load();
+    }
+
+    private static class Entry {
+        final String response;
+        final long expiresAt;
+        volatile long lastAccess;
+
+        Entry(String response, long ttlMillis) {
+            this.response = response;
+            this.lastAccess = System.nanoTime();
+            this.expiresAt = System.currentTimeMillis() + ttlMillis;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public ApiResponseCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return the cached response, or null if it is missing or expired
+     */
+    public String get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        entry.lastAccess = System.nanoTime();
+        return entry.response;
+    }
+
+    public void put(String key, String response, long ttlMillis) {
+        if (key == null || response == null || ttlMillis <= 0) {
+            return;
+        }
+        entries.put(key, new Entry(response, ttlMillis));
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    /**
+     * Return the cached response, or load it. Concurrent callers missing on the same key share
+     * one call of the loader. The loaded response is cached for the given time-to-live.
+     *
+     * @throws IOException if the loader fails
+     */
+    public String getOrLoad(String key, long ttlMillis, Loader loader) throws IOException {
+        String cached = get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        Flight flight = new Flight();
+        Flight existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                if (existing.hold()) {
+                    return await(existing.result);
+                }
+            } catch (InterruptedIOException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+            } catch (CancellationException e) {
+                // Abandoned by its asynchronous callers just as this caller joined
+            }
+            // The caller that owned the flight was cancelled; this caller still wants the response
+            return getOrLoad(key, ttlMillis, loader);
+        }
+
+        misses.increment();
+        flight.hold();
+        try {
+            // Another flight may have completed between the lookup and registering this one
+            String response = get(key);
+            if (response == null) {
+                response = loader.load();
+                put(key, response, ttlMillis);
+            }
+            flight.result.complete(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Asynchronous form of {@link #getOrLoad}: return the cached response, or start the loader.
+     * Callers missing on the same key share one load, including synchronous callers.
+     *
+     * @return a future of the response; cancelling it detaches only this caller
+     */
+    public CompletableFuture<String> getOrLoadAsync(String key, long ttlMillis, AsyncLoader loader) {
+        String cached = get(key);
+        if (cached != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        Flight flight = new Flight();
+        Flight existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            CompletableFuture<String> joined = existing.join();
+            if (joined != null) {
+                coalesced.increment();
+                return joined;
+            }
+            // Abandoned just now; start a fresh load
+            inFlight.remove(key, existing);
+            return getOrLoadAsync(key, ttlMillis, loader);
+        }
+
+        misses.increment();
+        CompletableFuture<String> caller = flight.join();
+        String response = get(key);
+        if (response != null) {
+            inFlight.remove(key, flight);
+            flight.result.complete(response);
+            return caller;
+        }
+
+        CompletableFuture<String> source;
+        try {
+            source = loader.load();
+        } catch (RuntimeException e) {
+            source = CompletableFuture.failedFuture(e);
+        }
+        source.whenComplete((loaded, error) -> {
+            inFlight.remove(key, flight);
+            if (error == null) {
+                put(key, loaded, ttlMillis);
+                flight.result.complete(loaded);
+            } else {
+                flight.result.completeExceptionally(unwrap(error));
+            }
+        });
+        flight.start(source, () -> inFlight.remove(key, flight));
+        return caller;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of lookups that shared another caller's in-flight load
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private String await(CompletableFuture<String> flight) throws IOException {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for shared request");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private void evict() {
+        entries.entrySet().removeIf(e -> e.getValue().isExpired());
+        while (entries.size() > maxEntries) {
+            String eldestKey = null;
+            long eldestAccess = Long.MAX_VALUE;
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                if (e.getValue().lastAccess < eldestAccess) {
+                    eldestAccess = e.getValue().lastAccess;
+                    eldestKey = e.getKey();
+                }
+            }
+            if (eldestKey == null) {
+                break;
+            }
+            entries.remove(eldestKey);
+            logger.debug("Evicted least recently used API response ({} cached)", entries.size());
+        }
+    }
+
+    /**
+     * One load in progress and the callers waiting for it. Synchronous callers hold it for good;
+     * asynchronous callers release it when their own future completes first. When the last
+     * caller lets go the flight is abandoned and the load cancelled.
+     */
+    private static class Flight {
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        private CompletableFuture<String> source;
+        private Runnable onAbandon;
+        private int interest = 0;
+        private boolean abandoned = false;
+
+        /**
+         * Register a synchronous caller.
+         *
+         * @return false if the flight was already abandoned
+         */
+        synchronized boolean hold() {
+            if (abandoned) {
+                return false;
+            }
+            interest++;
+            return true;
+        }
+
+        /**
+         * Register an asynchronous caller.
+         *
+         * @return the caller's own future, or null if the flight was already abandoned
+         */
+        CompletableFuture<String> join() {
+            if (!hold()) {
+                return null;
+            }
+            CompletableFuture<String> caller = result.copy();
+            caller.whenComplete((response, error) -> {
+                if (!result.isDone()) {
+                    release();
+                }
+            });
+            return caller;
+        }
+
+        void start(CompletableFuture<String> source, Runnable onAbandon) {
+            boolean cancel;
+            synchronized (this) {
+                this.source = source;
+                this.onAbandon = onAbandon;
+                cancel = abandoned;
+            }
+            if (cancel) {
+                abandon(source, onAbandon);
+            }
+        }
+
+        private void release() {
+            CompletableFuture<String> toCancel;
+            Runnable callback;
+            synchronized (this) {
+                if (--interest > 0 || abandoned) {
+                    return;
+                }
+                abandoned = true;
+                toCancel = source;
+                callback = onAbandon;
+            }
+            if (toCancel != null) {
+                abandon(toCancel, callback);
+            }
+        }
+
+        private void abandon(CompletableFuture<String> source, Runnable onAbandon) {
+            onAbandon.run();
+            source.cancel(true);
+            result.cancel(false);
+        }
+    }
+}
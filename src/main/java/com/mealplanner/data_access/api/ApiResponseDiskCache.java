@@ -0,0 +1,345 @@
+package com.mealplanner.data_access.api;
+
+// Disk-backed second cache tier for API responses, kept across restarts.
+// Responsible: Everyone (API integration shared responsibility)
+
+import com.mealplanner.config.AppConfig;
+import com.mealplanner.util.AtomicFileWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Stores raw API response bodies as files, one per cache key.
+ *
+ * Each file starts with a header line holding the key and its expiry time, followed by the
+ * response body. The expiry is chosen by the caller, so each endpoint can have its own TTL.
+ * The total size of the directory is kept under a byte budget by evicting the least recently
+ * used entries; recency survives restarts through the file modification time, which is
+ * updated on every hit.
+ *
+ * Keys must not contain secrets such as API keys, since they are written to disk.
+ */
+public class ApiResponseDiskCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiResponseDiskCache.class);
+    private static final String FILE_EXTENSION = ".cache";
+
+    private static ApiResponseDiskCache instance;
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // File name -> size in bytes, in access order (eldest = least recently used)
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long expired = 0;
+    private long writes = 0;
+    private long evictions = 0;
+
+    /**
+     * Get the application-wide cache, configured from application.properties.
+     */
+    public static synchronized ApiResponseDiskCache getInstance() {
+        if (instance == null) {
+            instance = new ApiResponseDiskCache(AppConfig.getApiCachePath(), AppConfig.getApiCacheMaxBytes());
+        }
+        return instance;
+    }
+
+    /**
+     * @param directory Directory holding the cache files (created if missing)
+     * @param maxBytes  Size budget for all cache files together
+     */
+    public ApiResponseDiskCache(String directory, long maxBytes) {
+        if (directory == null || directory.trim().isEmpty()) {
+            throw new IllegalArgumentException("Directory cannot be null or empty");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Size budget must be positive");
+        }
+        this.directory = Paths.get(directory.trim());
+        this.maxBytes = maxBytes;
+        loadEntries();
+    }
+
+    /**
+     * @return the cached response, or null if it is missing or expired
+     */
+    public synchronized String get(String key) {
+        String fileName = fileNameFor(key);
+        // get() (not containsKey) so the entry moves to the most recently used end
+        if (entries.get(fileName) == null) {
+            misses++;
+            return null;
+        }
+        Path file = directory.resolve(fileName);
+        try {
+            String content = Files.readString(file, StandardCharsets.UTF_8);
+            int headerEnd = content.indexOf('\n');
+            int tab = headerEnd > 0 ? content.lastIndexOf('\t', headerEnd) : -1;
+            if (tab < 0 || !key.equals(content.substring(0, tab))) {
+                misses++;
+                return null;
+            }
+            if (Long.parseLong(content.substring(tab + 1, headerEnd)) <= System.currentTimeMillis()) {
+                expired++;
+                misses++;
+                remove(fileName);
+                return null;
+            }
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            hits++;
+            return content.substring(headerEnd + 1);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to read API cache entry {}: {}", fileName, e.getMessage());
+            misses++;
+            remove(fileName);
+            return null;
+        }
+    }
+
+    /**
+     * Store a response until the given time-to-live has passed.
+     *
+     * The file is written before taking the cache lock, so lookups never wait on the disk, and
+     * without fsync: losing an entry in a crash only costs a refetch.
+     */
+    public void put(String key, String response, long ttlMillis) {
+        if (key == null || response == null || ttlMillis <= 0) {
+            return;
+        }
+        String fileName = fileNameFor(key);
+        String content = key.replace('\n', ' ') + "\t" + (System.currentTimeMillis() + ttlMillis) + "\n" + response;
+        long size = content.getBytes(StandardCharsets.UTF_8).length;
+        if (size > maxBytes) {
+            logger.debug("API response too large to cache on disk ({} bytes)", size);
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            AtomicFileWriter.writeUnsynced(directory.resolve(fileName), content);
+        } catch (IOException e) {
+            logger.warn("Failed to write API cache entry {}: {}", fileName, e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            Long previous = entries.put(fileName, size);
+            totalBytes += size - (previous != null ? previous : 0);
+            writes++;
+            evictToBudget();
+        }
+    }
+
+    /**
+     * Pass every unexpired cached response body to a consumer, e.g. to index its contents.
+     * Files are read outside the cache lock and do not count as hits or refresh recency.
+     */
+    public void forEachResponse(Consumer<String> consumer) {
+        List<String> fileNames;
+        synchronized (this) {
+            fileNames = new ArrayList<>(entries.keySet());
+        }
+        long now = System.currentTimeMillis();
+        for (String fileName : fileNames) {
+            String content;
+            try {
+                content = Files.readString(directory.resolve(fileName), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                // Evicted or replaced since the snapshot
+                continue;
+            }
+            int headerEnd = content.indexOf('\n');
+            int tab = headerEnd > 0 ? content.lastIndexOf('\t', headerEnd) : -1;
+            try {
+                if (tab < 0 || Long.parseLong(content.substring(tab + 1, headerEnd)) <= now) {
+                    continue;
+                }
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            consumer.accept(content.substring(headerEnd + 1));
+        }
+    }
+
+    /**
+     * Remove every cached response.
+     */
+    public synchronized void clear() {
+        for (String fileName : new ArrayList<>(entries.keySet())) {
+            remove(fileName);
+        }
+    }
+
+    /**
+     * @return a snapshot of the cache counters
+     */
+    public synchronized Stats getStats() {
+        return new Stats(entries.size(), totalBytes, maxBytes, hits, misses, expired, writes, evictions);
+    }
+
+    private void evictToBudget() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue();
+            evictions++;
+            deleteFile(eldest.getKey());
+        }
+    }
+
+    private void remove(String fileName) {
+        Long size = entries.remove(fileName);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        deleteFile(fileName);
+    }
+
+    private void deleteFile(String fileName) {
+        try {
+            Files.deleteIfExists(directory.resolve(fileName));
+        } catch (IOException e) {
+            logger.warn("Failed to delete API cache entry {}: {}", fileName, e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the LRU order from the files on disk, least recently used first.
+     */
+    private void loadEntries() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(directory)) {
+            stream.filter(path -> path.getFileName().toString().endsWith(FILE_EXTENSION)).forEach(files::add);
+        } catch (IOException e) {
+            logger.warn("Failed to list API cache directory {}: {}", directory, e.getMessage());
+            return;
+        }
+        files.sort(Comparator.comparingLong(this::lastModified));
+        for (Path file : files) {
+            try {
+                long size = Files.size(file);
+                entries.put(file.getFileName().toString(), size);
+                totalBytes += size;
+            } catch (IOException e) {
+                logger.debug("Skipping unreadable API cache entry {}", file);
+            }
+        }
+        evictToBudget();
+        logger.info("Loaded {} cached API responses ({} bytes) from {}", entries.size(), totalBytes, directory);
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static String fileNameFor(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2 + FILE_EXTENSION.length());
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.append(FILE_EXTENSION).toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Point-in-time cache statistics.
+     */
+    public static class Stats {
+        private final int entryCount;
+        private final long totalBytes;
+        private final long maxBytes;
+        private final long hits;
+        private final long misses;
+        private final long expired;
+        private final long writes;
+        private final long evictions;
+
+        Stats(int entryCount, long totalBytes, long maxBytes, long hits, long misses,
+              long expired, long writes, long evictions) {
+            this.entryCount = entryCount;
+            this.totalBytes = totalBytes;
+            this.maxBytes = maxBytes;
+            this.hits = hits;
+            this.misses = misses;
+            this.expired = expired;
+            this.writes = writes;
+            this.evictions = evictions;
+        }
+
+        public int getEntryCount() {
+            return entryCount;
+        }
+
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getExpired() {
+            return expired;
+        }
+
+        public long getWrites() {
+            return writes;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups > 0 ? (double) hits / lookups : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("entries=%d bytes=%d/%d hits=%d misses=%d expired=%d writes=%d evictions=%d hitRate=%.2f",
+                    entryCount, totalBytes, maxBytes, hits, misses, expired, writes, evictions, getHitRate());
+        }
+    }
+}
@@ -7,12 +7,18 @@ import com.mealplanner.entity.Recipe;
 import com.mealplanner.exception.ApiException;
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class ApiResponseParser {
 
+    // Spoonacular arrays whose objects are ingredients with a "name"
+    private static final Set<String> INGREDIENT_ARRAYS = Set.of(
+            "extendedIngredients", "usedIngredients", "missedIngredients", "unusedIngredients");
+
     public static Recipe parseRecipe(JSONObject json) throws ApiException {
         try {
             String name = json.getString("title");
@@ -153,35 +159,7 @@ public class ApiResponseParser {
                 double amount = ingredient.optDouble("amount", 0.0);
                 String unit = ingredient.optString("unit", "").trim();
                 
-                // Format ingredient string with quantity and unit if available
-                StringBuilder ingredientStr = new StringBuilder();
-                
-                // Add quantity if available
-                if (amount > 0) {
-                    // Format decimal numbers nicely (avoid .0 for whole numbers)
-                    if (amount == (int) amount) {
-                        ingredientStr.append((int) amount);
-                    } else {
-                        // Round to 2 decimal places for cleaner display
-                        ingredientStr.append(String.format("%.2f", amount).replaceAll("0+$", "").replaceAll("\\.$", ""));
-                    }
-                }
-                
-                // Add unit if available
-                if (!unit.isEmpty()) {
-                    if (ingredientStr.length() > 0) {
-                        ingredientStr.append(" ");
-                    }
-                    ingredientStr.append(unit);
-                }
-                
-                // Add ingredient name
-                if (ingredientStr.length() > 0) {
-                    ingredientStr.append(" ");
-                }
-                ingredientStr.append(name);
-                
-                ingredients.add(ingredientStr.toString());
+                ingredients.add(formatIngredient(name, amount, unit));
             }
         }
         return ingredients;
@@ -214,37 +192,7 @@ public class ApiResponseParser {
         if (json.has("instructions")) {
             String instructions = json.optString("instructions", "");
             if (!instructions.isEmpty()) {
-                // Remove HTML tags if present (Spoonacular sometimes returns HTML)
-                String cleaned = instructions.replaceAll("<[^>]+>", "").trim();
-                
-                // Split by period followed by space (most common pattern)
-                // This will split "Step 1. Step 2. Step 3." into separate steps
-                String[] sentences = cleaned.split("\\.\\s+");
-                
-                List<String> stepList = new ArrayList<>();
-                for (String sentence : sentences) {
-                    String trimmed = sentence.trim();
-                    if (!trimmed.isEmpty()) {
-                        // Add period back if it was removed by split (except for last sentence)
-                        if (!trimmed.endsWith(".") && !trimmed.endsWith("!") && !trimmed.endsWith("?")) {
-                            trimmed += ".";
-                        }
-                        stepList.add(trimmed);
-                    }
-                }
-                
-                // If we successfully split into multiple steps, join with newlines
-                if (stepList.size() > 1) {
-                    return String.join("\n", stepList);
-                }
-                
-                // If splitting didn't create multiple steps, check if it's already newline-separated
-                if (cleaned.contains("\n")) {
-                    return cleaned;
-                }
-                
-                // If all else fails, return as-is (single long instruction)
-                return cleaned;
+                return stepsFromInstructions(instructions);
             }
         }
         
@@ -255,6 +203,78 @@ public class ApiResponseParser {
         return "See source URL for instructions";
     }
 
+    /**
+     * Format an ingredient line such as "1.5 cups flour", as used for serving size adjustment.
+     */
+    static String formatIngredient(String name, double amount, String unit) {
+        // Format ingredient string with quantity and unit if available
+        StringBuilder ingredientStr = new StringBuilder();
+        
+        // Add quantity if available
+        if (amount > 0) {
+            // Format decimal numbers nicely (avoid .0 for whole numbers)
+            if (amount == (int) amount) {
+                ingredientStr.append((int) amount);
+            } else {
+                // Round to 2 decimal places for cleaner display
+                ingredientStr.append(String.format("%.2f", amount).replaceAll("0+$", "").replaceAll("\\.$", ""));
+            }
+        }
+        
+        // Add unit if available
+        if (!unit.isEmpty()) {
+            if (ingredientStr.length() > 0) {
+                ingredientStr.append(" ");
+            }
+            ingredientStr.append(unit);
+        }
+        
+        // Add ingredient name
+        if (ingredientStr.length() > 0) {
+            ingredientStr.append(" ");
+        }
+        ingredientStr.append(name);
+        
+        return ingredientStr.toString();
+    }
+
+    /**
+     * Split plain-text (possibly HTML) instructions into one step per line.
+     */
+    static String stepsFromInstructions(String instructions) {
+        // Remove HTML tags if present (Spoonacular sometimes returns HTML)
+        String cleaned = instructions.replaceAll("<[^>]+>", "").trim();
+        
+        // Split by period followed by space (most common pattern)
+        // This will split "Step 1. Step 2. Step 3." into separate steps
+        String[] sentences = cleaned.split("\\.\\s+");
+        
+        List<String> stepList = new ArrayList<>();
+        for (String sentence : sentences) {
+            String trimmed = sentence.trim();
+            if (!trimmed.isEmpty()) {
+                // Add period back if it was removed by split (except for last sentence)
+                if (!trimmed.endsWith(".") && !trimmed.endsWith("!") && !trimmed.endsWith("?")) {
+                    trimmed += ".";
+                }
+                stepList.add(trimmed);
+            }
+        }
+        
+        // If we successfully split into multiple steps, join with newlines
+        if (stepList.size() > 1) {
+            return String.join("\n", stepList);
+        }
+        
+        // If splitting didn't create multiple steps, check if it's already newline-separated
+        if (cleaned.contains("\n")) {
+            return cleaned;
+        }
+        
+        // If all else fails, return as-is (single long instruction)
+        return cleaned;
+    }
+
     private static List<DietaryRestriction> parseDietaryRestrictions(JSONArray dietsArray) {
         List<DietaryRestriction> restrictions = new ArrayList<>();
         if (dietsArray != null) {
@@ -270,6 +290,52 @@ public class ApiResponseParser {
         return restrictions;
     }
 
+    /**
+     * Collect the ingredient names found anywhere in a raw Spoonacular response,
+     * e.g. a cached recipe information or findByIngredients body.
+     *
+     * @param body Response body
+     * @return ingredient names, with repeats; empty if the body is not JSON
+     */
+    public static List<String> parseIngredientNames(String body) {
+        List<String> names = new ArrayList<>();
+        if (body == null || body.isEmpty()) {
+            return names;
+        }
+        try {
+            collectIngredientNames(new JSONTokener(body).nextValue(), names);
+        } catch (RuntimeException e) {
+            // Not JSON (or truncated): nothing to collect
+        }
+        return names;
+    }
+
+    private static void collectIngredientNames(Object value, List<String> names) {
+        if (value instanceof JSONArray) {
+            for (Object element : (JSONArray) value) {
+                collectIngredientNames(element, names);
+            }
+        } else if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            for (String key : object.keySet()) {
+                Object child = object.get(key);
+                if (INGREDIENT_ARRAYS.contains(key) && child instanceof JSONArray) {
+                    for (Object ingredient : (JSONArray) child) {
+                        if (ingredient instanceof JSONObject) {
+                            String name = ((JSONObject) ingredient).optString("nameClean",
+                                    ((JSONObject) ingredient).optString("name", ""));
+                            if (!name.trim().isEmpty()) {
+                                names.add(name.trim());
+                            }
+                        }
+                    }
+                } else {
+                    collectIngredientNames(child, names);
+                }
+            }
+        }
+    }
+
     private ApiResponseParser() {
     }
 }
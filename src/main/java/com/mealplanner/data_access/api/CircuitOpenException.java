@@ -0,0 +1,26 @@
+package com.mealplanner.data_access.api;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of calling Spoonacular while the circuit breaker is open.
+ * Callers that have local data can answer from it instead.
+ * Responsible: Everyone (API integration shared responsibility)
+ */
+public class CircuitOpenException extends IOException {
+
+    private final long retryAfterMillis;
+
+    public CircuitOpenException(long retryAfterMillis) {
+        super("Spoonacular is unavailable; requests are paused for "
+                + Math.max(1, (retryAfterMillis + 999) / 1000) + " s");
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * @return time until the breaker lets a probe through
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -5,6 +5,7 @@ package com.mealplanner.data_access.api;
 
 import com.mealplanner.config.ApiConfig;
 import com.mealplanner.entity.NutritionInfo;
+import com.mealplanner.util.HttpClientProvider;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -13,6 +14,7 @@ import org.json.JSONObject;
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 
 public class EdamamApiClient {
     
@@ -34,6 +36,36 @@ public class EdamamApiClient {
      * @throws IOException if API call fails
      */
     public NutritionInfo analyzeNutrition(String foodItem) throws IOException {
+        String apiResponse = makeRequest(nutritionUrl(foodItem));
+        JSONObject json = new JSONObject(apiResponse);
+        
+        return parseNutritionFromEdamamJson(json);
+    }
+
+    /**
+     * Asynchronous form of {@link #analyzeNutrition(String)}. The call runs on the HTTP client's
+     * dispatcher; cancelling the future, or completing it with
+     * {@link CompletableFuture#orTimeout}, cancels the call.
+     *
+     * @param foodItem Name or description of the food item
+     * @return a future of the nutrition information, failed with an IOException if the call fails
+     */
+    public CompletableFuture<NutritionInfo> analyzeNutritionAsync(String foodItem) {
+        Request request;
+        try {
+            checkConfigured();
+            request = new Request.Builder().url(nutritionUrl(foodItem)).build();
+        } catch (IOException | IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return HttpClientProvider.callAsync(client, request,
+                response -> parseNutritionFromEdamamJson(new JSONObject(readResponse(response))));
+    }
+
+    /**
+     * Build the food database URL for a food item.
+     */
+    private String nutritionUrl(String foodItem) throws IOException {
         if (foodItem == null || foodItem.trim().isEmpty()) {
             throw new IllegalArgumentException("Food item cannot be null or empty");
         }
@@ -50,13 +82,8 @@ public class EdamamApiClient {
         String encodedFoodItem = URLEncoder.encode(foodItem.trim(), StandardCharsets.UTF_8);
         
         // Use Edamam Food Database API
-        String url = baseUrl + "/api/food-database/v2/parser?ingr=" + encodedFoodItem 
+        return baseUrl + "/api/food-database/v2/parser?ingr=" + encodedFoodItem 
                     + "&app_id=" + appId + "&app_key=" + appKey;
-        
-        String apiResponse = makeRequest(url);
-        JSONObject json = new JSONObject(apiResponse);
-        
-        return parseNutritionFromEdamamJson(json);
     }
     
     /**
@@ -94,37 +121,45 @@ public class EdamamApiClient {
      * @throws IOException if request fails
      */
     private String makeRequest(String url) throws IOException {
-        if (!ApiConfig.isEdamamConfigured()) {
-            throw new IOException("Edamam API is not configured (missing app ID or key). " +
-                    "Please set EDAMAM_APP_ID and EDAMAM_APP_KEY in config/api_keys.properties or as environment variables");
-        }
+        checkConfigured();
         
         Request request = new Request.Builder().url(url).build();
         
         try (Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                int code = response.code();
-                String errorMessage = "API request failed with code: " + code;
-                
-                if (code == 401) {
-                    errorMessage += " (Unauthorized). " +
-                            "This usually means your API credentials are invalid, expired, or not set correctly. " +
-                            "Please check your Edamam App ID and App Key in config/api_keys.properties or environment variables EDAMAM_APP_ID and EDAMAM_APP_KEY";
-                } else if (code == 402) {
-                    errorMessage += " (Payment Required). " +
-                            "Your API quota may have been exceeded. Please check your Edamam account.";
-                } else if (code == 429) {
-                    errorMessage += " (Too Many Requests). " +
-                            "You have exceeded the rate limit. Please wait before making more requests.";
-                }
-                
-                throw new IOException(errorMessage);
-            }
-            if (response.body() == null) {
-                throw new IOException("API response body is null");
+            return readResponse(response);
+        }
+    }
+
+    private static void checkConfigured() throws IOException {
+        if (!ApiConfig.isEdamamConfigured()) {
+            throw new IOException("Edamam API is not configured (missing app ID or key). " +
+                    "Please set EDAMAM_APP_ID and EDAMAM_APP_KEY in config/api_keys.properties or as environment variables");
+        }
+    }
+
+    private static String readResponse(Response response) throws IOException {
+        if (!response.isSuccessful()) {
+            int code = response.code();
+            String errorMessage = "API request failed with code: " + code;
+            
+            if (code == 401) {
+                errorMessage += " (Unauthorized). " +
+                        "This usually means your API credentials are invalid, expired, or not set correctly. " +
+                        "Please check your Edamam App ID and App Key in config/api_keys.properties or environment variables EDAMAM_APP_ID and EDAMAM_APP_KEY";
+            } else if (code == 402) {
+                errorMessage += " (Payment Required). " +
+                        "Your API quota may have been exceeded. Please check your Edamam account.";
+            } else if (code == 429) {
+                errorMessage += " (Too Many Requests). " +
+                        "You have exceeded the rate limit. Please wait before making more requests.";
             }
-            return response.body().string();
+            
+            throw new IOException(errorMessage);
+        }
+        if (response.body() == null) {
+            throw new IOException("API response body is null");
         }
+        return response.body().string();
     }
     
     /**
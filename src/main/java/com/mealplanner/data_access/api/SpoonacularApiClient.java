@@ -4,24 +4,36 @@ package com.mealplanner.data_access.api;
 // Responsible: Everyone (API integration shared responsibility)
 
 import com.mealplanner.config.ApiConfig;
+import com.mealplanner.config.AppConfig;
 import com.mealplanner.entity.NutritionInfo;
 import com.mealplanner.entity.Recipe;
 import com.mealplanner.exception.ApiException;
+import com.mealplanner.util.HttpClientProvider;
 import com.mealplanner.util.StringUtil;
 import com.mealplanner.util.NumberUtil;
+import com.mealplanner.util.TaskScheduler;
+import okhttp3.Call;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.io.IOException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.io.InterruptedIOException;
+import java.io.StringReader;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,39 +41,82 @@ public class SpoonacularApiClient {
     
     private static final Logger logger = LoggerFactory.getLogger(SpoonacularApiClient.class);
 
-    // OPTIMIZATION: Simple LRU cache for API responses (max 50 entries, 5-minute TTL)
+    // OPTIMIZATION: Concurrent LRU cache for API responses (max 50 entries, at most 5-minute TTL)
     private static final int MAX_CACHE_SIZE = 50;
     private static final long CACHE_TTL_MS = 5 * 60 * 1000; // 5 minutes
+    private static final int MAX_ATTEMPTS_ON_429 = 2;
+
+    /**
+     * Cached endpoints and how long their responses stay in the disk cache.
+     * Recipe details rarely change; random recipes should be fresh.
+     */
+    enum Endpoint {
+        RECIPE_INFORMATION("recipe", 7 * 24 * 60),
+        NUTRITION("nutrition", 7 * 24 * 60),
+        COMPLEX_SEARCH("search", 6 * 60),
+        FIND_BY_INGREDIENTS("ingredients", 6 * 60),
+        RANDOM("random", 10);
 
-    private static class CacheEntry {
-        final String response;
-        final long timestamp;
+        private final String configName;
+        private final int defaultTtlMinutes;
 
-        CacheEntry(String response) {
-            this.response = response;
-            this.timestamp = System.currentTimeMillis();
+        Endpoint(String configName, int defaultTtlMinutes) {
+            this.configName = configName;
+            this.defaultTtlMinutes = defaultTtlMinutes;
         }
 
-        boolean isExpired() {
-            return System.currentTimeMillis() - timestamp > CACHE_TTL_MS;
+        long getTtlMillis() {
+            return AppConfig.getApiCacheTtlMinutes(configName, defaultTtlMinutes) * 60_000L;
         }
     }
 
-    private final Map<String, CacheEntry> responseCache = new LinkedHashMap<String, CacheEntry>(MAX_CACHE_SIZE, 0.75f, true) {
-        @Override
-        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
-            return size() > MAX_CACHE_SIZE || eldest.getValue().isExpired();
-        }
-    };
+    private final ApiResponseCache responseCache = new ApiResponseCache(MAX_CACHE_SIZE);
 
     private final OkHttpClient client;
+    // Second cache tier kept across restarts; null when disabled
+    private final ApiResponseDiskCache diskCache;
+    // Paces requests and tracks the daily quota; null for no client-side limiting
+    private final ApiRateLimiter rateLimiter;
+    // Refuses calls while the API is failing or slow; null to always call
+    private final ApiCircuitBreaker circuitBreaker;
     
     public SpoonacularApiClient() {
-        this.client = new OkHttpClient();
+        this(new OkHttpClient());
     }
     
     public SpoonacularApiClient(OkHttpClient client) {
+        this(client, null);
+    }
+
+    /**
+     * @param client    HTTP client
+     * @param diskCache Disk cache consulted after the in-memory cache, or null for memory only
+     */
+    public SpoonacularApiClient(OkHttpClient client, ApiResponseDiskCache diskCache) {
+        this(client, diskCache, null);
+    }
+
+    /**
+     * @param client      HTTP client
+     * @param diskCache   Disk cache consulted after the in-memory cache, or null for memory only
+     * @param rateLimiter Rate limiter and quota budget, or null for no client-side limiting
+     */
+    public SpoonacularApiClient(OkHttpClient client, ApiResponseDiskCache diskCache, ApiRateLimiter rateLimiter) {
+        this(client, diskCache, rateLimiter, null);
+    }
+
+    /**
+     * @param client         HTTP client
+     * @param diskCache      Disk cache consulted after the in-memory cache, or null for memory only
+     * @param rateLimiter    Rate limiter and quota budget, or null for no client-side limiting
+     * @param circuitBreaker Circuit breaker around the HTTP calls, or null to always call the API
+     */
+    public SpoonacularApiClient(OkHttpClient client, ApiResponseDiskCache diskCache, ApiRateLimiter rateLimiter,
+                                ApiCircuitBreaker circuitBreaker) {
         this.client = client;
+        this.diskCache = diskCache;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
     }
     
     /**
@@ -76,22 +131,37 @@ public class SpoonacularApiClient {
             throw new IllegalArgumentException("Ingredients list cannot be null or empty");
         }
         
-        String baseUrl = ApiConfig.getSpoonacularBaseUrl();
         String apiKey = ApiConfig.getSpoonacularApiKey();
         
         if (StringUtil.isNullOrEmpty(apiKey)) {
             throw new IOException("Spoonacular API key is not configured");
         }
         
-        // Join ingredients with comma and URL encode
-        String ingredientsParam = String.join(",", ingredients);
-        String encodedIngredients = URLEncoder.encode(ingredientsParam, StandardCharsets.UTF_8);
+        // Ingredient order and casing do not change the results, so they are normalized
         int maxResults = ApiConfig.getSpoonacularMaxResults();
+        ApiRequest request = ApiRequest.to("/recipes/findByIngredients")
+                .list("ingredients", ingredients)
+                .param("number", maxResults);
         
-        String url = baseUrl + "/recipes/findByIngredients?ingredients=" + encodedIngredients 
-                    + "&number=" + maxResults + "&apiKey=" + apiKey;
-        
-        String apiResponse = makeRequest(url);
+        return parseFindByIngredientsResponse(makeRequest(request, Endpoint.FIND_BY_INGREDIENTS));
+    }
+
+    /**
+     * Asynchronous form of {@link #searchByIngredients(List)}.
+     *
+     * @return a future of the matching recipes; see {@link #makeRequestAsync} for cancellation
+     */
+    public CompletableFuture<List<Recipe>> searchByIngredientsAsync(List<String> ingredients) {
+        if (ingredients == null || ingredients.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Ingredients list cannot be null or empty"));
+        }
+        ApiRequest request = ApiRequest.to("/recipes/findByIngredients")
+                .list("ingredients", ingredients)
+                .param("number", ApiConfig.getSpoonacularMaxResults());
+        return parseAsync(makeRequestAsync(request, Endpoint.FIND_BY_INGREDIENTS), this::parseFindByIngredientsResponse);
+    }
+
+    private List<Recipe> parseFindByIngredientsResponse(String apiResponse) {
         JSONArray jsonArray = new JSONArray(apiResponse);
         
         List<Recipe> recipes = new ArrayList<>();
@@ -193,19 +263,95 @@ public class SpoonacularApiClient {
      * @throws IOException if API call fails or recipe not found
      */
     public Recipe getRecipeById(int recipeId) throws IOException {
-        String baseUrl = ApiConfig.getSpoonacularBaseUrl();
         String apiKey = ApiConfig.getSpoonacularApiKey();
         
         if (StringUtil.isNullOrEmpty(apiKey)) {
             throw new IOException("Spoonacular API key is not configured");
         }
         
-        String url = baseUrl + "/recipes/" + recipeId + "/information?includeNutrition=true&apiKey=" + apiKey;
-        String apiResponse = makeRequest(url);
+        String apiResponse = makeRequest(recipeInformationRequest(recipeId), Endpoint.RECIPE_INFORMATION);
         
         JSONObject json = new JSONObject(apiResponse);
         return parseRecipeFromJson(json);
     }
+
+    /**
+     * Asynchronous form of {@link #getRecipeById(int)}.
+     *
+     * @return a future of the recipe; see {@link #makeRequestAsync} for cancellation
+     */
+    public CompletableFuture<Recipe> getRecipeByIdAsync(int recipeId) {
+        return parseAsync(makeRequestAsync(recipeInformationRequest(recipeId), Endpoint.RECIPE_INFORMATION),
+                body -> parseRecipeFromJson(new JSONObject(body)));
+    }
+
+    /**
+     * Get several recipes by ID with as few calls as possible. IDs are sent to the bulk
+     * information endpoint in chunks of spoonacular.bulk.chunk.size, and every recipe returned
+     * is also cached as if it had been fetched with {@link #getRecipeById(int)}.
+     *
+     * @param recipeIds Spoonacular recipe IDs; duplicates and non-numeric IDs are ignored
+     * @return the recipes found, keyed by recipe ID; IDs Spoonacular does not know are absent.
+     *         If a later chunk fails, the recipes of the earlier chunks are returned and the
+     *         remaining IDs are absent too
+     * @throws IOException if the first API call fails
+     */
+    public Map<String, Recipe> getRecipesInformationBulk(Collection<String> recipeIds) throws IOException {
+        Map<String, Recipe> recipes = new LinkedHashMap<>();
+        if (recipeIds == null || recipeIds.isEmpty()) {
+            return recipes;
+        }
+        if (StringUtil.isNullOrEmpty(ApiConfig.getSpoonacularApiKey())) {
+            throw new IOException("Spoonacular API key is not configured");
+        }
+
+        List<String> ids = new ArrayList<>();
+        for (String recipeId : new LinkedHashSet<>(recipeIds)) {
+            if (NumberUtil.parseInt(recipeId, -1) >= 0) {
+                ids.add(recipeId.trim());
+            }
+        }
+        int chunkSize = Math.max(1, ApiConfig.getSpoonacularBulkChunkSize());
+        long ttlMillis = Endpoint.RECIPE_INFORMATION.getTtlMillis();
+
+        for (int start = 0; start < ids.size(); start += chunkSize) {
+            List<String> chunk = ids.subList(start, Math.min(start + chunkSize, ids.size()));
+            ApiRequest request = ApiRequest.to("/recipes/informationBulk")
+                    .list("ids", chunk)
+                    .param("includeNutrition", true);
+            JSONArray jsonArray;
+            try {
+                jsonArray = new JSONArray(makeRequest(request, Endpoint.RECIPE_INFORMATION));
+            } catch (IOException | JSONException e) {
+                if (start == 0) {
+                    throw e;
+                }
+                // Keep what the earlier chunks fetched; the caller stores those
+                logger.warn("Bulk recipe request failed after {} of {} recipes: {}", start, ids.size(), e.getMessage());
+                break;
+            }
+
+            for (int i = 0; i < jsonArray.length(); i++) {
+                JSONObject recipeJson = jsonArray.getJSONObject(i);
+                try {
+                    Recipe recipe = parseRecipeFromJson(recipeJson);
+                    recipes.put(recipe.getRecipeId(), recipe);
+                    // Later single lookups of the same recipe are served from the cache
+                    responseCache.put(recipeInformationRequest(recipeJson.getInt("id")).getCacheKey(),
+                            recipeJson.toString(), Math.min(ttlMillis, CACHE_TTL_MS));
+                } catch (Exception e) {
+                    // Skip recipes that fail to parse
+                }
+            }
+        }
+        logger.debug("Fetched {} of {} recipes in {} bulk request(s)", recipes.size(), ids.size(),
+                (ids.size() + chunkSize - 1) / chunkSize);
+        return recipes;
+    }
+
+    private static ApiRequest recipeInformationRequest(int recipeId) {
+        return ApiRequest.to("/recipes/" + recipeId + "/information").param("includeNutrition", true);
+    }
     
     /**
      * Get a recipe by its ID (String version for compatibility).
@@ -235,34 +381,32 @@ public class SpoonacularApiClient {
      * @throws IOException if API call fails
      */
     public String complexSearch(String query, int numberOfRecipes, String includedIngredients) throws IOException {
-        String baseUrl = ApiConfig.getSpoonacularBaseUrl();
         String apiKey = ApiConfig.getSpoonacularApiKey();
 
         if (StringUtil.isNullOrEmpty(apiKey)) {
             throw new IOException("Spoonacular API key is not configured");
         }
 
-        // URL encode parameters
-        String encodedQuery = URLEncoder.encode(StringUtil.safeTrim(query), StandardCharsets.UTF_8);
-
-        StringBuilder urlBuilder = new StringBuilder(baseUrl);
-        urlBuilder.append("/recipes/complexSearch?");
-        urlBuilder.append("query=").append(encodedQuery);
-        urlBuilder.append("&number=").append(numberOfRecipes);
-
-        String trimmedIngredients = StringUtil.safeTrim(includedIngredients);
-        if (!StringUtil.isNullOrEmpty(trimmedIngredients)) {
-            String encodedIngredients = URLEncoder.encode(trimmedIngredients, StandardCharsets.UTF_8);
-            urlBuilder.append("&includeIngredients=").append(encodedIngredients);
-        }
-
-        // OPTIMIZATION: Include recipe information in the search response to avoid N+1 API calls
-        urlBuilder.append("&addRecipeInformation=true");
-        urlBuilder.append("&fillIngredients=true");
+        return makeRequest(complexSearchRequest(query, numberOfRecipes, includedIngredients), Endpoint.COMPLEX_SEARCH);
+    }
 
-        urlBuilder.append("&apiKey=").append(apiKey);
+    /**
+     * Asynchronous form of {@link #complexSearch(String, int, String)}.
+     *
+     * @return a future of the JSON response; see {@link #makeRequestAsync} for cancellation
+     */
+    public CompletableFuture<String> complexSearchAsync(String query, int numberOfRecipes, String includedIngredients) {
+        return makeRequestAsync(complexSearchRequest(query, numberOfRecipes, includedIngredients), Endpoint.COMPLEX_SEARCH);
+    }
 
-        return makeRequest(urlBuilder.toString());
+    private static ApiRequest complexSearchRequest(String query, int numberOfRecipes, String includedIngredients) {
+        return ApiRequest.to("/recipes/complexSearch")
+                .query("query", query)
+                .param("number", numberOfRecipes)
+                .list("includeIngredients", includedIngredients)
+                // OPTIMIZATION: Include recipe information in the search response to avoid N+1 API calls
+                .param("addRecipeInformation", true)
+                .param("fillIngredients", true);
     }
     
     /**
@@ -278,7 +422,6 @@ public class SpoonacularApiClient {
             numberOfRecipes = 3; // Default to 3
         }
         
-        String baseUrl = ApiConfig.getSpoonacularBaseUrl();
         String apiKey = ApiConfig.getSpoonacularApiKey();
         
         if (StringUtil.isNullOrEmpty(apiKey)) {
@@ -286,28 +429,25 @@ public class SpoonacularApiClient {
         }
         
         // Use random recipes endpoint
-        String url = baseUrl + "/recipes/random?number=" + numberOfRecipes + "&apiKey=" + apiKey;
-        
-        String apiResponse = makeRequest(url);
-        JSONObject json = new JSONObject(apiResponse);
-        
-        // Parse response - random endpoint returns {recipes: [...]}
-        List<Recipe> recipes = new ArrayList<>();
+        ApiRequest request = ApiRequest.to("/recipes/random").param("number", numberOfRecipes);
         
-        if (json.has("recipes")) {
-            JSONArray recipesArray = json.getJSONArray("recipes");
-            for (int i = 0; i < recipesArray.length(); i++) {
-                JSONObject recipeJson = recipesArray.getJSONObject(i);
-                try {
-                    Recipe recipe = parseRecipeFromJson(recipeJson);
-                    recipes.add(recipe);
-                } catch (Exception e) {
-                    // Skip recipes that fail to parse
-                }
-            }
-        }
-        
-        return recipes;
+        return parseRandomResponse(makeRequest(request, Endpoint.RANDOM));
+    }
+
+    /**
+     * Asynchronous form of {@link #getPopularRecipes(int)}.
+     *
+     * @return a future of the recipes; see {@link #makeRequestAsync} for cancellation
+     */
+    public CompletableFuture<List<Recipe>> getPopularRecipesAsync(int numberOfRecipes) {
+        int number = numberOfRecipes <= 0 || numberOfRecipes > 10 ? 3 : numberOfRecipes;
+        ApiRequest request = ApiRequest.to("/recipes/random").param("number", number);
+        return parseAsync(makeRequestAsync(request, Endpoint.RANDOM), this::parseRandomResponse);
+    }
+
+    private List<Recipe> parseRandomResponse(String apiResponse) throws IOException {
+        // Random endpoint returns {recipes: [...]}; recipes that fail to parse are skipped
+        return StreamingRecipeParser.parseRandomRecipes(new StringReader(apiResponse)).getRecipes();
     }
     
     /**
@@ -318,89 +458,377 @@ public class SpoonacularApiClient {
      * @throws IOException if API call fails
      */
     public NutritionInfo getNutritionInfo(int recipeId) throws IOException {
-        String baseUrl = ApiConfig.getSpoonacularBaseUrl();
         String apiKey = ApiConfig.getSpoonacularApiKey();
         
         if (StringUtil.isNullOrEmpty(apiKey)) {
             throw new IOException("Spoonacular API key is not configured");
         }
         
-        String url = baseUrl + "/recipes/" + recipeId + "/nutritionWidget.json?apiKey=" + apiKey;
-        String apiResponse = makeRequest(url);
+        ApiRequest request = ApiRequest.to("/recipes/" + recipeId + "/nutritionWidget.json");
+        String apiResponse = makeRequest(request, Endpoint.NUTRITION);
         
         JSONObject json = new JSONObject(apiResponse);
         return parseNutritionFromJson(json);
     }
+
+    /**
+     * Asynchronous form of {@link #getNutritionInfo(int)}.
+     *
+     * @return a future of the nutrition information; see {@link #makeRequestAsync} for cancellation
+     */
+    public CompletableFuture<NutritionInfo> getNutritionInfoAsync(int recipeId) {
+        ApiRequest request = ApiRequest.to("/recipes/" + recipeId + "/nutritionWidget.json");
+        return parseAsync(makeRequestAsync(request, Endpoint.NUTRITION),
+                body -> parseNutritionFromJson(new JSONObject(body)));
+    }
     
     /**
      * Helper method to make API requests with caching.
+     * Responses are looked up in memory, then on disk, before calling the API. Both tiers are
+     * keyed by the normalized request without the API key.
      *
-     * @param url The full API URL
+     * @param apiRequest The normalized request
+     * @param endpoint Endpoint called, which determines how long the response is cached
      * @return Response body as string
      * @throws IOException if request fails
      */
-    private String makeRequest(String url) throws IOException {
+    private String makeRequest(ApiRequest apiRequest, Endpoint endpoint) throws IOException {
         if (!ApiConfig.isSpoonacularConfigured()) {
             throw new IOException("Spoonacular API key is not configured. " +
                     "Please set it in config/api_keys.properties or as environment variable SPOONACULAR_API_KEY");
         }
 
-        // OPTIMIZATION: Check cache first
-        synchronized (responseCache) {
-            CacheEntry cached = responseCache.get(url);
-            if (cached != null && !cached.isExpired()) {
-                logger.debug("Cache HIT for: {}", url.substring(0, Math.min(100, url.length())));
-                return cached.response;
+        // OPTIMIZATION: Check cache first; concurrent misses on the same request share one call
+        String cacheKey = apiRequest.getCacheKey();
+        long ttlMillis = endpoint.getTtlMillis();
+        return responseCache.getOrLoad(cacheKey, Math.min(ttlMillis, CACHE_TTL_MS),
+                () -> loadResponse(apiRequest, ttlMillis));
+    }
+
+    /**
+     * Load a response from the disk cache or, on a miss there, from the API.
+     */
+    private String loadResponse(ApiRequest apiRequest, long ttlMillis) throws IOException {
+        // Second tier: responses cached on disk by earlier runs
+        String cacheKey = apiRequest.getCacheKey();
+        if (diskCache != null) {
+            String stored = diskCache.get(cacheKey);
+            if (stored != null) {
+                logger.debug("Disk cache HIT for: {}", cacheKey);
+                return stored;
+            }
+        }
+
+        String url = apiRequest.toUrl(ApiConfig.getSpoonacularBaseUrl(), ApiConfig.getSpoonacularApiKey());
+        Request request = new Request.Builder().url(url).build();
+        TaskScheduler.Priority priority = TaskScheduler.currentPriority();
+
+        for (int attempt = 1; ; attempt++) {
+            // Fail fast while the API is down; cached responses above are still served
+            if (circuitBreaker != null) {
+                circuitBreaker.acquirePermission();
+            }
+            if (rateLimiter != null) {
+                try {
+                    rateLimiter.acquire(priority);
+                } catch (IOException e) {
+                    releaseCircuitPermission();
+                    throw e;
+                }
+            }
+            long started = System.nanoTime();
+            Call call = client.newCall(request);
+            // A superseded search stops waiting for the API without interrupting its thread
+            TaskScheduler.onCurrentTaskCancelled(call::cancel);
+            Response sent;
+            try {
+                sent = call.execute();
+            } catch (IOException e) {
+                // Cancelled or interrupted by the caller, like a cancelled async call: not an API failure.
+                // A timeout is an InterruptedIOException too, but leaves the thread uninterrupted.
+                if (call.isCanceled()) {
+                    releaseCircuitPermission();
+                    InterruptedIOException cancelled = new InterruptedIOException("Request cancelled");
+                    cancelled.initCause(e);
+                    throw cancelled;
+                }
+                if (e instanceof InterruptedIOException && Thread.currentThread().isInterrupted()) {
+                    releaseCircuitPermission();
+                } else {
+                    recordCallOutcome(started, true);
+                }
+                throw e;
+            }
+            try (Response response = sent) {
+                recordCallOutcome(started, response.code() >= 500);
+                if (rateLimiter != null) {
+                    recordQuota(response);
+                    // The limiter now pauses all requests; a user-initiated request waits and retries once
+                    if (response.code() == 429 && attempt < MAX_ATTEMPTS_ON_429
+                            && priority != TaskScheduler.Priority.PREFETCH) {
+                        continue;
+                    }
+                }
+                return readResponse(response, cacheKey, ttlMillis);
+            }
+        }
+    }
+
+    /**
+     * Asynchronous form of {@link #makeRequest}: the same cache tiers, rate limiting and 429
+     * handling, but waiting for a token and the HTTP call itself happen without blocking the
+     * caller. The response is read on an OkHttp dispatcher thread.
+     *
+     * Cancelling the returned future, or completing it with {@link CompletableFuture#orTimeout},
+     * detaches the caller; the HTTP call is cancelled once no other caller shares it.
+     *
+     * @return a future of the response body, failed with an IOException if the request fails
+     */
+    private CompletableFuture<String> makeRequestAsync(ApiRequest apiRequest, Endpoint endpoint) {
+        if (!ApiConfig.isSpoonacularConfigured()) {
+            return CompletableFuture.failedFuture(new IOException("Spoonacular API key is not configured. " +
+                    "Please set it in config/api_keys.properties or as environment variable SPOONACULAR_API_KEY"));
+        }
+
+        String cacheKey = apiRequest.getCacheKey();
+        long ttlMillis = endpoint.getTtlMillis();
+        // Captured here: the rest of the request runs on timer and dispatcher threads
+        TaskScheduler.Priority priority = TaskScheduler.currentPriority();
+        return responseCache.getOrLoadAsync(cacheKey, Math.min(ttlMillis, CACHE_TTL_MS),
+                () -> loadResponseAsync(apiRequest, ttlMillis, priority));
+    }
+
+    private CompletableFuture<String> loadResponseAsync(ApiRequest apiRequest, long ttlMillis,
+                                                        TaskScheduler.Priority priority) {
+        String cacheKey = apiRequest.getCacheKey();
+        if (diskCache != null) {
+            String stored = diskCache.get(cacheKey);
+            if (stored != null) {
+                logger.debug("Disk cache HIT for: {}", cacheKey);
+                return CompletableFuture.completedFuture(stored);
             }
         }
 
+        String url = apiRequest.toUrl(ApiConfig.getSpoonacularBaseUrl(), ApiConfig.getSpoonacularApiKey());
         Request request = new Request.Builder().url(url).build();
+        CompletableFuture<String> result = new CompletableFuture<>();
+        sendAsync(request, cacheKey, ttlMillis, priority, 1, result);
+        return result;
+    }
 
-        try (Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                int code = response.code();
-                String errorMessage = "API request failed with code: " + code;
-
-                if (code == 401) {
-                    errorMessage += " (Unauthorized). " +
-                            "This usually means your API key is invalid, expired, or not set correctly. " +
-                            "Please check your Spoonacular API key in config/api_keys.properties or environment variable SPOONACULAR_API_KEY";
-                } else if (code == 402) {
-                    errorMessage += " (Payment Required). " +
-                            "Your API quota may have been exceeded. Please check your Spoonacular account.";
-                } else if (code == 429) {
-                    errorMessage += " (Too Many Requests). " +
-                            "You have exceeded the rate limit. Please wait before making more requests.";
+    /**
+     * One attempt of an asynchronous request: take a token, then enqueue the call. A 429 for a
+     * user-initiated request starts one more attempt, like {@link #loadResponse}.
+     *
+     * @param result Completed with the response; completing it early aborts the attempt
+     */
+    private void sendAsync(Request request, String cacheKey, long ttlMillis, TaskScheduler.Priority priority,
+                           int attempt, CompletableFuture<String> result) {
+        if (circuitBreaker != null) {
+            try {
+                circuitBreaker.acquirePermission();
+            } catch (CircuitOpenException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+        }
+        // Set once the call has been reported to the circuit breaker or its permission released
+        AtomicBoolean reported = new AtomicBoolean();
+        CompletableFuture<Void> permit = rateLimiter != null
+                ? rateLimiter.acquireAsync(priority)
+                : CompletableFuture.completedFuture(null);
+        result.whenComplete((body, error) -> permit.cancel(false));
+        permit.whenComplete((ignored, permitError) -> {
+            if (permitError != null || result.isDone()) {
+                if (reported.compareAndSet(false, true)) {
+                    releaseCircuitPermission();
+                }
+                if (permitError != null) {
+                    result.completeExceptionally(unwrap(permitError));
+                }
+                return;
+            }
+            long started = System.nanoTime();
+            // A null body means the attempt was rate limited and should be repeated
+            CompletableFuture<String> call = HttpClientProvider.callAsync(client, request, response -> {
+                if (reported.compareAndSet(false, true)) {
+                    recordCallOutcome(started, response.code() >= 500);
+                }
+                if (rateLimiter != null) {
+                    recordQuota(response);
+                    if (response.code() == 429 && attempt < MAX_ATTEMPTS_ON_429
+                            && priority != TaskScheduler.Priority.PREFETCH) {
+                        return null;
+                    }
                 }
+                return readResponse(response, cacheKey, ttlMillis);
+            });
+            result.whenComplete((body, error) -> call.cancel(true));
+            call.whenComplete((body, callError) -> {
+                if (callError != null && reported.compareAndSet(false, true)) {
+                    // Cancelled by the caller, or no response from the API
+                    if (unwrap(callError) instanceof CancellationException) {
+                        releaseCircuitPermission();
+                    } else {
+                        recordCallOutcome(started, true);
+                    }
+                }
+                if (callError != null) {
+                    result.completeExceptionally(unwrap(callError));
+                } else if (body == null) {
+                    sendAsync(request, cacheKey, ttlMillis, priority, attempt + 1, result);
+                } else {
+                    result.complete(body);
+                }
+            });
+        });
+    }
 
-                throw new IOException(errorMessage);
+    /**
+     * Parses a response once it arrives. Cancelling or timing out the parsed future is passed
+     * on to the response future, so it still aborts the request.
+     */
+    private static <T> CompletableFuture<T> parseAsync(CompletableFuture<String> response, ResponseParser<T> parser) {
+        CompletableFuture<T> parsed = response.thenApply(body -> {
+            try {
+                return parser.parse(body);
+            } catch (IOException e) {
+                throw new CompletionException(e);
             }
-            if (response.body() == null) {
-                throw new IOException("API response body is null");
+        });
+        parsed.whenComplete((value, error) -> {
+            if (error != null) {
+                response.cancel(true);
             }
+        });
+        return parsed;
+    }
+
+    @FunctionalInterface
+    private interface ResponseParser<T> {
+        T parse(String body) throws IOException;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
 
-            String responseBody = response.body().string();
+    private String readResponse(Response response, String cacheKey, long ttlMillis) throws IOException {
+        if (!response.isSuccessful()) {
+            int code = response.code();
+            String errorMessage = "API request failed with code: " + code;
 
-            // OPTIMIZATION: Store in cache
-            synchronized (responseCache) {
-                responseCache.put(url, new CacheEntry(responseBody));
-                logger.debug("Cache MISS - storing for: {}", url.substring(0, Math.min(100, url.length())));
+            if (code == 401) {
+                errorMessage += " (Unauthorized). " +
+                        "This usually means your API key is invalid, expired, or not set correctly. " +
+                        "Please check your Spoonacular API key in config/api_keys.properties or environment variable SPOONACULAR_API_KEY";
+            } else if (code == 402) {
+                errorMessage += " (Payment Required). " +
+                        "Your API quota may have been exceeded. Please check your Spoonacular account.";
+            } else if (code == 429) {
+                errorMessage += " (Too Many Requests). " +
+                        "You have exceeded the rate limit. Please wait before making more requests.";
             }
 
-            return responseBody;
+            throw new IOException(errorMessage);
+        }
+        if (response.body() == null) {
+            throw new IOException("API response body is null");
+        }
+
+        String responseBody = response.body().string();
+        logger.debug("Cache MISS - storing for: {}", cacheKey);
+        if (diskCache != null) {
+            diskCache.put(cacheKey, responseBody, ttlMillis);
+        }
+
+        return responseBody;
+    }
+
+    /**
+     * Report how a call to the API went to the circuit breaker, if any.
+     *
+     * @param startedNanos System.nanoTime() when the call was sent
+     * @param failed       Whether the call failed with a network error or a 5xx response
+     */
+    private void recordCallOutcome(long startedNanos, boolean failed) {
+        if (circuitBreaker == null) {
+            return;
+        }
+        long elapsedMillis = (System.nanoTime() - startedNanos) / 1_000_000;
+        if (failed) {
+            circuitBreaker.onFailure(elapsedMillis);
+        } else {
+            circuitBreaker.onSuccess(elapsedMillis);
+        }
+    }
+
+    private void releaseCircuitPermission() {
+        if (circuitBreaker != null) {
+            circuitBreaker.releasePermission();
         }
     }
 
     /**
-     * Clear the API response cache.
+     * Report the response status and Spoonacular's quota headers to the rate limiter.
+     */
+    private void recordQuota(Response response) {
+        rateLimiter.recordResponse(response.code(),
+                parseHeader(response.header("X-API-Quota-Used")),
+                parseHeader(response.header("X-API-Quota-Request")),
+                Optional.ofNullable(parseHeader(response.header("Retry-After"))).map(Double::longValue).orElse(null));
+    }
+
+    private static Double parseHeader(String value) {
+        if (StringUtil.isNullOrEmpty(value)) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Clear the API response cache, including the disk tier.
      * Useful for testing or when fresh data is needed.
      */
     public void clearCache() {
-        synchronized (responseCache) {
-            responseCache.clear();
+        responseCache.clear();
+        if (diskCache != null) {
+            diskCache.clear();
         }
     }
-    
+
+    /**
+     * @return points used and remaining today and rate limiter counters, or null without a limiter
+     */
+    public ApiRateLimiter.Stats getQuotaStats() {
+        return rateLimiter != null ? rateLimiter.getStats() : null;
+    }
+
+    /**
+     * @return circuit breaker state and counters, or null without a circuit breaker
+     */
+    public ApiCircuitBreaker.Stats getCircuitStats() {
+        return circuitBreaker != null ? circuitBreaker.getStats() : null;
+    }
+
+    /**
+     * @return whether a request would reach the API now; false while the circuit breaker is open
+     */
+    public boolean isApiAvailable() {
+        return circuitBreaker == null || circuitBreaker.isCallPermitted();
+    }
+
+    /**
+     * @return disk cache statistics, or null if the disk cache is disabled
+     */
+    public ApiResponseDiskCache.Stats getDiskCacheStats() {
+        return diskCache != null ? diskCache.getStats() : null;
+    }
+
     /**
      * Parse a Recipe from Spoonacular API JSON response.
      * 
@@ -0,0 +1,426 @@
+package com.mealplanner.data_access.api;
+
+// Local stand-in for the Spoonacular API that replays recorded responses, for offline load testing.
+// Responsible: Everyone (API integration shared responsibility)
+
+import com.mealplanner.config.ApiConfig;
+import com.mealplanner.util.AtomicFileWriter;
+import com.mealplanner.util.HttpClientProvider;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP server answering the Spoonacular endpoints the app uses from recorded fixtures, so the
+ * API layer can be load-tested and latency problems reproduced without a key or network.
+ *
+ * Served endpoints: /recipes/complexSearch, /recipes/findByIngredients, /recipes/random,
+ * /recipes/informationBulk, /recipes/{id}/information and /recipes/{id}/nutritionWidget.json.
+ * A request is answered with the fixture recorded for the same normalized request (see
+ * {@link ApiRequest#getCacheKey()}; the API key is ignored), or else with the endpoint's
+ * default fixture, e.g. information.json. "{{id}}" in a fixture is replaced with the recipe ID
+ * from the path.
+ *
+ * Every response can be delayed by a fixed latency plus random jitter, and a configurable
+ * fraction of requests fails with a 500 or a 429 with Retry-After. Successful responses carry
+ * Spoonacular's quota headers.
+ *
+ * In record mode requests are forwarded to the real API, and successful responses are saved as
+ * fixtures before being returned.
+ *
+ * To use it, run {@link #main} and set spoonacular.base.url to http://localhost:&lt;port&gt;; any
+ * API key is accepted.
+ */
+public class SpoonacularStandInServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpoonacularStandInServer.class);
+
+    private static final Pattern RECIPE_PATH = Pattern.compile("^/recipes/(\\d+)/(information|nutritionWidget\\.json)$");
+    private static final String FIXTURE_EXTENSION = ".json";
+
+    private final Settings settings;
+    private final Path fixturesDirectory;
+    private final Random random;
+    private final OkHttpClient upstreamClient;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong injectedRateLimits = new AtomicLong();
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong quotaUsed = new AtomicLong();
+
+    /**
+     * Behaviour of the stand-in server.
+     */
+    public static class Settings {
+        private int port = 0;
+        private String fixturesPath = "data/fixtures/spoonacular";
+        private int latencyMillis = 0;
+        private int latencyJitterMillis = 0;
+        private double errorRate = 0.0;
+        private double rateLimitRate = 0.0;
+        private int retryAfterSeconds = 1;
+        private String recordUpstream = null;
+        private long seed = System.nanoTime();
+
+        /**
+         * @return settings from the spoonacular.standin.* properties in application.properties
+         */
+        public static Settings fromConfig() {
+            return new Settings()
+                    .port(ApiConfig.getStandInPort())
+                    .fixturesPath(ApiConfig.getStandInFixturesPath())
+                    .latency(ApiConfig.getStandInLatencyMillis(), ApiConfig.getStandInLatencyJitterMillis())
+                    .errorRate(ApiConfig.getStandInErrorRate())
+                    .rateLimitRate(ApiConfig.getStandInRateLimitRate())
+                    .recordUpstream(ApiConfig.getStandInRecordUpstream());
+        }
+
+        /**
+         * @param port Port to listen on, or 0 for any free port
+         */
+        public Settings port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Settings fixturesPath(String fixturesPath) {
+            this.fixturesPath = fixturesPath;
+            return this;
+        }
+
+        /**
+         * @param millis       Delay added to every response
+         * @param jitterMillis Random extra delay of up to this many milliseconds
+         */
+        public Settings latency(int millis, int jitterMillis) {
+            this.latencyMillis = Math.max(0, millis);
+            this.latencyJitterMillis = Math.max(0, jitterMillis);
+            return this;
+        }
+
+        /**
+         * @param rate Fraction of requests answered with a 500
+         */
+        public Settings errorRate(double rate) {
+            this.errorRate = clamp(rate);
+            return this;
+        }
+
+        /**
+         * @param rate Fraction of requests answered with a 429
+         */
+        public Settings rateLimitRate(double rate) {
+            this.rateLimitRate = clamp(rate);
+            return this;
+        }
+
+        public Settings retryAfterSeconds(int seconds) {
+            this.retryAfterSeconds = Math.max(0, seconds);
+            return this;
+        }
+
+        /**
+         * @param baseUrl Real API to forward to and record from, or null to replay fixtures
+         */
+        public Settings recordUpstream(String baseUrl) {
+            this.recordUpstream = baseUrl;
+            return this;
+        }
+
+        /**
+         * @param seed Seed for latency jitter and fault injection, for reproducible runs
+         */
+        public Settings seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        private static double clamp(double rate) {
+            return Math.min(1.0, Math.max(0.0, rate));
+        }
+    }
+
+    public SpoonacularStandInServer(Settings settings) {
+        this(settings, HttpClientProvider.getInstance().forSpoonacular());
+    }
+
+    /**
+     * @param settings       Server behaviour
+     * @param upstreamClient Client used in record mode
+     */
+    public SpoonacularStandInServer(Settings settings, OkHttpClient upstreamClient) {
+        this.settings = settings;
+        this.fixturesDirectory = Paths.get(settings.fixturesPath);
+        this.random = new Random(settings.seed);
+        this.upstreamClient = upstreamClient;
+    }
+
+    /**
+     * Start serving.
+     *
+     * @throws IOException if the port cannot be bound
+     */
+    public synchronized void start() throws IOException {
+        Files.createDirectories(fixturesDirectory);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", settings.port), 0);
+        // Injected latency sleeps on the handling thread, so concurrent requests need their own threads
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "spoonacular-standin");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/recipes/", this::handle);
+        server.start();
+        logger.info("Spoonacular stand-in listening on {} ({} mode, fixtures in {})", getBaseUrl(),
+                settings.recordUpstream != null ? "record" : "replay", fixturesDirectory);
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            logger.info("Spoonacular stand-in stopped: {} requests, {} errors and {} 429s injected, {} recorded",
+                    requests.get(), injectedErrors.get(), injectedRateLimits.get(), recorded.get());
+        }
+    }
+
+    /**
+     * @return the URL to use as spoonacular.base.url
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    public long getInjectedRateLimitCount() {
+        return injectedRateLimits.get();
+    }
+
+    public long getRecordedCount() {
+        return recorded.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String endpoint = endpointName(path);
+            if (endpoint == null) {
+                sendError(exchange, 404, "Unknown endpoint " + path);
+                return;
+            }
+
+            sleep(nextLatency());
+            if (roll(settings.rateLimitRate)) {
+                injectedRateLimits.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(settings.retryAfterSeconds));
+                sendError(exchange, 429, "Too many requests (injected)");
+                return;
+            }
+            if (roll(settings.errorRate)) {
+                injectedErrors.incrementAndGet();
+                sendError(exchange, 500, "Internal server error (injected)");
+                return;
+            }
+
+            String rawQuery = exchange.getRequestURI().getRawQuery();
+            Path fixture = fixturesDirectory.resolve(fixtureName(endpoint, path, rawQuery));
+            if (settings.recordUpstream != null) {
+                record(exchange, path, rawQuery, fixture);
+                return;
+            }
+
+            Path source = Files.exists(fixture) ? fixture : fixturesDirectory.resolve(endpoint + FIXTURE_EXTENSION);
+            if (!Files.exists(source)) {
+                sendError(exchange, 404, "No fixture for " + path + (rawQuery != null ? "?" + rawQuery : ""));
+                return;
+            }
+            String body = Files.readString(source, StandardCharsets.UTF_8);
+            Matcher recipe = RECIPE_PATH.matcher(path);
+            if (recipe.matches()) {
+                body = body.replace("{{id}}", recipe.group(1));
+            }
+            sendJson(exchange, 200, body, true);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Stand-in failed to answer {}: {}", exchange.getRequestURI().getPath(), e.getMessage());
+            throw e;
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Forward the request to the real API and save a successful response as its fixture.
+     */
+    private void record(HttpExchange exchange, String path, String rawQuery, Path fixture) throws IOException {
+        String url = settings.recordUpstream + path + (rawQuery != null ? "?" + rawQuery : "");
+        try (Response response = upstreamClient.newCall(new Request.Builder().url(url).build()).execute()) {
+            String body = response.body() != null ? response.body().string() : "";
+            if (response.isSuccessful()) {
+                AtomicFileWriter.write(fixture, body);
+                recorded.incrementAndGet();
+                logger.info("Recorded {}", fixture.getFileName());
+            }
+            copyHeader(response, exchange, "X-API-Quota-Used");
+            copyHeader(response, exchange, "X-API-Quota-Request");
+            copyHeader(response, exchange, "Retry-After");
+            sendJson(exchange, response.code(), body, false);
+        }
+    }
+
+    private static void copyHeader(Response response, HttpExchange exchange, String name) {
+        String value = response.header(name);
+        if (value != null) {
+            exchange.getResponseHeaders().set(name, value);
+        }
+    }
+
+    /**
+     * @return the fixture name of an endpoint, or null for paths the app never calls
+     */
+    static String endpointName(String path) {
+        switch (path) {
+            case "/recipes/complexSearch":
+                return "complexSearch";
+            case "/recipes/findByIngredients":
+                return "findByIngredients";
+            case "/recipes/random":
+                return "random";
+            case "/recipes/informationBulk":
+                return "informationBulk";
+            default:
+                Matcher recipe = RECIPE_PATH.matcher(path);
+                if (recipe.matches()) {
+                    return recipe.group(2).equals("information") ? "information" : "nutritionWidget";
+                }
+                return null;
+        }
+    }
+
+    /**
+     * Name of the fixture recorded for one request: the endpoint name and a hash of the
+     * normalized request, so equivalent requests share a fixture.
+     */
+    static String fixtureName(String endpoint, String path, String rawQuery) {
+        ApiRequest request = ApiRequest.to(path);
+        if (rawQuery != null && !rawQuery.isEmpty()) {
+            for (String pair : rawQuery.split("&")) {
+                int separator = pair.indexOf('=');
+                String name = URLDecoder.decode(separator >= 0 ? pair.substring(0, separator) : pair, StandardCharsets.UTF_8);
+                String value = separator >= 0 ? URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8) : "";
+                if (name.equalsIgnoreCase("apiKey")) {
+                    continue;
+                }
+                request.param(name, value);
+            }
+        }
+        return endpoint + "-" + sha256(request.getCacheKey()).substring(0, 16) + FIXTURE_EXTENSION;
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private synchronized long nextLatency() {
+        long jitter = settings.latencyJitterMillis > 0 ? random.nextInt(settings.latencyJitterMillis + 1) : 0;
+        return settings.latencyMillis + jitter;
+    }
+
+    private synchronized boolean roll(double rate) {
+        return rate > 0 && random.nextDouble() < rate;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int code, String message) throws IOException {
+        String body = String.format("{\"status\":\"failure\",\"code\":%d,\"message\":\"%s\"}", code,
+                message.replace("\\", "\\\\").replace("\"", "\\\""));
+        sendJson(exchange, code, body, false);
+    }
+
+    private void sendJson(HttpExchange exchange, int code, String body, boolean chargeQuota) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (chargeQuota) {
+            exchange.getResponseHeaders().set("X-API-Quota-Request", "1");
+            exchange.getResponseHeaders().set("X-API-Quota-Used", String.valueOf(quotaUsed.incrementAndGet()));
+        }
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Run the stand-in with the spoonacular.standin.* settings until the process is stopped.
+     *
+     * Usage: SpoonacularStandInServer [port] [fixturesDir]
+     */
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromConfig();
+        if (args.length > 0) {
+            settings.port(Integer.parseInt(args[0]));
+        }
+        if (args.length > 1) {
+            settings.fixturesPath(args[1]);
+        }
+        SpoonacularStandInServer standIn = new SpoonacularStandInServer(settings);
+        standIn.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(standIn::stop));
+        System.out.println("Spoonacular stand-in running at " + standIn.getBaseUrl()
+                + "; set spoonacular.base.url to this URL. Press Ctrl+C to stop.");
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,475 @@
+package com.mealplanner.data_access.api;
+
+// Streaming parser for Spoonacular recipe lists (complexSearch and random recipes).
+// Responsible: Everyone (API integration shared responsibility)
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.mealplanner.entity.DietaryRestriction;
+import com.mealplanner.entity.NutritionInfo;
+import com.mealplanner.entity.Recipe;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads recipe lists straight into {@link Recipe} objects with a pull parser.
+ *
+ * Unlike {@link ApiResponseParser}, no JSON tree is built: only the fields a Recipe needs are
+ * read and everything else (wine pairings, per-ingredient nutrition, flavonoids, ...) is skipped
+ * token by token. The resulting recipes are the same as those of
+ * {@link ApiResponseParser#parseRecipe}. A recipe missing its title or ID is counted as failed
+ * and the others are still returned; fields of an unexpected type are ignored.
+ */
+public final class StreamingRecipeParser {
+
+    /**
+     * Parse a complexSearch response: {@code {"results": [...]}}.
+     *
+     * @throws IOException if the response is not valid JSON
+     */
+    public static Result parseSearchResults(Reader reader) throws IOException {
+        return parseRecipeArray(reader, "results");
+    }
+
+    /**
+     * Parse a random recipes response: {@code {"recipes": [...]}}.
+     *
+     * @throws IOException if the response is not valid JSON
+     */
+    public static Result parseRandomRecipes(Reader reader) throws IOException {
+        return parseRecipeArray(reader, "recipes");
+    }
+
+    private static Result parseRecipeArray(Reader reader, String arrayField) throws IOException {
+        List<Recipe> recipes = new ArrayList<>();
+        int total = 0;
+        try (JsonReader json = new JsonReader(reader)) {
+            json.beginObject();
+            while (json.hasNext()) {
+                if (!json.nextName().equals(arrayField) || json.peek() != JsonToken.BEGIN_ARRAY) {
+                    json.skipValue();
+                    continue;
+                }
+                json.beginArray();
+                while (json.hasNext()) {
+                    total++;
+                    Recipe recipe = json.peek() == JsonToken.BEGIN_OBJECT ? readRecipe(json) : skip(json);
+                    if (recipe != null) {
+                        recipes.add(recipe);
+                    }
+                }
+                json.endArray();
+            }
+            json.endObject();
+        } catch (IllegalStateException | JsonParseException e) {
+            throw new IOException("Malformed recipe list JSON: " + e.getMessage(), e);
+        }
+        return new Result(recipes, total);
+    }
+
+    /**
+     * Read one recipe object.
+     *
+     * @return the recipe, or null if it lacks required fields
+     */
+    private static Recipe readRecipe(JsonReader json) throws IOException {
+        RecipeFields fields = new RecipeFields();
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "title":
+                    fields.title = json.peek() == JsonToken.STRING ? json.nextString() : skip(json);
+                    break;
+                case "id":
+                    fields.id = readInteger(json);
+                    break;
+                case "servings":
+                    fields.servings = readInteger(json);
+                    break;
+                case "readyInMinutes":
+                    fields.readyInMinutes = readInteger(json);
+                    break;
+                case "image":
+                    fields.image = readString(json);
+                    break;
+                case "extendedIngredients":
+                    readIngredients(json, fields);
+                    break;
+                case "analyzedInstructions":
+                    readAnalyzedInstructions(json, fields);
+                    break;
+                case "instructions":
+                    fields.instructions = readString(json);
+                    break;
+                case "sourceUrl":
+                    fields.hasSourceUrl = true;
+                    fields.sourceUrl = readString(json);
+                    break;
+                case "nutrition":
+                    if (json.peek() == JsonToken.BEGIN_OBJECT) {
+                        fields.nutrition = readNutrition(json);
+                    } else {
+                        json.skipValue();
+                    }
+                    break;
+                case "diets":
+                    readDiets(json, fields);
+                    break;
+                default:
+                    json.skipValue();
+            }
+        }
+        json.endObject();
+        return fields.toRecipe();
+    }
+
+    private static void readIngredients(JsonReader json, RecipeFields fields) throws IOException {
+        if (json.peek() != JsonToken.BEGIN_ARRAY) {
+            json.skipValue();
+            return;
+        }
+        json.beginArray();
+        while (json.hasNext()) {
+            if (json.peek() != JsonToken.BEGIN_OBJECT) {
+                json.skipValue();
+                continue;
+            }
+            String nameClean = null;
+            String name = null;
+            double amount = 0.0;
+            String unit = null;
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "nameClean":
+                        nameClean = readString(json);
+                        break;
+                    case "name":
+                        name = readString(json);
+                        break;
+                    case "amount":
+                        amount = readDouble(json, 0.0);
+                        break;
+                    case "unit":
+                        unit = readString(json);
+                        break;
+                    default:
+                        json.skipValue();
+                }
+            }
+            json.endObject();
+
+            String ingredientName = nameClean != null ? nameClean : (name != null ? name : "");
+            if (!ingredientName.isEmpty()) {
+                fields.ingredients.add(ApiResponseParser.formatIngredient(ingredientName, amount,
+                        unit != null ? unit.trim() : ""));
+            }
+        }
+        json.endArray();
+    }
+
+    /**
+     * Collect the steps of the first instruction set.
+     */
+    private static void readAnalyzedInstructions(JsonReader json, RecipeFields fields) throws IOException {
+        if (json.peek() != JsonToken.BEGIN_ARRAY) {
+            json.skipValue();
+            return;
+        }
+        json.beginArray();
+        boolean first = true;
+        while (json.hasNext()) {
+            if (!first || json.peek() != JsonToken.BEGIN_OBJECT) {
+                json.skipValue();
+                continue;
+            }
+            first = false;
+            json.beginObject();
+            while (json.hasNext()) {
+                if (!json.nextName().equals("steps") || json.peek() != JsonToken.BEGIN_ARRAY) {
+                    json.skipValue();
+                    continue;
+                }
+                json.beginArray();
+                while (json.hasNext()) {
+                    if (json.peek() != JsonToken.BEGIN_OBJECT) {
+                        json.skipValue();
+                        continue;
+                    }
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        if (json.nextName().equals("step")) {
+                            String step = readString(json);
+                            if (step != null && !step.isEmpty()) {
+                                fields.steps.add(step);
+                            }
+                        } else {
+                            json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                json.endArray();
+            }
+            json.endObject();
+        }
+        json.endArray();
+    }
+
+    /**
+     * Read a nutrition object like {@link ApiResponseParser#parseNutritionInfo}: top-level
+     * values first, overridden by the matching entries of the nutrients array.
+     */
+    private static NutritionInfo readNutrition(JsonReader json) throws IOException {
+        int calories = 0;
+        double protein = 0.0;
+        double carbs = 0.0;
+        Double carbohydrates = null;
+        boolean hasCarbs = false;
+        double fat = 0.0;
+        Integer nutrientCalories = null;
+        Double nutrientProtein = null;
+        Double nutrientCarbs = null;
+        Double nutrientFat = null;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "calories":
+                    Integer value = readInteger(json);
+                    calories = value != null ? value : 0;
+                    break;
+                case "protein":
+                    protein = readDouble(json, 0.0);
+                    break;
+                case "carbs":
+                    hasCarbs = true;
+                    carbs = readDouble(json, 0.0);
+                    break;
+                case "carbohydrates":
+                    carbohydrates = readAmount(json);
+                    break;
+                case "fat":
+                    fat = readDouble(json, 0.0);
+                    break;
+                case "nutrients":
+                    if (json.peek() != JsonToken.BEGIN_ARRAY) {
+                        json.skipValue();
+                        break;
+                    }
+                    json.beginArray();
+                    while (json.hasNext()) {
+                        if (json.peek() != JsonToken.BEGIN_OBJECT) {
+                            json.skipValue();
+                            continue;
+                        }
+                        String name = "";
+                        double amount = 0.0;
+                        json.beginObject();
+                        while (json.hasNext()) {
+                            String key = json.nextName();
+                            if (key.equals("name")) {
+                                String read = readString(json);
+                                name = read != null ? read.toLowerCase() : "";
+                            } else if (key.equals("amount")) {
+                                amount = readDouble(json, 0.0);
+                            } else {
+                                json.skipValue();
+                            }
+                        }
+                        json.endObject();
+
+                        if (name.contains("calorie")) {
+                            nutrientCalories = (int) Math.round(amount);
+                        } else if (name.contains("protein")) {
+                            nutrientProtein = amount;
+                        } else if (name.contains("carbohydrate") || name.contains("carb")) {
+                            nutrientCarbs = amount;
+                        } else if (name.contains("fat")) {
+                            nutrientFat = amount;
+                        }
+                    }
+                    json.endArray();
+                    break;
+                default:
+                    json.skipValue();
+            }
+        }
+        json.endObject();
+
+        if (!hasCarbs && carbohydrates != null) {
+            carbs = carbohydrates;
+        }
+        return new NutritionInfo(
+                nutrientCalories != null ? nutrientCalories : calories,
+                nutrientProtein != null ? nutrientProtein : protein,
+                nutrientCarbs != null ? nutrientCarbs : carbs,
+                nutrientFat != null ? nutrientFat : fat);
+    }
+
+    private static Double readAmount(JsonReader json) throws IOException {
+        if (json.peek() != JsonToken.BEGIN_OBJECT) {
+            json.skipValue();
+            return null;
+        }
+        double amount = 0.0;
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals("amount")) {
+                amount = readDouble(json, 0.0);
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        return amount;
+    }
+
+    private static void readDiets(JsonReader json, RecipeFields fields) throws IOException {
+        if (json.peek() != JsonToken.BEGIN_ARRAY) {
+            json.skipValue();
+            return;
+        }
+        json.beginArray();
+        while (json.hasNext()) {
+            String diet = readString(json);
+            if (diet == null) {
+                continue;
+            }
+            try {
+                fields.diets.add(DietaryRestriction.fromString(diet));
+            } catch (IllegalArgumentException e) {
+                // Diets without a matching restriction are ignored
+            }
+        }
+        json.endArray();
+    }
+
+    /**
+     * @return the value as a string (numbers and booleans included), or null for null or a nested value
+     */
+    private static String readString(JsonReader json) throws IOException {
+        switch (json.peek()) {
+            case STRING:
+            case NUMBER:
+                return json.nextString();
+            case BOOLEAN:
+                return String.valueOf(json.nextBoolean());
+            default:
+                return skip(json);
+        }
+    }
+
+    /**
+     * @return the value truncated to an int, or null if it is not a number
+     */
+    private static Integer readInteger(JsonReader json) throws IOException {
+        double value = readDouble(json, Double.NaN);
+        return Double.isNaN(value) ? null : (int) value;
+    }
+
+    private static double readDouble(JsonReader json, double defaultValue) throws IOException {
+        JsonToken token = json.peek();
+        if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+            String text = json.nextString();
+            try {
+                return Double.parseDouble(text.trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        json.skipValue();
+        return defaultValue;
+    }
+
+    private static <T> T skip(JsonReader json) throws IOException {
+        json.skipValue();
+        return null;
+    }
+
+    /**
+     * Fields of one recipe, collected in whatever order they appear.
+     */
+    private static class RecipeFields {
+        String title;
+        Integer id;
+        Integer servings;
+        Integer readyInMinutes;
+        String image;
+        String instructions;
+        String sourceUrl;
+        boolean hasSourceUrl;
+        NutritionInfo nutrition;
+        final List<String> ingredients = new ArrayList<>();
+        final List<String> steps = new ArrayList<>();
+        final List<DietaryRestriction> diets = new ArrayList<>();
+
+        Recipe toRecipe() {
+            if (title == null || id == null) {
+                return null;
+            }
+            int servingSize = servings != null && servings > 0 ? servings : 1;
+            Integer cookTimeMinutes = readyInMinutes != null && readyInMinutes > 0 ? readyInMinutes : null;
+            try {
+                return new Recipe(title, ingredients, steps(), servingSize,
+                        nutrition, cookTimeMinutes, diets, image, String.valueOf(id));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Steps in the same order of preference as {@link ApiResponseParser}.
+         */
+        private String steps() {
+            if (!steps.isEmpty()) {
+                return String.join("\n", steps);
+            }
+            if (instructions != null && !instructions.isEmpty()) {
+                return ApiResponseParser.stepsFromInstructions(instructions);
+            }
+            if (hasSourceUrl) {
+                return sourceUrl != null ? sourceUrl : "";
+            }
+            return "See source URL for instructions";
+        }
+    }
+
+    /**
+     * Recipes parsed from one response.
+     */
+    public static class Result {
+        private final List<Recipe> recipes;
+        private final int total;
+
+        Result(List<Recipe> recipes, int total) {
+            this.recipes = recipes;
+            this.total = total;
+        }
+
+        /**
+         * @return the recipes that parsed, in response order
+         */
+        public List<Recipe> getRecipes() {
+            return recipes;
+        }
+
+        /**
+         * @return number of entries in the response, including those that failed to parse
+         */
+        public int getTotal() {
+            return total;
+        }
+
+        public int getFailed() {
+            return total - recipes.size();
+        }
+    }
+
+    private StreamingRecipeParser() {
+    }
+}
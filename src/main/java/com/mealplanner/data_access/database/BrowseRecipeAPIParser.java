@@ -1,14 +1,13 @@
 package com.mealplanner.data_access.database;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.StringReader;
 import java.util.List;
 import java.util.Objects;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
+import com.mealplanner.data_access.api.CircuitOpenException;
 import com.mealplanner.data_access.api.SpoonacularApiClient;
+import com.mealplanner.data_access.api.StreamingRecipeParser;
 import com.mealplanner.entity.Recipe;
 import com.mealplanner.exception.RecipeNotFoundException;
 import com.mealplanner.use_case.browse_recipe.BrowseRecipeDataAccessInterface;
@@ -22,9 +21,20 @@ public class BrowseRecipeAPIParser implements BrowseRecipeDataAccessInterface {
     //would probably need a getrecipe/list of recipes method:
     // i.e. input search filters or recipe name and then the method would call the api and return the parsed information
     private final SpoonacularApiClient apiClient;
+    // Answers while the circuit breaker is open; null to report the API error instead
+    private final LocalRecipeCatalog offlineCatalog;
 
     public BrowseRecipeAPIParser(SpoonacularApiClient apiClient) {
+        this(apiClient, null);
+    }
+
+    /**
+     * @param apiClient      Client used to search Spoonacular
+     * @param offlineCatalog Local recipes searched while Spoonacular is unavailable, or null
+     */
+    public BrowseRecipeAPIParser(SpoonacularApiClient apiClient, LocalRecipeCatalog offlineCatalog) {
         this.apiClient = Objects.requireNonNull(apiClient, "SpoonacularApiClient cannot be null");
+        this.offlineCatalog = offlineCatalog;
     }
 
     @Override
@@ -43,43 +53,35 @@ public class BrowseRecipeAPIParser implements BrowseRecipeDataAccessInterface {
 
         // Call API using SpoonacularApiClient
         // OPTIMIZATION: complexSearch now includes addRecipeInformation=true, so we get full details in one call
-        String apiResponse = apiClient.complexSearch(query, numberOfRecipes, includedIngredients);
-
-        // Parse the response
-        final List<Recipe> recipes = new ArrayList<>();
-        final JSONObject jsonBody = new JSONObject(apiResponse);
-        final JSONArray jsonArray = jsonBody.getJSONArray("results");
+        String apiResponse;
+        try {
+            apiResponse = apiClient.complexSearch(query, numberOfRecipes, includedIngredients);
+        } catch (CircuitOpenException e) {
+            if (offlineCatalog == null) {
+                throw e;
+            }
+            // Spoonacular is down: answer from the local recipes instead of failing
+            logger.info("Spoonacular unavailable, searching local recipes: {}", e.getMessage());
+            List<Recipe> recipes = offlineCatalog.search(query, includedIngredients, numberOfRecipes);
+            if (recipes.isEmpty()) {
+                throw new RecipeNotFoundException("No saved recipes match while offline", null);
+            }
+            return recipes;
+        }
 
-        if (jsonArray.isEmpty()) {
+        // OPTIMIZATION: Stream the response straight into recipes instead of building a JSON tree first;
+        // complexSearch now includes full information, so no additional API calls are needed
+        StreamingRecipeParser.Result parsed = StreamingRecipeParser.parseSearchResults(new StringReader(apiResponse));
+        if (parsed.getTotal() == 0) {
             throw new RecipeNotFoundException("Recipes not found with given query and ingredients", null);
         }
 
-        // OPTIMIZATION: Parse recipes directly from complexSearch response instead of making N additional API calls
-        logger.debug("Parsing {} recipes from API response", jsonArray.length());
-        int successCount = 0;
-        int failCount = 0;
-        
-        for (int i = 0; i < jsonArray.length(); i++) {
-            JSONObject currentRecipe = jsonArray.getJSONObject(i);
-            try {
-                // Parse recipe directly from the search result which now includes full information
-                Recipe recipe = com.mealplanner.data_access.api.ApiResponseParser.parseRecipe(currentRecipe);
-                if (recipe != null) {
-                    recipes.add(recipe);
-                    successCount++;
-                    logger.debug("Successfully parsed recipe: {}", recipe.getName());
-                } else {
-                    failCount++;
-                    logger.warn("parseRecipe returned null for recipe at index {}", i);
-                }
-            } catch (Exception e) {
-                // Skip recipes that fail to parse - continue with others
-                failCount++;
-                logger.warn("Failed to parse recipe from API response at index {}: {}", i, e.getMessage(), e);
-            }
+        List<Recipe> recipes = parsed.getRecipes();
+        if (parsed.getFailed() > 0) {
+            logger.warn("Failed to parse {} of {} recipes from API response", parsed.getFailed(), parsed.getTotal());
         }
-
-        logger.debug("Recipe parsing complete: {} successful, {} failed, {} total", successCount, failCount, recipes.size());
+        logger.debug("Recipe parsing complete: {} successful, {} failed, {} total",
+                recipes.size(), parsed.getFailed(), parsed.getTotal());
 
         if (recipes.isEmpty()) {
             throw new RecipeNotFoundException("Found recipes but failed to receive details for all of them", null);
@@ -1,5 +1,6 @@
 package com.mealplanner.data_access.database;
 
+import com.mealplanner.data_access.api.SpoonacularApiClient;
 import com.mealplanner.entity.Recipe;
 import com.mealplanner.entity.User;
 import com.mealplanner.exception.DataAccessException;
@@ -7,16 +8,19 @@ import com.mealplanner.repository.RecipeRepository;
 import com.mealplanner.repository.UserRepository;
 import com.mealplanner.use_case.get_recommendations.GetRecommendationsDataAccessInterface;
 import com.mealplanner.use_case.store_recipe.StoreRecipeDataAccessInterface;
+import com.mealplanner.util.AtomicFileWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 // Data access object for recipe persistence - reads/writes recipe data to JSON files.
@@ -31,6 +35,8 @@ public class FileRecipeDataAccessObject implements StoreRecipeDataAccessInterfac
     
     private final UserRepository userRepository;
     private final RecipeRepository recipeRepository;
+    // Fetches saved Spoonacular recipes missing locally; null to use local recipes only
+    private final SpoonacularApiClient apiClient;
 
     public FileRecipeDataAccessObject() {
         this(null, null);
@@ -41,8 +47,19 @@ public class FileRecipeDataAccessObject implements StoreRecipeDataAccessInterfac
     }
     
     public FileRecipeDataAccessObject(UserRepository userRepository, RecipeRepository recipeRepository) {
+        this(userRepository, recipeRepository, null);
+    }
+
+    /**
+     * @param userRepository   Source of the users' saved recipe IDs
+     * @param recipeRepository Local recipe store, or null to use this DAO's own files
+     * @param apiClient        Client used to fetch saved recipes that are not stored locally, or null
+     */
+    public FileRecipeDataAccessObject(UserRepository userRepository, RecipeRepository recipeRepository,
+                                      SpoonacularApiClient apiClient) {
         this.userRepository = userRepository;
         this.recipeRepository = recipeRepository;
+        this.apiClient = apiClient;
         ensureDirectoryExists();
     }
 
@@ -62,9 +79,7 @@ public class FileRecipeDataAccessObject implements StoreRecipeDataAccessInterfac
 
         try {
             String json = JsonConverter.recipeToJson(recipe);
-            try (FileWriter writer = new FileWriter(file)) {
-                writer.write(json);
-            }
+            AtomicFileWriter.write(file.toPath(), json);
         } catch (IOException e) {
             throw new DataAccessException("Failed to save recipe: " + recipeId, e);
         }
@@ -149,9 +164,22 @@ public class FileRecipeDataAccessObject implements StoreRecipeDataAccessInterfac
             User user = userOpt.get();
             List<String> savedRecipeIds = user.getSavedRecipeIds();
             
-            // 각 recipeId로 레시피 조회
+            // 저장된 레시피를 로컬에서 먼저 찾고, 없는 것만 API에서 한 번에 가져옴
+            Map<String, Recipe> found = new LinkedHashMap<>();
+            List<String> missing = new ArrayList<>();
+            for (String recipeId : savedRecipeIds) {
+                Recipe recipe = findLocalRecipe(recipeId);
+                if (recipe != null) {
+                    found.put(recipeId, recipe);
+                } else {
+                    missing.add(recipeId);
+                }
+            }
+            found.putAll(fetchMissingRecipes(missing));
+            
+            // 저장한 순서대로 반환
             for (String recipeId : savedRecipeIds) {
-                Recipe recipe = getRecipeById(recipeId);
+                Recipe recipe = found.get(recipeId);
                 if (recipe != null) {
                     recipes.add(recipe);
                 }
@@ -165,6 +193,50 @@ public class FileRecipeDataAccessObject implements StoreRecipeDataAccessInterfac
         return recipes;
     }
     
+    /**
+     * Look a recipe up in the local store.
+     */
+    private Recipe findLocalRecipe(String recipeId) {
+        if (recipeRepository != null) {
+            Optional<Recipe> recipe = recipeRepository.findById(recipeId);
+            if (recipe.isPresent()) {
+                return recipe.get();
+            }
+        }
+        return getRecipeById(recipeId);
+    }
+
+    /**
+     * Fetch saved recipes that are not stored locally with bulk API requests, and store them so
+     * later loads need no API calls. Failures are logged and leave the recipes out.
+     *
+     * @return the fetched recipes keyed by recipe ID
+     */
+    private Map<String, Recipe> fetchMissingRecipes(List<String> recipeIds) {
+        if (apiClient == null || recipeIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Recipe> fetched;
+        try {
+            fetched = apiClient.getRecipesInformationBulk(recipeIds);
+        } catch (IOException e) {
+            logger.warn("Failed to fetch {} saved recipes from the API: {}", recipeIds.size(), e.getMessage());
+            return Map.of();
+        }
+        for (Recipe recipe : fetched.values()) {
+            try {
+                if (recipeRepository != null) {
+                    recipeRepository.save(recipe);
+                } else {
+                    save(recipe);
+                }
+            } catch (DataAccessException e) {
+                logger.warn("Failed to store fetched recipe {}: {}", recipe.getRecipeId(), e.getMessage());
+            }
+        }
+        return fetched;
+    }
+    
     @Override
     public List<Recipe> getAllRecipes() {
         List<Recipe> recipes = new ArrayList<>();
@@ -3,16 +3,21 @@ import com.google.gson.Gson;
 import com.mealplanner.entity.MealType;
 import com.mealplanner.entity.Schedule;
 import com.mealplanner.entity.User;
+import com.mealplanner.exception.ConcurrentUpdateException;
 import com.mealplanner.exception.DataAccessException;
 import com.mealplanner.exception.UserNotFoundException;
 import com.mealplanner.interface_adapter.ViewManagerModel;
+import com.mealplanner.repository.impl.ScheduleDateIndex;
+import com.mealplanner.repository.impl.ScheduleUserIndex;
+import com.mealplanner.use_case.manage_meal_plan.ScheduleLockManager;
 import com.mealplanner.use_case.manage_meal_plan.add.AddMealDataAccessInterface;
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealDataAccessInterface;
 import com.mealplanner.use_case.manage_meal_plan.delete.DeleteMealDataAccessInterface;
 import com.mealplanner.use_case.manage_meal_plan.edit.EditMealDataAccessInterface;
 import com.mealplanner.use_case.view_schedule.ViewScheduleDataAccessInterface;
+import com.mealplanner.util.AtomicFileWriter;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -21,18 +26,23 @@ import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.locks.Lock;
 
 // Data access object for schedule persistence - reads/writes schedule data to JSON files.
 // Responsible: Grace (primary for meal plan), Mona (view schedule), Everyone (database)
 
 public class FileScheduleDataAccessObject implements ViewScheduleDataAccessInterface,
-        AddMealDataAccessInterface, EditMealDataAccessInterface, DeleteMealDataAccessInterface {
+        AddMealDataAccessInterface, EditMealDataAccessInterface, DeleteMealDataAccessInterface,
+        BatchMealDataAccessInterface {
     private static final String SCHEDULE_DIR = "data/schedules";
     private static final String FILE_EXTENSION = ".json";
 
+    private final String scheduleDirectory;
     private final Gson gson;
     private final FileUserDataAccessObject userDataAccess;
     private final ViewManagerModel viewManagerModel;
+    private final ScheduleUserIndex userIndex;
+    private final ScheduleDateIndex dateIndex;
 
     public FileScheduleDataAccessObject() {
         this(new FileUserDataAccessObject(), null);
@@ -43,10 +53,21 @@ public class FileScheduleDataAccessObject implements ViewScheduleDataAccessInter
     }
 
     public FileScheduleDataAccessObject(FileUserDataAccessObject userDataAccess, ViewManagerModel viewManagerModel) {
+        this(userDataAccess, viewManagerModel, SCHEDULE_DIR);
+    }
+
+    /**
+     * @param scheduleDirectory Directory holding the schedule files (e.g. a temp directory in tests)
+     */
+    public FileScheduleDataAccessObject(FileUserDataAccessObject userDataAccess, ViewManagerModel viewManagerModel,
+                                        String scheduleDirectory) {
+        this.scheduleDirectory = Objects.requireNonNull(scheduleDirectory, "Schedule directory cannot be null");
         this.userDataAccess = Objects.requireNonNull(userDataAccess, "FileUserDataAccessObject cannot be null");
         this.viewManagerModel = viewManagerModel;
         this.gson = JsonConverter.getGson();
         ensureDirectoryExists();
+        this.userIndex = new ScheduleUserIndex(scheduleDirectory, FILE_EXTENSION);
+        this.dateIndex = ScheduleDateIndex.open(scheduleDirectory, FILE_EXTENSION);
     }
 
     /**
@@ -54,18 +75,25 @@ public class FileScheduleDataAccessObject implements ViewScheduleDataAccessInter
      * @throws DataAccessException if directory creation fails
      */
     private void ensureDirectoryExists() {
-        File directory = new File(SCHEDULE_DIR);
+        File directory = new File(scheduleDirectory);
         if (!directory.exists()) {
             boolean created = directory.mkdirs();
             if (!created) {
-                throw new DataAccessException("Failed to create schedules directory: " + SCHEDULE_DIR);
+                throw new DataAccessException("Failed to create schedules directory: " + scheduleDirectory);
             }
         }
     }
 
     /**
      * Save the given schedule to a JSON file.
+     * A schedule loaded from storage (version > 0) is only written if the stored version still
+     * matches, i.e. nobody saved in between; a schedule built from scratch (version 0) replaces
+     * the stored one. On success the version is incremented and written back to the schedule.
+     * A new schedule (version 0, no file yet) is only created if the user has no schedule, so
+     * two concurrent first adds for a user end up in one schedule instead of two files.
      * @param schedule the schedule to save
+     * @throws ConcurrentUpdateException if the stored schedule was changed since it was loaded,
+     *                                   or the user got a schedule since this one was created
      * @throws DataAccessException if save operation fails
      */
     public void saveSchedule(Schedule schedule) {
@@ -79,14 +107,54 @@ public class FileScheduleDataAccessObject implements ViewScheduleDataAccessInter
         }
 
         String fileName = sanitizeFileName(scheduleId) + FILE_EXTENSION;
-        File file = new File(SCHEDULE_DIR, fileName);
+        File file = new File(scheduleDirectory, fileName);
+
+        // Same stripe as ScheduleLockManager.update, so this is reentrant for the interactors
+        Lock lock = ScheduleLockManager.getInstance().lockFor(schedule.getUserId());
+        lock.lock();
+        try {
+            long storedVersion = readStoredVersion(file);
+            if (schedule.getVersion() > 0 && storedVersion >= 0 && storedVersion != schedule.getVersion()) {
+                throw new ConcurrentUpdateException(scheduleId, schedule.getVersion(), storedVersion);
+            }
+            if (schedule.getVersion() == 0 && storedVersion < 0) {
+                // Created because the user had no schedule when it was loaded; reloading finds the new one
+                Schedule existing = findScheduleByUserId(schedule.getUserId());
+                if (existing != null && !scheduleId.equals(existing.getScheduleId())) {
+                    throw new ConcurrentUpdateException(existing.getScheduleId(), 0, existing.getVersion());
+                }
+            }
 
-        ScheduleDTO dto = toDTO(schedule);
+            ScheduleDTO dto = toDTO(schedule);
+            dto.version = Math.max(storedVersion, schedule.getVersion()) + 1;
+            try {
+                AtomicFileWriter.write(file.toPath(), writer -> gson.toJson(dto, writer));
+            } catch (IOException e) {
+                throw new DataAccessException("Failed to save schedule: " + scheduleId, e);
+            }
+            schedule.setVersion(dto.version);
+            // Inside the lock, so the next first save for this user sees the new schedule
+            userIndex.put(schedule.getUserId(), scheduleId);
+        } finally {
+            lock.unlock();
+        }
+        dateIndex.update(schedule);
+    }
 
-        try (FileWriter writer = new FileWriter(file)) {
-            gson.toJson(dto, writer);
+    /**
+     * Read only the version of a stored schedule.
+     * @return the stored version, or -1 if the schedule has not been saved yet
+     */
+    private long readStoredVersion(File file) {
+        if (!file.exists()) {
+            return -1;
+        }
+        try {
+            String json = new String(Files.readAllBytes(Paths.get(file.getPath())));
+            VersionHeader header = gson.fromJson(json, VersionHeader.class);
+            return header != null ? header.version : -1;
         } catch (IOException e) {
-            throw new DataAccessException("Failed to save schedule: " + scheduleId, e);
+            throw new DataAccessException("Failed to read schedule version: " + file.getName(), e);
         }
     }
 
@@ -102,7 +170,7 @@ public class FileScheduleDataAccessObject implements ViewScheduleDataAccessInter
         }
 
         String fileName = sanitizeFileName(scheduleId) + FILE_EXTENSION;
-        File file = new File(SCHEDULE_DIR, fileName);
+        File file = new File(scheduleDirectory, fileName);
         if (!file.exists()) {
             return null;
         }
@@ -142,7 +210,8 @@ public class FileScheduleDataAccessObject implements ViewScheduleDataAccessInter
     }
 
     /**
-     * Find a schedule by userId by searching all schedule files.
+     * Find a schedule by userId using the userId -> scheduleId index.
+     * Costs one schedule file read; the index is rebuilt only if it turns out to be stale.
      * @param userId the user ID to search for
      * @return Schedule object or null if not found
      * @throws DataAccessException if read operation fails
@@ -152,30 +221,23 @@ public class FileScheduleDataAccessObject implements ViewScheduleDataAccessInter
             return null;
         }
 
-        File directory = new File(SCHEDULE_DIR);
-        if (!directory.exists() || !directory.isDirectory()) {
+        String scheduleId = userIndex.findScheduleId(userId);
+        if (scheduleId != null) {
+            Schedule schedule = loadSchedule(scheduleId);
+            if (schedule != null && userId.equals(schedule.getUserId())) {
+                return schedule;
+            }
+            userIndex.rebuild();
+        } else if (!userIndex.rebuildIfIncomplete()) {
             return null;
         }
 
-        File[] files = directory.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
-        if (files == null) {
+        scheduleId = userIndex.findScheduleId(userId);
+        if (scheduleId == null) {
             return null;
         }
-
-        for (File file : files) {
-            try {
-                String json = new String(Files.readAllBytes(Paths.get(file.getPath())));
-                ScheduleDTO dto = gson.fromJson(json, ScheduleDTO.class);
-                if (dto != null && userId.equals(dto.userId)) {
-                    return fromDTO(dto);
-                }
-            } catch (IOException e) {
-                // Continue searching other files
-                continue;
-            }
-        }
-
-        return null;
+        Schedule schedule = loadSchedule(scheduleId);
+        return schedule != null && userId.equals(schedule.getUserId()) ? schedule : null;
     }
 
     /**
@@ -203,7 +265,8 @@ public class FileScheduleDataAccessObject implements ViewScheduleDataAccessInter
         return userDataAccess.getUserByUsername(username);
     }
 
-    // Implementation of AddMealDataAccessInterface, EditMealDataAccessInterface, DeleteMealDataAccessInterface
+    // Implementation of AddMealDataAccessInterface, EditMealDataAccessInterface, DeleteMealDataAccessInterface,
+    // BatchMealDataAccessInterface
     @Override
     public Schedule getUserSchedule() {
         if (viewManagerModel == null) {
@@ -243,12 +306,18 @@ public class FileScheduleDataAccessObject implements ViewScheduleDataAccessInter
         String scheduleId;
         String userId;
         Map<String, Map<String, String>> mealsByDate;
+        long version;
+    }
+
+    private static class VersionHeader {
+        long version;
     }
 
     private ScheduleDTO toDTO(Schedule schedule) {
         ScheduleDTO dto = new ScheduleDTO();
         dto.scheduleId = schedule.getScheduleId();
         dto.userId = schedule.getUserId();
+        dto.version = schedule.getVersion();
         dto.mealsByDate = new HashMap<>();
 
         Map<LocalDate, Map<MealType, String>> meals = schedule.getAllMeals();
@@ -281,7 +350,7 @@ public class FileScheduleDataAccessObject implements ViewScheduleDataAccessInter
             }
         }
 
-        // uses your constructor: Schedule(String scheduleId, String userId, Map<LocalDate, Map<MealType, String>> initialMeals)
-        return new Schedule(dto.scheduleId, dto.userId, meals);
+        // uses your constructor: Schedule(String scheduleId, String userId, Map<LocalDate, Map<MealType, String>> initialMeals, long version)
+        return new Schedule(dto.scheduleId, dto.userId, meals, dto.version);
     }
 }
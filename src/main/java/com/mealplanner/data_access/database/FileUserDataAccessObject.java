@@ -2,14 +2,20 @@ package com.mealplanner.data_access.database;
 
 import com.mealplanner.entity.User;
 import com.mealplanner.exception.UserNotFoundException;
+import com.mealplanner.repository.impl.FileIndex;
+import com.mealplanner.repository.impl.IndexedFileSet;
 import com.mealplanner.use_case.login.LoginDataAccessInterface;
 import com.mealplanner.use_case.signup.SignupDataAccessInterface;
 import com.mealplanner.use_case.update_nutrition_goals.UpdateNutritionGoalsDataAccessInterface;
+import com.mealplanner.util.AtomicFileWriter;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 // Data access object for user persistence - reads/writes user data to JSON files.
 // Responsible: Mona (primary), Everyone (database shared responsibility)
@@ -18,9 +24,17 @@ public class FileUserDataAccessObject implements LoginDataAccessInterface, Signu
 
     private static final String USERS_DIRECTORY = "data/users/";
     private static final String FILE_EXTENSION = ".json";
+    private static final String USER_ID_INDEX_FILE = "userid.index";
+
+    // userId -> user file name, so lookups by ID don't have to parse every user file
+    private final FileIndex userIdIndex;
+    // User files the userId index has read, so unknown IDs don't trigger a rebuild
+    private final IndexedFileSet indexedUserFiles;
 
     public FileUserDataAccessObject() {
         ensureDirectoryExists();
+        this.userIdIndex = FileIndex.open(Paths.get(USERS_DIRECTORY, USER_ID_INDEX_FILE));
+        this.indexedUserFiles = IndexedFileSet.forIndex(Paths.get(USERS_DIRECTORY, USER_ID_INDEX_FILE), FILE_EXTENSION);
     }
 
     @Override
@@ -55,6 +69,9 @@ public class FileUserDataAccessObject implements LoginDataAccessInterface, Signu
                 throw new UserNotFoundException("Failed to parse user data for: " + username, username);
             }
 
+            if (userIdIndex.isLoaded() || userIdIndex.load()) {
+                userIdIndex.put(user.getUserId(), fileName);
+            }
             return user;
         } catch (IOException e) {
             throw new UserNotFoundException("Failed to read user file for: " + username, username);
@@ -96,7 +113,11 @@ public class FileUserDataAccessObject implements LoginDataAccessInterface, Signu
             String json = JsonConverter.userToJson(user);
 
             // Write to file
-            Files.write(Paths.get(file.getPath()), json.getBytes());
+            AtomicFileWriter.write(file.toPath(), json);
+
+            ensureUserIdIndex();
+            userIdIndex.put(user.getUserId(), fileName);
+            indexedUserFiles.markRead(file.toPath());
         } catch (IOException e) {
             throw new RuntimeException("Failed to save user: " + e.getMessage(), e);
         }
@@ -110,41 +131,90 @@ public class FileUserDataAccessObject implements LoginDataAccessInterface, Signu
             throw new UserNotFoundException("User ID cannot be null or empty");
         }
 
-        // 모든 사용자 파일 검색 (username 기반 파일명이므로 모든 파일을 순회해야 함)
-        File usersDir = new File(USERS_DIRECTORY);
-        if (!usersDir.exists() || !usersDir.isDirectory()) {
-            throw new UserNotFoundException("Users directory not found");
+        ensureUserIdIndex();
+        User user = readIndexedUser(userId);
+        if (user != null) {
+            return user;
+        }
+
+        if (userIdIndex.containsKey(userId)) {
+            // 인덱스 항목이 오래된 경우 (파일이 바뀌었거나 삭제됨) 한 번 재구축
+            rebuildUserIdIndex();
+        } else {
+            // 인덱스에 없는 경우 새로 추가된 파일만 읽음; 새 파일이 없으면 디스크를 읽지 않음
+            indexUnreadUserFiles();
+        }
+        user = readIndexedUser(userId);
+        if (user != null) {
+            return user;
+        }
+
+        throw new UserNotFoundException("User with ID: " + userId + " not found");
+    }
+
+    /**
+     * Reads the user file the index points to for the given ID.
+     * @return the user, or null if the index has no entry or the entry is stale
+     */
+    private User readIndexedUser(String userId) {
+        String fileName = userIdIndex.get(userId);
+        if (fileName == null) {
+            return null;
         }
+        User user = readUserFile(new File(USERS_DIRECTORY + fileName));
+        return user != null && userId.equals(user.getUserId()) ? user : null;
+    }
 
-        File[] userFiles = usersDir.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+    private User readUserFile(File file) {
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            String json = new String(Files.readAllBytes(Paths.get(file.getPath())));
+            return JsonConverter.jsonToUser(json);
+        } catch (IOException | RuntimeException e) {
+            // 읽을 수 없는 파일은 건너뜀
+            return null;
+        }
+    }
 
-        if (userFiles == null || userFiles.length == 0) {
-            throw new UserNotFoundException("No user files found");
+    /**
+     * Loads the userId index, rebuilding it from the user files if it is missing or corrupt.
+     */
+    private void ensureUserIdIndex() {
+        if (!userIdIndex.isLoaded() && !userIdIndex.load()) {
+            rebuildUserIdIndex();
         }
+    }
 
-        // 각 파일을 읽어서 userId로 검색
+    private void rebuildUserIdIndex() {
+        Map<String, String> entries = new HashMap<>();
+        List<File> userFiles = indexedUserFiles.list();
         for (File file : userFiles) {
-            try {
-                String json = new String(Files.readAllBytes(Paths.get(file.getPath())));
-                User user = JsonConverter.jsonToUser(json);
-
-                if (user != null && userId.equals(user.getUserId())) {
-                    // createdAt이 null이면 현재 시간으로 설정 (하위 호환성)
-                    if (user.getCreatedAt() == null) {
-                        // User는 불변 필드이므로 새 User 객체 생성 필요
-                        // 하지만 이미 파싱된 user 객체는 createdAt이 없을 수 있음
-                        // JsonConverter에서 처리하거나 여기서 처리
-                        // 일단 반환하고, 필요시 마이그레이션 로직 추가
-                    }
-                    return user;
-                }
-            } catch (IOException e) {
-                // 파일 읽기 실패 시 다음 파일로
-                continue;
+            User user = readUserFile(file);
+            if (user != null && user.getUserId() != null) {
+                entries.put(user.getUserId(), file.getName());
             }
         }
+        userIdIndex.replaceAll(entries);
+        indexedUserFiles.reset(userFiles);
+    }
 
-        throw new UserNotFoundException("User with ID: " + userId + " not found");
+    /**
+     * Indexes the user files added since the index last looked at the directory.
+     */
+    private void indexUnreadUserFiles() {
+        List<File> unread = indexedUserFiles.takeUnread(userIdIndex.size());
+        if (unread == null) {
+            rebuildUserIdIndex();
+            return;
+        }
+        for (File file : unread) {
+            User user = readUserFile(file);
+            if (user != null && user.getUserId() != null) {
+                userIdIndex.put(user.getUserId(), file.getName());
+            }
+        }
     }
 
     @Override
@@ -163,7 +233,7 @@ public class FileUserDataAccessObject implements LoginDataAccessInterface, Signu
             
             // User 객체를 JSON으로 변환하여 저장
             String json = JsonConverter.userToJson(user);
-            Files.write(Paths.get(file.getPath()), json.getBytes());
+            AtomicFileWriter.write(file.toPath(), json);
             
         } catch (UserNotFoundException e) {
             throw e;
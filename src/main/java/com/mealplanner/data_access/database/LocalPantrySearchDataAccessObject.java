@@ -0,0 +1,106 @@
+package com.mealplanner.data_access.database;
+
+import com.mealplanner.entity.Recipe;
+import com.mealplanner.exception.DataAccessException;
+import com.mealplanner.repository.DataChangeListener;
+import com.mealplanner.repository.RecipeRepository;
+import com.mealplanner.use_case.search_by_ingredients.SearchByIngredientsDataAccessInterface;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Data access object searching the saved recipes by ingredients, without calling the API.
+ * Uses a PantryMatchIndex built from the recipe repository on first use and kept up to date
+ * from the repository's change notifications. Recipes saved through the repository itself
+ * are not notified, so it is also rebuilt when the number of stored recipes differs from the
+ * number seen at the last rebuild, adjusted for the notified changes.
+ * Responsible: Everyone (implementation)
+ */
+public class LocalPantrySearchDataAccessObject implements SearchByIngredientsDataAccessInterface, DataChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalPantrySearchDataAccessObject.class);
+
+    private final RecipeRepository recipeRepository;
+    private final int maxResults;
+    private final PantryMatchIndex index = new PantryMatchIndex();
+    private volatile boolean stale = true;
+    // Repository count the index reflects; not index.size(), which skips recipes without an ID
+    private int expectedCount;
+
+    /**
+     * @param recipeRepository Recipes to search
+     * @param maxResults       Maximum number of recipes returned per search
+     */
+    public LocalPantrySearchDataAccessObject(RecipeRepository recipeRepository, int maxResults) {
+        this.recipeRepository = Objects.requireNonNull(recipeRepository, "RecipeRepository cannot be null");
+        this.maxResults = maxResults;
+        recipeRepository.addChangeListener(this);
+    }
+
+    @Override
+    public List<Recipe> searchByIngredients(List<String> ingredients) throws IOException {
+        if (ingredients == null || ingredients.isEmpty()) {
+            throw new IllegalArgumentException("Ingredients list cannot be null or empty");
+        }
+        return findMatches(ingredients).stream()
+                .map(PantryMatchIndex.Match::getRecipe)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Rank the saved recipes for the given ingredients, with their used and missed counts.
+     *
+     * @throws IOException if the saved recipes cannot be read
+     */
+    public List<PantryMatchIndex.Match> findMatches(List<String> ingredients) throws IOException {
+        try {
+            ensureFresh();
+        } catch (DataAccessException e) {
+            throw new IOException("Local recipes are unavailable: " + e.getMessage(), e);
+        }
+        return index.match(ingredients, maxResults);
+    }
+
+    private synchronized void ensureFresh() {
+        if (stale || recipeRepository.count() != expectedCount) {
+            List<Recipe> recipes = recipeRepository.findAll();
+            index.rebuild(recipes);
+            expectedCount = recipes.size();
+            stale = false;
+            logger.debug("Indexed {} recipes over {} ingredients for pantry search",
+                    index.size(), index.vocabularySize());
+        }
+    }
+
+    @Override
+    public synchronized void onDataChanged(Set<String> changedIds, Set<String> deletedIds) {
+        if (stale) {
+            return;
+        }
+        try {
+            int indexed = index.size();
+            for (String recipeId : deletedIds) {
+                index.remove(recipeId);
+            }
+            for (String recipeId : changedIds) {
+                recipeRepository.findById(recipeId).ifPresentOrElse(index::update, () -> index.remove(recipeId));
+            }
+            // Added and removed recipes are accounted for, so they do not trigger a rebuild
+            expectedCount += index.size() - indexed;
+        } catch (DataAccessException e) {
+            logger.warn("Could not re-index changed recipes, rebuilding on next search: {}", e.getMessage());
+            stale = true;
+        }
+    }
+
+    @Override
+    public void onDataReset() {
+        stale = true;
+    }
+}
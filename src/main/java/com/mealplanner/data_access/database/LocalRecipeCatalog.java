@@ -0,0 +1,85 @@
+package com.mealplanner.data_access.database;
+
+import com.mealplanner.entity.Recipe;
+import com.mealplanner.exception.DataAccessException;
+import com.mealplanner.repository.RecipeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Searches the recipes stored locally, used in place of Spoonacular while it is unavailable.
+ * Query searches use the repository's ranked full-text search (ingredient searches are answered
+ * by LocalPantrySearchDataAccessObject). Results are only as good as the local catalog, but they
+ * come back at once instead of after a timeout.
+ * Responsible: Everyone (database shared responsibility)
+ */
+public class LocalRecipeCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalRecipeCatalog.class);
+
+    private final RecipeRepository recipeRepository;
+
+    public LocalRecipeCatalog(RecipeRepository recipeRepository) {
+        this.recipeRepository = Objects.requireNonNull(recipeRepository, "RecipeRepository cannot be null");
+    }
+
+    /**
+     * Find recipes for a search query, like complexSearch does.
+     * Recipes are ranked by the repository's full-text search; every included ingredient
+     * must then appear in an ingredient line.
+     *
+     * @param query               Search words
+     * @param includedIngredients Comma-separated ingredients the recipes must use, or null
+     * @param limit               Maximum number of recipes
+     * @throws IOException if the local recipes cannot be read
+     */
+    public List<Recipe> search(String query, String includedIngredients, int limit) throws IOException {
+        List<String> required = split(normalize(includedIngredients), ",");
+        try {
+            // Without a filter the ranked top K is the answer; with one, filter the whole ranking
+            List<Recipe> ranked = recipeRepository.search(query, required.isEmpty() ? limit : Integer.MAX_VALUE);
+            return ranked.stream()
+                    .filter(recipe -> required.stream()
+                            .allMatch(ingredient -> containsAny(normalizeAll(recipe.getIngredients()), ingredient)))
+                    .limit(Math.max(0, limit))
+                    .collect(Collectors.toList());
+        } catch (DataAccessException e) {
+            logger.warn("Could not search local recipes: {}", e.getMessage());
+            throw new IOException("Local recipes are unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean containsAny(List<String> lines, String term) {
+        for (String line : lines) {
+            if (line.contains(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> normalizeAll(List<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream().map(LocalRecipeCatalog::normalize).collect(Collectors.toList());
+    }
+
+    private static List<String> split(String value, String separator) {
+        return Arrays.stream(value.split(separator))
+                .map(String::trim)
+                .filter(part -> !part.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT).trim();
+    }
+}
@@ -0,0 +1,270 @@
+package com.mealplanner.data_access.database;
+
+import com.mealplanner.entity.Recipe;
+import com.mealplanner.util.IngredientParser;
+import com.mealplanner.util.TextAnalyzer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index answering "which recipes can I make with what I have".
+ *
+ * Every ingredient line is reduced to an ingredient key (the name from IngredientParser,
+ * stemmed, without preparation words), so "2 cloves garlic, minced" and "garlic" share one
+ * entry of the ingredient vocabulary. The index keeps, as bitsets:
+ * - per vocabulary term, the ingredients whose key contains it;
+ * - per ingredient, the recipes using it (its posting list);
+ * - per recipe, the ingredients it uses.
+ *
+ * A pantry item matches every ingredient whose key contains all of its terms, so "pepper"
+ * matches "black pepper" and "bell pepper". Recipes are ranked like Spoonacular's
+ * findByIngredients: most of their ingredients in the pantry first, then fewest missing.
+ * Only recipes using at least one pantry item are scored.
+ *
+ * Responsible: Everyone (database shared responsibility)
+ */
+public class PantryMatchIndex {
+
+    // Preparation and size words that do not change what the ingredient is
+    private static final Set<String> DESCRIPTORS = Stream.of(
+            "chopped", "diced", "minced", "sliced", "grated", "shredded", "crushed", "peeled", "mashed",
+            "melted", "softened", "fresh", "large", "small", "medium", "whole", "cloves", "slices", "can",
+            "pieces", "taste", "optional", "finely", "roughly", "thinly", "about", "plus", "more", "extra")
+            .map(TextAnalyzer::stem)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final Map<String, Integer> ingredientIds = new HashMap<>();
+    private final List<String> ingredientKeys = new ArrayList<>();
+    private final Map<String, BitSet> ingredientsByTerm = new HashMap<>();
+    private final List<BitSet> recipesByIngredient = new ArrayList<>();
+
+    private final Map<String, Integer> recipeOrdinals = new HashMap<>();
+    private final List<Recipe> recipes = new ArrayList<>();
+    private final List<BitSet> ingredientsByRecipe = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+    /**
+     * A recipe using some of the pantry, with the counts it is ranked by.
+     */
+    public static class Match {
+        private final Recipe recipe;
+        private final int usedCount;
+        private final int missedCount;
+
+        Match(Recipe recipe, int usedCount, int missedCount) {
+            this.recipe = recipe;
+            this.usedCount = usedCount;
+            this.missedCount = missedCount;
+        }
+
+        public Recipe getRecipe() {
+            return recipe;
+        }
+
+        /**
+         * @return ingredients of the recipe found in the pantry
+         */
+        public int getUsedCount() {
+            return usedCount;
+        }
+
+        /**
+         * @return ingredients of the recipe not found in the pantry
+         */
+        public int getMissedCount() {
+            return missedCount;
+        }
+    }
+
+    /**
+     * Replace the indexed recipes.
+     */
+    public synchronized void rebuild(Collection<Recipe> catalog) {
+        ingredientIds.clear();
+        ingredientKeys.clear();
+        ingredientsByTerm.clear();
+        recipesByIngredient.clear();
+        recipeOrdinals.clear();
+        recipes.clear();
+        ingredientsByRecipe.clear();
+        freeOrdinals.clear();
+        for (Recipe recipe : catalog) {
+            update(recipe);
+        }
+    }
+
+    /**
+     * Index a recipe, replacing any earlier version with the same ID.
+     */
+    public synchronized void update(Recipe recipe) {
+        if (recipe == null || recipe.getRecipeId() == null) {
+            return;
+        }
+        remove(recipe.getRecipeId());
+
+        BitSet uses = new BitSet();
+        for (String line : recipe.getIngredients()) {
+            String key = ingredientKey(line);
+            if (!key.isEmpty()) {
+                uses.set(ingredientId(key));
+            }
+        }
+        int ordinal = freeOrdinals.isEmpty() ? recipes.size() : freeOrdinals.pop();
+        if (ordinal == recipes.size()) {
+            recipes.add(recipe);
+            ingredientsByRecipe.add(uses);
+        } else {
+            recipes.set(ordinal, recipe);
+            ingredientsByRecipe.set(ordinal, uses);
+        }
+        recipeOrdinals.put(recipe.getRecipeId(), ordinal);
+        for (int id = uses.nextSetBit(0); id >= 0; id = uses.nextSetBit(id + 1)) {
+            recipesByIngredient.get(id).set(ordinal);
+        }
+    }
+
+    /**
+     * Remove a recipe from the index.
+     */
+    public synchronized void remove(String recipeId) {
+        Integer ordinal = recipeOrdinals.remove(recipeId);
+        if (ordinal == null) {
+            return;
+        }
+        BitSet uses = ingredientsByRecipe.get(ordinal);
+        for (int id = uses.nextSetBit(0); id >= 0; id = uses.nextSetBit(id + 1)) {
+            recipesByIngredient.get(id).clear(ordinal);
+        }
+        recipes.set(ordinal, null);
+        ingredientsByRecipe.set(ordinal, new BitSet());
+        freeOrdinals.push(ordinal);
+    }
+
+    /**
+     * @return number of indexed recipes
+     */
+    public synchronized int size() {
+        return recipeOrdinals.size();
+    }
+
+    /**
+     * @return number of distinct ingredients across the indexed recipes
+     */
+    public synchronized int vocabularySize() {
+        return ingredientKeys.size();
+    }
+
+    /**
+     * Rank the recipes that use at least one of the pantry items.
+     *
+     * @param pantry Ingredient names the user has
+     * @param limit  Maximum number of matches
+     * @return matches, most used and fewest missed ingredients first
+     */
+    public synchronized List<Match> match(Collection<String> pantry, int limit) {
+        BitSet available = new BitSet();
+        for (String item : pantry) {
+            available.or(ingredientsMatching(item));
+        }
+
+        BitSet candidates = new BitSet();
+        for (int id = available.nextSetBit(0); id >= 0; id = available.nextSetBit(id + 1)) {
+            candidates.or(recipesByIngredient.get(id));
+        }
+
+        List<Match> matches = new ArrayList<>(candidates.cardinality());
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            BitSet uses = ingredientsByRecipe.get(ordinal);
+            BitSet used = (BitSet) uses.clone();
+            used.and(available);
+            int usedCount = used.cardinality();
+            matches.add(new Match(recipes.get(ordinal), usedCount, uses.cardinality() - usedCount));
+        }
+        return matches.stream()
+                .sorted(Comparator.comparingInt((Match match) -> -match.usedCount)
+                        .thenComparingInt(match -> match.missedCount)
+                        .thenComparing(match -> match.recipe.getName()))
+                .limit(Math.max(0, limit))
+                .collect(Collectors.toList());
+    }
+
+    // Ingredients whose key contains every term of the pantry item
+    private BitSet ingredientsMatching(String item) {
+        List<String> terms = ingredientTerms(item);
+        if (terms.isEmpty()) {
+            return new BitSet();
+        }
+        BitSet matching = null;
+        for (String term : terms) {
+            BitSet withTerm = ingredientsByTerm.get(term);
+            if (withTerm == null) {
+                return new BitSet();
+            }
+            if (matching == null) {
+                matching = (BitSet) withTerm.clone();
+            } else {
+                matching.and(withTerm);
+            }
+        }
+        return matching;
+    }
+
+    private int ingredientId(String key) {
+        Integer id = ingredientIds.get(key);
+        if (id != null) {
+            return id;
+        }
+        int newId = ingredientKeys.size();
+        ingredientIds.put(key, newId);
+        ingredientKeys.add(key);
+        recipesByIngredient.add(new BitSet());
+        for (String term : key.split(" ")) {
+            ingredientsByTerm.computeIfAbsent(term, ignored -> new BitSet()).set(newId);
+        }
+        return newId;
+    }
+
+    /**
+     * Reduce an ingredient line to its vocabulary key, e.g. "2 cloves garlic, minced" to "garlic".
+     *
+     * @return the key, or an empty string if nothing identifies an ingredient
+     */
+    static String ingredientKey(String line) {
+        return String.join(" ", ingredientTerms(line));
+    }
+
+    private static List<String> ingredientTerms(String line) {
+        if (line == null || line.trim().isEmpty()) {
+            return List.of();
+        }
+        String name;
+        try {
+            name = IngredientParser.parse(line).getName();
+        } catch (IllegalArgumentException e) {
+            name = line;
+        }
+        // "tomatoes, chopped" and "butter (softened)": the part after the comma or bracket is preparation
+        int cut = name.length();
+        for (char separator : new char[] {',', '('}) {
+            int index = name.indexOf(separator);
+            if (index > 0) {
+                cut = Math.min(cut, index);
+            }
+        }
+        return TextAnalyzer.analyze(name.substring(0, cut)).stream()
+                .filter(term -> !DESCRIPTORS.contains(term))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+}
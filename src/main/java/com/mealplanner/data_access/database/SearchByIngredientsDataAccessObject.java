@@ -1,35 +1,158 @@
 package com.mealplanner.data_access.database;
 
+import com.mealplanner.config.ApiConfig;
+import com.mealplanner.data_access.api.CircuitOpenException;
 import com.mealplanner.data_access.api.SpoonacularApiClient;
 import com.mealplanner.entity.Recipe;
+import com.mealplanner.exception.DataAccessException;
 import com.mealplanner.use_case.search_by_ingredients.SearchByIngredientsDataAccessInterface;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Data access object for searching recipes by ingredients.
- * Uses SpoonacularApiClient to search for recipes.
+ * Uses SpoonacularApiClient and/or a local provider (the saved recipes), depending on the mode:
+ * - API: Spoonacular, with the local provider answering while the circuit breaker is open;
+ * - LOCAL: the local provider only;
+ * - HYBRID: local matches first, topped up from Spoonacular when there are too few of them
+ *   (or Spoonacular alone when the local search fails).
  * Responsible: Everyone (implementation)
  */
 public class SearchByIngredientsDataAccessObject implements SearchByIngredientsDataAccessInterface {
-    
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchByIngredientsDataAccessObject.class);
+
+    /**
+     * Where ingredient searches are answered from.
+     */
+    public enum Mode {
+        API, LOCAL, HYBRID;
+
+        /**
+         * Parse a configured mode name, case-insensitively.
+         *
+         * @return the mode, or API for null or unknown names
+         */
+        public static Mode fromName(String name) {
+            if (name != null) {
+                for (Mode mode : values()) {
+                    if (mode.name().equalsIgnoreCase(name.trim())) {
+                        return mode;
+                    }
+                }
+                logger.warn("Unknown ingredient search mode '{}', using API", name);
+            }
+            return API;
+        }
+    }
+
     private final SpoonacularApiClient apiClient;
-    
+    // Searches the saved recipes; null to always use the API and report its errors
+    private final SearchByIngredientsDataAccessInterface localProvider;
+    private final Mode mode;
+
     public SearchByIngredientsDataAccessObject(SpoonacularApiClient apiClient) {
+        this(apiClient, null, Mode.API);
+    }
+
+    /**
+     * @param apiClient     Client used to search Spoonacular
+     * @param localProvider Search over the saved recipes, or null in API mode
+     * @param mode          Where searches are answered from
+     */
+    public SearchByIngredientsDataAccessObject(SpoonacularApiClient apiClient,
+                                               SearchByIngredientsDataAccessInterface localProvider, Mode mode) {
         if (apiClient == null) {
             throw new IllegalArgumentException("SpoonacularApiClient cannot be null");
         }
+        if (mode == null) {
+            throw new IllegalArgumentException("Mode cannot be null");
+        }
+        if (localProvider == null && mode != Mode.API) {
+            throw new IllegalArgumentException("A local provider is required in " + mode + " mode");
+        }
         this.apiClient = apiClient;
+        this.localProvider = localProvider;
+        this.mode = mode;
     }
-    
+
     @Override
     public List<Recipe> searchByIngredients(List<String> ingredients) throws IOException {
         if (ingredients == null || ingredients.isEmpty()) {
             throw new IllegalArgumentException("Ingredients list cannot be null or empty");
         }
-        
-        return apiClient.searchByIngredients(ingredients);
+
+        switch (mode) {
+            case LOCAL:
+                return localProvider.searchByIngredients(ingredients);
+            case HYBRID:
+                return searchHybrid(ingredients);
+            default:
+                return searchApi(ingredients);
+        }
     }
-}
 
+    private List<Recipe> searchApi(List<String> ingredients) throws IOException {
+        try {
+            return apiClient.searchByIngredients(ingredients);
+        } catch (CircuitOpenException e) {
+            if (localProvider == null) {
+                throw e;
+            }
+            logger.info("Spoonacular unavailable, searching local recipes: {}", e.getMessage());
+            return localProvider.searchByIngredients(ingredients);
+        }
+    }
+
+    private List<Recipe> searchHybrid(List<String> ingredients) throws IOException {
+        List<Recipe> local;
+        try {
+            local = localProvider.searchByIngredients(ingredients);
+        } catch (IOException | DataAccessException e) {
+            // The saved recipes are only a head start; Spoonacular can still answer
+            logger.warn("Local ingredient search failed, using Spoonacular only: {}", e.getMessage());
+            return apiClient.searchByIngredients(ingredients);
+        }
+        int maxResults = ApiConfig.getSpoonacularMaxResults();
+        if (local.size() >= maxResults) {
+            // Enough saved recipes match: no API call, no quota spent
+            return local;
+        }
+
+        List<Recipe> remote;
+        try {
+            remote = apiClient.searchByIngredients(ingredients);
+        } catch (IOException e) {
+            if (local.isEmpty()) {
+                throw e;
+            }
+            logger.info("Spoonacular unavailable, returning {} local recipes: {}", local.size(), e.getMessage());
+            return local;
+        }
+
+        // Saved recipes keep their place; API results fill up the rest
+        Map<String, Recipe> merged = new LinkedHashMap<>();
+        for (Recipe recipe : local) {
+            merged.put(key(recipe), recipe);
+        }
+        for (Recipe recipe : remote) {
+            if (merged.size() >= maxResults) {
+                break;
+            }
+            merged.putIfAbsent(key(recipe), recipe);
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private static String key(Recipe recipe) {
+        String id = recipe.getRecipeId();
+        return id != null ? id : "name:" + recipe.getName().toLowerCase(Locale.ROOT);
+    }
+}
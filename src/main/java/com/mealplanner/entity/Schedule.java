@@ -15,6 +15,7 @@ public class Schedule {
     private final String scheduleId;
     private final String userId;
     private final Map<LocalDate, EnumMap<MealType, String>> mealsByDate;
+    private long version;
 
     public Schedule(String scheduleId, String userId) {
         this(scheduleId, userId, Collections.emptyMap());
@@ -23,9 +24,20 @@ public class Schedule {
     public Schedule(String scheduleId,
                     String userId,
                     Map<LocalDate, Map<MealType, String>> initialMeals) {
+        this(scheduleId, userId, initialMeals, 0L);
+    }
+
+    /**
+     * @param version Version of the stored schedule this object was loaded from (0 if never saved)
+     */
+    public Schedule(String scheduleId,
+                    String userId,
+                    Map<LocalDate, Map<MealType, String>> initialMeals,
+                    long version) {
         this.scheduleId = validateId(scheduleId, "scheduleId");
         this.userId = validateId(userId, "userId");
         this.mealsByDate = new HashMap<>();
+        this.version = version;
         if (initialMeals != null) {
             initialMeals.forEach((date, meals) -> {
                 requireNonNull(date, "date");
@@ -61,6 +73,16 @@ public class Schedule {
         return userId;
     }
 
+    /** Version of the stored schedule this object is based on; used for optimistic concurrency checks. */
+    public long getVersion() {
+        return version;
+    }
+
+    /** Record the version assigned by the data store after a successful save. */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     /** Add a meal if the slot is empty. */
     public void addMeal(LocalDate date, MealType mealType, String recipeId)
             throws ScheduleConflictException {
@@ -212,6 +234,6 @@ public class Schedule {
     public Schedule copy() {
         Map<LocalDate, Map<MealType, String>> snapshot = new HashMap<>();
         mealsByDate.forEach((date, meals) -> snapshot.put(date, new EnumMap<>(meals)));
-        return new Schedule(scheduleId, userId, snapshot);
+        return new Schedule(scheduleId, userId, snapshot, version);
     }
 }
@@ -0,0 +1,33 @@
+package com.mealplanner.exception;
+
+/**
+ * Exception thrown when saving data that was changed by someone else since it was read
+ * (optimistic concurrency check failed). Callers should reload and retry.
+ * Responsible: Everyone (data access layer - DAOs)
+ */
+public class ConcurrentUpdateException extends DataAccessException {
+
+    private final String entityId;
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public ConcurrentUpdateException(String entityId, long expectedVersion, long actualVersion) {
+        super("Concurrent update detected for " + (entityId != null ? entityId : "unknown")
+                + ": expected version " + expectedVersion + " but found " + actualVersion);
+        this.entityId = entityId;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getActualVersion() {
+        return actualVersion;
+    }
+}
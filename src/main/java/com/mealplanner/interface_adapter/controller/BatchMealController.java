@@ -0,0 +1,39 @@
+package com.mealplanner.interface_adapter.controller;
+
+import com.mealplanner.entity.MealType;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealInputBoundary;
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealInputData;
+import com.mealplanner.use_case.manage_meal_plan.batch.MealSlotChange;
+
+// Controller for bulk schedule operations - collects slot changes and calls the batch interactor once.
+// Responsible: Grace
+
+public class BatchMealController {
+    private final BatchMealInputBoundary interactor;
+
+    public BatchMealController(BatchMealInputBoundary interactor) {
+        this.interactor = interactor;
+    }
+
+    public void execute(List<MealSlotChange> changes) {
+        interactor.execute(new BatchMealInputData(changes));
+    }
+
+    /**
+     * Add every given meal in one batch (e.g. copying a week).
+     */
+    public void addMeals(Map<LocalDate, Map<MealType, String>> meals) {
+        List<MealSlotChange> changes = new ArrayList<>();
+        for (Map.Entry<LocalDate, Map<MealType, String>> day : meals.entrySet()) {
+            for (Map.Entry<MealType, String> meal : day.getValue().entrySet()) {
+                changes.add(MealSlotChange.add(day.getKey(), meal.getKey(), meal.getValue()));
+            }
+        }
+        execute(changes);
+    }
+}
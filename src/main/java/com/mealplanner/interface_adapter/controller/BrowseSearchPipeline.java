@@ -0,0 +1,146 @@
+package com.mealplanner.interface_adapter.controller;
+
+// Search stage between the browse view and BrowseRecipeController.
+// Cancels superseded searches and drops results of stale queries.
+// Responsible: Regina
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.mealplanner.use_case.browse_recipe.BrowseRecipeOutputBoundary;
+import com.mealplanner.use_case.browse_recipe.BrowseRecipeOutputData;
+import com.mealplanner.util.TaskScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cancellable search pipeline for the BrowseRecipe use case.
+ *
+ * Every request gets a new generation number. Searches run on the shared
+ * {@link TaskScheduler} under one key, so starting a search cancels the one in flight.
+ * A presenter wrapped with {@link #guard(BrowseRecipeOutputBoundary)} only receives output
+ * produced by the latest generation; results of superseded searches that finish late are dropped.
+ */
+public class BrowseSearchPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowseSearchPipeline.class);
+    private static final String DEFAULT_TASK_KEY = "browse-search";
+
+    /**
+     * Runs one search, e.g. {@code query -> controller.execute(query, 12)}.
+     */
+    @FunctionalInterface
+    public interface SearchAction {
+        void search(String query) throws IOException;
+    }
+
+    // Generation of the search running on the current worker thread, read by the guarded presenter
+    private final ThreadLocal<Long> runningGeneration = new ThreadLocal<>();
+    private final AtomicLong latestGeneration = new AtomicLong();
+    private final TaskScheduler scheduler;
+    private final String taskKey;
+
+    public BrowseSearchPipeline() {
+        this(TaskScheduler.getInstance(), DEFAULT_TASK_KEY);
+    }
+
+    /**
+     * @param scheduler Scheduler the searches run on
+     * @param taskKey   Scheduler key shared by all searches of this pipeline
+     */
+    public BrowseSearchPipeline(TaskScheduler scheduler, String taskKey) {
+        this.scheduler = Objects.requireNonNull(scheduler, "Scheduler cannot be null");
+        this.taskKey = Objects.requireNonNull(taskKey, "Task key cannot be null");
+    }
+
+    /**
+     * Start a search (e.g. on ENTER), superseding queued and running searches.
+     *
+     * @param query   Search query
+     * @param action  Performs the search
+     * @param onError Receives failures of the search, unless it has been superseded
+     * @return generation of this request
+     */
+    public synchronized long submitNow(String query, SearchAction action, Consumer<Exception> onError) {
+        long generation = latestGeneration.incrementAndGet();
+        start(generation, query, action, onError);
+        return generation;
+    }
+
+    /**
+     * Cancel queued and running searches; results still in flight are dropped.
+     */
+    public synchronized void cancel() {
+        latestGeneration.incrementAndGet();
+        scheduler.cancel(taskKey);
+    }
+
+    /**
+     * @return true if the given generation is the latest request
+     */
+    public boolean isCurrent(long generation) {
+        return latestGeneration.get() == generation;
+    }
+
+    /**
+     * Wrap a presenter so that output of superseded searches never reaches it.
+     * Output produced outside this pipeline is passed through unchanged.
+     */
+    public BrowseRecipeOutputBoundary guard(BrowseRecipeOutputBoundary presenter) {
+        Objects.requireNonNull(presenter, "Presenter cannot be null");
+        return new BrowseRecipeOutputBoundary() {
+            @Override
+            public void presentRecipeDetails(BrowseRecipeOutputData outputData) {
+                if (!isStale()) {
+                    presenter.presentRecipeDetails(outputData);
+                }
+            }
+
+            @Override
+            public void presentError(String errorMessage) {
+                if (!isStale()) {
+                    presenter.presentError(errorMessage);
+                }
+            }
+        };
+    }
+
+    private boolean isStale() {
+        Long generation = runningGeneration.get();
+        if (generation != null && !isCurrent(generation)) {
+            logger.debug("Dropping results of superseded search (generation {})", generation);
+            return true;
+        }
+        return false;
+    }
+
+    private void start(long generation, String query, SearchAction action, Consumer<Exception> onError) {
+        if (!isCurrent(generation)) {
+            return;
+        }
+        scheduler.submit(taskKey, TaskScheduler.Priority.UI_CRITICAL, () -> run(generation, query, action, onError));
+    }
+
+    private void run(long generation, String query, SearchAction action, Consumer<Exception> onError) {
+        if (!isCurrent(generation)) {
+            return;
+        }
+        runningGeneration.set(generation);
+        try {
+            logger.debug("Starting search for query: {} (generation {})", query, generation);
+            action.search(query);
+        } catch (InterruptedIOException | CancellationException e) {
+            logger.debug("Search for query {} was cancelled", query);
+        } catch (Exception e) {
+            if (isCurrent(generation) && onError != null) {
+                onError.accept(e);
+            }
+        } finally {
+            runningGeneration.remove();
+        }
+    }
+}
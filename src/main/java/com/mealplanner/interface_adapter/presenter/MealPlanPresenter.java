@@ -5,14 +5,19 @@ import com.mealplanner.interface_adapter.view_model.MealPlanViewModel;
 import com.mealplanner.interface_adapter.view_model.ScheduleViewModel;
 import com.mealplanner.use_case.manage_meal_plan.add.AddMealOutputBoundary;
 import com.mealplanner.use_case.manage_meal_plan.add.AddMealOutputData;
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealOutputBoundary;
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealOutputData;
 import com.mealplanner.use_case.manage_meal_plan.edit.EditMealOutputBoundary;
 import com.mealplanner.use_case.manage_meal_plan.edit.EditMealOutputData;
 import com.mealplanner.use_case.manage_meal_plan.delete.DeleteMealOutputBoundary;
 import com.mealplanner.use_case.manage_meal_plan.delete.DeleteMealOutputData;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
-public class MealPlanPresenter implements AddMealOutputBoundary, EditMealOutputBoundary, DeleteMealOutputBoundary {
+public class MealPlanPresenter implements AddMealOutputBoundary, EditMealOutputBoundary, DeleteMealOutputBoundary,
+        BatchMealOutputBoundary {
     private final MealPlanViewModel mealPlanViewModel;
     private final ScheduleViewModel scheduleViewModel;
     private final ViewManagerModel viewManager;
@@ -100,4 +105,37 @@ public class MealPlanPresenter implements AddMealOutputBoundary, EditMealOutputB
     public void presentDeleteError(String errorMessage) {
         mealPlanViewModel.setErrorMessage(errorMessage != null ? errorMessage : "Failed to delete meal");
     }
+
+    @Override
+    public void presentBatchSuccess(BatchMealOutputData outputData) {
+        if (outputData == null) {
+            presentBatchError("Failed to update meals");
+            return;
+        }
+
+        List<String> failures = new ArrayList<>();
+        int conflicts = 0;
+        for (BatchMealOutputData.SlotFailure failure : outputData.getFailures()) {
+            failures.add(failure.getReason());
+            if (failure.isConflict()) {
+                conflicts++;
+            }
+        }
+        mealPlanViewModel.setBatchResult(outputData.getAppliedCount(), conflicts, failures);
+        mealPlanViewModel.setSuccessMessage(outputData.getMessage());
+
+        // Stay on the current view; bulk operations are started from the schedule itself
+        if (outputData.getAppliedCount() > 0) {
+            mealPlanViewModel.setSchedule(outputData.getSchedule());
+            scheduleViewModel.setSchedule(outputData.getSchedule());
+            scheduleViewModel.setError(null);
+        }
+    }
+
+    @Override
+    public void presentBatchError(String errorMessage) {
+        String message = errorMessage != null ? errorMessage : "Failed to update meals";
+        mealPlanViewModel.setBatchResult(0, 0, List.of(message));
+        mealPlanViewModel.setErrorMessage(message);
+    }
 }
@@ -6,7 +6,9 @@ import com.mealplanner.entity.Schedule;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class MealPlanViewModel {
@@ -16,6 +18,9 @@ public class MealPlanViewModel {
     private String errorMessage;
     private String successMessage;
     private Map<LocalDate, Map<MealType, String>> weeklyMeals;
+    private int batchAppliedCount;
+    private int batchConflictCount;
+    private List<String> batchFailures;
     private final PropertyChangeSupport propertyChangeSupport = new PropertyChangeSupport(this);
 
     public MealPlanViewModel() {
@@ -25,6 +30,7 @@ public class MealPlanViewModel {
         this.errorMessage = "";
         this.successMessage = "";
         this.weeklyMeals = new HashMap<>();
+        this.batchFailures = new ArrayList<>();
     }
 
     public void addPropertyChangeListener(PropertyChangeListener listener) {
@@ -75,6 +81,19 @@ public class MealPlanViewModel {
         this.propertyChangeSupport.firePropertyChange("successMessage", oldMessage, this.successMessage);
     }
 
+    /**
+     * Store the outcome of the last batch of slot changes.
+     * @param appliedCount  Number of changes saved
+     * @param conflictCount Number of failures caused by an already occupied slot
+     * @param failures      One message per change that could not be applied
+     */
+    public void setBatchResult(int appliedCount, int conflictCount, List<String> failures) {
+        this.batchAppliedCount = appliedCount;
+        this.batchConflictCount = conflictCount;
+        this.batchFailures = failures != null ? new ArrayList<>(failures) : new ArrayList<>();
+        this.propertyChangeSupport.firePropertyChange("batchResult", null, this.batchFailures);
+    }
+
     public Schedule getSchedule() {
         return schedule;
     }
@@ -98,4 +117,16 @@ public class MealPlanViewModel {
     public Map<LocalDate, Map<MealType, String>> getWeeklyMeals() {
         return new HashMap<>(weeklyMeals);
     }
+
+    public int getBatchAppliedCount() {
+        return batchAppliedCount;
+    }
+
+    public int getBatchConflictCount() {
+        return batchConflictCount;
+    }
+
+    public List<String> getBatchFailures() {
+        return new ArrayList<>(batchFailures);
+    }
 }
@@ -0,0 +1,31 @@
+package com.mealplanner.repository;
+
+import java.util.Set;
+
+/**
+ * Listener for changes to repository data made outside of the repository itself
+ * (another process, an import script, a manual edit of the data directory).
+ *
+ * Callbacks are delivered on a background thread. Views must hop onto the
+ * JavaFX thread (Platform.runLater) before touching UI controls.
+ *
+ * Responsible: Database team
+ */
+public interface DataChangeListener {
+
+    /**
+     * Called once per burst of file system events.
+     *
+     * @param changedIds IDs of entities whose files were created or modified
+     * @param deletedIds IDs of entities whose files were deleted
+     */
+    void onDataChanged(Set<String> changedIds, Set<String> deletedIds);
+
+    /**
+     * Called when individual events were lost (e.g. the OS event queue overflowed)
+     * and any derived state should be rebuilt from scratch.
+     */
+    default void onDataReset() {
+        // No-op by default
+    }
+}
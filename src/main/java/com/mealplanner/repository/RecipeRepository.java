@@ -4,6 +4,7 @@ import com.mealplanner.entity.Recipe;
 import com.mealplanner.exception.DataAccessException;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Repository interface for Recipe data access.
@@ -51,6 +52,19 @@ public interface RecipeRepository {
      */
     List<Recipe> findByName(String name) throws DataAccessException;
 
+    /**
+     * Full-text search over recipe names, ingredients and steps, best matches first.
+     * Repositories without a search index fall back to a name match.
+     *
+     * @param query Free text query
+     * @param limit Maximum number of recipes to return
+     * @return Matching recipes, best first (may be empty)
+     * @throws DataAccessException if read operation fails
+     */
+    default List<Recipe> search(String query, int limit) throws DataAccessException {
+        return findByName(query).stream().limit(Math.max(0, limit)).collect(Collectors.toList());
+    }
+
     /**
      * Delete a recipe by its ID.
      *
@@ -84,4 +98,14 @@ public interface RecipeRepository {
      * @throws DataAccessException if delete operation fails
      */
     void clear() throws DataAccessException;
+
+    /**
+     * Subscribe to changes made to the stored recipes outside of this repository.
+     * Repositories that cannot observe such changes ignore the listener.
+     *
+     * @param listener Listener to notify after the repository has picked up the change
+     */
+    default void addChangeListener(DataChangeListener listener) {
+        // Not supported by default
+    }
 }
@@ -62,6 +62,16 @@ public interface ScheduleRepository {
      */
     List<Schedule> findByDate(LocalDate date) throws DataAccessException;
 
+    /**
+     * Find schedules with at least one meal between two dates (inclusive).
+     *
+     * @param start First date of the range
+     * @param end   Last date of the range
+     * @return List of schedules with meals in the range (may be empty)
+     * @throws DataAccessException if read operation fails
+     */
+    List<Schedule> findByDateRange(LocalDate start, LocalDate end) throws DataAccessException;
+
     /**
      * Delete a schedule by its ID.
      *
@@ -0,0 +1,263 @@
+package com.mealplanner.repository.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mealplanner.config.AppConfig;
+import com.mealplanner.entity.Recipe;
+import com.mealplanner.exception.DataAccessException;
+import com.mealplanner.repository.DataChangeListener;
+import com.mealplanner.repository.RecipeRepository;
+
+/**
+ * Write-through caching decorator for a RecipeRepository.
+ *
+ * The underlying catalog is loaded once on first read and then served from memory.
+ * save/delete/clear are written to the delegate first and only then applied to the cache,
+ * so the disk stays the source of truth.
+ *
+ * The cache is bounded by an LRU policy. If the catalog grows beyond the bound, the least
+ * recently used entries are evicted and catalog-wide reads (findAll, findByName, count)
+ * fall back to the delegate until the catalog fits again.
+ *
+ * Registered with a DataDirectoryWatcher, the cache reloads only the files that changed on disk
+ * and then forwards the change to its own listeners, so views refresh against up-to-date data.
+ *
+ * Responsible: Database team
+ */
+public class CachingRecipeRepository implements RecipeRepository, DataChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingRecipeRepository.class);
+
+    private final RecipeRepository delegate;
+    private final int maxEntries;
+    private final Map<String, Recipe> cache;
+    private final List<DataChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    // True while the cache holds every recipe of the delegate
+    private boolean fullyLoaded = false;
+
+    /**
+     * Create a caching repository around the given delegate.
+     *
+     * @param delegate   Repository that owns the persistent copy of each recipe
+     * @param maxEntries Maximum number of recipes kept in memory (must be positive)
+     */
+    public CachingRecipeRepository(RecipeRepository delegate, int maxEntries) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate repository cannot be null");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Recipe> eldest) {
+                if (size() > CachingRecipeRepository.this.maxEntries) {
+                    fullyLoaded = false;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Create a caching repository over a FileRecipeRepository using the bound from AppConfig.
+     */
+    public CachingRecipeRepository() {
+        this(new FileRecipeRepository(), AppConfig.getRecipeCacheMaxSize());
+    }
+
+    @Override
+    public synchronized void save(Recipe recipe) throws DataAccessException {
+        delegate.save(recipe);
+        // The delegate may decorate recipes on read (e.g. image matching), so cache what it returns
+        if (recipe.getImageUrl() == null) {
+            Optional<Recipe> stored = delegate.findById(recipe.getRecipeId());
+            cache.put(recipe.getRecipeId(), stored.orElse(recipe));
+        } else {
+            cache.put(recipe.getRecipeId(), recipe);
+        }
+    }
+
+    @Override
+    public synchronized Optional<Recipe> findById(String recipeId) throws DataAccessException {
+        if (recipeId == null || recipeId.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Recipe cached = cache.get(recipeId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (fullyLoaded) {
+            return Optional.empty();
+        }
+
+        Optional<Recipe> loaded = delegate.findById(recipeId);
+        loaded.ifPresent(recipe -> cache.put(recipeId, recipe));
+        return loaded;
+    }
+
+    @Override
+    public synchronized List<Recipe> findAll() throws DataAccessException {
+        if (fullyLoaded) {
+            return new ArrayList<>(cache.values());
+        }
+        return loadAll();
+    }
+
+    @Override
+    public synchronized List<Recipe> findByName(String name) throws DataAccessException {
+        if (name == null || name.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String searchTerm = name.toLowerCase().trim();
+        return findAll().stream()
+                .filter(recipe -> recipe != null && recipe.getName() != null
+                        && recipe.getName().toLowerCase().contains(searchTerm))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Ranks with the delegate's search, returning the cached copy of each recipe found.
+     */
+    @Override
+    public synchronized List<Recipe> search(String query, int limit) throws DataAccessException {
+        List<Recipe> recipes = new ArrayList<>();
+        for (Recipe recipe : delegate.search(query, limit)) {
+            Recipe cached = cache.get(recipe.getRecipeId());
+            recipes.add(cached != null ? cached : recipe);
+        }
+        return recipes;
+    }
+
+    @Override
+    public synchronized boolean delete(String recipeId) throws DataAccessException {
+        boolean deleted = delegate.delete(recipeId);
+        if (recipeId != null) {
+            cache.remove(recipeId);
+        }
+        return deleted;
+    }
+
+    @Override
+    public synchronized boolean exists(String recipeId) throws DataAccessException {
+        if (recipeId == null || recipeId.isEmpty()) {
+            return false;
+        }
+        if (cache.containsKey(recipeId)) {
+            return true;
+        }
+        return !fullyLoaded && delegate.exists(recipeId);
+    }
+
+    @Override
+    public synchronized int count() throws DataAccessException {
+        if (fullyLoaded) {
+            return cache.size();
+        }
+        return loadAll().size();
+    }
+
+    @Override
+    public synchronized void clear() throws DataAccessException {
+        delegate.clear();
+        cache.clear();
+        fullyLoaded = true;
+    }
+
+    @Override
+    public void addChangeListener(DataChangeListener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    @Override
+    public void onDataChanged(Set<String> changedIds, Set<String> deletedIds) {
+        synchronized (this) {
+            for (String recipeId : deletedIds) {
+                cache.remove(recipeId);
+            }
+            for (String recipeId : changedIds) {
+                refresh(recipeId);
+            }
+        }
+        for (DataChangeListener listener : listeners) {
+            listener.onDataChanged(changedIds, deletedIds);
+        }
+    }
+
+    @Override
+    public void onDataReset() {
+        invalidateAll();
+        for (DataChangeListener listener : listeners) {
+            listener.onDataReset();
+        }
+    }
+
+    /**
+     * Drop the entire cache so that the next read reloads the catalog.
+     */
+    public synchronized void invalidateAll() {
+        cache.clear();
+        fullyLoaded = false;
+        logger.debug("Invalidated recipe cache");
+    }
+
+    /**
+     * @return Number of recipes currently held in memory
+     */
+    public synchronized int cachedSize() {
+        return cache.size();
+    }
+
+    // Reload a single recipe from the delegate, keeping the rest of the cache intact
+    private void refresh(String recipeId) {
+        cache.remove(recipeId);
+        try {
+            Optional<Recipe> loaded = delegate.findById(recipeId);
+            loaded.ifPresent(recipe -> cache.put(recipeId, recipe));
+        } catch (RuntimeException e) {
+            // A half-written or unreadable file; fall back to a full reload on next catalog read
+            logger.warn("Failed to reload changed recipe {}: {}", recipeId, e.getMessage());
+            fullyLoaded = false;
+        }
+    }
+
+    /**
+     * Load the whole catalog from the delegate and repopulate the cache.
+     * If the catalog does not fit, the most recently loaded recipes stay cached
+     * and fullyLoaded remains false, so the next catalog-wide read goes to disk again.
+     */
+    private List<Recipe> loadAll() throws DataAccessException {
+        List<Recipe> recipes = delegate.findAll();
+        cache.clear();
+        fullyLoaded = true;
+        for (Recipe recipe : recipes) {
+            if (recipe != null && recipe.getRecipeId() != null) {
+                cache.put(recipe.getRecipeId(), recipe);
+            }
+        }
+        if (fullyLoaded) {
+            logger.info("Recipe cache loaded with {} recipes", cache.size());
+        } else {
+            logger.info("Recipe catalog ({} recipes) exceeds cache bound of {}", recipes.size(), maxEntries);
+        }
+        return recipes;
+    }
+}
@@ -0,0 +1,216 @@
+package com.mealplanner.repository.impl;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mealplanner.repository.DataChangeListener;
+
+/**
+ * Watches a repository data directory with the NIO WatchService and reports changed entity IDs.
+ *
+ * Events are coalesced: a burst of creates/modifies/deletes is collected until the directory
+ * has been quiet for the debounce interval, then delivered to listeners as one batch.
+ * The entity ID is the file name without the data file extension, matching how the file
+ * repositories name their files.
+ *
+ * Responsible: Database team
+ */
+public class DataDirectoryWatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataDirectoryWatcher.class);
+
+    private final Path directory;
+    private final String fileExtension;
+    private final long debounceMillis;
+    private final List<DataChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Pending entity ID -> true if the latest event was a delete
+    private final Map<String, Boolean> pending = new LinkedHashMap<>();
+    private boolean pendingReset = false;
+    private long lastEventAt = 0;
+
+    private WatchService watchService;
+    private Thread watchThread;
+    private volatile boolean running = false;
+
+    /**
+     * Create a watcher for the given directory.
+     *
+     * @param directory      Directory to watch (created if missing)
+     * @param fileExtension  Only files with this extension are reported (e.g. ".json")
+     * @param debounceMillis Quiet period used to coalesce bursts of events
+     */
+    public DataDirectoryWatcher(String directory, String fileExtension, long debounceMillis) {
+        if (directory == null || directory.trim().isEmpty()) {
+            throw new IllegalArgumentException("Directory cannot be null or empty");
+        }
+        if (fileExtension == null || fileExtension.isEmpty()) {
+            throw new IllegalArgumentException("File extension cannot be null or empty");
+        }
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("Debounce interval cannot be negative");
+        }
+        this.directory = Paths.get(directory.trim());
+        this.fileExtension = fileExtension;
+        this.debounceMillis = debounceMillis;
+    }
+
+    public void addListener(DataChangeListener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(DataChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Start watching on a daemon thread. Calling start on a running watcher has no effect.
+     *
+     * @throws IOException if the directory cannot be registered with the WatchService
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        Files.createDirectories(directory);
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+
+        running = true;
+        watchThread = new Thread(this::watchLoop, "data-watcher-" + directory.getFileName());
+        watchThread.setDaemon(true);
+        watchThread.start();
+        logger.info("Watching data directory for changes: {}", directory);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close watch service for {}", directory, e);
+            }
+        }
+        if (watchThread != null) {
+            watchThread.interrupt();
+            watchThread = null;
+        }
+    }
+
+    private void watchLoop() {
+        try {
+            while (running) {
+                WatchKey key;
+                if (pending.isEmpty() && !pendingReset) {
+                    key = watchService.take();
+                } else {
+                    long wait = debounceMillis - (System.currentTimeMillis() - lastEventAt);
+                    key = wait > 0 ? watchService.poll(wait, TimeUnit.MILLISECONDS) : null;
+                    if (key == null) {
+                        flush();
+                        continue;
+                    }
+                }
+
+                collect(key);
+                if (!key.reset()) {
+                    logger.warn("Data directory is no longer accessible: {}", directory);
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Watcher was closed
+        } finally {
+            running = false;
+        }
+    }
+
+    private void collect(WatchKey key) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            lastEventAt = System.currentTimeMillis();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                pendingReset = true;
+                continue;
+            }
+
+            String fileName = event.context().toString();
+            if (!fileName.endsWith(fileExtension)) {
+                continue;
+            }
+            String id = fileName.substring(0, fileName.length() - fileExtension.length());
+            // Remove first so the ID moves to the end and the latest event kind wins
+            pending.remove(id);
+            pending.put(id, event.kind() == StandardWatchEventKinds.ENTRY_DELETE);
+        }
+    }
+
+    private void flush() {
+        if (pendingReset) {
+            pendingReset = false;
+            pending.clear();
+            logger.info("Change events overflowed for {}, requesting full reload", directory);
+            for (DataChangeListener listener : listeners) {
+                try {
+                    listener.onDataReset();
+                } catch (RuntimeException e) {
+                    logger.error("Data change listener failed", e);
+                }
+            }
+            return;
+        }
+
+        Set<String> changed = new LinkedHashSet<>();
+        Set<String> deleted = new LinkedHashSet<>();
+        for (Map.Entry<String, Boolean> entry : pending.entrySet()) {
+            if (entry.getValue()) {
+                deleted.add(entry.getKey());
+            } else {
+                changed.add(entry.getKey());
+            }
+        }
+        pending.clear();
+
+        logger.debug("Data changes in {}: {} changed, {} deleted", directory, changed.size(), deleted.size());
+        Set<String> changedView = Collections.unmodifiableSet(changed);
+        Set<String> deletedView = Collections.unmodifiableSet(deleted);
+        for (DataChangeListener listener : listeners) {
+            try {
+                listener.onDataChanged(changedView, deletedView);
+            } catch (RuntimeException e) {
+                logger.error("Data change listener failed", e);
+            }
+        }
+    }
+}
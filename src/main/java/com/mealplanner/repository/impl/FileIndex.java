@@ -0,0 +1,184 @@
+package com.mealplanner.repository.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.mealplanner.exception.DataAccessException;
+import com.mealplanner.util.AtomicFileWriter;
+
+/**
+ * Small persistent key -> value index stored as a JSON file next to the data it indexes.
+ *
+ * The index is only a lookup accelerator: the data files stay the source of truth.
+ * Owners load it on first use, rebuild it from the data files when load() reports the file
+ * as missing or corrupt, and keep it in sync on every save/delete.
+ *
+ * Use {@link #open(Path)} so that every repository and DAO touching the same data directory
+ * shares one in-memory copy; separate instances over one file would overwrite each other's entries.
+ *
+ * Responsible: Database team
+ */
+public class FileIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileIndex.class);
+    private static final int FORMAT_VERSION = 1;
+    private static final Map<Path, FileIndex> OPEN_INDEXES = new ConcurrentHashMap<>();
+
+    private final Path indexFile;
+    private final Gson gson;
+    private final Map<String, String> entries = new HashMap<>();
+    private boolean loaded = false;
+
+    /**
+     * @param indexFile File the index is persisted to. Must not use the data file extension.
+     */
+    private FileIndex(Path indexFile) {
+        this.indexFile = indexFile;
+        this.gson = new GsonBuilder().create();
+    }
+
+    /**
+     * Get the shared index instance for the given file, creating it on first use.
+     *
+     * @param indexFile File the index is persisted to
+     * @return Index shared by all callers using the same file
+     */
+    public static FileIndex open(Path indexFile) {
+        if (indexFile == null) {
+            throw new IllegalArgumentException("Index file cannot be null");
+        }
+        return OPEN_INDEXES.computeIfAbsent(indexFile.toAbsolutePath().normalize(), FileIndex::new);
+    }
+
+    /**
+     * Load the index from disk.
+     *
+     * @return true if the index was read successfully, false if it is missing or corrupt
+     */
+    public synchronized boolean load() {
+        entries.clear();
+        loaded = false;
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+
+        try (Reader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            IndexFile stored = gson.fromJson(reader, IndexFile.class);
+            if (stored == null || stored.version != FORMAT_VERSION || stored.entries == null) {
+                logger.warn("Index file has unexpected format, ignoring: {}", indexFile);
+                return false;
+            }
+            entries.putAll(stored.entries);
+            loaded = true;
+            return true;
+        } catch (IOException | JsonParseException e) {
+            logger.warn("Index file is unreadable, ignoring: {}", indexFile, e);
+            entries.clear();
+            return false;
+        }
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    public synchronized String get(String key) {
+        return key == null ? null : entries.get(key);
+    }
+
+    public synchronized boolean containsKey(String key) {
+        return key != null && entries.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Map key to value and persist the index.
+     */
+    public synchronized void put(String key, String value) {
+        if (key == null || value == null) {
+            return;
+        }
+        if (value.equals(entries.put(key, value))) {
+            return;
+        }
+        persist();
+    }
+
+    /**
+     * Remove a key and persist the index.
+     */
+    public synchronized void remove(String key) {
+        if (key != null && entries.remove(key) != null) {
+            persist();
+        }
+    }
+
+    /**
+     * Remove every key that maps to the given value and persist the index.
+     */
+    public synchronized void removeValue(String value) {
+        if (value == null) {
+            return;
+        }
+        boolean changed = false;
+        Iterator<Map.Entry<String, String>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            if (value.equals(it.next().getValue())) {
+                it.remove();
+                changed = true;
+            }
+        }
+        if (changed) {
+            persist();
+        }
+    }
+
+    /**
+     * Replace the whole index with the given entries (used after a rebuild) and persist it.
+     */
+    public synchronized void replaceAll(Map<String, String> newEntries) {
+        entries.clear();
+        if (newEntries != null) {
+            entries.putAll(newEntries);
+        }
+        loaded = true;
+        persist();
+    }
+
+    private void persist() {
+        IndexFile stored = new IndexFile();
+        stored.version = FORMAT_VERSION;
+        stored.entries = new HashMap<>(entries);
+
+        try {
+            AtomicFileWriter.write(indexFile, writer -> gson.toJson(stored, writer));
+        } catch (IOException e) {
+            logger.error("Failed to write index file: {}", indexFile, e);
+            throw new DataAccessException("Failed to write index file: " + indexFile, e);
+        }
+    }
+
+    /**
+     * On-disk layout of the index file.
+     */
+    private static class IndexFile {
+        int version;
+        Map<String, String> entries;
+    }
+}
@@ -2,7 +2,6 @@ package com.mealplanner.repository.impl;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -22,6 +21,7 @@ import com.mealplanner.config.AppConfig;
 import com.mealplanner.entity.Recipe;
 import com.mealplanner.exception.DataAccessException;
 import com.mealplanner.repository.RecipeRepository;
+import com.mealplanner.util.AtomicFileWriter;
 import com.mealplanner.util.RecipeImageMatcher;
 
 /**
@@ -36,6 +36,7 @@ public class FileRecipeRepository implements RecipeRepository {
 
     private final String dataDirectory;
     private final Gson gson;
+    private final RecipeSearchIndex searchIndex;
 
     /**
      * Create a new FileRecipeRepository.
@@ -49,6 +50,7 @@ public class FileRecipeRepository implements RecipeRepository {
         this.dataDirectory = dataDirectory.trim();
         this.gson = new GsonBuilder().setPrettyPrinting().create();
         initializeDirectory();
+        this.searchIndex = RecipeSearchIndex.open(this.dataDirectory, AppConfig.getDataFileExtension());
         logger.info("FileRecipeRepository initialized with directory: {}", this.dataDirectory);
     }
 
@@ -88,13 +90,14 @@ public class FileRecipeRepository implements RecipeRepository {
         logger.debug("Saving recipe: {}", recipe.getRecipeId());
         String filePath = getFilePath(recipe.getRecipeId());
 
-        try (FileWriter writer = new FileWriter(filePath)) {
-            gson.toJson(recipe, writer);
+        try {
+            AtomicFileWriter.write(Paths.get(filePath), writer -> gson.toJson(recipe, writer));
             logger.info("Successfully saved recipe: {}", recipe.getRecipeId());
         } catch (IOException e) {
             logger.error("Failed to save recipe: {}", recipe.getRecipeId(), e);
             throw new DataAccessException("Failed to save recipe: " + recipe.getRecipeId(), e);
         }
+        searchIndex.update(recipe);
     }
 
     @Override
@@ -217,6 +220,25 @@ public class FileRecipeRepository implements RecipeRepository {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Ranked full-text search using the directory's persistent search index.
+     */
+    @Override
+    public List<Recipe> search(String query, int limit) throws DataAccessException {
+        if (query == null || query.trim().isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        logger.debug("Searching recipes: {}", query);
+        searchIndex.rebuildIfIncomplete();
+        List<Recipe> recipes = new ArrayList<>();
+        for (RecipeSearchIndex.Hit hit : searchIndex.search(query, limit)) {
+            // A file removed behind the index's back is skipped
+            findById(hit.getRecipeId()).ifPresent(recipes::add);
+        }
+        return recipes;
+    }
+
     @Override
     public boolean delete(String recipeId) throws DataAccessException {
         if (recipeId == null || recipeId.isEmpty()) {
@@ -235,6 +257,7 @@ public class FileRecipeRepository implements RecipeRepository {
         try {
             boolean deleted = file.delete();
             if (deleted) {
+                searchIndex.remove(recipeId);
                 logger.info("Successfully deleted recipe: {}", recipeId);
             } else {
                 logger.warn("Failed to delete recipe file: {}", recipeId);
@@ -306,6 +329,7 @@ public class FileRecipeRepository implements RecipeRepository {
                 }
             }
 
+            searchIndex.rebuild();
             logger.info("Cleared {} recipes", deletedCount);
         } catch (IOException e) {
             logger.error("Failed to clear recipes", e);
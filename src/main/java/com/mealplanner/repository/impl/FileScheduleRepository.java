@@ -1,17 +1,17 @@
 package com.mealplanner.repository.impl;
 
 import com.mealplanner.config.AppConfig;
+import com.mealplanner.data_access.database.JsonConverter;
 import com.mealplanner.entity.Schedule;
 import com.mealplanner.exception.DataAccessException;
 import com.mealplanner.repository.ScheduleRepository;
+import com.mealplanner.util.AtomicFileWriter;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -29,14 +29,19 @@ public class FileScheduleRepository implements ScheduleRepository {
 
     private final String dataDirectory;
     private final Gson gson;
+    private final ScheduleUserIndex userIndex;
+    private final ScheduleDateIndex dateIndex;
 
     public FileScheduleRepository(String dataDirectory) {
         if (dataDirectory == null || dataDirectory.trim().isEmpty()) {
             throw new IllegalArgumentException("Data directory cannot be null or empty");
         }
         this.dataDirectory = dataDirectory.trim();
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
+        // Shared converter registers the LocalDate adapters Schedule needs
+        this.gson = JsonConverter.getGson();
         initializeDirectory();
+        this.userIndex = new ScheduleUserIndex(this.dataDirectory, AppConfig.getDataFileExtension());
+        this.dateIndex = ScheduleDateIndex.open(this.dataDirectory, AppConfig.getDataFileExtension());
         logger.info("FileScheduleRepository initialized with directory: {}", this.dataDirectory);
     }
 
@@ -73,13 +78,15 @@ public class FileScheduleRepository implements ScheduleRepository {
         logger.debug("Saving schedule: {}", schedule.getScheduleId());
         String filePath = getFilePath(schedule.getScheduleId());
 
-        try (FileWriter writer = new FileWriter(filePath)) {
-            gson.toJson(schedule, writer);
+        try {
+            AtomicFileWriter.write(Paths.get(filePath), writer -> gson.toJson(schedule, writer));
             logger.info("Successfully saved schedule: {}", schedule.getScheduleId());
         } catch (IOException e) {
             logger.error("Failed to save schedule: {}", schedule.getScheduleId(), e);
             throw new DataAccessException("Failed to save schedule: " + schedule.getScheduleId(), e);
         }
+        userIndex.put(schedule.getUserId(), schedule.getScheduleId());
+        dateIndex.update(schedule);
     }
 
     @Override
@@ -115,9 +122,23 @@ public class FileScheduleRepository implements ScheduleRepository {
 
         logger.debug("Finding schedule by user ID: {}", userId);
 
-        return findAll().stream()
-                .filter(schedule -> schedule != null && userId.equals(schedule.getUserId()))
-                .findFirst();
+        String scheduleId = userIndex.findScheduleId(userId);
+        if (scheduleId != null) {
+            Optional<Schedule> schedule = findById(scheduleId);
+            if (schedule.isPresent() && userId.equals(schedule.get().getUserId())) {
+                return schedule;
+            }
+            // Index entry is stale (schedule changed or removed outside this repository)
+            userIndex.rebuild();
+        } else if (!userIndex.rebuildIfIncomplete()) {
+            return Optional.empty();
+        }
+
+        scheduleId = userIndex.findScheduleId(userId);
+        if (scheduleId == null) {
+            return Optional.empty();
+        }
+        return findById(scheduleId).filter(schedule -> userId.equals(schedule.getUserId()));
     }
 
     @Override
@@ -164,11 +185,33 @@ public class FileScheduleRepository implements ScheduleRepository {
         }
 
         logger.debug("Finding schedules by date: {}", date);
+        dateIndex.rebuildIfIncomplete();
+
+        List<Schedule> schedules = new ArrayList<>();
+        for (String scheduleId : dateIndex.findScheduleIds(date)) {
+            findById(scheduleId)
+                    .filter(schedule -> !schedule.getMealsForDate(date).isEmpty())
+                    .ifPresent(schedules::add);
+        }
+        return schedules;
+    }
+
+    @Override
+    public List<Schedule> findByDateRange(LocalDate start, LocalDate end) throws DataAccessException {
+        if (start == null || end == null || end.isBefore(start)) {
+            return new ArrayList<>();
+        }
 
-        return findAll().stream()
-                .filter(schedule -> schedule != null && schedule.getMealsForDate(date) != null
-                        && !schedule.getMealsForDate(date).isEmpty())
-                .collect(Collectors.toList());
+        logger.debug("Finding schedules between {} and {}", start, end);
+        dateIndex.rebuildIfIncomplete();
+
+        List<Schedule> schedules = new ArrayList<>();
+        for (String scheduleId : dateIndex.findScheduleIds(start, end)) {
+            findById(scheduleId)
+                    .filter(schedule -> !schedule.getMealsBetween(start, end).isEmpty())
+                    .ifPresent(schedules::add);
+        }
+        return schedules;
     }
 
     @Override
@@ -189,6 +232,8 @@ public class FileScheduleRepository implements ScheduleRepository {
         try {
             boolean deleted = file.delete();
             if (deleted) {
+                userIndex.removeSchedule(scheduleId);
+                dateIndex.remove(scheduleId);
                 logger.info("Successfully deleted schedule: {}", scheduleId);
             } else {
                 logger.warn("Failed to delete schedule file: {}", scheduleId);
@@ -277,6 +322,8 @@ public class FileScheduleRepository implements ScheduleRepository {
                 }
             }
 
+            userIndex.rebuild();
+            dateIndex.rebuild();
             logger.info("Cleared {} schedules", deletedCount);
         } catch (IOException e) {
             logger.error("Failed to clear schedules", e);
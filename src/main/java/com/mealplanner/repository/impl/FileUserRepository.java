@@ -5,15 +5,19 @@ import com.mealplanner.entity.Schedule;
 import com.mealplanner.entity.User;
 import com.mealplanner.exception.DataAccessException;
 import com.mealplanner.repository.UserRepository;
+import com.mealplanner.util.AtomicFileWriter;
 import com.mealplanner.util.PasswordUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -29,12 +33,18 @@ public class FileUserRepository implements UserRepository {
     private static final Logger logger = LoggerFactory.getLogger(FileUserRepository.class);
 
     private static final String File_Extension = ".user";
+    private static final String USERNAME_INDEX_FILE = "username.index";
 
     private Path dataDir;
 
     @SuppressWarnings("unused")
     private final String dataDirectory;
 
+    // username -> userId, persisted next to the user files
+    private final FileIndex usernameIndex;
+    // User files the username index has read
+    private final IndexedFileSet indexedUserFiles;
+
 
     /**
      * Create a new FileUserRepository.
@@ -53,6 +63,8 @@ public class FileUserRepository implements UserRepository {
         } catch (IOException e){
             logger.error("Error creating user directory.", this,dataDir, e);
         }
+        this.usernameIndex = FileIndex.open(this.dataDir.resolve(USERNAME_INDEX_FILE));
+        this.indexedUserFiles = IndexedFileSet.forIndex(this.dataDir.resolve(USERNAME_INDEX_FILE), File_Extension);
 
         logger.info("FileUserRepository initialized with directory: {}", dataDirectory);
     }
@@ -60,6 +72,48 @@ public class FileUserRepository implements UserRepository {
         return dataDir.resolve(userId + File_Extension);
     }
 
+    /**
+     * Load the username index, rebuilding it from the user files if it is missing or corrupt.
+     */
+    private void ensureUsernameIndex() throws DataAccessException {
+        if (usernameIndex.isLoaded() || usernameIndex.load()) {
+            return;
+        }
+        rebuildUsernameIndex();
+    }
+
+    private void rebuildUsernameIndex() throws DataAccessException {
+        logger.info("Rebuilding username index in {}", dataDir);
+        List<File> files = indexedUserFiles.list();
+        Map<String, String> entries = new HashMap<>();
+        for (User user : findAll()) {
+            entries.put(user.getUsername(), user.getUserId());
+        }
+        usernameIndex.replaceAll(entries);
+        indexedUserFiles.reset(files);
+    }
+
+    /**
+     * Index the user files written since the index last looked at the directory (e.g. by another
+     * process), so a username missing from the index is only reported missing once every file
+     * has been read. Lists the directory and reads nothing if no file is new.
+     */
+    private void indexUnreadUserFiles() throws DataAccessException {
+        List<File> unread = indexedUserFiles.takeUnread(usernameIndex.size());
+        if (unread == null) {
+            rebuildUsernameIndex();
+            return;
+        }
+        for (File file : unread) {
+            try {
+                User user = deserializeUser(Files.readString(file.toPath(), StandardCharsets.UTF_8));
+                usernameIndex.put(user.getUsername(), user.getUserId());
+            } catch (IOException | IllegalArgumentException e) {
+                logger.warn("Skipping unreadable user file while indexing: {}", file);
+            }
+        }
+    }
+
     private String serializeUser(User user){
         StringBuilder sb = new StringBuilder();
         sb.append("userId=").append(user.getUserId()).append("\n");
@@ -139,8 +193,13 @@ public class FileUserRepository implements UserRepository {
             }
             
             String content = serializeUser(userToSave);
-            Files.writeString(filepath, content, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
-                    StandardOpenOption.TRUNCATE_EXISTING);
+            AtomicFileWriter.write(filepath, content);
+
+            // Drop a previous username of this user before indexing the current one
+            ensureUsernameIndex();
+            usernameIndex.removeValue(user.getUserId());
+            usernameIndex.put(user.getUsername(), user.getUserId());
+            indexedUserFiles.markRead(filepath);
 
             } catch (IOException e) {
             logger.error("Error saving user to file");
@@ -180,12 +239,24 @@ public class FileUserRepository implements UserRepository {
         }
 
         try{
-            for (User user :findAll()){
-                if (user.getUsername().equals(username)){
-                    return Optional.of(user);
+            ensureUsernameIndex();
+            String userId = usernameIndex.get(username);
+            if (userId == null){
+                indexUnreadUserFiles();
+                userId = usernameIndex.get(username);
+                if (userId == null) {
+                    return Optional.empty();
                 }
             }
-            return Optional.empty();
+            Optional<User> user = findById(userId);
+            if (user.isPresent() && user.get().getUsername().equals(username)){
+                return user;
+            }
+
+            // Index entry is stale (file removed or renamed outside the repository)
+            rebuildUsernameIndex();
+            userId = usernameIndex.get(username);
+            return userId == null ? Optional.empty() : findById(userId);
         } catch (Exception e){
             logger.error("Failed to find user by username.", e);
             throw new DataAccessException("Failed to find user by username.", e);
@@ -231,7 +302,11 @@ public class FileUserRepository implements UserRepository {
         Path filepath = getUserFilePath(userId);
 
         try{
-            return Files.deleteIfExists(filepath);
+            boolean deleted = Files.deleteIfExists(filepath);
+            if (usernameIndex.isLoaded() || usernameIndex.load()){
+                usernameIndex.removeValue(userId);
+            }
+            return deleted;
         } catch (IOException e){
         logger.error("Failed to delete user file", e);
         throw new DataAccessException("Failed to delete user file", e);
@@ -251,13 +326,16 @@ public class FileUserRepository implements UserRepository {
     public boolean usernameExists(String username) throws DataAccessException {
         // done: Implement usernameExists - search through all users
         logger.debug("Checking if username exists: {}", username);
+        if (username == null || username.trim().isEmpty()) {
+            return false;
+        }
         try {
-            for (User user :findAll()){
-                if (user.getUsername().equals(username)){
-                    return true;
-                }
+            ensureUsernameIndex();
+            if (usernameIndex.containsKey(username)) {
+                return true;
             }
-            return false;
+            indexUnreadUserFiles();
+            return usernameIndex.containsKey(username);
         } catch (Exception e){
             logger.error("Failed to check if username exists", e);
             throw new DataAccessException("Failed to check if username exists", e);
@@ -298,5 +376,7 @@ public class FileUserRepository implements UserRepository {
         logger.error("Failed to clear all users", e);
         throw new DataAccessException("Failed to clear all users", e);
     }
+    usernameIndex.replaceAll(new HashMap<>());
+    indexedUserFiles.reset(List.of());
     }
 }
@@ -0,0 +1,112 @@
+package com.mealplanner.repository.impl;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Names of the data files an index has already read.
+ *
+ * Indexes skip files they cannot read and may map several files to one key, so the number of
+ * indexed entries does not tell whether the directory holds files the index has never seen.
+ * Listing the directory and comparing file names against this set does, without reading any
+ * file: an index miss then only reads the files added since, and nothing if there are none.
+ *
+ * The set lives in memory only. After an index is loaded from disk there is nothing to compare
+ * against yet, so the first check trusts the index if it has one entry per file and otherwise
+ * asks for a single rebuild.
+ *
+ * Responsible: Database team
+ */
+public class IndexedFileSet {
+
+    private static final Map<Path, IndexedFileSet> OPEN_SETS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final String fileExtension;
+    // File names the index has read; null until the index was rebuilt or first checked
+    private Set<String> readNames;
+
+    private IndexedFileSet(Path directory, String fileExtension) {
+        this.directory = directory;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Get the shared file set of an index, creating it on first use. The data files are the
+     * files next to the index file with the given extension.
+     *
+     * @param indexFile     File the index is persisted to
+     * @param fileExtension Extension of the data files (e.g. ".json")
+     */
+    public static IndexedFileSet forIndex(Path indexFile, String fileExtension) {
+        if (indexFile == null || fileExtension == null) {
+            throw new IllegalArgumentException("Index file and extension cannot be null");
+        }
+        Path normalized = indexFile.toAbsolutePath().normalize();
+        return OPEN_SETS.computeIfAbsent(normalized, file -> new IndexedFileSet(file.getParent(), fileExtension));
+    }
+
+    /**
+     * @return every data file in the directory
+     */
+    public List<File> list() {
+        File[] files = directory.toFile().listFiles((dir, name) -> name.endsWith(fileExtension));
+        return files != null ? List.of(files) : List.of();
+    }
+
+    /**
+     * Record that the index was rebuilt from exactly these files.
+     */
+    public synchronized void reset(Collection<File> files) {
+        readNames = new HashSet<>();
+        for (File file : files) {
+            readNames.add(file.getName());
+        }
+    }
+
+    /**
+     * Record that the index has read a file, e.g. one its owner just wrote.
+     */
+    public synchronized void markRead(Path file) {
+        if (readNames != null && file != null) {
+            readNames.add(file.getFileName().toString());
+        }
+    }
+
+    /**
+     * List the directory and return the data files the index has not read yet, which are then
+     * recorded as read. Names of files that are gone are forgotten, so a file recreated under
+     * the same name is read again.
+     *
+     * @param indexedEntries Number of index entries, only used before the first rebuild or check
+     * @return files to index (empty if there are none), or null if the caller has to rebuild
+     */
+    public synchronized List<File> takeUnread(int indexedEntries) {
+        List<File> files = list();
+        if (readNames == null) {
+            if (files.size() != indexedEntries) {
+                return null;
+            }
+            reset(files);
+            return new ArrayList<>();
+        }
+
+        Set<String> listed = new HashSet<>();
+        List<File> unread = new ArrayList<>();
+        for (File file : files) {
+            listed.add(file.getName());
+            if (readNames.add(file.getName())) {
+                unread.add(file);
+            }
+        }
+        readNames.retainAll(listed);
+        return unread;
+    }
+}
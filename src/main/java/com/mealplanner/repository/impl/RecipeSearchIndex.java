@@ -0,0 +1,544 @@
+package com.mealplanner.repository.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.mealplanner.entity.Recipe;
+import com.mealplanner.exception.DataAccessException;
+import com.mealplanner.util.AtomicFileWriter;
+import com.mealplanner.util.TextAnalyzer;
+
+/**
+ * Persistent full-text index over the name, ingredients and steps of the recipes in a recipe
+ * data directory, ranked with BM25F.
+ *
+ * Text is split into stemmed terms by {@link TextAnalyzer}. Each term maps to a posting list of
+ * (recipe, term frequency per field); a reverse recipe -> terms map lets save/delete update the
+ * postings incrementally. A match in the name counts more than one in the ingredients, which
+ * counts more than one in the steps. Queries score only the recipes in the postings of their
+ * terms and keep the best K in a bounded heap.
+ *
+ * The index is stored as a single segment file holding each recipe's field lengths and term
+ * frequencies, so startup rebuilds the postings from that file without reading or analyzing
+ * any recipe. Like ScheduleDateIndex, it is only an accelerator: callers load the recipes they
+ * get back, and the index is rebuilt from the recipe files when it is missing or corrupt.
+ * Recipe files it has not read yet are indexed on the next search.
+ *
+ * Changes are written to the segment in batches, a few seconds after the first unwritten one,
+ * and by {@link #flushAll()} at shutdown. A segment older than a recipe file may have missed
+ * updates before a crash, so it is ignored and rebuilt; a save that leaves the terms unchanged
+ * (e.g. new servings or nutrition) only touches the segment so it stays newer than the file.
+ *
+ * Responsible: Database team
+ */
+public class RecipeSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecipeSearchIndex.class);
+    private static final String INDEX_FILE = "search.index";
+    private static final int FORMAT_VERSION = 1;
+    private static final Map<Path, RecipeSearchIndex> OPEN_INDEXES = new ConcurrentHashMap<>();
+    private static final long PERSIST_DELAY_MS = 2_000;
+
+    // Writes segments outside the index monitor, shared by all indexes
+    private static final ScheduledExecutorService persistTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // BM25 parameters and field weights, in field order name, ingredients, steps
+    private static final double K1 = 1.2;
+    private static final double[] FIELD_WEIGHTS = {3.0, 1.5, 1.0};
+    private static final double[] FIELD_B = {0.5, 0.75, 0.75};
+    private static final int FIELDS = 3;
+
+    private final Path recipeDirectory;
+    private final Path indexFile;
+    private final String fileExtension;
+    // Recipe files the index has read
+    private final IndexedFileSet indexedFiles;
+    private final Gson gson = new Gson();
+    // Serializes segment writes so an older snapshot never overwrites a newer one
+    private final Object writeLock = new Object();
+
+    // term -> recipeId -> frequency per field
+    private final Map<String, Map<String, int[]>> postings = new HashMap<>();
+    private final Map<String, IndexedRecipe> recipes = new HashMap<>();
+    private final long[] totalFieldLengths = new long[FIELDS];
+    private boolean loaded = false;
+    private boolean dirty = false;
+    // The segment is up to date but older than a recipe file, so load() would reject it
+    private boolean outdated = false;
+    private ScheduledFuture<?> pendingPersist;
+
+    private RecipeSearchIndex(Path recipeDirectory, String fileExtension) {
+        this.recipeDirectory = recipeDirectory;
+        this.indexFile = recipeDirectory.resolve(INDEX_FILE);
+        this.fileExtension = fileExtension;
+        this.indexedFiles = IndexedFileSet.forIndex(indexFile, fileExtension);
+    }
+
+    /**
+     * Get the shared search index for a recipe directory, creating it on first use.
+     *
+     * @param recipeDirectory Directory holding the recipe files
+     * @param fileExtension   Extension of the recipe files (e.g. ".json")
+     */
+    public static RecipeSearchIndex open(String recipeDirectory, String fileExtension) {
+        Path directory = Paths.get(recipeDirectory).toAbsolutePath().normalize();
+        return OPEN_INDEXES.computeIfAbsent(directory, dir -> new RecipeSearchIndex(dir, fileExtension));
+    }
+
+    /**
+     * A recipe matching a query and its relevance score.
+     */
+    public static class Hit {
+        private final String recipeId;
+        private final double score;
+
+        Hit(String recipeId, double score) {
+            this.recipeId = recipeId;
+            this.score = score;
+        }
+
+        public String getRecipeId() {
+            return recipeId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Find the recipes best matching a query. Recipes need not contain every query term;
+     * those containing more, and rarer, terms rank higher.
+     *
+     * @param query Free text query
+     * @param limit Maximum number of hits
+     * @return hits, best first
+     */
+    public synchronized List<Hit> search(String query, int limit) {
+        ensureLoaded();
+        if (limit <= 0 || recipes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, Double> scores = new HashMap<>();
+        double[] averageLengths = new double[FIELDS];
+        for (int field = 0; field < FIELDS; field++) {
+            averageLengths[field] = Math.max(1.0, (double) totalFieldLengths[field] / recipes.size());
+        }
+        for (String term : new LinkedHashSet<>(TextAnalyzer.analyze(query))) {
+            Map<String, int[]> postingList = postings.get(term);
+            if (postingList == null) {
+                continue;
+            }
+            // BM25 idf, kept positive for terms found in most recipes
+            double idf = Math.log(1 + (recipes.size() - postingList.size() + 0.5) / (postingList.size() + 0.5));
+            for (Map.Entry<String, int[]> posting : postingList.entrySet()) {
+                int[] lengths = recipes.get(posting.getKey()).lengths;
+                double tf = 0;
+                for (int field = 0; field < FIELDS; field++) {
+                    int frequency = posting.getValue()[field];
+                    if (frequency > 0) {
+                        double norm = 1 - FIELD_B[field] + FIELD_B[field] * lengths[field] / averageLengths[field];
+                        tf += FIELD_WEIGHTS[field] * frequency / norm;
+                    }
+                }
+                scores.merge(posting.getKey(), idf * tf / (K1 + tf), Double::sum);
+            }
+        }
+
+        // Top K with a min-heap; ties go to the lower ID so results are stable
+        Comparator<Hit> worstFirst = Comparator.comparingDouble(Hit::getScore)
+                .thenComparing(Hit::getRecipeId, Comparator.reverseOrder());
+        PriorityQueue<Hit> best = new PriorityQueue<>(worstFirst);
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            Hit hit = new Hit(entry.getKey(), entry.getValue());
+            if (best.size() < limit) {
+                best.add(hit);
+            } else if (worstFirst.compare(hit, best.peek()) > 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Collections.reverseOrder(worstFirst));
+        return hits;
+    }
+
+    /**
+     * Re-index a recipe after it was saved.
+     */
+    public synchronized void update(Recipe recipe) {
+        if (recipe == null || recipe.getRecipeId() == null) {
+            return;
+        }
+        ensureLoaded();
+        Path file = recipeDirectory.resolve(recipe.getRecipeId() + fileExtension);
+        indexedFiles.markRead(file);
+        if (reindex(recipe.getRecipeId(), analyze(recipe.getName(), recipe.getIngredients(), recipe.getSteps()))) {
+            schedulePersist();
+        } else if (isSegmentOlderThan(file)) {
+            scheduleTouch();
+        }
+    }
+
+    /**
+     * Remove a recipe from the index after it was deleted.
+     */
+    public synchronized void remove(String recipeId) {
+        ensureLoaded();
+        if (recipes.containsKey(recipeId)) {
+            unindex(recipeId);
+            schedulePersist();
+        }
+    }
+
+    /**
+     * Index the recipe files the index has not read yet, e.g. ones written by another process.
+     * Only lists the directory when there are none; files the index skipped because they are
+     * unreadable are not read again.
+     *
+     * @return true if the index was rebuilt or changed
+     */
+    public synchronized boolean rebuildIfIncomplete() {
+        ensureLoaded();
+        List<File> unread = indexedFiles.takeUnread(recipes.size());
+        if (unread == null) {
+            rebuild();
+            return true;
+        }
+        boolean changed = false;
+        for (File file : unread) {
+            RecipeText stored = readText(file.toPath());
+            if (stored != null && stored.recipeId != null
+                    && reindex(stored.recipeId, analyze(stored.name, stored.ingredients, stored.steps))) {
+                changed = true;
+            }
+        }
+        if (changed) {
+            schedulePersist();
+        }
+        return changed;
+    }
+
+    /**
+     * Rebuild the index from every recipe file.
+     */
+    public synchronized void rebuild() {
+        postings.clear();
+        recipes.clear();
+        Arrays.fill(totalFieldLengths, 0);
+        List<File> files = indexedFiles.list();
+        for (File file : files) {
+            RecipeText stored = readText(file.toPath());
+            if (stored == null || stored.recipeId == null) {
+                continue;
+            }
+            index(stored.recipeId, analyze(stored.name, stored.ingredients, stored.steps));
+        }
+        loaded = true;
+        schedulePersist();
+        indexedFiles.reset(files);
+        logger.info("Rebuilt recipe search index with {} recipes and {} terms", recipes.size(), postings.size());
+    }
+
+    /**
+     * Write the segment now if it has unwritten changes, or touch it if it is older than a
+     * recipe file it is up to date with.
+     *
+     * @throws DataAccessException if the segment could not be written
+     */
+    public void flush() {
+        synchronized (writeLock) {
+            IndexFile stored = new IndexFile();
+            boolean touchOnly;
+            synchronized (this) {
+                if (pendingPersist != null) {
+                    pendingPersist.cancel(false);
+                    pendingPersist = null;
+                }
+                // Nothing to write for a directory that was removed
+                if ((!dirty && !outdated) || !Files.isDirectory(recipeDirectory)) {
+                    return;
+                }
+                touchOnly = !dirty && Files.exists(indexFile);
+                dirty = false;
+                outdated = false;
+                stored.version = FORMAT_VERSION;
+                // Entries are replaced, never modified, so a shallow copy is a consistent snapshot
+                stored.recipes = touchOnly ? null : new HashMap<>(recipes);
+            }
+            try {
+                if (touchOnly) {
+                    Files.setLastModifiedTime(indexFile, FileTime.fromMillis(System.currentTimeMillis()));
+                } else {
+                    AtomicFileWriter.write(indexFile, writer -> gson.toJson(stored, writer));
+                }
+            } catch (IOException e) {
+                logger.error("Failed to write search index: {}", indexFile, e);
+                throw new DataAccessException("Failed to write search index: " + indexFile, e);
+            }
+        }
+    }
+
+    /**
+     * Write the unwritten changes of every open index, e.g. at application shutdown.
+     * Indexes of recipe directories that no longer exist are closed.
+     */
+    public static void flushAll() {
+        for (RecipeSearchIndex index : OPEN_INDEXES.values()) {
+            try {
+                index.flush();
+            } catch (DataAccessException e) {
+                // Already logged; the index is rebuilt on next start
+            }
+            if (!Files.isDirectory(index.recipeDirectory)) {
+                OPEN_INDEXES.remove(index.recipeDirectory, index);
+            }
+        }
+    }
+
+    /**
+     * @return number of recipes in the index
+     */
+    public synchronized int size() {
+        ensureLoaded();
+        return recipes.size();
+    }
+
+    private static IndexedRecipe analyze(String name, List<String> ingredients, String steps) {
+        IndexedRecipe indexed = new IndexedRecipe();
+        addField(indexed, 0, TextAnalyzer.analyze(name));
+        List<String> ingredientTerms = new ArrayList<>();
+        if (ingredients != null) {
+            for (String ingredient : ingredients) {
+                ingredientTerms.addAll(TextAnalyzer.analyze(ingredient));
+            }
+        }
+        addField(indexed, 1, ingredientTerms);
+        addField(indexed, 2, TextAnalyzer.analyze(steps));
+        return indexed;
+    }
+
+    private static void addField(IndexedRecipe indexed, int field, List<String> terms) {
+        indexed.lengths[field] = terms.size();
+        for (String term : terms) {
+            indexed.terms.computeIfAbsent(term, ignored -> new int[FIELDS])[field]++;
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded && !load()) {
+            rebuild();
+        }
+    }
+
+    private boolean load() {
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+        try {
+            long written = Files.getLastModifiedTime(indexFile).toMillis();
+            for (File file : indexedFiles.list()) {
+                if (file.lastModified() > written) {
+                    logger.info("Search index is older than {}, rebuilding", file.getName());
+                    return false;
+                }
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        try (Reader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            IndexFile stored = gson.fromJson(reader, IndexFile.class);
+            if (stored == null || stored.version != FORMAT_VERSION || stored.recipes == null) {
+                logger.warn("Search index has unexpected format, ignoring: {}", indexFile);
+                return false;
+            }
+            postings.clear();
+            recipes.clear();
+            Arrays.fill(totalFieldLengths, 0);
+            for (Map.Entry<String, IndexedRecipe> entry : stored.recipes.entrySet()) {
+                IndexedRecipe indexed = entry.getValue();
+                if (indexed == null || !indexed.isValid()) {
+                    logger.warn("Search index has an invalid entry, ignoring: {}", indexFile);
+                    return false;
+                }
+                index(entry.getKey(), indexed);
+            }
+            loaded = true;
+            return true;
+        } catch (IOException | JsonParseException e) {
+            logger.warn("Search index is unreadable, ignoring: {}", indexFile, e);
+            return false;
+        }
+    }
+
+    /**
+     * Replace the entry of a recipe unless it already has the same terms.
+     *
+     * @return true if the index changed
+     */
+    private boolean reindex(String recipeId, IndexedRecipe indexed) {
+        IndexedRecipe current = recipes.get(recipeId);
+        if (current != null && current.sameTerms(indexed)) {
+            return false;
+        }
+        unindex(recipeId);
+        index(recipeId, indexed);
+        return true;
+    }
+
+    private void index(String recipeId, IndexedRecipe indexed) {
+        recipes.put(recipeId, indexed);
+        for (int field = 0; field < FIELDS; field++) {
+            totalFieldLengths[field] += indexed.lengths[field];
+        }
+        for (Map.Entry<String, int[]> entry : indexed.terms.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), ignored -> new HashMap<>()).put(recipeId, entry.getValue());
+        }
+    }
+
+    private void unindex(String recipeId) {
+        IndexedRecipe indexed = recipes.remove(recipeId);
+        if (indexed == null) {
+            return;
+        }
+        for (int field = 0; field < FIELDS; field++) {
+            totalFieldLengths[field] -= indexed.lengths[field];
+        }
+        for (String term : indexed.terms.keySet()) {
+            Map<String, int[]> postingList = postings.get(term);
+            if (postingList != null) {
+                postingList.remove(recipeId);
+                if (postingList.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    // Only the per-recipe term frequencies are stored; the postings are derived on load.
+    // Changes within PERSIST_DELAY_MS of the first unwritten one share a single write.
+    private void schedulePersist() {
+        dirty = true;
+        scheduleFlush();
+    }
+
+    private void scheduleTouch() {
+        outdated = true;
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (pendingPersist == null) {
+            pendingPersist = persistTimer.schedule(this::flushQuietly, PERSIST_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (DataAccessException e) {
+            // Already logged; the next change or shutdown tries again
+            synchronized (this) {
+                dirty = true;
+            }
+        }
+    }
+
+    private boolean isSegmentOlderThan(Path recipeFile) {
+        try {
+            return !Files.exists(indexFile)
+                    || Files.getLastModifiedTime(indexFile).compareTo(Files.getLastModifiedTime(recipeFile)) < 0;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private RecipeText readText(Path path) {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, RecipeText.class);
+        } catch (IOException | JsonParseException e) {
+            logger.warn("Skipping unreadable recipe file while indexing: {}", path);
+            return null;
+        }
+    }
+
+    /**
+     * Field lengths and term frequencies of one recipe; also its on-disk form.
+     */
+    private static class IndexedRecipe {
+        int[] lengths = new int[FIELDS];
+        Map<String, int[]> terms = new HashMap<>();
+
+        boolean isValid() {
+            if (lengths == null || lengths.length != FIELDS || terms == null) {
+                return false;
+            }
+            for (int[] frequencies : terms.values()) {
+                if (frequencies == null || frequencies.length != FIELDS) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean sameTerms(IndexedRecipe other) {
+            if (!Arrays.equals(lengths, other.lengths) || !terms.keySet().equals(other.terms.keySet())) {
+                return false;
+            }
+            for (Map.Entry<String, int[]> entry : terms.entrySet()) {
+                if (!Arrays.equals(entry.getValue(), other.terms.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Fields of a recipe file needed to index it.
+     */
+    private static class RecipeText {
+        String recipeId;
+        String name;
+        List<String> ingredients;
+        String steps;
+    }
+
+    /**
+     * On-disk layout of the search index segment.
+     */
+    private static class IndexFile {
+        int version;
+        Map<String, IndexedRecipe> recipes;
+    }
+}
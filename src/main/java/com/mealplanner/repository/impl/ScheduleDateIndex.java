@@ -0,0 +1,302 @@
+package com.mealplanner.repository.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.mealplanner.entity.MealType;
+import com.mealplanner.entity.Schedule;
+import com.mealplanner.exception.DataAccessException;
+import com.mealplanner.util.AtomicFileWriter;
+
+/**
+ * Persistent date -> scheduleIds inverted index for a schedule data directory.
+ *
+ * Each schedule is indexed under every date on which it has at least one meal. The dates are
+ * kept in a sorted map so range queries only touch the dates in the range, and a reverse
+ * scheduleId -> dates map lets save/delete update the index incrementally.
+ *
+ * Like ScheduleUserIndex, this is only an accelerator: callers confirm the schedules they
+ * load, the index is rebuilt from the schedule files when it is missing or corrupt, and
+ * schedule files it has not read yet are indexed before a query.
+ *
+ * Responsible: Database team
+ */
+public class ScheduleDateIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleDateIndex.class);
+    private static final String INDEX_FILE = "date.index";
+    private static final int FORMAT_VERSION = 1;
+    private static final Map<Path, ScheduleDateIndex> OPEN_INDEXES = new ConcurrentHashMap<>();
+
+    private final Path indexFile;
+    // Schedule files the index has read
+    private final IndexedFileSet indexedFiles;
+    private final Gson gson = new Gson();
+
+    private final NavigableMap<LocalDate, Set<String>> schedulesByDate = new TreeMap<>();
+    private final Map<String, Set<LocalDate>> datesBySchedule = new HashMap<>();
+    private boolean loaded = false;
+
+    private ScheduleDateIndex(Path scheduleDirectory, String fileExtension) {
+        this.indexFile = scheduleDirectory.resolve(INDEX_FILE);
+        this.indexedFiles = IndexedFileSet.forIndex(indexFile, fileExtension);
+    }
+
+    /**
+     * Get the shared date index for a schedule directory, creating it on first use.
+     *
+     * @param scheduleDirectory Directory holding the schedule files
+     * @param fileExtension     Extension of the schedule files (e.g. ".json")
+     */
+    public static ScheduleDateIndex open(String scheduleDirectory, String fileExtension) {
+        Path directory = Paths.get(scheduleDirectory).toAbsolutePath().normalize();
+        return OPEN_INDEXES.computeIfAbsent(directory, dir -> new ScheduleDateIndex(dir, fileExtension));
+    }
+
+    /**
+     * @return IDs of schedules with at least one meal on the given date
+     */
+    public synchronized Set<String> findScheduleIds(LocalDate date) {
+        ensureLoaded();
+        Set<String> ids = schedulesByDate.get(date);
+        return ids != null ? new LinkedHashSet<>(ids) : new LinkedHashSet<>();
+    }
+
+    /**
+     * @return IDs of schedules with at least one meal between start and end (inclusive)
+     */
+    public synchronized Set<String> findScheduleIds(LocalDate start, LocalDate end) {
+        ensureLoaded();
+        Set<String> ids = new LinkedHashSet<>();
+        for (Set<String> idsForDate : schedulesByDate.subMap(start, true, end, true).values()) {
+            ids.addAll(idsForDate);
+        }
+        return ids;
+    }
+
+    /**
+     * Re-index a schedule after it was saved.
+     */
+    public synchronized void update(Schedule schedule) {
+        if (schedule == null || schedule.getScheduleId() == null) {
+            return;
+        }
+        ensureLoaded();
+        Set<LocalDate> dates = new HashSet<>();
+        for (Map.Entry<LocalDate, Map<MealType, String>> entry : schedule.getAllMeals().entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                dates.add(entry.getKey());
+            }
+        }
+        if (dates.equals(datesBySchedule.get(schedule.getScheduleId()))) {
+            return;
+        }
+        unindex(schedule.getScheduleId());
+        index(schedule.getScheduleId(), dates);
+        persist();
+    }
+
+    /**
+     * Remove a schedule from the index after it was deleted.
+     */
+    public synchronized void remove(String scheduleId) {
+        ensureLoaded();
+        if (datesBySchedule.containsKey(scheduleId)) {
+            unindex(scheduleId);
+            persist();
+        }
+    }
+
+    /**
+     * Index the schedule files the index has not read yet, e.g. ones written by another process.
+     * Only lists the directory when there are none; files the index skipped because they are
+     * unreadable are not read again.
+     *
+     * @return true if the index was rebuilt or gained schedules
+     */
+    public synchronized boolean rebuildIfIncomplete() {
+        ensureLoaded();
+        List<File> unread = indexedFiles.takeUnread(datesBySchedule.size());
+        if (unread == null) {
+            rebuild();
+            return true;
+        }
+        boolean added = false;
+        for (File file : unread) {
+            ScheduleDates stored = readDates(file.toPath());
+            if (stored != null && stored.scheduleId != null && !datesBySchedule.containsKey(stored.scheduleId)) {
+                index(stored.scheduleId, datesOf(stored, file));
+                added = true;
+            }
+        }
+        if (added) {
+            persist();
+        }
+        return added;
+    }
+
+    /**
+     * Rebuild the index from the meal dates stored in every schedule file.
+     */
+    public synchronized void rebuild() {
+        schedulesByDate.clear();
+        datesBySchedule.clear();
+        List<File> files = indexedFiles.list();
+        for (File file : files) {
+            ScheduleDates stored = readDates(file.toPath());
+            if (stored == null || stored.scheduleId == null) {
+                continue;
+            }
+            index(stored.scheduleId, datesOf(stored, file));
+        }
+        loaded = true;
+        persist();
+        indexedFiles.reset(files);
+        logger.info("Rebuilt schedule date index with {} schedules over {} dates",
+                datesBySchedule.size(), schedulesByDate.size());
+    }
+
+    private void ensureLoaded() {
+        if (!loaded && !load()) {
+            rebuild();
+        }
+    }
+
+    private boolean load() {
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+        try (Reader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            IndexFile stored = gson.fromJson(reader, IndexFile.class);
+            if (stored == null || stored.version != FORMAT_VERSION || stored.schedules == null) {
+                logger.warn("Date index has unexpected format, ignoring: {}", indexFile);
+                return false;
+            }
+            schedulesByDate.clear();
+            datesBySchedule.clear();
+            for (Map.Entry<String, Set<String>> entry : stored.schedules.entrySet()) {
+                Set<LocalDate> dates = new HashSet<>();
+                if (entry.getValue() != null) {
+                    for (String date : entry.getValue()) {
+                        dates.add(LocalDate.parse(date));
+                    }
+                }
+                index(entry.getKey(), dates);
+            }
+            loaded = true;
+            return true;
+        } catch (IOException | JsonParseException | DateTimeParseException e) {
+            logger.warn("Date index is unreadable, ignoring: {}", indexFile, e);
+            return false;
+        }
+    }
+
+    // Dates with at least one meal in a stored schedule
+    private Set<LocalDate> datesOf(ScheduleDates stored, File file) {
+        Set<LocalDate> dates = new HashSet<>();
+        if (stored.mealsByDate == null) {
+            return dates;
+        }
+        for (Map.Entry<String, Map<String, String>> entry : stored.mealsByDate.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().isEmpty()) {
+                continue;
+            }
+            try {
+                dates.add(LocalDate.parse(entry.getKey()));
+            } catch (DateTimeParseException e) {
+                logger.warn("Skipping invalid date {} in {}", entry.getKey(), file);
+            }
+        }
+        return dates;
+    }
+
+    private void index(String scheduleId, Set<LocalDate> dates) {
+        datesBySchedule.put(scheduleId, dates);
+        for (LocalDate date : dates) {
+            schedulesByDate.computeIfAbsent(date, ignored -> new LinkedHashSet<>()).add(scheduleId);
+        }
+    }
+
+    private void unindex(String scheduleId) {
+        Set<LocalDate> dates = datesBySchedule.remove(scheduleId);
+        if (dates == null) {
+            return;
+        }
+        for (LocalDate date : dates) {
+            Set<String> ids = schedulesByDate.get(date);
+            if (ids != null) {
+                ids.remove(scheduleId);
+                if (ids.isEmpty()) {
+                    schedulesByDate.remove(date);
+                }
+            }
+        }
+    }
+
+    // Only the reverse map is stored; the date -> schedules map is derived on load
+    private void persist() {
+        IndexFile stored = new IndexFile();
+        stored.version = FORMAT_VERSION;
+        stored.schedules = new HashMap<>();
+        for (Map.Entry<String, Set<LocalDate>> entry : datesBySchedule.entrySet()) {
+            Set<String> dates = new HashSet<>();
+            for (LocalDate date : entry.getValue()) {
+                dates.add(date.toString());
+            }
+            stored.schedules.put(entry.getKey(), dates);
+        }
+
+        try {
+            AtomicFileWriter.write(indexFile, writer -> gson.toJson(stored, writer));
+        } catch (IOException e) {
+            logger.error("Failed to write date index: {}", indexFile, e);
+            throw new DataAccessException("Failed to write date index: " + indexFile, e);
+        }
+    }
+
+    private ScheduleDates readDates(Path path) {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, ScheduleDates.class);
+        } catch (IOException | JsonParseException e) {
+            logger.warn("Skipping unreadable schedule file while indexing: {}", path);
+            return null;
+        }
+    }
+
+    /**
+     * Fields of a schedule file needed to index it by date.
+     */
+    private static class ScheduleDates {
+        String scheduleId;
+        Map<String, Map<String, String>> mealsByDate;
+    }
+
+    /**
+     * On-disk layout of the date index.
+     */
+    private static class IndexFile {
+        int version;
+        Map<String, Set<String>> schedules;
+    }
+}
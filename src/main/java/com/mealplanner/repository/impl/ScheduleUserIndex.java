@@ -0,0 +1,175 @@
+package com.mealplanner.repository.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Persistent userId -> scheduleId index for a schedule data directory.
+ *
+ * Shared by FileScheduleRepository and FileScheduleDataAccessObject, which both store one
+ * JSON file per schedule with top-level "scheduleId" and "userId" fields. Resolving the
+ * schedule of a user costs one index lookup plus one schedule file read.
+ *
+ * A user with several schedule files resolves to the most recently saved one, whether the
+ * entry comes from a save, an incremental read or a rebuild.
+ *
+ * Callers verify the schedule they load actually belongs to the user and call
+ * {@link #rebuild()} if it does not, so an index left stale by another process heals itself.
+ *
+ * Responsible: Database team
+ */
+public class ScheduleUserIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleUserIndex.class);
+    private static final String INDEX_FILE = "user-schedule.index";
+
+    private final FileIndex index;
+    private final Path scheduleDirectory;
+    private final String fileExtension;
+    // Schedule files the index has read
+    private final IndexedFileSet indexedFiles;
+    private final Gson gson = new Gson();
+
+    /**
+     * @param scheduleDirectory Directory holding the schedule files
+     * @param fileExtension     Extension of the schedule files (e.g. ".json")
+     */
+    public ScheduleUserIndex(String scheduleDirectory, String fileExtension) {
+        this.scheduleDirectory = Paths.get(scheduleDirectory);
+        this.fileExtension = fileExtension;
+        Path indexFile = this.scheduleDirectory.resolve(INDEX_FILE);
+        this.index = FileIndex.open(indexFile);
+        this.indexedFiles = IndexedFileSet.forIndex(indexFile, fileExtension);
+    }
+
+    /**
+     * @return the indexed schedule ID for the user, or null if the user has no indexed schedule
+     */
+    public String findScheduleId(String userId) {
+        ensureLoaded();
+        return index.get(userId);
+    }
+
+    /**
+     * Record that the schedule belongs to the user. The schedule was just saved, so it replaces
+     * any other schedule of the user.
+     */
+    public void put(String userId, String scheduleId) {
+        if (userId == null || scheduleId == null) {
+            return;
+        }
+        ensureLoaded();
+        index.put(userId, scheduleId);
+    }
+
+    /**
+     * Forget the given schedule.
+     */
+    public void removeSchedule(String scheduleId) {
+        ensureLoaded();
+        index.removeValue(scheduleId);
+    }
+
+    /**
+     * Index the schedule files the index has not read yet, e.g. ones written by another process.
+     * Only lists the directory when there are none, so a user without a schedule costs no reads;
+     * files the index skipped (unreadable, or an older schedule of a user) are not read again.
+     *
+     * @return true if the index was rebuilt or changed
+     */
+    public synchronized boolean rebuildIfIncomplete() {
+        ensureLoaded();
+        List<File> unread = indexedFiles.takeUnread(index.size());
+        if (unread == null) {
+            rebuild();
+            return true;
+        }
+        boolean changed = false;
+        for (File file : unread) {
+            ScheduleHeader header = readHeader(file.toPath());
+            if (header == null || header.userId == null || header.scheduleId == null) {
+                continue;
+            }
+            String current = index.get(header.userId);
+            if (current == null || isNewer(file, scheduleFile(current))) {
+                index.put(header.userId, header.scheduleId);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Rebuild the index by reading the scheduleId/userId header of every schedule file.
+     */
+    public synchronized void rebuild() {
+        List<File> files = indexedFiles.list();
+        Map<String, String> entries = new HashMap<>();
+        Map<String, File> newestFiles = new HashMap<>();
+        for (File file : files) {
+            ScheduleHeader header = readHeader(file.toPath());
+            if (header == null || header.userId == null || header.scheduleId == null) {
+                continue;
+            }
+            File newest = newestFiles.get(header.userId);
+            if (newest == null || isNewer(file, newest)) {
+                newestFiles.put(header.userId, file);
+                entries.put(header.userId, header.scheduleId);
+            }
+        }
+        index.replaceAll(entries);
+        indexedFiles.reset(files);
+        logger.info("Rebuilt schedule index with {} users", entries.size());
+    }
+
+    private void ensureLoaded() {
+        if (!index.isLoaded() && !index.load()) {
+            rebuild();
+        }
+    }
+
+    private File scheduleFile(String scheduleId) {
+        return scheduleDirectory.resolve(scheduleId + fileExtension).toFile();
+    }
+
+    // Later modification time wins; ties go to the greater file name so every path agrees
+    private static boolean isNewer(File candidate, File current) {
+        long candidateTime = candidate.lastModified();
+        long currentTime = current.lastModified();
+        if (candidateTime != currentTime) {
+            return candidateTime > currentTime;
+        }
+        return candidate.getName().compareTo(current.getName()) > 0;
+    }
+
+    private ScheduleHeader readHeader(Path path) {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, ScheduleHeader.class);
+        } catch (IOException | JsonParseException e) {
+            logger.warn("Skipping unreadable schedule file while indexing: {}", path);
+            return null;
+        }
+    }
+
+    /**
+     * Only the fields needed for indexing; the meal data is skipped by Gson.
+     */
+    private static class ScheduleHeader {
+        String scheduleId;
+        String userId;
+    }
+}
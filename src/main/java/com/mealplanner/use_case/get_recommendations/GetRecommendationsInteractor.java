@@ -1,5 +1,6 @@
 package com.mealplanner.use_case.get_recommendations;
 
+import com.mealplanner.data_access.api.CircuitOpenException;
 import com.mealplanner.data_access.api.SpoonacularApiClient;
 import com.mealplanner.entity.Recipe;
 import org.slf4j.Logger;
@@ -86,8 +87,12 @@ public class GetRecommendationsInteractor implements GetRecommendationsInputBoun
                             List<Recipe> popularRecipes = apiClient.getPopularRecipes(needed);
                             recommendations.addAll(popularRecipes);
                         } catch (IOException e) {
-                            // API 호출 실패 시 로그 기록
-                            logger.warn("Failed to fetch popular recipes from API: {}", e.getMessage(), e);
+                            // API 호출 실패 시 로그 기록 (circuit이 열려 있으면 즉시 실패하므로 stack trace 생략)
+                            if (e instanceof CircuitOpenException) {
+                                logger.info("Spoonacular unavailable, recommending local recipes only: {}", e.getMessage());
+                            } else {
+                                logger.warn("Failed to fetch popular recipes from API: {}", e.getMessage(), e);
+                            }
                             
                             // 부분 성공 시에는 조용히 처리 (이미 일부 레시피가 있으므로)
                             // 완전 실패 시에만 사용자에게 알림
@@ -0,0 +1,100 @@
+package com.mealplanner.use_case.manage_meal_plan;
+
+import com.mealplanner.entity.Schedule;
+import com.mealplanner.exception.ConcurrentUpdateException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Striped locks serializing schedule updates within the app.
+// Keys (userId or scheduleId) hash onto a fixed set of locks, so updates for different
+// users usually run in parallel while updates for the same user never interleave.
+// The user is only known once the schedule is loaded, so a first load happens without the
+// lock; a stale load, like writes from other DAO instances or processes, is caught by the
+// schedule version check in FileScheduleDataAccessObject.saveSchedule, and update() reloads
+// and retries on ConcurrentUpdateException. The same save refuses to create a second schedule
+// for a user, so concurrent first adds are retried onto the schedule the first one created.
+// FileScheduleRepository.save has no version check.
+// Responsible: Grace
+
+public class ScheduleLockManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleLockManager.class);
+    private static final int DEFAULT_STRIPES = 64;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final ScheduleLockManager INSTANCE = new ScheduleLockManager(DEFAULT_STRIPES);
+
+    private final ReentrantLock[] stripes;
+
+    public ScheduleLockManager(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Shared lock manager used by the meal plan interactors and the schedule DAO.
+     */
+    public static ScheduleLockManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the lock guarding the given key; locks are reentrant
+     */
+    public Lock lockFor(String key) {
+        if (key == null) {
+            return stripes[0];
+        }
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[(hash & 0x7fffffff) % stripes.length];
+    }
+
+    /**
+     * Load a schedule, apply the update (which is expected to save it) and return its result.
+     * The first load runs without a lock, since the schedule's user is not known before it;
+     * the update and save then run holding that user's lock. The save must check the schedule
+     * version: if it reports a concurrent update, the schedule is reloaded under the lock and
+     * the update is applied again.
+     *
+     * @param loader Loads the current schedule
+     * @param update Validates, mutates and saves the schedule
+     * @throws ConcurrentUpdateException if the schedule kept changing after the last attempt
+     */
+    public <T> T update(Supplier<Schedule> loader, Function<Schedule, T> update) {
+        String userId = null;
+        for (int attempt = 1; ; attempt++) {
+            Lock lock = userId != null ? lockFor(userId) : null;
+            if (lock != null) {
+                lock.lock();
+            }
+            try {
+                Schedule schedule = loader.get();
+                if (lock == null) {
+                    userId = schedule.getUserId();
+                    lock = lockFor(userId);
+                    lock.lock();
+                }
+                return update.apply(schedule);
+            } catch (ConcurrentUpdateException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Retrying schedule update for user {} (attempt {}): {}", userId, attempt, e.getMessage());
+            } finally {
+                if (lock != null) {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package com.mealplanner.use_case.manage_meal_plan.add;
 
-import com.mealplanner.entity.Schedule;
 import com.mealplanner.entity.MealType;
 import java.time.LocalDate;
-import com.mealplanner.exception.MealPlannerException;
+import com.mealplanner.exception.ConcurrentUpdateException;
+import com.mealplanner.exception.ScheduleConflictException;
+import com.mealplanner.use_case.manage_meal_plan.ScheduleLockManager;
 import java.util.Objects;
 
 // Main business logic for adding a meal to the schedule.
@@ -13,11 +14,19 @@ public class AddMealInteractor implements AddMealInputBoundary {
 
     private final AddMealDataAccessInterface dataAccess;
     private final AddMealOutputBoundary presenter;
+    private final ScheduleLockManager lockManager;
 
     public AddMealInteractor(AddMealDataAccessInterface dataAccess,
                              AddMealOutputBoundary presenter) {
+        this(dataAccess, presenter, ScheduleLockManager.getInstance());
+    }
+
+    public AddMealInteractor(AddMealDataAccessInterface dataAccess,
+                             AddMealOutputBoundary presenter,
+                             ScheduleLockManager lockManager) {
         this.dataAccess = Objects.requireNonNull(dataAccess, "Data access cannot be null");
         this.presenter = Objects.requireNonNull(presenter, "Presenter cannot be null");
+        this.lockManager = Objects.requireNonNull(lockManager, "Lock manager cannot be null");
     }
 
     @Override
@@ -46,27 +55,31 @@ public class AddMealInteractor implements AddMealInputBoundary {
             return;
         }
 
-        Schedule schedule = dataAccess.getUserSchedule();
-
-        // Check if the slot is available
-        if (schedule.hasMeal(date, mealType)) {
-            presenter.presentAddError("Meal slot already taken by " + mealType + " on " + date);
-            return;
-        }
-
-        // Add meal to schedule
+        // Read, modify and save under the user's schedule lock; null means the slot is taken
+        AddMealOutputData outputData;
         try {
-            schedule.addMeal(date, mealType, recipeID);
-        } catch (MealPlannerException e) {
+            outputData = lockManager.update(dataAccess::getUserSchedule, schedule -> {
+                if (schedule.hasMeal(date, mealType)) {
+                    return null;
+                }
+                schedule.addMeal(date, mealType, recipeID);
+                dataAccess.saveSchedule(schedule);
+                return new AddMealOutputData(schedule, "Meal has been added successfully.");
+            });
+        } catch (ConcurrentUpdateException e) {
+            presenter.presentAddError("Schedule was changed by another action. Please try again.");
+            return;
+        } catch (ScheduleConflictException e) {
             presenter.presentAddError(e.getMessage());
             return;
         }
 
-        // Save schedule
-        dataAccess.saveSchedule(schedule);
+        if (outputData == null) {
+            presenter.presentAddError("Meal slot already taken by " + mealType + " on " + date);
+            return;
+        }
 
         // Pass result to presenter
-        AddMealOutputData outputData = new AddMealOutputData(schedule, "Meal has been added successfully.");
         presenter.presentAddSuccess(outputData);
     }
 }
@@ -0,0 +1,11 @@
+package com.mealplanner.use_case.manage_meal_plan.batch;
+
+import com.mealplanner.entity.Schedule;
+
+// Data access interface for loading the schedule once and saving it once per batch.
+// Responsible: Grace (interface), Everyone (implementation via FileScheduleDataAccessObject)
+
+public interface BatchMealDataAccessInterface {
+    Schedule getUserSchedule();
+    void saveSchedule(Schedule schedule);
+}
@@ -0,0 +1,8 @@
+package com.mealplanner.use_case.manage_meal_plan.batch;
+
+// Input boundary interface for applying several meal slot changes at once.
+// Responsible: Grace
+
+public interface BatchMealInputBoundary {
+    void execute(BatchMealInputData inputData);
+}
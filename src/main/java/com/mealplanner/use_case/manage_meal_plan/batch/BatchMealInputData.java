@@ -0,0 +1,20 @@
+package com.mealplanner.use_case.manage_meal_plan.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Data transfer object carrying the slot changes to apply to the schedule in one save.
+// Responsible: Grace
+
+public class BatchMealInputData {
+    private final List<MealSlotChange> changes;
+
+    public BatchMealInputData(List<MealSlotChange> changes) {
+        this.changes = changes != null ? new ArrayList<>(changes) : new ArrayList<>();
+    }
+
+    public List<MealSlotChange> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+}
@@ -0,0 +1,130 @@
+package com.mealplanner.use_case.manage_meal_plan.batch;
+
+import com.mealplanner.entity.Schedule;
+import com.mealplanner.exception.ConcurrentUpdateException;
+import com.mealplanner.exception.ScheduleConflictException;
+import com.mealplanner.use_case.manage_meal_plan.ScheduleLockManager;
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealOutputData.SlotFailure;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// Main business logic for applying several add/edit/delete slot changes to the schedule.
+// The schedule is loaded once, every change is applied to it in order, and it is saved once.
+// Changes that cannot be applied are reported per slot; the others are still saved.
+// Responsible: Grace
+
+public class BatchMealInteractor implements BatchMealInputBoundary {
+
+    private final BatchMealDataAccessInterface dataAccess;
+    private final BatchMealOutputBoundary presenter;
+    private final ScheduleLockManager lockManager;
+
+    public BatchMealInteractor(BatchMealDataAccessInterface dataAccess,
+                               BatchMealOutputBoundary presenter) {
+        this(dataAccess, presenter, ScheduleLockManager.getInstance());
+    }
+
+    public BatchMealInteractor(BatchMealDataAccessInterface dataAccess,
+                               BatchMealOutputBoundary presenter,
+                               ScheduleLockManager lockManager) {
+        this.dataAccess = Objects.requireNonNull(dataAccess, "Data access cannot be null");
+        this.presenter = Objects.requireNonNull(presenter, "Presenter cannot be null");
+        this.lockManager = Objects.requireNonNull(lockManager, "Lock manager cannot be null");
+    }
+
+    @Override
+    public void execute(BatchMealInputData inputData) {
+        if (inputData == null) {
+            presenter.presentBatchError("Input data cannot be null.");
+            return;
+        }
+        List<MealSlotChange> changes = inputData.getChanges();
+        if (changes.isEmpty()) {
+            presenter.presentBatchError("No meal changes to apply.");
+            return;
+        }
+
+        BatchMealOutputData outputData;
+        try {
+            outputData = lockManager.update(dataAccess::getUserSchedule, schedule -> {
+                List<SlotFailure> failures = new ArrayList<>();
+                int applied = 0;
+                for (MealSlotChange change : changes) {
+                    SlotFailure failure = apply(schedule, change);
+                    if (failure == null) {
+                        applied++;
+                    } else {
+                        failures.add(failure);
+                    }
+                }
+                // Save once for the whole batch, and not at all if nothing changed
+                if (applied > 0) {
+                    dataAccess.saveSchedule(schedule);
+                }
+                return new BatchMealOutputData(schedule, applied, failures, buildMessage(applied, failures.size()));
+            });
+        } catch (ConcurrentUpdateException e) {
+            presenter.presentBatchError("Schedule was changed by another action. Please try again.");
+            return;
+        }
+
+        presenter.presentBatchSuccess(outputData);
+    }
+
+    /**
+     * Apply one change to the schedule.
+     * @return null on success, otherwise why the change was rejected
+     */
+    private SlotFailure apply(Schedule schedule, MealSlotChange change) {
+        if (change == null || change.getOperation() == null) {
+            return new SlotFailure(change, "Change cannot be null.", false);
+        }
+        if (change.getDate() == null) {
+            return new SlotFailure(change, "Date cannot be null.", false);
+        }
+        if (change.getMealType() == null) {
+            return new SlotFailure(change, "Meal type cannot be null.", false);
+        }
+        boolean needsRecipe = change.getOperation() != MealSlotChange.Operation.DELETE;
+        if (needsRecipe && (change.getRecipe() == null || change.getRecipe().trim().isEmpty())) {
+            return new SlotFailure(change, "Recipe ID cannot be null or empty.", false);
+        }
+
+        switch (change.getOperation()) {
+            case ADD:
+                try {
+                    schedule.addMeal(change.getDate(), change.getMealType(), change.getRecipe());
+                    return null;
+                } catch (ScheduleConflictException e) {
+                    return new SlotFailure(change, e.getMessage(), true);
+                }
+            case EDIT:
+                if (!schedule.hasMeal(change.getDate(), change.getMealType())) {
+                    return missingMeal(change);
+                }
+                schedule.updateMeal(change.getDate(), change.getMealType(), change.getRecipe());
+                return null;
+            case DELETE:
+                if (!schedule.hasMeal(change.getDate(), change.getMealType())) {
+                    return missingMeal(change);
+                }
+                schedule.removeMeal(change.getDate(), change.getMealType());
+                return null;
+            default:
+                return new SlotFailure(change, "Unsupported change: " + change.getOperation(), false);
+        }
+    }
+
+    private SlotFailure missingMeal(MealSlotChange change) {
+        return new SlotFailure(change,
+                "No meal exists for " + change.getMealType() + " on " + change.getDate() + ".", false);
+    }
+
+    private String buildMessage(int applied, int failed) {
+        if (failed == 0) {
+            return applied + " meal change(s) applied successfully.";
+        }
+        return applied + " meal change(s) applied, " + failed + " could not be applied.";
+    }
+}
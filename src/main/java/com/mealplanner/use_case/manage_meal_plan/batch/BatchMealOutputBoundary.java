@@ -0,0 +1,6 @@
+package com.mealplanner.use_case.manage_meal_plan.batch;
+
+public interface BatchMealOutputBoundary {
+    void presentBatchSuccess(BatchMealOutputData outputData);
+    void presentBatchError(String errorMessage);
+}
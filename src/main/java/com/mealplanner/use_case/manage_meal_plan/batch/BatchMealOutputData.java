@@ -0,0 +1,65 @@
+package com.mealplanner.use_case.manage_meal_plan.batch;
+
+import com.mealplanner.entity.Schedule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class BatchMealOutputData {
+    private final Schedule schedule;
+    private final int appliedCount;
+    private final List<SlotFailure> failures;
+    private final String message;
+
+    public BatchMealOutputData(Schedule schedule, int appliedCount, List<SlotFailure> failures, String message) {
+        this.schedule = schedule;
+        this.appliedCount = appliedCount;
+        this.failures = failures != null ? new ArrayList<>(failures) : new ArrayList<>();
+        this.message = message;
+    }
+
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    public int getAppliedCount() {
+        return appliedCount;
+    }
+
+    public List<SlotFailure> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * A slot change that could not be applied, e.g. an add into an occupied slot.
+     */
+    public static class SlotFailure {
+        private final MealSlotChange change;
+        private final String reason;
+        private final boolean conflict;
+
+        public SlotFailure(MealSlotChange change, String reason, boolean conflict) {
+            this.change = change;
+            this.reason = reason;
+            this.conflict = conflict;
+        }
+
+        public MealSlotChange getChange() {
+            return change;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        /** True if the slot was already taken (ScheduleConflictException). */
+        public boolean isConflict() {
+            return conflict;
+        }
+    }
+}
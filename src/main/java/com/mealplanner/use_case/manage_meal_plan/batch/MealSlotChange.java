@@ -0,0 +1,56 @@
+package com.mealplanner.use_case.manage_meal_plan.batch;
+
+import com.mealplanner.entity.MealType;
+import java.time.LocalDate;
+
+// One slot change inside a batch: add, edit or delete the meal at (date, meal type).
+// Responsible: Grace
+
+public class MealSlotChange {
+
+    public enum Operation {
+        ADD,
+        EDIT,
+        DELETE
+    }
+
+    private final Operation operation;
+    private final LocalDate date;
+    private final MealType mealType;
+    private final String recipe;
+
+    public MealSlotChange(Operation operation, LocalDate date, MealType mealType, String recipe) {
+        this.operation = operation;
+        this.date = date;
+        this.mealType = mealType;
+        this.recipe = recipe;
+    }
+
+    public static MealSlotChange add(LocalDate date, MealType mealType, String recipe) {
+        return new MealSlotChange(Operation.ADD, date, mealType, recipe);
+    }
+
+    public static MealSlotChange edit(LocalDate date, MealType mealType, String recipe) {
+        return new MealSlotChange(Operation.EDIT, date, mealType, recipe);
+    }
+
+    public static MealSlotChange delete(LocalDate date, MealType mealType) {
+        return new MealSlotChange(Operation.DELETE, date, mealType, null);
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public MealType getMealType() {
+        return mealType;
+    }
+
+    public String getRecipe() {
+        return recipe;
+    }
+}
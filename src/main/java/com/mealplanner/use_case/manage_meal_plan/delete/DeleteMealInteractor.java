@@ -1,7 +1,8 @@
 package com.mealplanner.use_case.manage_meal_plan.delete;
 
-import com.mealplanner.entity.Schedule;
 import com.mealplanner.entity.MealType;
+import com.mealplanner.exception.ConcurrentUpdateException;
+import com.mealplanner.use_case.manage_meal_plan.ScheduleLockManager;
 import java.time.LocalDate;
 import java.util.Objects;
 
@@ -12,11 +13,19 @@ public class DeleteMealInteractor implements DeleteMealInputBoundary {
 
     private final DeleteMealDataAccessInterface dataAccess;
     private final DeleteMealOutputBoundary presenter;
+    private final ScheduleLockManager lockManager;
 
     public DeleteMealInteractor(DeleteMealDataAccessInterface dataAccess,
                              DeleteMealOutputBoundary presenter) {
+        this(dataAccess, presenter, ScheduleLockManager.getInstance());
+    }
+
+    public DeleteMealInteractor(DeleteMealDataAccessInterface dataAccess,
+                             DeleteMealOutputBoundary presenter,
+                             ScheduleLockManager lockManager) {
         this.dataAccess = Objects.requireNonNull(dataAccess, "Data access cannot be null");
         this.presenter = Objects.requireNonNull(presenter, "Presenter cannot be null");
+        this.lockManager = Objects.requireNonNull(lockManager, "Lock manager cannot be null");
     }
 
     @Override
@@ -40,22 +49,28 @@ public class DeleteMealInteractor implements DeleteMealInputBoundary {
             return;
         }
 
-        Schedule schedule = dataAccess.getUserSchedule();
+        // Read, modify and save under the user's schedule lock; null means there is no meal to delete
+        DeleteMealOutputData outputData;
+        try {
+            outputData = lockManager.update(dataAccess::getUserSchedule, schedule -> {
+                if (!schedule.hasMeal(date, mealType)) {
+                    return null;
+                }
+                schedule.removeMeal(date, mealType);
+                dataAccess.saveSchedule(schedule);
+                return new DeleteMealOutputData(schedule, "Meal has been deleted successfully.");
+            });
+        } catch (ConcurrentUpdateException e) {
+            presenter.presentDeleteError("Schedule was changed by another action. Please try again.");
+            return;
+        }
 
-        // Validate meal exists
-        if (!schedule.hasMeal(date, mealType)) {
+        if (outputData == null) {
             presenter.presentDeleteError("No meal exists for " + mealType + " on " + date + ".");
             return;
         }
 
-        // Remove meal from schedule
-        schedule.removeMeal(date, mealType);
-
-        // Save schedule
-        dataAccess.saveSchedule(schedule);
-
         // Pass result to presenter
-        DeleteMealOutputData outputData = new DeleteMealOutputData(schedule, "Meal has been deleted successfully.");
         presenter.presentDeleteSuccess(outputData);
     }
 }
@@ -1,7 +1,8 @@
 package com.mealplanner.use_case.manage_meal_plan.edit;
 
-import com.mealplanner.entity.Schedule;
 import com.mealplanner.entity.MealType;
+import com.mealplanner.exception.ConcurrentUpdateException;
+import com.mealplanner.use_case.manage_meal_plan.ScheduleLockManager;
 import java.time.LocalDate;
 import java.util.Objects;
 
@@ -12,11 +13,19 @@ public class EditMealInteractor implements EditMealInputBoundary {
 
     private final EditMealDataAccessInterface dataAccess;
     private final EditMealOutputBoundary presenter;
+    private final ScheduleLockManager lockManager;
 
     public EditMealInteractor(EditMealDataAccessInterface dataAccess,
                              EditMealOutputBoundary presenter) {
+        this(dataAccess, presenter, ScheduleLockManager.getInstance());
+    }
+
+    public EditMealInteractor(EditMealDataAccessInterface dataAccess,
+                             EditMealOutputBoundary presenter,
+                             ScheduleLockManager lockManager) {
         this.dataAccess = Objects.requireNonNull(dataAccess, "Data access cannot be null");
         this.presenter = Objects.requireNonNull(presenter, "Presenter cannot be null");
+        this.lockManager = Objects.requireNonNull(lockManager, "Lock manager cannot be null");
     }
 
     @Override
@@ -45,27 +54,31 @@ public class EditMealInteractor implements EditMealInputBoundary {
             return;
         }
 
-        Schedule schedule = dataAccess.getUserSchedule();
-
-        // Validate meal exists
-        if (!schedule.hasMeal(date, mealType)) {
-            presenter.presentEditError("No meal exists for " + mealType + " on " + date + ".");
-            return;
-        }
-
-        // Update with new recipe
+        // Read, modify and save under the user's schedule lock; null means there is no meal to edit
+        EditMealOutputData outputData;
         try {
-            schedule.updateMeal(date, mealType, recipeID);
+            outputData = lockManager.update(dataAccess::getUserSchedule, schedule -> {
+                if (!schedule.hasMeal(date, mealType)) {
+                    return null;
+                }
+                schedule.updateMeal(date, mealType, recipeID);
+                dataAccess.saveSchedule(schedule);
+                return new EditMealOutputData(schedule, "Meal has been edited successfully.");
+            });
+        } catch (ConcurrentUpdateException e) {
+            presenter.presentEditError("Schedule was changed by another action. Please try again.");
+            return;
         } catch (IllegalArgumentException e) {
             presenter.presentEditError(e.getMessage());
             return;
         }
 
-        // Save schedule
-        dataAccess.saveSchedule(schedule);
+        if (outputData == null) {
+            presenter.presentEditError("No meal exists for " + mealType + " on " + date + ".");
+            return;
+        }
 
         // Pass result to presenter
-        EditMealOutputData outputData = new EditMealOutputData(schedule, "Meal has been edited successfully.");
         presenter.presentEditSuccess(outputData);
     }
 }
@@ -0,0 +1,245 @@
+package com.mealplanner.util;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Utility class for crash-safe file writes.
+ *
+ * Content is written to a uniquely named temp file in the target's directory, fsynced,
+ * and then atomically renamed over the target. Readers therefore see either the old file
+ * or the complete new one, never a truncated one. Every write uses its own temp file,
+ * so writers of different files never wait on each other; concurrent writers of the same
+ * file each publish a complete file and the last rename wins.
+ *
+ * Temp files end in ".tmp", so directory listings filtered by the data file extension skip them.
+ * On POSIX systems they get the target's permissions before the rename, since temp files are
+ * created owner-only.
+ *
+ * Responsible: Everyone (shared utility)
+ */
+public class AtomicFileWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AtomicFileWriter.class);
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    // Private constructor to prevent instantiation
+    private AtomicFileWriter() {
+        throw new AssertionError("AtomicFileWriter should not be instantiated");
+    }
+
+    /**
+     * Callback that streams content into the temp file (e.g. gson.toJson(entity, writer)).
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    /**
+     * Atomically replace the target file with the given UTF-8 text.
+     *
+     * @param target  File to write
+     * @param content Full file content
+     * @throws IOException if the content could not be written; the target is left untouched
+     */
+    public static void write(Path target, String content) throws IOException {
+        write(target, writer -> writer.write(content));
+    }
+
+    /**
+     * Atomically replace the target file with content streamed by the callback.
+     *
+     * @param target        File to write
+     * @param contentWriter Callback writing the full file content as UTF-8
+     * @throws IOException if the content could not be written; the target is left untouched
+     */
+    public static void write(Path target, ContentWriter contentWriter) throws IOException {
+        Path tempFile = writeTempFile(target, contentWriter, true);
+        try {
+            moveIntoPlace(tempFile, target);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        syncDirectory(target.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Atomically replace the target file with the given UTF-8 text, without fsync.
+     * Readers still never see a partial file, but a crash may lose the write or leave the old
+     * content, so this is only for data that can be recreated, such as cache entries.
+     *
+     * @param target  File to write
+     * @param content Full file content
+     * @throws IOException if the content could not be written; the target is left untouched
+     */
+    public static void writeUnsynced(Path target, String content) throws IOException {
+        Path tempFile = writeTempFile(target, writer -> writer.write(content), false);
+        try {
+            moveIntoPlace(tempFile, target);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Start a group commit. All files added to the batch are written and fsynced first,
+     * then renamed into place, and every affected directory is fsynced once at the end.
+     */
+    public static Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * A set of writes committed together. Not thread-safe; use one batch per caller.
+     */
+    public static class Batch {
+        private final Map<Path, ContentWriter> writes = new LinkedHashMap<>();
+
+        private Batch() {
+        }
+
+        public Batch add(Path target, String content) {
+            return add(target, writer -> writer.write(content));
+        }
+
+        public Batch add(Path target, ContentWriter contentWriter) {
+            writes.put(target, contentWriter);
+            return this;
+        }
+
+        public int size() {
+            return writes.size();
+        }
+
+        /**
+         * Write every file of the batch. If any temp file fails to write, nothing is renamed;
+         * if a rename fails, the files renamed before it stay and no temp files are left behind.
+         *
+         * @throws IOException if a write or rename fails
+         */
+        public void commit() throws IOException {
+            List<Path[]> staged = new ArrayList<>();
+            try {
+                for (Map.Entry<Path, ContentWriter> entry : writes.entrySet()) {
+                    staged.add(new Path[] {writeTempFile(entry.getKey(), entry.getValue(), true), entry.getKey()});
+                }
+            } catch (IOException e) {
+                for (Path[] pair : staged) {
+                    Files.deleteIfExists(pair[0]);
+                }
+                throw e;
+            }
+
+            Set<Path> directories = new LinkedHashSet<>();
+            int moved = 0;
+            try {
+                for (Path[] pair : staged) {
+                    moveIntoPlace(pair[0], pair[1]);
+                    directories.add(pair[1].toAbsolutePath().getParent());
+                    moved++;
+                }
+            } catch (IOException e) {
+                // Files already renamed stay; the rest of the batch is not written
+                for (Path[] pair : staged.subList(moved, staged.size())) {
+                    Files.deleteIfExists(pair[0]);
+                }
+                throw e;
+            }
+            for (Path directory : directories) {
+                syncDirectory(directory);
+            }
+            writes.clear();
+        }
+    }
+
+    private static Path writeTempFile(Path target, ContentWriter contentWriter, boolean sync) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, target.getFileName().toString() + ".", TEMP_SUFFIX);
+
+        try {
+            applyPermissions(target, directory, tempFile);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+            Writer writer = new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8);
+            contentWriter.writeTo(writer);
+            writer.flush();
+            if (sync) {
+                channel.force(true);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        return tempFile;
+    }
+
+    /**
+     * Give the temp file the permissions of the file it replaces. A new file gets those of its
+     * directory without the execute bits, which is the mode a plain file created under the same
+     * umask would have.
+     */
+    private static void applyPermissions(Path target, Path directory, Path tempFile) throws IOException {
+        PosixFileAttributeView tempView = Files.getFileAttributeView(tempFile, PosixFileAttributeView.class);
+        if (tempView == null) {
+            return;
+        }
+        Set<PosixFilePermission> permissions;
+        if (Files.exists(target)) {
+            permissions = Files.getPosixFilePermissions(target);
+        } else {
+            permissions = Files.getPosixFilePermissions(directory);
+            permissions.remove(PosixFilePermission.OWNER_EXECUTE);
+            permissions.remove(PosixFilePermission.GROUP_EXECUTE);
+            permissions.remove(PosixFilePermission.OTHERS_EXECUTE);
+        }
+        tempView.setPermissions(permissions);
+    }
+
+    private static void moveIntoPlace(Path tempFile, Path target) throws IOException {
+        try {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            logger.debug("Atomic move not supported for {}, falling back to replace", target);
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Persist the rename itself. Not supported on every platform (e.g. Windows), so best effort.
+    private static void syncDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            logger.trace("Directory fsync not supported for {}", directory);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import javafx.application.Platform;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -12,7 +13,8 @@ import java.util.function.Supplier;
  * loading state management, and UI thread synchronization.
  * 
  * This class helps prevent common threading issues and provides a consistent
- * pattern for background operations across the application.
+ * pattern for background operations across the application. Tasks run on the
+ * shared, bounded {@link TaskScheduler} instead of a new thread per call.
  * 
  * Responsible: Everyone (shared utility)
  */
@@ -28,7 +30,7 @@ public class BackgroundTask {
      * @param loadingIndicator Runnable to show loading indicator (runs on JavaFX thread)
      * @param hideLoadingIndicator Runnable to hide loading indicator (runs on JavaFX thread)
      */
-    public static void execute(
+    public static Future<?> execute(
             Runnable task,
             Runnable onSuccess,
             Consumer<Exception> onError,
@@ -40,10 +42,13 @@ public class BackgroundTask {
             Platform.runLater(loadingIndicator);
         }
         
-        // Execute task on background thread
-        new Thread(() -> {
+        // Execute task on the shared scheduler
+        return TaskScheduler.getInstance().submit(TaskScheduler.Priority.UI_CRITICAL, () -> {
             try {
                 task.run();
+                if (TaskScheduler.isCurrentTaskCancelled()) {
+                    return;
+                }
                 
                 // On success, update UI on JavaFX thread
                 Platform.runLater(() -> {
@@ -70,7 +75,7 @@ public class BackgroundTask {
                     }
                 });
             }
-        }).start();
+        });
     }
     
     /**
@@ -83,7 +88,7 @@ public class BackgroundTask {
      * @param hideLoadingIndicator Runnable to hide loading indicator (runs on JavaFX thread)
      * @param <T> Type of result
      */
-    public static <T> void execute(
+    public static <T> Future<?> execute(
             Supplier<T> supplier,
             Consumer<T> onSuccess,
             Consumer<Exception> onError,
@@ -95,11 +100,65 @@ public class BackgroundTask {
             Platform.runLater(loadingIndicator);
         }
         
-        // Execute task on background thread
-        new Thread(() -> {
+        return execute(null, TaskScheduler.Priority.UI_CRITICAL, supplier, onSuccess, onError, hideLoadingIndicator);
+    }
+    
+    /**
+     * Simplified version without loading indicators.
+     * 
+     * @param task Background task to execute
+     * @param onSuccess Success callback
+     * @param onError Error callback
+     */
+    public static Future<?> execute(
+            Runnable task,
+            Runnable onSuccess,
+            Consumer<Exception> onError
+    ) {
+        return execute(task, onSuccess, onError, null, null);
+    }
+    
+    /**
+     * Execute with only error handling (no success callback).
+     * 
+     * @param task Background task to execute
+     * @param onError Error callback
+     */
+    public static Future<?> execute(
+            Runnable task,
+            Consumer<Exception> onError
+    ) {
+        return execute(task, null, onError, null, null);
+    }
+
+    /**
+     * Execute a task that returns a value, replacing any unfinished task with the same key.
+     * Callbacks of a superseded task are not run, so a slow stale result never overwrites a newer one.
+     *
+     * @param key Identifies the kind of work (e.g. "browse-search"); null for no superseding
+     * @param priority Scheduling priority
+     * @param supplier Background task that returns a value (runs on a worker thread)
+     * @param onSuccess Success callback with result (runs on JavaFX thread)
+     * @param onError Error callback (runs on JavaFX thread)
+     * @param hideLoadingIndicator Runnable to hide loading indicator (runs on JavaFX thread)
+     * @param <T> Type of result
+     * @return a future that can be used to cancel the task
+     */
+    public static <T> Future<?> execute(
+            String key,
+            TaskScheduler.Priority priority,
+            Supplier<T> supplier,
+            Consumer<T> onSuccess,
+            Consumer<Exception> onError,
+            Runnable hideLoadingIndicator
+    ) {
+        return TaskScheduler.getInstance().submit(key, priority, () -> {
             try {
                 T result = supplier.get();
-                
+                if (TaskScheduler.isCurrentTaskCancelled()) {
+                    return;
+                }
+
                 // On success, update UI on JavaFX thread
                 Platform.runLater(() -> {
                     if (hideLoadingIndicator != null) {
@@ -110,8 +169,11 @@ public class BackgroundTask {
                     }
                 });
             } catch (Exception e) {
+                if (TaskScheduler.isCurrentTaskCancelled()) {
+                    return;
+                }
                 logger.error("Background task failed", e);
-                
+
                 // On error, update UI on JavaFX thread
                 Platform.runLater(() -> {
                     if (hideLoadingIndicator != null) {
@@ -125,35 +187,6 @@ public class BackgroundTask {
                     }
                 });
             }
-        }).start();
-    }
-    
-    /**
-     * Simplified version without loading indicators.
-     * 
-     * @param task Background task to execute
-     * @param onSuccess Success callback
-     * @param onError Error callback
-     */
-    public static void execute(
-            Runnable task,
-            Runnable onSuccess,
-            Consumer<Exception> onError
-    ) {
-        execute(task, onSuccess, onError, null, null);
-    }
-    
-    /**
-     * Execute with only error handling (no success callback).
-     * 
-     * @param task Background task to execute
-     * @param onError Error callback
-     */
-    public static void execute(
-            Runnable task,
-            Consumer<Exception> onError
-    ) {
-        execute(task, null, onError, null, null);
+        });
     }
 }
-
@@ -0,0 +1,277 @@
+package com.mealplanner.util;
+
+import com.mealplanner.config.ApiConfig;
+import com.mealplanner.config.AppConfig;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single HTTP client shared by the API clients and the image downloader.
+ *
+ * All clients handed out share one connection pool (keep-alive connections are reused across
+ * Spoonacular, Edamam and image hosts) and one dispatcher; they differ only in timeouts,
+ * which come from the configuration. HTTP/2 is negotiated where the server supports it and
+ * responses are transparently gzip-decompressed by OkHttp.
+ *
+ * Concurrent calls per host are capped, including synchronous calls (which OkHttp's
+ * dispatcher does not limit), and every call's latency is recorded per host for
+ * {@link #getMetrics()}.
+ *
+ * {@link #callAsync} runs a call on the shared dispatcher instead of the caller's thread.
+ *
+ * Responsible: Everyone (shared utility)
+ */
+public class HttpClientProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpClientProvider.class);
+
+    private static HttpClientProvider instance;
+
+    private final OkHttpClient baseClient;
+    private final int maxRequestsPerHost;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final Map<String, HostStats> hostStats = new ConcurrentHashMap<>();
+
+    /**
+     * Turns a response into a result. Called on an OkHttp dispatcher thread; the response is
+     * closed afterwards.
+     */
+    @FunctionalInterface
+    public interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+
+    /**
+     * Get the application-wide provider, configured from application.properties.
+     */
+    public static synchronized HttpClientProvider getInstance() {
+        if (instance == null) {
+            instance = new HttpClientProvider(
+                    AppConfig.getHttpPoolMaxIdle(),
+                    AppConfig.getHttpKeepAliveSeconds(),
+                    AppConfig.getHttpMaxRequestsPerHost(),
+                    AppConfig.getHttpConnectTimeoutSeconds());
+        }
+        return instance;
+    }
+
+    /**
+     * @param maxIdleConnections    Idle connections kept in the pool
+     * @param keepAliveSeconds      How long an idle connection is kept
+     * @param maxRequestsPerHost    Concurrent calls allowed per host
+     * @param connectTimeoutSeconds Connect timeout for every client
+     */
+    public HttpClientProvider(int maxIdleConnections, int keepAliveSeconds, int maxRequestsPerHost,
+                              int connectTimeoutSeconds) {
+        this.maxRequestsPerHost = Math.max(1, maxRequestsPerHost);
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(this.maxRequestsPerHost);
+        this.baseClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(Math.max(1, maxIdleConnections), keepAliveSeconds, TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(connectTimeoutSeconds, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .addInterceptor(this::limitAndMeasure)
+                .build();
+    }
+
+    /**
+     * @return the shared client with default timeouts
+     */
+    public OkHttpClient getClient() {
+        return baseClient;
+    }
+
+    /**
+     * @return a client sharing the pool, with spoonacular.timeout.seconds applied
+     */
+    public OkHttpClient forSpoonacular() {
+        return withTimeout(ApiConfig.getSpoonacularTimeoutSeconds());
+    }
+
+    /**
+     * @return a client sharing the pool, with edamam.timeout.seconds applied
+     */
+    public OkHttpClient forEdamam() {
+        return withTimeout(ApiConfig.getEdamamTimeoutSeconds());
+    }
+
+    /**
+     * @return a client sharing the pool, with http.images.timeout.seconds applied
+     */
+    public OkHttpClient forImages() {
+        return withTimeout(AppConfig.getHttpImageTimeoutSeconds());
+    }
+
+    /**
+     * @return a client sharing the pool whose whole call, including reading the body, is bounded
+     */
+    public OkHttpClient withTimeout(int timeoutSeconds) {
+        return baseClient.newBuilder()
+                .readTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .writeTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .callTimeout(timeoutSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Enqueue a call on the client's dispatcher without blocking the caller.
+     *
+     * Completing the returned future early, by cancelling it or with
+     * {@link CompletableFuture#orTimeout}, cancels the HTTP call. The client's own call
+     * timeout still applies.
+     *
+     * @param handler Reads the response; its IOException fails the future
+     * @return a future of the handler's result
+     */
+    public static <T> CompletableFuture<T> callAsync(OkHttpClient client, Request request, ResponseHandler<T> handler) {
+        Call call = client.newCall(request);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failed, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call done, Response response) {
+                try (response) {
+                    future.complete(handler.handle(response));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @return latency and failure counters per host, sorted by host
+     */
+    public Map<String, HostMetrics> getMetrics() {
+        Map<String, HostMetrics> snapshot = new TreeMap<>();
+        hostStats.forEach((host, stats) -> snapshot.put(host, stats.snapshot()));
+        return snapshot;
+    }
+
+    /**
+     * Close idle connections and log the collected metrics.
+     */
+    public void shutdown() {
+        baseClient.dispatcher().executorService().shutdown();
+        baseClient.connectionPool().evictAll();
+        getMetrics().forEach((host, metrics) -> logger.info("HTTP {}: {}", host, metrics));
+    }
+
+    private Response limitAndMeasure(Interceptor.Chain chain) throws IOException {
+        String host = chain.request().url().host();
+        Semaphore permits = hostPermits.computeIfAbsent(host, h -> new Semaphore(maxRequestsPerHost));
+        HostStats stats = hostStats.computeIfAbsent(host, h -> new HostStats());
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection to " + host);
+        }
+        long start = System.nanoTime();
+        try {
+            Response response = chain.proceed(chain.request());
+            stats.record(System.nanoTime() - start, !response.isSuccessful());
+            return response;
+        } catch (IOException | RuntimeException e) {
+            stats.record(System.nanoTime() - start, true);
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static class HostStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos, boolean failed) {
+            calls.increment();
+            if (failed) {
+                failures.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        HostMetrics snapshot() {
+            long count = calls.sum();
+            return new HostMetrics(count, failures.sum(),
+                    count > 0 ? totalNanos.sum() / count / 1_000_000.0 : 0,
+                    maxNanos.get() / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Point-in-time call statistics of one host. Latencies are in milliseconds and cover
+     * the time until the response headers arrive.
+     */
+    public static class HostMetrics {
+        private final long calls;
+        private final long failures;
+        private final double averageMillis;
+        private final double maxMillis;
+
+        HostMetrics(long calls, long failures, double averageMillis, double maxMillis) {
+            this.calls = calls;
+            this.failures = failures;
+            this.averageMillis = averageMillis;
+            this.maxMillis = maxMillis;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public double getAverageMillis() {
+            return averageMillis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("calls=%d failures=%d avg=%.1fms max=%.1fms", calls, failures, averageMillis, maxMillis);
+        }
+    }
+}
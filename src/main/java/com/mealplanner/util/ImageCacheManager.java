@@ -13,6 +13,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.mealplanner.config.AppConfig;
 import com.mealplanner.config.ConfigLoader;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
 
 /**
  * 레시피 이미지를 로컬 파일 시스템에 캐싱하는 매니저
@@ -34,6 +37,7 @@ public class ImageCacheManager {
     private final boolean cacheEnabled;
     
     private final ExecutorService downloadExecutor;
+    private final OkHttpClient httpClient;
     private final Map<String, CompletableFuture<Image>> pendingDownloads;
     
     /**
@@ -57,6 +61,9 @@ public class ImageCacheManager {
         this.cacheDirectory = Paths.get(cachePath);
         initializeCacheDirectory();
         
+        // 공유 HTTP 클라이언트 (이미지 타임아웃 적용)
+        this.httpClient = HttpClientProvider.getInstance().forImages();
+        
         // 다운로드 스레드 풀 (최대 5개 동시 다운로드)
         this.downloadExecutor = Executors.newFixedThreadPool(5);
         this.pendingDownloads = new ConcurrentHashMap<>();
@@ -163,22 +170,30 @@ public class ImageCacheManager {
             // 임시 파일로 다운로드 후 원자적 이동 (부분 다운로드 방지)
             Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName().toString() + ".tmp");
             
-            try (InputStream in = url.openStream();
-                 FileOutputStream out = new FileOutputStream(tempFile.toFile())) {
-                
-                byte[] buffer = new byte[8192];
-                int bytesRead;
-                long totalBytes = 0;
-                final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB 제한
-                
-                while ((bytesRead = in.read(buffer)) != -1) {
-                    totalBytes += bytesRead;
-                    if (totalBytes > MAX_FILE_SIZE) {
-                        logger.warn("Image file too large, skipping: {}", imageUrl);
-                        Files.deleteIfExists(tempFile);
-                        return new Image(imageUrl, true);
+            // 공유 HTTP 클라이언트 사용 (커넥션 풀 재사용, 설정된 타임아웃 적용)
+            Request request = new Request.Builder().url(url).build();
+            try (Response response = httpClient.newCall(request).execute()) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    logger.warn("Image download failed with code {}: {}", response.code(), imageUrl);
+                    return new Image(imageUrl, true);
+                }
+                try (InputStream in = response.body().byteStream();
+                     FileOutputStream out = new FileOutputStream(tempFile.toFile())) {
+                    
+                    byte[] buffer = new byte[8192];
+                    int bytesRead;
+                    long totalBytes = 0;
+                    final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB 제한
+                    
+                    while ((bytesRead = in.read(buffer)) != -1) {
+                        totalBytes += bytesRead;
+                        if (totalBytes > MAX_FILE_SIZE) {
+                            logger.warn("Image file too large, skipping: {}", imageUrl);
+                            Files.deleteIfExists(tempFile);
+                            return new Image(imageUrl, true);
+                        }
+                        out.write(buffer, 0, bytesRead);
                     }
-                    out.write(buffer, 0, bytesRead);
                 }
             }
             
@@ -0,0 +1,203 @@
+package com.mealplanner.util;
+
+import com.mealplanner.entity.Recipe;
+import com.mealplanner.exception.DataAccessException;
+import com.mealplanner.repository.DataChangeListener;
+import com.mealplanner.repository.RecipeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Ingredient name suggestions for ingredient entry fields.
+ *
+ * Names come from the saved recipes and from cached API responses, reduced to the bare
+ * ingredient ("2 cloves garlic, minced" becomes "garlic"). A name's popularity is the number
+ * of recipes using it, so common ingredients are suggested first. Saved recipes are followed
+ * through the repository's change notifications, so a recipe saved in StoreRecipeView is
+ * suggested straight away.
+ *
+ * Responsible: Everyone (shared utility)
+ */
+public class IngredientAutocomplete implements DataChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngredientAutocomplete.class);
+
+    // Completions kept per trie node; more than any dropdown shows
+    private static final int MAX_SUGGESTIONS = 10;
+
+    // Leading words that describe the preparation or amount rather than the ingredient,
+    // including unit abbreviations IngredientParser leaves in the name
+    private static final Set<String> LEADING_DESCRIPTORS = Set.of(
+            "chopped", "diced", "minced", "sliced", "grated", "shredded", "crushed", "peeled", "mashed",
+            "melted", "softened", "fresh", "freshly", "large", "small", "medium", "whole", "clove", "cloves",
+            "slice", "slices", "can", "cans", "piece", "pieces", "finely", "roughly", "thinly", "of",
+            "tbsp", "tsp", "g", "oz", "c", "lb");
+
+    private final RecipeRepository recipeRepository;
+    private final PrefixTrie trie = new PrefixTrie(MAX_SUGGESTIONS);
+    // Names each saved recipe contributed, so an edit or delete can take them back
+    private final Map<String, Set<String>> namesByRecipe = new HashMap<>();
+
+    /**
+     * @param recipeRepository Saved recipes to suggest ingredients from
+     */
+    public IngredientAutocomplete(RecipeRepository recipeRepository) {
+        this.recipeRepository = Objects.requireNonNull(recipeRepository, "RecipeRepository cannot be null");
+        recipeRepository.addChangeListener(this);
+    }
+
+    /**
+     * Index the ingredients of every saved recipe, replacing what was indexed from them
+     * before. Reads all recipes, so call it off the UI thread.
+     */
+    public void load() {
+        List<Recipe> recipes;
+        try {
+            recipes = recipeRepository.findAll();
+        } catch (DataAccessException e) {
+            logger.warn("Could not load recipes for ingredient suggestions: {}", e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            for (String recipeId : List.copyOf(namesByRecipe.keySet())) {
+                removeRecipe(recipeId);
+            }
+            for (Recipe recipe : recipes) {
+                addRecipe(recipe);
+            }
+        }
+        logger.debug("Indexed {} ingredient names from {} recipes", trie.size(), recipes.size());
+    }
+
+    /**
+     * Count ingredient names seen outside the saved recipes, e.g. in cached API responses.
+     *
+     * @param ingredientLines Ingredient names or lines, one count each
+     */
+    public void addNames(Collection<String> ingredientLines) {
+        for (String line : ingredientLines) {
+            String name = normalizeName(line);
+            if (!name.isEmpty()) {
+                trie.add(name, 1);
+            }
+        }
+    }
+
+    /**
+     * Most popular ingredient names starting with what was typed.
+     *
+     * @param prefix Text typed so far
+     * @param limit  Maximum number of suggestions (at most 10)
+     * @return suggestions, most popular first; empty for blank input
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = normalizeText(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return trie.complete(normalized, limit);
+    }
+
+    /**
+     * @return number of distinct ingredient names
+     */
+    public int size() {
+        return trie.size();
+    }
+
+    @Override
+    public void onDataChanged(Set<String> changedIds, Set<String> deletedIds) {
+        try {
+            synchronized (this) {
+                for (String recipeId : deletedIds) {
+                    removeRecipe(recipeId);
+                }
+                for (String recipeId : changedIds) {
+                    removeRecipe(recipeId);
+                    recipeRepository.findById(recipeId).ifPresent(this::addRecipe);
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not update ingredient suggestions: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onDataReset() {
+        load();
+    }
+
+    private void addRecipe(Recipe recipe) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String line : recipe.getIngredients()) {
+            String name = normalizeName(line);
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        for (String name : names) {
+            trie.add(name, 1);
+        }
+        namesByRecipe.put(recipe.getRecipeId(), names);
+    }
+
+    private void removeRecipe(String recipeId) {
+        Set<String> names = namesByRecipe.remove(recipeId);
+        if (names != null) {
+            for (String name : names) {
+                trie.add(name, -1);
+            }
+        }
+    }
+
+    /**
+     * Reduce an ingredient line to the ingredient name shown as a suggestion,
+     * e.g. "2 cloves garlic, minced" to "garlic".
+     *
+     * @return the name in lowercase, or an empty string if nothing is left
+     */
+    public static String normalizeName(String line) {
+        if (line == null || line.trim().isEmpty()) {
+            return "";
+        }
+        String name;
+        try {
+            name = IngredientParser.parse(line).getName();
+        } catch (IllegalArgumentException e) {
+            name = line;
+        }
+        // "tomatoes, chopped" and "butter (softened)": the rest is preparation
+        for (char separator : new char[] {',', '('}) {
+            int index = name.indexOf(separator);
+            if (index >= 0) {
+                name = name.substring(0, index);
+            }
+        }
+        String[] words = normalizeText(name).split(" ");
+        int start = 0;
+        while (start < words.length && (LEADING_DESCRIPTORS.contains(words[start]) || words[start].isEmpty())) {
+            start++;
+        }
+        return String.join(" ", List.of(words).subList(start, words.length));
+    }
+
+    // Lowercase letters, digits, hyphens and single spaces
+    private static String normalizeText(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}\\s-]", " ")
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+}
@@ -0,0 +1,185 @@
+package com.mealplanner.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Weighted prefix trie for autocomplete.
+ *
+ * Each node keeps its children in a sorted char array (binary searched) and caches the
+ * best completions of its subtree, heaviest first. A lookup is therefore a walk down the
+ * prefix and a copy of the cached list, independent of how many terms share the prefix.
+ * Weight changes refresh the cached lists along the changed term's path only: a node's
+ * best completions are always among its own term and its children's cached lists.
+ *
+ * Responsible: Everyone (shared utility)
+ */
+public class PrefixTrie {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+
+    // Heaviest first; equal weights in alphabetical order
+    private static final Comparator<Node> BY_WEIGHT = Comparator.comparingInt((Node node) -> -node.weight)
+            .thenComparing(node -> node.term);
+
+    private final int maxCompletions;
+    private final Node root = new Node();
+    private int size = 0;
+
+    private static final class Node {
+        char[] labels = NO_LABELS;
+        Node[] children = NO_NODES;
+        // Term ending at this node, null if none
+        String term;
+        int weight;
+        Node[] top = NO_NODES;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insert = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insert);
+            System.arraycopy(children, 0, newChildren, 0, insert);
+            System.arraycopy(labels, insert, newLabels, insert + 1, labels.length - insert);
+            System.arraycopy(children, insert, newChildren, insert + 1, children.length - insert);
+            Node child = new Node();
+            newLabels[insert] = label;
+            newChildren[insert] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+    }
+
+    /**
+     * @param maxCompletions Completions cached per node, the most complete() can return
+     */
+    public PrefixTrie(int maxCompletions) {
+        if (maxCompletions <= 0) {
+            throw new IllegalArgumentException("maxCompletions must be positive");
+        }
+        this.maxCompletions = maxCompletions;
+    }
+
+    /**
+     * Change the weight of a term, adding it if needed. A term whose weight drops to zero
+     * or below is removed.
+     *
+     * @param term  Term to change
+     * @param delta Amount added to its weight (negative to lower it)
+     */
+    public synchronized void add(String term, int delta) {
+        if (term == null || term.isEmpty() || delta == 0) {
+            return;
+        }
+        List<Node> path = new ArrayList<>(term.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < term.length(); i++) {
+            node = delta > 0 ? node.addChild(term.charAt(i)) : node.child(term.charAt(i));
+            if (node == null) {
+                // Lowering a term that is not there
+                return;
+            }
+            path.add(node);
+        }
+
+        boolean present = node.term != null;
+        int weight = (present ? node.weight : 0) + delta;
+        if (weight > 0) {
+            node.term = term;
+            node.weight = weight;
+            size += present ? 0 : 1;
+        } else if (present) {
+            node.term = null;
+            node.weight = 0;
+            size--;
+        } else {
+            return;
+        }
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            refreshTop(path.get(i));
+        }
+    }
+
+    /**
+     * @return the weight of a term, 0 if absent
+     */
+    public synchronized int weight(String term) {
+        Node node = find(term);
+        return node != null && node.term != null ? node.weight : 0;
+    }
+
+    /**
+     * Heaviest terms starting with a prefix.
+     *
+     * @param prefix Start of the terms, "" for all
+     * @param limit  Maximum number of terms, at most maxCompletions
+     * @return terms, heaviest first
+     */
+    public synchronized List<String> complete(String prefix, int limit) {
+        Node node = find(prefix == null ? "" : prefix);
+        if (node == null || limit <= 0) {
+            return List.of();
+        }
+        int count = Math.min(limit, node.top.length);
+        List<String> terms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            terms.add(node.top[i].term);
+        }
+        return terms;
+    }
+
+    /**
+     * @return number of terms
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Remove every term.
+     */
+    public synchronized void clear() {
+        root.labels = NO_LABELS;
+        root.children = NO_NODES;
+        root.term = null;
+        root.weight = 0;
+        root.top = NO_NODES;
+        size = 0;
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    // Children are refreshed before their parents, so their cached lists are current
+    private void refreshTop(Node node) {
+        List<Node> candidates = new ArrayList<>();
+        if (node.term != null) {
+            candidates.add(node);
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(BY_WEIGHT);
+        node.top = candidates.subList(0, Math.min(maxCompletions, candidates.size())).toArray(NO_NODES);
+    }
+}
@@ -0,0 +1,277 @@
+package com.mealplanner.util;
+
+import com.mealplanner.entity.DietaryRestriction;
+import com.mealplanner.entity.NutritionInfo;
+import com.mealplanner.entity.Recipe;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Facet index over a fixed list of recipes, for filtering loaded results without rescanning them.
+ *
+ * Every facet value (category tag, dietary restriction, cook-time bucket, calorie range) has a
+ * bitset of the recipes carrying it, built once. A filter ANDs the bitsets of the selected values
+ * and reads off the matching recipes, in the original order; facet counts are the bitset sizes.
+ * The index is immutable, so it can be built off the UI thread and shared without locking.
+ *
+ * Responsible: Everyone (shared utility)
+ */
+public class RecipeFacetIndex {
+
+    /** Category tags, in the order they are offered. */
+    public static final List<String> CATEGORIES = List.of(
+            "Breakfast", "Lunch", "Dinner", "Snacks", "Desserts", "Vegetarian", "Vegan");
+
+    // Untagged recipes named after any of these are neither Vegetarian nor Vegan
+    private static final List<String> ANIMAL_WORDS = List.of(
+            "meat", "chicken", "beef", "pork", "fish", "egg", "steak", "bacon", "shrimp", "salmon", "turkey");
+    private static final List<String> DAIRY_WORDS = List.of("cheese", "milk");
+
+    /**
+     * Cook-time buckets, by total (or cook) time.
+     */
+    public enum CookTimeBucket {
+        UNDER_15_MIN, UNDER_30_MIN, UNDER_60_MIN, OVER_60_MIN, UNKNOWN;
+
+        static CookTimeBucket of(Recipe recipe) {
+            Integer minutes = recipe.getTotalTimeMinutes() != null ? recipe.getTotalTimeMinutes() : recipe.getCookTimeMinutes();
+            if (minutes == null || minutes <= 0) {
+                return UNKNOWN;
+            }
+            return minutes < 15 ? UNDER_15_MIN : minutes < 30 ? UNDER_30_MIN : minutes < 60 ? UNDER_60_MIN : OVER_60_MIN;
+        }
+    }
+
+    /**
+     * Calorie ranges, per serving.
+     */
+    public enum CalorieRange {
+        UNDER_300, FROM_300_TO_600, FROM_600_TO_900, OVER_900, UNKNOWN;
+
+        static CalorieRange of(Recipe recipe) {
+            NutritionInfo nutrition = recipe.getNutritionInfo();
+            if (nutrition == null || nutrition.getCalories() <= 0) {
+                return UNKNOWN;
+            }
+            int calories = nutrition.getCalories();
+            return calories < 300 ? UNDER_300 : calories < 600 ? FROM_300_TO_600 : calories < 900 ? FROM_600_TO_900 : OVER_900;
+        }
+    }
+
+    private final List<Recipe> recipes;
+    private final Map<String, BitSet> byCategory = new LinkedHashMap<>();
+    private final Map<DietaryRestriction, BitSet> byDiet = new EnumMap<>(DietaryRestriction.class);
+    private final Map<CookTimeBucket, BitSet> byCookTime = new EnumMap<>(CookTimeBucket.class);
+    private final Map<CalorieRange, BitSet> byCalories = new EnumMap<>(CalorieRange.class);
+
+    /**
+     * @param recipes Recipes to index; null entries are skipped
+     */
+    public RecipeFacetIndex(List<Recipe> recipes) {
+        List<Recipe> indexed = new ArrayList<>();
+        if (recipes != null) {
+            for (Recipe recipe : recipes) {
+                if (recipe != null) {
+                    indexed.add(recipe);
+                }
+            }
+        }
+        this.recipes = Collections.unmodifiableList(indexed);
+
+        for (String category : CATEGORIES) {
+            byCategory.put(category, new BitSet());
+        }
+        for (DietaryRestriction diet : DietaryRestriction.values()) {
+            byDiet.put(diet, new BitSet());
+        }
+        for (CookTimeBucket bucket : CookTimeBucket.values()) {
+            byCookTime.put(bucket, new BitSet());
+        }
+        for (CalorieRange range : CalorieRange.values()) {
+            byCalories.put(range, new BitSet());
+        }
+
+        for (int i = 0; i < this.recipes.size(); i++) {
+            Recipe recipe = this.recipes.get(i);
+            EnumSet<DietaryRestriction> diets = dietsOf(recipe);
+            for (DietaryRestriction diet : diets) {
+                byDiet.get(diet).set(i);
+            }
+            for (String category : categoriesOf(recipe, diets)) {
+                byCategory.get(category).set(i);
+            }
+            byCookTime.get(CookTimeBucket.of(recipe)).set(i);
+            byCalories.get(CalorieRange.of(recipe)).set(i);
+        }
+    }
+
+    /**
+     * Recipes having every selected facet value, in their original order.
+     *
+     * @param category Category tag, or null / "All" for any
+     * @param diets    Dietary restrictions the recipes must all have, or null for any
+     * @param cookTime Cook-time bucket, or null for any
+     * @param calories Calorie range, or null for any
+     */
+    public List<Recipe> filter(String category, Set<DietaryRestriction> diets, CookTimeBucket cookTime, CalorieRange calories) {
+        BitSet matches = matching(category, diets, cookTime, calories);
+        List<Recipe> result = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            result.add(recipes.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Recipes in a category, or all of them for null / "All".
+     */
+    public List<Recipe> filter(String category) {
+        return filter(category, null, null, null);
+    }
+
+    /**
+     * Number of recipes having every selected facet value (see filter).
+     */
+    public int count(String category, Set<DietaryRestriction> diets, CookTimeBucket cookTime, CalorieRange calories) {
+        return matching(category, diets, cookTime, calories).cardinality();
+    }
+
+    /**
+     * @return number of recipes per category tag, in CATEGORIES order
+     */
+    public Map<String, Integer> getCategoryCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        byCategory.forEach((category, members) -> counts.put(category, members.cardinality()));
+        return counts;
+    }
+
+    /**
+     * @return number of recipes per dietary restriction
+     */
+    public Map<DietaryRestriction, Integer> getDietCounts() {
+        return counts(byDiet, DietaryRestriction.class);
+    }
+
+    /**
+     * @return number of recipes per cook-time bucket
+     */
+    public Map<CookTimeBucket, Integer> getCookTimeCounts() {
+        return counts(byCookTime, CookTimeBucket.class);
+    }
+
+    /**
+     * @return number of recipes per calorie range
+     */
+    public Map<CalorieRange, Integer> getCalorieCounts() {
+        return counts(byCalories, CalorieRange.class);
+    }
+
+    /**
+     * @return the indexed recipes, in their original order
+     */
+    public List<Recipe> getRecipes() {
+        return recipes;
+    }
+
+    /**
+     * @return number of indexed recipes
+     */
+    public int size() {
+        return recipes.size();
+    }
+
+    private BitSet matching(String category, Set<DietaryRestriction> diets, CookTimeBucket cookTime, CalorieRange calories) {
+        BitSet matches = new BitSet(recipes.size());
+        matches.set(0, recipes.size());
+        if (category != null && !category.equals("All")) {
+            BitSet members = byCategory.get(category);
+            if (members == null) {
+                // Unknown categories do not filter
+                members = matches;
+            }
+            matches.and(members);
+        }
+        if (diets != null) {
+            for (DietaryRestriction diet : diets) {
+                matches.and(byDiet.get(diet));
+            }
+        }
+        if (cookTime != null) {
+            matches.and(byCookTime.get(cookTime));
+        }
+        if (calories != null) {
+            matches.and(byCalories.get(calories));
+        }
+        return matches;
+    }
+
+    private static <K extends Enum<K>> Map<K, Integer> counts(Map<K, BitSet> postings, Class<K> type) {
+        Map<K, Integer> counts = new EnumMap<>(type);
+        postings.forEach((value, members) -> counts.put(value, members.cardinality()));
+        return counts;
+    }
+
+    private static EnumSet<DietaryRestriction> dietsOf(Recipe recipe) {
+        EnumSet<DietaryRestriction> diets = EnumSet.noneOf(DietaryRestriction.class);
+        if (recipe.getDietaryRestrictions() != null) {
+            for (DietaryRestriction diet : recipe.getDietaryRestrictions()) {
+                if (diet != null) {
+                    diets.add(diet);
+                }
+            }
+        }
+        return diets;
+    }
+
+    /**
+     * Category tags of a recipe. Meal categories come from words in the recipe name; vegetarian
+     * and vegan also from the recipe's dietary restrictions.
+     */
+    static Set<String> categoriesOf(Recipe recipe, EnumSet<DietaryRestriction> diets) {
+        String name = recipe.getName() != null ? recipe.getName().toLowerCase(Locale.ROOT) : "";
+        Set<String> categories = new LinkedHashSet<>();
+        if (containsAny(name, "breakfast", "pancake", "toast", "oatmeal", "egg")) {
+            categories.add("Breakfast");
+        }
+        if (containsAny(name, "lunch", "sandwich", "salad", "soup")) {
+            categories.add("Lunch");
+        }
+        if (containsAny(name, "dinner", "steak", "chicken", "fish", "pasta")) {
+            categories.add("Dinner");
+        }
+        if (containsAny(name, "snack", "chip", "dip")) {
+            categories.add("Snacks");
+        }
+        if (containsAny(name, "dessert", "cake", "cookie", "ice cream", "chocolate")) {
+            categories.add("Desserts");
+        }
+        boolean noAnimalWords = ANIMAL_WORDS.stream().noneMatch(name::contains)
+                && DAIRY_WORDS.stream().noneMatch(name::contains);
+        if (diets.contains(DietaryRestriction.VEGAN) || diets.contains(DietaryRestriction.VEGETARIAN) || noAnimalWords) {
+            categories.add("Vegetarian");
+        }
+        if (diets.contains(DietaryRestriction.VEGAN) || noAnimalWords) {
+            categories.add("Vegan");
+        }
+        return categories;
+    }
+
+    private static boolean containsAny(String name, String... words) {
+        for (String word : words) {
+            if (name.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -5,7 +5,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
@@ -13,12 +21,27 @@ import org.slf4j.LoggerFactory;
 
 /**
  * 레시피 이름과 이미지 파일을 매칭하는 유틸리티 클래스
+ *
+ * 이미지 목록은 처음 사용할 때 한 번만 읽어 인덱스로 만듭니다:
+ * 정확한/대소문자 무시 매칭은 정규화된 이름의 해시 맵으로, 부분 매칭은 트라이그램 인덱스와
+ * 유사도 점수로 찾습니다. 정규화된 이름별 결과는 최근에 쓴 MAX_CACHED_RESULTS개까지 캐싱됩니다.
  */
 public class RecipeImageMatcher {
     private static final Logger logger = LoggerFactory.getLogger(RecipeImageMatcher.class);
     
     private static final String RECIPE_IMAGES_PATH = "/recipe_images/";
-    private static List<String> availableImageFiles = null;
+
+    // 부분 매칭으로 인정하는 최소 트라이그램 유사도 (Dice 계수)
+    private static final double MIN_SIMILARITY = 0.6;
+
+    // 캐싱하는 매칭 결과 수 (API 검색 결과의 이름이 끝없이 쌓이지 않도록 제한)
+    private static final int MAX_CACHED_RESULTS = 1000;
+
+    // "Classic", "Authentic" 같은 접두사는 부분 매칭 전에 제거
+    private static final String[] PREFIXES = {"classic ", "authentic ", "vegan ", "keto ", "high-protein ",
+                                              "mediterranean ", "mexican-style ", "quick "};
+
+    private static volatile ImageIndex imageIndex = null;
     
     /**
      * 레시피 이름에 해당하는 이미지 URL을 찾습니다.
@@ -30,43 +53,160 @@ public class RecipeImageMatcher {
         if (recipeName == null || recipeName.trim().isEmpty()) {
             return null;
         }
-        
-        // 이미지 파일 목록을 한 번만 로드 (캐싱)
-        if (availableImageFiles == null) {
-            loadAvailableImages();
+        return getImageIndex().find(recipeName);
+    }
+
+    /**
+     * 이미지 인덱스를 반환합니다. 처음 호출될 때 한 번만 만듭니다 (스레드 안전).
+     */
+    private static ImageIndex getImageIndex() {
+        ImageIndex index = imageIndex;
+        if (index == null) {
+            synchronized (RecipeImageMatcher.class) {
+                index = imageIndex;
+                if (index == null) {
+                    index = new ImageIndex(loadAvailableImages());
+                    imageIndex = index;
+                }
+            }
         }
-        
-        // 정확한 매칭 시도
-        String exactMatch = findExactMatch(recipeName);
-        if (exactMatch != null) {
-            return exactMatch;
+        return index;
+    }
+
+    /**
+     * 이미지 파일 이름으로 만든 검색 인덱스.
+     */
+    static class ImageIndex {
+        private final List<String> imageFiles;
+        // 정규화된 이름 -> 이미지 파일 (정확한 매칭 / 대소문자 무시 매칭)
+        private final Map<String, String> exactNames = new HashMap<>();
+        private final Map<String, String> lowerCaseNames = new HashMap<>();
+        // 트라이그램 -> 그 트라이그램을 가진 이미지 번호
+        private final Map<String, List<Integer>> imagesByTrigram = new HashMap<>();
+        private final List<String> matchNames = new ArrayList<>();
+        private final List<Integer> trigramCounts = new ArrayList<>();
+        // 정규화된 이름 -> 결과, 가장 오래 쓰지 않은 것부터 제거
+        private final Map<String, Optional<String>> results = Collections.synchronizedMap(
+                new LinkedHashMap<String, Optional<String>>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Optional<String>> eldest) {
+                        return size() > MAX_CACHED_RESULTS;
+                    }
+                });
+
+        ImageIndex(List<String> imageFiles) {
+            this.imageFiles = List.copyOf(imageFiles);
+            for (int i = 0; i < this.imageFiles.size(); i++) {
+                String name = normalizeForMatching(removeExtension(this.imageFiles.get(i)));
+                String lowerName = name.toLowerCase(Locale.ROOT);
+                // 같은 이름이 여러 개면 목록에서 먼저 나온 파일 사용
+                exactNames.putIfAbsent(name, this.imageFiles.get(i));
+                lowerCaseNames.putIfAbsent(lowerName, this.imageFiles.get(i));
+
+                Set<String> trigrams = trigrams(lowerName);
+                matchNames.add(lowerName);
+                trigramCounts.add(trigrams.size());
+                for (String trigram : trigrams) {
+                    imagesByTrigram.computeIfAbsent(trigram, key -> new ArrayList<>()).add(i);
+                }
+            }
         }
-        
-        // 대소문자 무시 매칭 시도
-        String caseInsensitiveMatch = findCaseInsensitiveMatch(recipeName);
-        if (caseInsensitiveMatch != null) {
-            return caseInsensitiveMatch;
+
+        /**
+         * @return 이미지 URL (없으면 null)
+         */
+        String find(String recipeName) {
+            String normalizedName = normalizeForMatching(recipeName);
+            Optional<String> result = results.get(normalizedName);
+            if (result == null) {
+                // 락 밖에서 매칭; 동시에 같은 이름을 찾으면 같은 결과를 두 번 계산할 뿐
+                result = Optional.ofNullable(match(recipeName, normalizedName));
+                results.put(normalizedName, result);
+            }
+            return result.orElse(null);
         }
-        
-        // 부분 매칭 시도 (레시피 이름의 주요 부분만 사용)
-        String partialMatch = findPartialMatch(recipeName);
-        if (partialMatch != null) {
-            return partialMatch;
+
+        int cachedResultCount() {
+            return results.size();
+        }
+
+        private String match(String recipeName, String normalizedName) {
+            // 정확한 매칭 시도
+            String imageFile = exactNames.get(normalizedName);
+            if (imageFile == null) {
+                // 대소문자 무시 매칭 시도
+                imageFile = lowerCaseNames.get(normalizedName.toLowerCase(Locale.ROOT));
+            }
+            if (imageFile == null) {
+                // 부분 매칭 시도 (레시피 이름의 주요 부분만 사용)
+                imageFile = findFuzzyMatch(normalizedName.toLowerCase(Locale.ROOT));
+            }
+
+            if (imageFile == null) {
+                logger.debug("No image found for recipe: {}", recipeName);
+                return null;
+            }
+            return RECIPE_IMAGES_PATH + imageFile;
+        }
+
+        /**
+         * 트라이그램을 공유하는 이미지 중 가장 비슷한 것을 찾습니다.
+         * 한쪽 이름이 다른 쪽에 포함되거나 유사도가 MIN_SIMILARITY 이상이어야 합니다.
+         */
+        private String findFuzzyMatch(String lowerName) {
+            String cleanedName = lowerName;
+            for (String prefix : PREFIXES) {
+                if (cleanedName.startsWith(prefix)) {
+                    cleanedName = cleanedName.substring(prefix.length());
+                    break;
+                }
+            }
+            if (cleanedName.isEmpty()) {
+                return null;
+            }
+
+            Set<String> trigrams = trigrams(cleanedName);
+            Map<Integer, Integer> sharedCounts = new HashMap<>();
+            for (String trigram : trigrams) {
+                for (int image : imagesByTrigram.getOrDefault(trigram, List.of())) {
+                    sharedCounts.merge(image, 1, Integer::sum);
+                }
+            }
+
+            int bestImage = -1;
+            double bestScore = 0;
+            for (Map.Entry<Integer, Integer> entry : sharedCounts.entrySet()) {
+                int image = entry.getKey();
+                double score = 2.0 * entry.getValue() / (trigrams.size() + trigramCounts.get(image));
+                String imageName = matchNames.get(image);
+                boolean contained = imageName.contains(cleanedName) || cleanedName.contains(imageName);
+                if (!contained && score < MIN_SIMILARITY) {
+                    continue;
+                }
+                if (score > bestScore || (score == bestScore && image < bestImage)) {
+                    bestImage = image;
+                    bestScore = score;
+                }
+            }
+            return bestImage < 0 ? null : imageFiles.get(bestImage);
+        }
+
+        // 단어 경계가 반영되도록 앞에 공백 두 개, 뒤에 하나를 붙여 자릅니다
+        private static Set<String> trigrams(String name) {
+            String padded = "  " + name + " ";
+            Set<String> trigrams = new LinkedHashSet<>();
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+            return trigrams;
         }
-        
-        logger.debug("No image found for recipe: {}", recipeName);
-        return null;
     }
     
     /**
      * 사용 가능한 이미지 파일 목록을 로드합니다.
      */
-    private static synchronized void loadAvailableImages() {
-        if (availableImageFiles != null) {
-            return;
-        }
-        
-        availableImageFiles = new ArrayList<>();
+    private static List<String> loadAvailableImages() {
+        List<String> availableImageFiles = new ArrayList<>();
         
         try {
             // resources 폴더에서 이미지 파일 목록 가져오기
@@ -113,18 +253,19 @@ public class RecipeImageMatcher {
             }
             
             logger.info("Loaded {} recipe images", availableImageFiles.size());
+            return availableImageFiles;
         } catch (Exception e) {
             logger.warn("Failed to load recipe images list: {}", e.getMessage());
             // 하드코딩된 이미지 목록 사용 (fallback)
-            loadHardcodedImageList();
+            return loadHardcodedImageList();
         }
     }
     
     /**
      * 하드코딩된 이미지 목록 (fallback)
      */
-    private static void loadHardcodedImageList() {
-        availableImageFiles = new ArrayList<>();
+    private static List<String> loadHardcodedImageList() {
+        List<String> availableImageFiles = new ArrayList<>();
         availableImageFiles.add("Authentic Greek Salad.jpg");
         availableImageFiles.add("Authentic Korean Bibimbap.jpg");
         availableImageFiles.add("Authentic Pad Thai (.jpg");
@@ -162,67 +303,7 @@ public class RecipeImageMatcher {
         availableImageFiles.add("Vegan Pasta Primavera with Cashew Cream.jpg");
         availableImageFiles.add("Vegetable Stir Fry.jpg");
         availableImageFiles.add("Zucchini Noodles with Lean Turkey Marinara.jpg");
-    }
-    
-    /**
-     * 정확한 매칭을 시도합니다.
-     */
-    private static String findExactMatch(String recipeName) {
-        String normalizedName = normalizeForMatching(recipeName);
-        
-        for (String imageFile : availableImageFiles) {
-            String imageName = normalizeForMatching(removeExtension(imageFile));
-            if (normalizedName.equals(imageName)) {
-                return RECIPE_IMAGES_PATH + imageFile;
-            }
-        }
-        
-        return null;
-    }
-    
-    /**
-     * 대소문자 무시 매칭을 시도합니다.
-     */
-    private static String findCaseInsensitiveMatch(String recipeName) {
-        String normalizedName = normalizeForMatching(recipeName).toLowerCase();
-        
-        for (String imageFile : availableImageFiles) {
-            String imageName = normalizeForMatching(removeExtension(imageFile)).toLowerCase();
-            if (normalizedName.equals(imageName)) {
-                return RECIPE_IMAGES_PATH + imageFile;
-            }
-        }
-        
-        return null;
-    }
-    
-    /**
-     * 부분 매칭을 시도합니다 (레시피 이름의 주요 부분만 사용).
-     */
-    private static String findPartialMatch(String recipeName) {
-        String normalizedName = normalizeForMatching(recipeName).toLowerCase();
-        
-        // "Classic", "Authentic" 같은 접두사 제거
-        String[] prefixes = {"classic ", "authentic ", "vegan ", "keto ", "high-protein ", 
-                            "mediterranean ", "mexican-style ", "quick "};
-        String cleanedName = normalizedName;
-        for (String prefix : prefixes) {
-            if (cleanedName.startsWith(prefix)) {
-                cleanedName = cleanedName.substring(prefix.length());
-                break;
-            }
-        }
-        
-        for (String imageFile : availableImageFiles) {
-            String imageName = normalizeForMatching(removeExtension(imageFile)).toLowerCase();
-            
-            // 이미지 이름에 레시피 이름이 포함되어 있는지 확인
-            if (imageName.contains(cleanedName) || cleanedName.contains(imageName)) {
-                return RECIPE_IMAGES_PATH + imageFile;
-            }
-        }
-        
-        return null;
+        return availableImageFiles;
     }
     
     /**
@@ -266,7 +347,7 @@ public class RecipeImageMatcher {
      * 캐시를 초기화합니다 (테스트용).
      */
     public static void clearCache() {
-        availableImageFiles = null;
+        imageIndex = null;
     }
 }
 
@@ -0,0 +1,407 @@
+package com.mealplanner.util;
+
+import com.mealplanner.config.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared, bounded scheduler for all background work (repository loads, searches, API calls).
+ *
+ * A fixed pool of daemon workers takes tasks from a priority queue: UI-critical work runs
+ * before normal work, which runs before prefetching; tasks of equal priority run in
+ * submission order. Tasks submitted with a key supersede the previous task with the same
+ * key (e.g. the previous search), which is cancelled if it has not finished.
+ *
+ * Cancelling never interrupts a running task: an interrupt closes any file channel the task
+ * has open (ClosedByInterruptException). A running task checks {@link #isCurrentTaskCancelled()}
+ * before publishing its result, and can register {@link #onCurrentTaskCancelled(Runnable)} to
+ * abort blocking work such as an HTTP call.
+ *
+ * Queue depth, wait time and run time are tracked for diagnostics via {@link #getMetrics()}.
+ *
+ * Responsible: Everyone (shared utility)
+ */
+public class TaskScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskScheduler.class);
+
+    /**
+     * Order in which queued tasks are picked up.
+     */
+    public enum Priority {
+        /** The user is waiting for the result (e.g. loading the visible view). */
+        UI_CRITICAL,
+        /** Regular background work. */
+        NORMAL,
+        /** Speculative work; dropped when the queue is full. */
+        PREFETCH
+    }
+
+    private static volatile TaskScheduler instance;
+
+    // Task running on the current worker thread
+    private static final ThreadLocal<PrioritizedTask<?>> currentTask = new ThreadLocal<>();
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final Map<String, PrioritizedTask<?>> tasksByKey = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalRunNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * @param poolSize      Number of worker threads
+     * @param queueCapacity Queue depth above which prefetch tasks are rejected
+     */
+    public TaskScheduler(int poolSize, int queueCapacity) {
+        int workers = Math.max(1, poolSize);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.executor = new ThreadPoolExecutor(workers, workers, 30, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), new WorkerThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Get the application-wide scheduler, sized from the configuration on first use.
+     */
+    public static TaskScheduler getInstance() {
+        if (instance == null) {
+            synchronized (TaskScheduler.class) {
+                if (instance == null) {
+                    instance = new TaskScheduler(AppConfig.getTaskPoolSize(), AppConfig.getTaskQueueCapacity());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Priority of the task running on the calling thread, so that work done on its behalf
+     * (e.g. API calls) can be prioritized the same way.
+     *
+     * @return the task's priority, or NORMAL when not called from a scheduled task
+     */
+    public static Priority currentPriority() {
+        PrioritizedTask<?> task = currentTask.get();
+        return task != null ? task.priority : Priority.NORMAL;
+    }
+
+    /**
+     * Whether the task running on the calling thread was cancelled or superseded, in which
+     * case its result should be dropped.
+     *
+     * @return false when not called from a scheduled task
+     */
+    public static boolean isCurrentTaskCancelled() {
+        PrioritizedTask<?> task = currentTask.get();
+        return task != null && task.isCancelled();
+    }
+
+    /**
+     * Run an action when the task running on the calling thread is cancelled or superseded,
+     * e.g. cancelling its HTTP call. Runs it right away if the task is already cancelled;
+     * does nothing when not called from a scheduled task.
+     */
+    public static void onCurrentTaskCancelled(Runnable action) {
+        PrioritizedTask<?> task = currentTask.get();
+        if (task != null) {
+            task.onCancel(action);
+        }
+    }
+
+    /**
+     * Submit a task.
+     *
+     * @return a future that can be used to cancel the task
+     */
+    public Future<?> submit(Priority priority, Runnable task) {
+        return submit(null, priority, task);
+    }
+
+    /**
+     * Submit a task that supersedes any unfinished task submitted with the same key.
+     *
+     * @param key      Identifies the kind of work, e.g. "browse-search"; null for no superseding
+     * @param priority Queue priority
+     * @param task     Work to run on a worker thread
+     * @return a future that can be used to cancel the task
+     */
+    public Future<?> submit(String key, Priority priority, Runnable task) {
+        return submit(key, priority, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Submit a task with a result that supersedes any unfinished task with the same key.
+     */
+    public <T> Future<T> submit(String key, Priority priority, Callable<T> task) {
+        PrioritizedTask<T> prioritized = new PrioritizedTask<>(key, priority, sequence.incrementAndGet(), task);
+        submitted.increment();
+
+        if (priority == Priority.PREFETCH && executor.getQueue().size() >= queueCapacity) {
+            rejected.increment();
+            prioritized.cancel(false);
+            logger.debug("Task queue full ({}), dropping prefetch task {}", queueCapacity, key);
+            return prioritized;
+        }
+
+        if (key != null) {
+            PrioritizedTask<?> previous = tasksByKey.put(key, prioritized);
+            if (previous != null && previous.cancel(false)) {
+                executor.remove(previous);
+                logger.debug("Cancelled superseded task {}", key);
+            }
+        }
+        executor.execute(prioritized);
+        return prioritized;
+    }
+
+    /**
+     * Cancel the unfinished task submitted with the given key, if any.
+     *
+     * @return true if a task was cancelled
+     */
+    public boolean cancel(String key) {
+        PrioritizedTask<?> task = key != null ? tasksByKey.remove(key) : null;
+        if (task != null && task.cancel(false)) {
+            executor.remove(task);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return number of tasks waiting for a worker
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return a snapshot of the scheduler counters
+     */
+    public Metrics getMetrics() {
+        long finished = completed.sum() + failed.sum();
+        return new Metrics(
+                getQueueDepth(),
+                executor.getActiveCount(),
+                submitted.sum(),
+                completed.sum(),
+                failed.sum(),
+                cancelled.sum(),
+                rejected.sum(),
+                finished > 0 ? totalWaitNanos.sum() / finished / 1_000_000.0 : 0,
+                maxWaitNanos.get() / 1_000_000.0,
+                finished > 0 ? totalRunNanos.sum() / finished / 1_000_000.0 : 0);
+    }
+
+    /**
+     * Stop accepting tasks and interrupt running ones.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        logger.info("Task scheduler stopped: {}", getMetrics());
+    }
+
+    /**
+     * Point-in-time scheduler statistics. Latencies are in milliseconds.
+     */
+    public static class Metrics {
+        private final int queueDepth;
+        private final int activeTasks;
+        private final long submitted;
+        private final long completed;
+        private final long failed;
+        private final long cancelled;
+        private final long rejected;
+        private final double averageWaitMillis;
+        private final double maxWaitMillis;
+        private final double averageRunMillis;
+
+        Metrics(int queueDepth, int activeTasks, long submitted, long completed, long failed, long cancelled,
+                long rejected, double averageWaitMillis, double maxWaitMillis, double averageRunMillis) {
+            this.queueDepth = queueDepth;
+            this.activeTasks = activeTasks;
+            this.submitted = submitted;
+            this.completed = completed;
+            this.failed = failed;
+            this.cancelled = cancelled;
+            this.rejected = rejected;
+            this.averageWaitMillis = averageWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+            this.averageRunMillis = averageRunMillis;
+        }
+
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public int getActiveTasks() {
+            return activeTasks;
+        }
+
+        public long getSubmitted() {
+            return submitted;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getCancelled() {
+            return cancelled;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public double getAverageWaitMillis() {
+            return averageWaitMillis;
+        }
+
+        public double getMaxWaitMillis() {
+            return maxWaitMillis;
+        }
+
+        public double getAverageRunMillis() {
+            return averageRunMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("queued=%d active=%d submitted=%d completed=%d failed=%d cancelled=%d rejected=%d "
+                            + "avgWait=%.1fms maxWait=%.1fms avgRun=%.1fms",
+                    queueDepth, activeTasks, submitted, completed, failed, cancelled, rejected,
+                    averageWaitMillis, maxWaitMillis, averageRunMillis);
+        }
+    }
+
+    /**
+     * Queue entry ordered by priority, then submission order.
+     */
+    private class PrioritizedTask<T> extends FutureTask<T> implements Comparable<PrioritizedTask<?>> {
+        private final String key;
+        private final Priority priority;
+        private final long sequenceNumber;
+        private final long enqueuedAt = System.nanoTime();
+        private final List<Runnable> cancelActions = new CopyOnWriteArrayList<>();
+
+        PrioritizedTask(String key, Priority priority, long sequenceNumber, Callable<T> callable) {
+            super(callable);
+            this.key = key;
+            this.priority = priority != null ? priority : Priority.NORMAL;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        @Override
+        public void run() {
+            if (isCancelled()) {
+                return;
+            }
+            long startedAt = System.nanoTime();
+            long waited = startedAt - enqueuedAt;
+            totalWaitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+            currentTask.set(this);
+            try {
+                super.run();
+            } finally {
+                currentTask.remove();
+            }
+            totalRunNanos.add(System.nanoTime() - startedAt);
+        }
+
+        void onCancel(Runnable action) {
+            cancelActions.add(action);
+            // Cancelled before the action was registered
+            if (isCancelled() && cancelActions.remove(action)) {
+                runCancelAction(action);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelledNow = super.cancel(mayInterruptIfRunning);
+            if (cancelledNow) {
+                for (Runnable action : cancelActions) {
+                    if (cancelActions.remove(action)) {
+                        runCancelAction(action);
+                    }
+                }
+            }
+            return cancelledNow;
+        }
+
+        private void runCancelAction(Runnable action) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                logger.warn("Cancel action of task {} failed", key != null ? key : "", e);
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                cancelled.increment();
+            } else {
+                try {
+                    get();
+                    completed.increment();
+                } catch (Exception e) {
+                    failed.increment();
+                    logger.error("Background task {} failed", key != null ? key : "", e.getCause() != null ? e.getCause() : e);
+                }
+            }
+            if (key != null) {
+                tasksByKey.remove(key, this);
+            }
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask<?> other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "task-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
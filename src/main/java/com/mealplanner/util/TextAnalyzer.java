@@ -0,0 +1,118 @@
+package com.mealplanner.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns recipe text into search terms: lowercases, splits on anything that is not a letter or
+ * digit, drops stop words and measuring units, and reduces each word to a stem so that
+ * "tomatoes", "tomato" and "chopped", "chop" match.
+ *
+ * The stemmer is a light suffix stripper for English plurals and -ing/-ed forms rather than a
+ * full Porter stemmer; it only has to map query words and recipe words to the same term.
+ *
+ * Responsible: Everyone (shared utility)
+ */
+public class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "if", "in", "into", "is", "it",
+            "of", "on", "or", "the", "then", "to", "until", "with", "your", "you", "al", "de",
+            "cup", "cups", "tbsp", "tsp", "tablespoon", "tablespoons", "teaspoon", "teaspoons",
+            "g", "kg", "mg", "ml", "l", "oz", "lb", "lbs", "pinch");
+
+    private TextAnalyzer() {
+        // Utility class
+    }
+
+    /**
+     * Split text into stemmed search terms, in order and with repeats.
+     *
+     * @param text Text to analyze, may be null
+     * @return search terms (empty for null or blank text)
+     */
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addTerm(terms, lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerm(List<String> terms, String word) {
+        // Quantities ("200", "1") carry nothing worth searching for
+        if (STOP_WORDS.contains(word) || Character.isDigit(word.charAt(0))) {
+            return;
+        }
+        terms.add(stem(word));
+    }
+
+    /**
+     * Reduce a lowercase word to its stem.
+     *
+     * @param word Lowercase word
+     * @return stem of the word
+     */
+    public static String stem(String word) {
+        String stem = word;
+        if (stem.length() > 4 && stem.endsWith("ies")) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.length() > 4 && (stem.endsWith("oes") || stem.endsWith("ches") || stem.endsWith("shes")
+                || stem.endsWith("sses") || stem.endsWith("xes") || stem.endsWith("zes"))) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.length() > 3 && stem.endsWith("s")
+                && !stem.endsWith("ss") && !stem.endsWith("us") && !stem.endsWith("is")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+
+        if (stem.length() > 5 && stem.endsWith("ing") && hasVowel(stem, stem.length() - 3)) {
+            stem = undouble(stem.substring(0, stem.length() - 3));
+        } else if (stem.length() > 4 && stem.endsWith("ed") && !stem.endsWith("eed")
+                && hasVowel(stem, stem.length() - 2)) {
+            stem = undouble(stem.substring(0, stem.length() - 2));
+        }
+        // "bake", "baked" and "baking" all become "bak"; "berry" and "berries" become "berri"
+        if (stem.length() > 3 && stem.endsWith("e")) {
+            stem = stem.substring(0, stem.length() - 1);
+        } else if (stem.length() > 2 && stem.endsWith("y") && !isVowel(stem.charAt(stem.length() - 2))) {
+            stem = stem.substring(0, stem.length() - 1) + "i";
+        }
+        return stem;
+    }
+
+    private static boolean hasVowel(String word, int end) {
+        for (int i = 0; i < end; i++) {
+            if (isVowel(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "chopp" -> "chop", "stirr" -> "stir"; "roll" and "dress" keep their double letters
+    private static String undouble(String stem) {
+        int n = stem.length();
+        if (n > 2 && stem.charAt(n - 1) == stem.charAt(n - 2) && "lsz".indexOf(stem.charAt(n - 1)) < 0
+                && !isVowel(stem.charAt(n - 1))) {
+            return stem.substring(0, n - 1);
+        }
+        return stem;
+    }
+
+    private static boolean isVowel(char c) {
+        return "aeiou".indexOf(c) >= 0;
+    }
+}
@@ -3,6 +3,7 @@ package com.mealplanner.view;
 import com.mealplanner.entity.Recipe;
 import com.mealplanner.interface_adapter.ViewManagerModel;
 import com.mealplanner.interface_adapter.controller.BrowseRecipeController;
+import com.mealplanner.interface_adapter.controller.BrowseSearchPipeline;
 import com.mealplanner.interface_adapter.controller.GetRecommendationsController;
 import com.mealplanner.interface_adapter.controller.StoreRecipeController;
 import com.mealplanner.interface_adapter.view_model.RecipeBrowseViewModel;
@@ -11,6 +12,8 @@ import com.mealplanner.repository.RecipeRepository;
 import com.mealplanner.exception.DataAccessException;
 import com.mealplanner.util.StringUtil;
 import com.mealplanner.util.ImageCacheManager;
+import com.mealplanner.util.RecipeFacetIndex;
+import com.mealplanner.util.TaskScheduler;
 import com.mealplanner.view.component.Sonner;
 import com.mealplanner.view.util.SvgIconLoader;
 import javafx.animation.PauseTransition;
@@ -26,13 +29,15 @@ import javafx.scene.paint.Color;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.util.Duration;
-import javafx.concurrent.Task;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +52,7 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
     @SuppressWarnings("unused")
     private GetRecommendationsController recommendationsController;
     private final StoreRecipeController storeRecipeController;
+    private final BrowseSearchPipeline searchPipeline;
     private static final Logger logger = LoggerFactory.getLogger(BrowseRecipeView.class);
     
     /**
@@ -67,9 +73,12 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
     private FlowPane categoryFilters;
     private ToggleGroup categoryGroup;
     private String selectedCategory = "All";
+    private final Map<String, ToggleButton> categoryButtons = new HashMap<>();
 
-    // OPTIMIZATION: Store all recipes for client-side filtering
-    private List<Recipe> allRecipes = new ArrayList<>();
+    // OPTIMIZATION: Facet index over all loaded recipes for client-side filtering (immutable, replaced on load)
+    private volatile RecipeFacetIndex facetIndex = new RecipeFacetIndex(List.of());
+    // Cards of the indexed recipes, reused when switching categories (FX thread only)
+    private final Map<Recipe, Node> recipeCards = new IdentityHashMap<>();
 
     // Result Components
     private ScrollPane listScrollPane;
@@ -89,6 +98,14 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
      * Constructor with GetRecommendationsController and StoreRecipeController (Phase 5 + Phase 1).
      */
     public BrowseRecipeView(RecipeBrowseViewModel viewModel, BrowseRecipeController controller, ViewManagerModel viewManagerModel, RecipeDetailViewModel recipeDetailViewModel, RecipeRepository recipeRepository, GetRecommendationsController recommendationsController, StoreRecipeController storeRecipeController) {
+        this(viewModel, controller, viewManagerModel, recipeDetailViewModel, recipeRepository, recommendationsController, storeRecipeController, new BrowseSearchPipeline());
+    }
+
+    /**
+     * Constructor with a search pipeline whose guard wraps the BrowseRecipe presenter,
+     * so results of superseded searches are dropped.
+     */
+    public BrowseRecipeView(RecipeBrowseViewModel viewModel, BrowseRecipeController controller, ViewManagerModel viewManagerModel, RecipeDetailViewModel recipeDetailViewModel, RecipeRepository recipeRepository, GetRecommendationsController recommendationsController, StoreRecipeController storeRecipeController, BrowseSearchPipeline searchPipeline) {
         if (viewModel == null) throw new IllegalArgumentException("ViewModel cannot be null");
         if (controller == null) throw new IllegalArgumentException("Controller cannot be null");
         if (viewManagerModel == null) throw new IllegalArgumentException("ViewManagerModel cannot be null");
@@ -102,6 +119,7 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
         this.recipeRepository = recipeRepository;
         this.recommendationsController = recommendationsController;
         this.storeRecipeController = storeRecipeController;
+        this.searchPipeline = searchPipeline != null ? searchPipeline : new BrowseSearchPipeline();
         
         initializeView();
     }
@@ -126,6 +144,7 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
         this.recipeDetailViewModel = recipeDetailViewModel;
         this.recipeRepository = recipeRepository;
         this.recommendationsController = null;  // Phase 5 feature, not yet implemented
+        this.searchPipeline = new BrowseSearchPipeline();
 
         initializeView();
     }
@@ -227,17 +246,21 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
         }
         
         logger.debug("Loading local recipes from repository");
-        new Thread(() -> {
+        TaskScheduler.getInstance().submit("browse-local-load", TaskScheduler.Priority.UI_CRITICAL, () -> {
             try {
                 List<Recipe> localRecipes = recipeRepository.findAll();
                 logger.debug("Loaded {} recipes from local repository", localRecipes != null ? localRecipes.size() : 0);
+                // Index on the worker thread; the FX thread only swaps it in
+                RecipeFacetIndex localIndex = new RecipeFacetIndex(localRecipes);
+                if (TaskScheduler.isCurrentTaskCancelled()) {
+                    // Superseded by a newer load, which shows its own result
+                    return;
+                }
                 Platform.runLater(() -> {
                     if (localRecipes != null && !localRecipes.isEmpty()) {
-                        logger.debug("Setting {} recipes to allRecipes and applying filter", localRecipes.size());
-                        // Set local recipes as initial display (thread-safe)
-                        synchronized (this) {
-                            allRecipes = new ArrayList<>(localRecipes);
-                        }
+                        logger.debug("Indexing {} recipes and applying filter", localRecipes.size());
+                        // Set local recipes as initial display
+                        setFacetIndex(localIndex);
                         applyClientSideFilter();
                         // Phase 4: Update saved count and bookmark states after loading
                         updateSavedCount();
@@ -280,7 +303,7 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
                     }
                 });
             }
-        }).start();
+        });
     }
 
     private VBox createSearchPanel() {
@@ -308,6 +331,15 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
                 performSearch();
             }
         });
+        // Searching costs an API call, so it only happens on ENTER. Clearing the box abandons
+        // a search still in flight and brings back the results shown before it.
+        searchField.textProperty().addListener((obs, oldText, newText) -> {
+            if (StringUtil.isNullOrEmpty(StringUtil.safeTrim(newText))
+                    && listPanel.getChildren().contains(loadingPanel)) {
+                searchPipeline.cancel();
+                restoreResults();
+            }
+        });
         
         searchBox.getChildren().add(searchField);
 
@@ -347,6 +379,7 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
 
     private void addCategoryFilter(String name, boolean isSelected, String iconPath) {
         ToggleButton btn = new ToggleButton(name);
+        categoryButtons.put(name, btn);
         btn.setToggleGroup(categoryGroup);
         btn.setSelected(isSelected);
         
@@ -523,44 +556,39 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
         listPanel.getChildren().add(loadingPanel);
         errorLabel.setText("");
 
-        // Run search in background using JavaFX Task
-        final String finalQuery = effectiveQuery;
-        Task<Void> searchTask = new Task<Void>() {
-            @Override
-            protected Void call() throws Exception {
-                try {
-                    logger.debug("Starting search for query: {}", finalQuery);
-                    // Default to 12 results
-                    controller.execute(finalQuery, 12);
-                    logger.debug("Search completed for query: {}", finalQuery);
-                    return null;
-                } catch (Exception e) {
-                    logger.error("Exception in search task: {}", e.getMessage(), e);
-                    throw e;
-                }
-            }
-        };
-        
-        // Handle task failure
-        searchTask.setOnFailed(e -> {
-            Throwable ex = searchTask.getException();
-            if (ex != null) {
-                logger.error("Search task failed: {}", ex.getMessage(), ex);
-                String errorMessage;
-                if (ex instanceof IOException) {
-                    errorMessage = "Network error: " + ex.getMessage();
-                    sonner.show("Network Error", "Failed to search recipes. Please check your connection and try again.", Sonner.Type.ERROR);
-                } else {
-                    errorMessage = "An error occurred: " + ex.getMessage();
-                    sonner.show("Error", "An unexpected error occurred while searching. Please try again.", Sonner.Type.ERROR);
-                }
-                // ViewModel에 에러 설정하여 PropertyChangeListener가 트리거되도록 함
-                Platform.runLater(() -> viewModel.setErrorMessage(errorMessage));
+        // Default to 12 results. The pipeline cancels the previous search and drops its late results.
+        searchPipeline.submitNow(effectiveQuery, q -> controller.execute(q, 12), this::handleSearchFailure);
+    }
+
+    /**
+     * Show the indexed results again after a search was abandoned, or the empty state if there are none.
+     */
+    private void restoreResults() {
+        if (facetIndex.size() > 0) {
+            applyClientSideFilter();
+        } else {
+            listPanel.getChildren().clear();
+            listPanel.getChildren().add(emptyPanel);
+        }
+    }
+
+    private void handleSearchFailure(Exception ex) {
+        logger.error("Search task failed: {}", ex.getMessage(), ex);
+        String errorMessage;
+        if (ex instanceof IOException) {
+            errorMessage = "Network error: " + ex.getMessage();
+        } else {
+            errorMessage = "An error occurred: " + ex.getMessage();
+        }
+        Platform.runLater(() -> {
+            if (ex instanceof IOException) {
+                sonner.show("Network Error", "Failed to search recipes. Please check your connection and try again.", Sonner.Type.ERROR);
+            } else {
+                sonner.show("Error", "An unexpected error occurred while searching. Please try again.", Sonner.Type.ERROR);
             }
+            // ViewModel에 에러 설정하여 PropertyChangeListener가 트리거되도록 함
+            viewModel.setErrorMessage(errorMessage);
         });
-        
-        // Start the task in a background thread
-        new Thread(searchTask).start();
     }
 
     private void displayRecipes(List<Recipe> recipes) {
@@ -599,16 +627,27 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
             
             logger.debug("Total recipes after merge: {}", apiRecipes.size());
             
-            // Thread-safe write
-            synchronized (this) {
-                allRecipes = new ArrayList<>(apiRecipes);
-            }
+            setFacetIndex(new RecipeFacetIndex(apiRecipes));
 
             // Apply current filter
             applyClientSideFilter();
         });
     }
 
+    /**
+     * Replace the loaded recipes and show their per-category counts on the filter buttons.
+     * Must be called on the JavaFX Application Thread.
+     */
+    private void setFacetIndex(RecipeFacetIndex index) {
+        facetIndex = index;
+        recipeCards.clear();
+        Map<String, Integer> counts = index.getCategoryCounts();
+        categoryButtons.forEach((name, button) -> {
+            int count = name.equals("All") ? index.size() : counts.getOrDefault(name, 0);
+            button.setText(name + " (" + count + ")");
+        });
+    }
+
     /**
      * OPTIMIZATION: Apply client-side category filtering without re-fetching from API.
      * This method should be called from JavaFX Application Thread.
@@ -627,15 +666,12 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
         
         listPanel.getChildren().clear();
 
-        // Thread-safe read
-        List<Recipe> recipesToFilter;
-        synchronized (this) {
-            recipesToFilter = new ArrayList<>(allRecipes);
-        }
+        // The index is immutable: read the current one once, no locking needed
+        RecipeFacetIndex index = facetIndex;
 
-        logger.debug("Applying filter: selectedCategory={}, totalRecipes={}", selectedCategory, recipesToFilter.size());
+        logger.debug("Applying filter: selectedCategory={}, totalRecipes={}", selectedCategory, index.size());
 
-        if (recipesToFilter == null || recipesToFilter.isEmpty()) {
+        if (index.size() == 0) {
             logger.debug("No recipes to filter, showing empty state");
             // Recreate empty panel with proper message
             VBox emptyMsg = new VBox(15);
@@ -652,12 +688,10 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
             return;
         }
 
-        // Filter recipes based on selected category - use recipesToFilter instead of allRecipes
-        List<Recipe> filteredRecipes = recipesToFilter.stream()
-            .filter(recipe -> matchesCategory(recipe, selectedCategory))
-            .collect(java.util.stream.Collectors.toList());
+        // Filter recipes based on selected category - bitset lookup, no rescan of the loaded recipes
+        List<Recipe> filteredRecipes = index.filter(selectedCategory);
 
-        logger.debug("Filtered recipes: {} out of {}", filteredRecipes.size(), recipesToFilter.size());
+        logger.debug("Filtered recipes: {} out of {}", filteredRecipes.size(), index.size());
 
         if (filteredRecipes.isEmpty()) {
             logger.debug("No recipes match category filter, showing empty state");
@@ -675,7 +709,7 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
             }
         } else {
             if (countLabel != null) {
-                countLabel.setText("Showing " + filteredRecipes.size() + " of " + recipesToFilter.size() + " recipes");
+                countLabel.setText("Showing " + filteredRecipes.size() + " of " + index.size() + " recipes");
 
                 // Mockup shows specific "Showing 9 of 16 recipes" style
                 Node trendIcon = SvgIconLoader.loadIcon("/svg/chart.svg", 16, Color.web("#84cc16")); // Green zigzag
@@ -687,7 +721,8 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
 
             logger.debug("Displaying {} recipe cards", filteredRecipes.size());
             for (Recipe recipe : filteredRecipes) {
-                Node card = createRecipeCard(recipe);
+                // Cards are built once per loaded recipe and reused across category switches
+                Node card = recipeCards.computeIfAbsent(recipe, this::createRecipeCard);
                 if (card != null) {
                     listPanel.getChildren().add(card);
                 } else {
@@ -700,56 +735,6 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
         }
     }
 
-    /**
-     * Check if a recipe matches the given category filter.
-     */
-    private boolean matchesCategory(Recipe recipe, String category) {
-        if (recipe == null) {
-            return false;
-        }
-        
-        if (category == null || category.equals("All")) {
-            return true;
-        }
-
-        String recipeName = recipe.getName() != null ? recipe.getName().toLowerCase() : "";
-
-        // Simple category matching based on recipe name
-        // In a real application, this would use recipe tags or categories from the API
-        switch (category) {
-            case "Breakfast":
-                return recipeName.contains("breakfast") || recipeName.contains("pancake")
-                    || recipeName.contains("toast") || recipeName.contains("oatmeal")
-                    || recipeName.contains("egg");
-            case "Lunch":
-                return recipeName.contains("lunch") || recipeName.contains("sandwich")
-                    || recipeName.contains("salad") || recipeName.contains("soup");
-            case "Dinner":
-                return recipeName.contains("dinner") || recipeName.contains("steak")
-                    || recipeName.contains("chicken") || recipeName.contains("fish")
-                    || recipeName.contains("pasta");
-            case "Snacks":
-                return recipeName.contains("snack") || recipeName.contains("chip")
-                    || recipeName.contains("dip");
-            case "Desserts":
-                return recipeName.contains("dessert") || recipeName.contains("cake")
-                    || recipeName.contains("cookie") || recipeName.contains("ice cream")
-                    || recipeName.contains("chocolate");
-            case "Vegetarian":
-                // Vegetarian과 Vegan 필터링 로직 통일 - 동물성 제품 모두 제외
-                return !recipeName.contains("meat") && !recipeName.contains("chicken")
-                    && !recipeName.contains("beef") && !recipeName.contains("pork")
-                    && !recipeName.contains("fish") && !recipeName.contains("egg")
-                    && !recipeName.contains("cheese") && !recipeName.contains("milk");
-            case "Vegan":
-                return !recipeName.contains("meat") && !recipeName.contains("chicken")
-                    && !recipeName.contains("beef") && !recipeName.contains("egg")
-                    && !recipeName.contains("cheese") && !recipeName.contains("milk");
-            default:
-                return true;
-        }
-    }
-    
     private VBox createRecipeCard(Recipe recipe) {
         if (recipe == null) {
             logger.warn("Cannot create recipe card for null recipe");
@@ -1414,7 +1399,7 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
         }
         
         // Run in background thread to avoid blocking UI
-        new Thread(() -> {
+        TaskScheduler.getInstance().submit("browse-saved-count", TaskScheduler.Priority.NORMAL, () -> {
             try {
                 List<Recipe> allSavedRecipes = recipeRepository.findAll();
                 int count = allSavedRecipes != null ? allSavedRecipes.size() : 0;
@@ -1431,7 +1416,7 @@ public class BrowseRecipeView extends BorderPane implements PropertyChangeListen
                 // Catch all exceptions including JsonSyntaxException from malformed JSON files
                 logger.warn("Exception while updating saved count: {}", e.getMessage());
             }
-        }).start();
+        });
     }
     
     /**
@@ -19,6 +19,7 @@ import com.mealplanner.view.component.SelectRecipeDialog;
 import com.mealplanner.view.component.AddToMealPlanDialog;
 import com.mealplanner.view.util.SvgIconLoader;
 import com.mealplanner.util.ImageCacheManager;
+import com.mealplanner.util.TaskScheduler;
 import javafx.application.Platform;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -42,6 +43,7 @@ import java.beans.PropertyChangeListener;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -509,46 +511,49 @@ public class DashboardView extends BorderPane implements PropertyChangeListener
      */
     private void loadRecommendations() {
         if (recommendationsController == null) {
-            if (recommendedRecipeGrid != null) {
-                recommendedRecipeGrid.getChildren().clear();
-                Label noRecommendationsLabel = new Label("No recommendations available");
-                noRecommendationsLabel.getStyleClass().add("text-gray-500");
-                recommendedRecipeGrid.add(noRecommendationsLabel, 0, 0, 3, 1);
-            }
+            showRecommendationsMessage("No recommendations available");
             return;
         }
         
         String userId = SessionManager.getInstance().getCurrentUserId();
         if (userId == null || userId.trim().isEmpty()) {
-            if (recommendedRecipeGrid != null) {
-                recommendedRecipeGrid.getChildren().clear();
-                Label loginPromptLabel = new Label("Please log in to see recommendations");
-                loginPromptLabel.getStyleClass().add("text-gray-500");
-                recommendedRecipeGrid.add(loginPromptLabel, 0, 0, 3, 1);
-            }
+            showRecommendationsMessage("Please log in to see recommendations");
             return;
         }
         
         // Show loading state
-        if (recommendedRecipeGrid != null) {
-            recommendedRecipeGrid.getChildren().clear();
-            Label loadingLabel = new Label("Loading recommendations...");
-            loadingLabel.getStyleClass().add("text-gray-500");
-            recommendedRecipeGrid.add(loadingLabel, 0, 0, 3, 1);
+        showRecommendationsMessage("Loading recommendations...");
+        
+        // Request recommendations in the background. Nobody asked for them yet, so they go in
+        // at prefetch priority: behind work the user is waiting for, and without waiting on
+        // the API rate limiter or dipping into the reserved daily quota.
+        // The result arrives via propertyChange("recommendations").
+        Future<?> request = TaskScheduler.getInstance().submit("dashboard-recommendations",
+                TaskScheduler.Priority.PREFETCH, () -> {
+                    try {
+                        recommendationsController.execute(userId);
+                    } catch (Exception e) {
+                        logger.error("Failed to load recommendations", e);
+                        Platform.runLater(() -> showRecommendationsMessage("Error loading recommendations"));
+                    }
+                });
+        if (request.isCancelled()) {
+            // Dropped because the task queue is full
+            showRecommendationsMessage("No recommendations available");
         }
-        
-        // Request recommendations
-        try {
-            recommendationsController.execute(userId);
-        } catch (Exception e) {
-            logger.error("Failed to load recommendations", e);
-            if (recommendedRecipeGrid != null) {
-                recommendedRecipeGrid.getChildren().clear();
-                Label errorLabel = new Label("Error loading recommendations");
-                errorLabel.getStyleClass().add("text-gray-500");
-                recommendedRecipeGrid.add(errorLabel, 0, 0, 3, 1);
-            }
+    }
+    
+    /**
+     * Replaces the recommended recipes with a single message, e.g. a loading or error state.
+     */
+    private void showRecommendationsMessage(String message) {
+        if (recommendedRecipeGrid == null) {
+            return;
         }
+        recommendedRecipeGrid.getChildren().clear();
+        Label messageLabel = new Label(message);
+        messageLabel.getStyleClass().add("text-gray-500");
+        recommendedRecipeGrid.add(messageLabel, 0, 0, 3, 1);
     }
     
     /**
@@ -688,7 +693,7 @@ public class DashboardView extends BorderPane implements PropertyChangeListener
                 imageView.setCache(true);
                 
                 // Load image asynchronously
-                new Thread(() -> {
+                TaskScheduler.getInstance().submit(TaskScheduler.Priority.NORMAL, () -> {
                     try {
                         Image image = imageCache.getImage(imageUrl);
                         Platform.runLater(() -> {
@@ -699,7 +704,7 @@ public class DashboardView extends BorderPane implements PropertyChangeListener
                         // If image loading fails, keep placeholder
                         logger.debug("Failed to load recipe image: {}", imageUrl);
                     }
-                }).start();
+                });
             } catch (Exception e) {
                 // If image loading fails, keep placeholder
                 logger.debug("Failed to initialize image view for recipe: {}", recipe.getName());
@@ -1671,16 +1676,20 @@ public class DashboardView extends BorderPane implements PropertyChangeListener
         // Show loading message
         sonner.show("Auto-generating...", "We're creating your meal plan for today.", Sonner.Type.INFO);
         
-        // Request recommendations
+        // Request recommendations off the FX thread; the user is waiting for them
         // The recommendations will be received via propertyChange("recommendations")
-        try {
-            recommendationsController.execute(userId);
-        } catch (Exception e) {
-            // Reset flag on error
-            isAutoGenerating = false;
-            logger.error("Failed to request recommendations for auto-generate: {}", e.getMessage());
-            sonner.show("Error", "Failed to request recommendations. Please try again.", Sonner.Type.ERROR);
-        }
+        TaskScheduler.getInstance().submit(TaskScheduler.Priority.UI_CRITICAL, () -> {
+            try {
+                recommendationsController.execute(userId);
+            } catch (Exception e) {
+                logger.error("Failed to request recommendations for auto-generate: {}", e.getMessage());
+                Platform.runLater(() -> {
+                    // Reset flag on error
+                    isAutoGenerating = false;
+                    sonner.show("Error", "Failed to request recommendations. Please try again.", Sonner.Type.ERROR);
+                });
+            }
+        });
     }
     
     /**
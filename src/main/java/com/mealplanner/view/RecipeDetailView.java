@@ -16,6 +16,7 @@ import org.slf4j.LoggerFactory;
 import com.mealplanner.view.component.*;
 import com.mealplanner.view.util.SvgIconLoader;
 import com.mealplanner.util.ImageCacheManager;
+import com.mealplanner.util.TaskScheduler;
 
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -494,7 +495,7 @@ public class RecipeDetailView extends ScrollPane implements PropertyChangeListen
             String imageUrl = recipe.getImageUrl();
             if (imageUrl != null && !imageUrl.trim().isEmpty()) {
                 // Load image asynchronously to prevent blocking
-                new Thread(() -> {
+                TaskScheduler.getInstance().submit("recipe-detail-hero-image", TaskScheduler.Priority.NORMAL, () -> {
                     try {
                         Image image = imageCache.getImage(imageUrl);
                         Platform.runLater(() -> {
@@ -506,7 +507,7 @@ public class RecipeDetailView extends ScrollPane implements PropertyChangeListen
                         // If image loading fails, keep the placeholder
                         // Silently fail - placeholder will remain
                     }
-                }).start();
+                });
             }
             
             // Update meta chips
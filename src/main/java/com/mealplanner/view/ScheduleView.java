@@ -7,9 +7,11 @@ import com.mealplanner.entity.Schedule;
 import com.mealplanner.exception.DataAccessException;
 import com.mealplanner.interface_adapter.ViewManagerModel;
 import com.mealplanner.interface_adapter.controller.AddMealController;
+import com.mealplanner.interface_adapter.controller.BatchMealController;
 import com.mealplanner.interface_adapter.controller.DeleteMealController;
 import com.mealplanner.interface_adapter.controller.GetRecommendationsController;
 import com.mealplanner.interface_adapter.controller.ViewScheduleController;
+import com.mealplanner.interface_adapter.view_model.MealPlanViewModel;
 import com.mealplanner.interface_adapter.view_model.RecipeBrowseViewModel;
 import com.mealplanner.interface_adapter.view_model.ScheduleViewModel;
 import com.mealplanner.repository.RecipeRepository;
@@ -18,6 +20,7 @@ import com.mealplanner.view.component.StyledTooltip;
 import com.mealplanner.view.component.Sonner;
 import com.mealplanner.view.util.SvgIconLoader;
 import com.mealplanner.util.ImageCacheManager;
+import com.mealplanner.util.TaskScheduler;
 import javafx.application.Platform;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -45,6 +48,8 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -80,6 +85,8 @@ public class ScheduleView extends BorderPane implements PropertyChangeListener {
     private final RecipeBrowseViewModel recommendationsViewModel;
     private final AddMealController addMealController;
     private final DeleteMealController deleteMealController;
+    private final BatchMealController batchMealController;
+    private final MealPlanViewModel mealPlanViewModel;
     private final ImageCacheManager imageCache = ImageCacheManager.getInstance();
     
     /**
@@ -113,10 +120,12 @@ public class ScheduleView extends BorderPane implements PropertyChangeListener {
      * @param recipeRepository The recipe repository for recipe data
      * @param recommendationsController The controller for recommendations (used for auto-fill)
      * @param recommendationsViewModel The view model for receiving recommendations (used for auto-fill)
-     * @param addMealController The controller for adding meals to schedule (used for Copy Last Week)
+     * @param addMealController The controller for adding meals to schedule (used for auto-fill)
      * @param deleteMealController The controller for deleting meals from schedule
+     * @param batchMealController The controller for bulk slot changes (used for Copy Last Week)
+     * @param mealPlanViewModel The meal plan view model receiving batch results
      */
-    public ScheduleView(ScheduleViewModel scheduleViewModel, ViewScheduleController controller, ViewManagerModel viewManagerModel, RecipeRepository recipeRepository, GetRecommendationsController recommendationsController, RecipeBrowseViewModel recommendationsViewModel, AddMealController addMealController, DeleteMealController deleteMealController) {
+    public ScheduleView(ScheduleViewModel scheduleViewModel, ViewScheduleController controller, ViewManagerModel viewManagerModel, RecipeRepository recipeRepository, GetRecommendationsController recommendationsController, RecipeBrowseViewModel recommendationsViewModel, AddMealController addMealController, DeleteMealController deleteMealController, BatchMealController batchMealController, MealPlanViewModel mealPlanViewModel) {
         this.scheduleViewModel = scheduleViewModel;
         this.scheduleViewModel.addPropertyChangeListener(this);
         this.controller = controller;
@@ -127,6 +136,8 @@ public class ScheduleView extends BorderPane implements PropertyChangeListener {
         this.recommendationsViewModel = recommendationsViewModel;
         this.addMealController = addMealController;
         this.deleteMealController = deleteMealController;
+        this.batchMealController = batchMealController;
+        this.mealPlanViewModel = mealPlanViewModel;
         
         // Listen to recommendations changes for auto-fill
         if (recommendationsViewModel != null) {
@@ -1131,9 +1142,9 @@ public class ScheduleView extends BorderPane implements PropertyChangeListener {
      * Only copies to empty slots (does not overwrite existing meals).
      */
     private void handleCopyLastWeek() {
-        // Check if AddMealController is available
-        if (addMealController == null) {
-            logger.warn("Cannot copy last week: AddMealController is not available");
+        // Check if BatchMealController is available
+        if (batchMealController == null || mealPlanViewModel == null) {
+            logger.warn("Cannot copy last week: BatchMealController is not available");
             showCopyFeedback("Error", "Meal planning service is not available.", Sonner.Type.ERROR);
             return;
         }
@@ -1175,49 +1186,51 @@ public class ScheduleView extends BorderPane implements PropertyChangeListener {
             return;
         }
 
-        // Copy meals to current week in background thread
-        new Thread(() -> {
-            AtomicInteger copiedCount = new AtomicInteger(0);
-            AtomicInteger skippedCount = new AtomicInteger(0);
-            AtomicInteger errorCount = new AtomicInteger(0);
-
-            for (int i = 0; i < 7; i++) {
-                LocalDate currentDate = currentWeekStart.plusDays(i);
-                LocalDate lastWeekDate = lastWeekStart.plusDays(i);
+        // Collect last week's meals for the empty slots of this week; they are added in one batch
+        Map<LocalDate, Map<MealType, String>> mealsToCopy = new HashMap<>();
+        int skipped = 0;
+        for (int i = 0; i < 7; i++) {
+            LocalDate currentDate = currentWeekStart.plusDays(i);
+            Map<MealType, String> mealsForLastWeekDate = lastWeekMeals.get(lastWeekStart.plusDays(i));
+            if (mealsForLastWeekDate == null || mealsForLastWeekDate.isEmpty()) {
+                continue;
+            }
 
-                Map<MealType, String> mealsForLastWeekDate = lastWeekMeals.get(lastWeekDate);
-                if (mealsForLastWeekDate == null || mealsForLastWeekDate.isEmpty()) {
+            for (MealType mealType : MealType.values()) {
+                String recipeId = mealsForLastWeekDate.get(mealType);
+                if (recipeId == null || recipeId.trim().isEmpty()) {
                     continue;
                 }
+                // Only copy if the current slot is empty
+                if (currentSchedule.isSlotFree(currentDate, mealType)) {
+                    mealsToCopy.computeIfAbsent(currentDate, ignored -> new EnumMap<>(MealType.class)).put(mealType, recipeId);
+                } else {
+                    skipped++;
+                }
+            }
+        }
+        final int viewSkippedCount = skipped;
 
-                // Copy each meal type (Breakfast, Lunch, Dinner)
-                for (MealType mealType : MealType.values()) {
-                    String recipeId = mealsForLastWeekDate.get(mealType);
-                    if (recipeId == null || recipeId.trim().isEmpty()) {
-                        continue;
-                    }
+        // Copy meals to current week in background thread: one schedule read and one write
+        TaskScheduler.getInstance().submit(TaskScheduler.Priority.UI_CRITICAL, () -> {
+            AtomicInteger copiedCount = new AtomicInteger(0);
+            AtomicInteger skippedCount = new AtomicInteger(viewSkippedCount);
+            AtomicInteger errorCount = new AtomicInteger(0);
 
-                    // Only copy if the current slot is empty
-                    if (currentSchedule.isSlotFree(currentDate, mealType)) {
-                        try {
-                            addMealController.execute(
-                                currentDate.toString(),
-                                mealType.name(),
-                                recipeId
-                            );
-                            copiedCount.incrementAndGet();
-                        } catch (IllegalArgumentException e) {
-                            // Handle invalid date/mealType format
-                            logger.error("Error copying meal for {} {}: Invalid format - {}", currentDate, mealType, e.getMessage(), e);
-                            errorCount.incrementAndGet();
-                        } catch (Exception e) {
-                            // Handle other unexpected errors
-                            logger.error("Error copying meal for {} {}: {}", currentDate, mealType, e.getMessage(), e);
-                            errorCount.incrementAndGet();
-                        }
-                    } else {
-                        skippedCount.incrementAndGet();
+            if (!mealsToCopy.isEmpty()) {
+                try {
+                    batchMealController.addMeals(mealsToCopy);
+                    copiedCount.set(mealPlanViewModel.getBatchAppliedCount());
+                    // Slots filled since the view was loaded are reported as conflicts
+                    int conflicts = mealPlanViewModel.getBatchConflictCount();
+                    skippedCount.addAndGet(conflicts);
+                    errorCount.set(mealPlanViewModel.getBatchFailures().size() - conflicts);
+                    for (String failure : mealPlanViewModel.getBatchFailures()) {
+                        logger.debug("Copy Last Week slot not copied: {}", failure);
                     }
+                } catch (Exception e) {
+                    logger.error("Error copying last week's meals: {}", e.getMessage(), e);
+                    errorCount.set(mealsToCopy.values().stream().mapToInt(Map::size).sum());
                 }
             }
 
@@ -1254,7 +1267,7 @@ public class ScheduleView extends BorderPane implements PropertyChangeListener {
                 logger.info("Copy Last Week completed: {} meals copied, {} skipped (slots already filled){}", 
                     finalCopiedCount, finalSkippedCount, (finalErrorCount > 0 ? ", " + finalErrorCount + " errors" : ""));
             }
-        }).start();
+        });
     }
     
     private void resetCopyButton() {
@@ -1331,15 +1344,17 @@ public class ScheduleView extends BorderPane implements PropertyChangeListener {
         
         logger.info("Auto-filling {} empty slot(s) in the current week", emptySlots.size());
         
-        // Request recommendations
+        // Request recommendations off the FX thread; the user is waiting for them
         // The recommendations will be received via propertyChange("recommendations")
-        try {
-            recommendationsController.execute(userId);
-        } catch (Exception e) {
-            // Reset flag on error
-            isAutoFilling = false;
-            logger.error("Failed to request recommendations for auto-fill: {}", e.getMessage(), e);
-        }
+        TaskScheduler.getInstance().submit(TaskScheduler.Priority.UI_CRITICAL, () -> {
+            try {
+                recommendationsController.execute(userId);
+            } catch (Exception e) {
+                logger.error("Failed to request recommendations for auto-fill: {}", e.getMessage(), e);
+                // Reset flag on error
+                Platform.runLater(() -> isAutoFilling = false);
+            }
+        });
     }
     
     /**
@@ -9,6 +9,9 @@ import com.mealplanner.repository.RecipeRepository;
 import com.mealplanner.exception.DataAccessException;
 import com.mealplanner.util.StringUtil;
 import com.mealplanner.util.ImageCacheManager;
+import com.mealplanner.util.IngredientAutocomplete;
+import com.mealplanner.util.TaskScheduler;
+import com.mealplanner.view.util.IngredientSuggestionPopup;
 import com.mealplanner.view.util.SvgIconLoader;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -40,6 +43,8 @@ public class SearchByIngredientsView extends BorderPane implements PropertyChang
     private final ViewManagerModel viewManagerModel;
     private final RecipeDetailViewModel recipeDetailViewModel;
     private final RecipeRepository recipeRepository;
+    // Suggests ingredient names while typing; null for no suggestions
+    private final IngredientAutocomplete ingredientAutocomplete;
     private final ImageCacheManager imageCache = ImageCacheManager.getInstance();
 
     private TextField ingredientsField;
@@ -70,6 +75,10 @@ public class SearchByIngredientsView extends BorderPane implements PropertyChang
     private List<Recipe> allRecipes = new ArrayList<>();
 
     public SearchByIngredientsView(SearchByIngredientsController controller, RecipeSearchViewModel viewModel, ViewManagerModel viewManagerModel, RecipeDetailViewModel recipeDetailViewModel, RecipeRepository recipeRepository) {
+        this(controller, viewModel, viewManagerModel, recipeDetailViewModel, recipeRepository, null);
+    }
+
+    public SearchByIngredientsView(SearchByIngredientsController controller, RecipeSearchViewModel viewModel, ViewManagerModel viewManagerModel, RecipeDetailViewModel recipeDetailViewModel, RecipeRepository recipeRepository, IngredientAutocomplete ingredientAutocomplete) {
         if (viewModel == null) throw new IllegalArgumentException("ViewModel cannot be null");
         if (controller == null) throw new IllegalArgumentException("Controller cannot be null");
         if (viewManagerModel == null) throw new IllegalArgumentException("ViewManagerModel cannot be null");
@@ -81,6 +90,7 @@ public class SearchByIngredientsView extends BorderPane implements PropertyChang
         this.viewManagerModel = viewManagerModel;
         this.recipeDetailViewModel = recipeDetailViewModel;
         this.recipeRepository = recipeRepository;
+        this.ingredientAutocomplete = ingredientAutocomplete;
         this.ingredientList = FXCollections.observableArrayList();
 
         viewModel.addPropertyChangeListener(this);
@@ -132,7 +142,7 @@ public class SearchByIngredientsView extends BorderPane implements PropertyChang
             return;
         }
         
-        new Thread(() -> {
+        TaskScheduler.getInstance().submit("ingredients-local-load", TaskScheduler.Priority.UI_CRITICAL, () -> {
             try {
                 List<Recipe> localRecipes = recipeRepository.findAll();
                 if (localRecipes != null && !localRecipes.isEmpty()) {
@@ -157,7 +167,7 @@ public class SearchByIngredientsView extends BorderPane implements PropertyChang
             } catch (Exception e) {
                 // Silently fail - local recipes are optional
             }
-        }).start();
+        });
     }
 
     private VBox createSearchPanel() {
@@ -204,6 +214,14 @@ public class SearchByIngredientsView extends BorderPane implements PropertyChang
             }
         });
 
+        // Ingredient name suggestions - 선택하면 바로 칩으로 추가
+        if (ingredientAutocomplete != null) {
+            IngredientSuggestionPopup.attach(ingredientsField, ingredientAutocomplete, picked -> {
+                addIngredientChip(picked);
+                ingredientsField.clear();
+            });
+        }
+
         searchButton = new Button("Search");
         updateSearchButtonStyle();
         searchButton.setPrefHeight(48);
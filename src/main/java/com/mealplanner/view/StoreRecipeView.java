@@ -5,13 +5,17 @@ import com.mealplanner.exception.DataAccessException;
 import com.mealplanner.interface_adapter.ViewManagerModel;
 import com.mealplanner.interface_adapter.controller.StoreRecipeController;
 import com.mealplanner.interface_adapter.view_model.RecipeStoreViewModel;
+import com.mealplanner.repository.DataChangeListener;
 import com.mealplanner.repository.RecipeRepository;
 import com.mealplanner.util.NumberUtil;
 import com.mealplanner.util.StringUtil;
 import com.mealplanner.util.ValidationUtil;
+import com.mealplanner.util.IngredientAutocomplete;
 import com.mealplanner.util.IngredientParser;
+import com.mealplanner.util.TaskScheduler;
 import com.mealplanner.entity.NutritionInfo;
 import com.mealplanner.view.component.*;
+import com.mealplanner.view.util.IngredientSuggestionPopup;
 import com.mealplanner.view.util.SvgIconLoader;
 
 import javafx.application.Platform;
@@ -39,6 +43,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 public class StoreRecipeView extends BorderPane implements PropertyChangeListener {
     
@@ -50,6 +55,8 @@ public class StoreRecipeView extends BorderPane implements PropertyChangeListene
     @SuppressWarnings("unused")
     private final ViewManagerModel viewManagerModel;
     private final RecipeRepository recipeRepository;
+    // Suggests ingredient names while typing; null for no suggestions
+    private final IngredientAutocomplete ingredientAutocomplete;
 
     // Editor Form Components
     private Input nameField;
@@ -100,8 +107,13 @@ public class StoreRecipeView extends BorderPane implements PropertyChangeListene
     private volatile boolean isRefreshingCookbook = false; // Flag to prevent concurrent refresh
 
     public StoreRecipeView(StoreRecipeController controller, RecipeStoreViewModel viewModel, ViewManagerModel viewManagerModel, RecipeRepository recipeRepository) {
+        this(controller, viewModel, viewManagerModel, recipeRepository, null);
+    }
+
+    public StoreRecipeView(StoreRecipeController controller, RecipeStoreViewModel viewModel, ViewManagerModel viewManagerModel, RecipeRepository recipeRepository, IngredientAutocomplete ingredientAutocomplete) {
         if (controller == null) throw new IllegalArgumentException("Controller cannot be null");
         this.recipeRepository = Objects.requireNonNull(recipeRepository, "RecipeRepository cannot be null");
+        this.ingredientAutocomplete = ingredientAutocomplete;
         
         this.controller = controller;
         this.viewModel = viewModel;
@@ -126,6 +138,19 @@ public class StoreRecipeView extends BorderPane implements PropertyChangeListene
         // Setup Sonner
         sonner = new Sonner();
         refreshCookbook();
+
+        // Pick up recipes added or removed on disk by other processes
+        recipeRepository.addChangeListener(new DataChangeListener() {
+            @Override
+            public void onDataChanged(Set<String> changedIds, Set<String> deletedIds) {
+                Platform.runLater(() -> refreshCookbook());
+            }
+
+            @Override
+            public void onDataReset() {
+                Platform.runLater(() -> refreshCookbook());
+            }
+        });
         
         // Set initial view
         setCenter(cookbookContent);
@@ -414,7 +439,7 @@ public class StoreRecipeView extends BorderPane implements PropertyChangeListene
         ingredientsContainer.setHgap(10); ingredientsContainer.setVgap(10);
         
         // Dynamic Add Row
-        HBox ingAddRow = createDynamicInputRow("Add ingredient (press Enter to add)", text -> addChipItem(ingredientsContainer, text, false));
+        HBox ingAddRow = createDynamicInputRow("Add ingredient (press Enter to add)", text -> addChipItem(ingredientsContainer, text, false), ingredientAutocomplete);
         
         ingCard.getChildren().addAll(ingredientsContainer, ingAddRow);
         
@@ -714,7 +739,7 @@ public class StoreRecipeView extends BorderPane implements PropertyChangeListene
             }
         });
         
-        new Thread(() -> {
+        TaskScheduler.getInstance().submit("store-recipe-refresh", TaskScheduler.Priority.UI_CRITICAL, () -> {
             try {
                 List<Recipe> recipes = recipeRepository.findAll();
                 recipes.sort(Comparator.comparing(Recipe::getName, String.CASE_INSENSITIVE_ORDER));
@@ -778,7 +803,7 @@ public class StoreRecipeView extends BorderPane implements PropertyChangeListene
                     }
                 });
             }
-        }).start();
+        });
     }
     
     /**
@@ -905,7 +930,7 @@ public class StoreRecipeView extends BorderPane implements PropertyChangeListene
             sonner.show("Error", "Unable to delete recipe", Sonner.Type.ERROR);
             return;
         }
-        new Thread(() -> {
+        TaskScheduler.getInstance().submit(TaskScheduler.Priority.UI_CRITICAL, () -> {
             try {
                 boolean deleted = recipeRepository.delete(recipe.getRecipeId());
                 Platform.runLater(() -> {
@@ -923,7 +948,7 @@ public class StoreRecipeView extends BorderPane implements PropertyChangeListene
                 logger.error("Unexpected error while deleting recipe: {}", recipe.getRecipeId(), e);
                 Platform.runLater(() -> sonner.show("Error", "An unexpected error occurred while deleting recipe.", Sonner.Type.ERROR));
             }
-        }).start();
+        });
     }
 
     private void populateEditorFromRecipe(Recipe recipe) {
@@ -1083,6 +1108,14 @@ public class StoreRecipeView extends BorderPane implements PropertyChangeListene
     }
     
     private HBox createDynamicInputRow(String placeholder, java.util.function.Consumer<String> onAdd) {
+        return createDynamicInputRow(placeholder, onAdd, null);
+    }
+
+    /**
+     * Input row with name suggestions; a chosen suggestion completes the text so the
+     * quantity can still be edited before adding.
+     */
+    private HBox createDynamicInputRow(String placeholder, java.util.function.Consumer<String> onAdd, IngredientAutocomplete suggestions) {
         HBox row = new HBox(10);
         row.setAlignment(Pos.CENTER_LEFT);
         
@@ -1152,6 +1185,12 @@ public class StoreRecipeView extends BorderPane implements PropertyChangeListene
         input.setOnKeyPressed(e -> {
             if (e.getCode() == javafx.scene.input.KeyCode.ENTER) triggerAdd.run();
         });
+        if (suggestions != null) {
+            IngredientSuggestionPopup.attach(input, suggestions, picked -> {
+                input.setText(picked);
+                input.positionCaret(picked.length());
+            });
+        }
         
         row.getChildren().addAll(input, addBtn);
         return row;
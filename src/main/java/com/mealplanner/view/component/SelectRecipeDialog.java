@@ -3,6 +3,7 @@ package com.mealplanner.view.component;
 import com.mealplanner.entity.Recipe;
 import com.mealplanner.repository.RecipeRepository;
 import com.mealplanner.util.ImageCacheManager;
+import com.mealplanner.util.TaskScheduler;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -69,7 +70,7 @@ public class SelectRecipeDialog {
         dialog.setContent(container);
         
         // Load recipes in background
-        new Thread(() -> {
+        TaskScheduler.getInstance().submit(TaskScheduler.Priority.UI_CRITICAL, () -> {
             try {
                 if (recipeRepository == null) {
                     throw new IllegalStateException("Recipe repository is not initialized");
@@ -125,7 +126,7 @@ public class SelectRecipeDialog {
                     container.getChildren().add(errorLabel);
                 });
             }
-        }).start();
+        });
     }
     
     private VBox createRecipeCard(Recipe recipe) {
@@ -162,7 +163,7 @@ public class SelectRecipeDialog {
         
         // Load image if available
         if (recipe.getImageUrl() != null && !recipe.getImageUrl().isEmpty()) {
-            new Thread(() -> {
+            TaskScheduler.getInstance().submit(TaskScheduler.Priority.NORMAL, () -> {
                 try {
                     Image image = imageCache.getImage(recipe.getImageUrl());
                     if (image != null) {
@@ -187,7 +188,7 @@ public class SelectRecipeDialog {
                     // Keep placeholder if image fails to load
                     logger.debug("Failed to load recipe image: {}", recipe.getImageUrl());
                 }
-            }).start();
+            });
         }
         
         // Content
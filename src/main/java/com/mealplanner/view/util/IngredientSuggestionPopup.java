@@ -0,0 +1,77 @@
+package com.mealplanner.view.util;
+
+import com.mealplanner.util.IngredientAutocomplete;
+import com.mealplanner.util.IngredientParser;
+import com.mealplanner.view.component.StyledContextMenu;
+import javafx.geometry.Side;
+import javafx.scene.control.TextField;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Shows ingredient name suggestions under a text field while the user types.
+ * A leading quantity and unit ("2 cups fl") are kept and only the name is completed.
+ */
+public class IngredientSuggestionPopup {
+
+    private static final int MAX_SUGGESTIONS = 6;
+
+    private IngredientSuggestionPopup() {
+    }
+
+    /**
+     * Attach suggestions to a text field.
+     *
+     * @param field        Field the user types ingredients into
+     * @param autocomplete Source of suggestions
+     * @param onPick       Called with the completed text when a suggestion is chosen
+     */
+    public static void attach(TextField field, IngredientAutocomplete autocomplete, Consumer<String> onPick) {
+        StyledContextMenu popup = new StyledContextMenu();
+
+        field.textProperty().addListener((obs, oldText, newText) -> {
+            popup.getItems().clear();
+            if (newText == null || newText.trim().isEmpty() || !field.isFocused()) {
+                popup.hide();
+                return;
+            }
+            String name = typedName(newText);
+            String lead = newText.substring(0, newText.length() - name.length());
+            List<String> suggestions = autocomplete.suggest(name, MAX_SUGGESTIONS);
+            // Nothing to complete when the only suggestion is what was typed
+            if (suggestions.isEmpty() || (suggestions.size() == 1 && suggestions.get(0).equalsIgnoreCase(name.trim()))) {
+                popup.hide();
+                return;
+            }
+            for (String suggestion : suggestions) {
+                popup.addOption(suggestion, () -> {
+                    popup.hide();
+                    onPick.accept(lead + suggestion);
+                });
+            }
+            if (!popup.isShowing()) {
+                popup.show(field, Side.BOTTOM, 0, 0);
+            }
+        });
+
+        field.focusedProperty().addListener((obs, wasFocused, focused) -> {
+            if (!focused) {
+                popup.hide();
+            }
+        });
+    }
+
+    // The ingredient name at the end of the typed text, without quantity and unit
+    private static String typedName(String text) {
+        try {
+            String name = IngredientParser.parse(text).getName();
+            if (text.endsWith(name)) {
+                return name;
+            }
+        } catch (IllegalArgumentException e) {
+            // Fall through: complete the whole text
+        }
+        return text;
+    }
+}
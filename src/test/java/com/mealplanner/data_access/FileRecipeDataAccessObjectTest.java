@@ -3,30 +3,57 @@ package com.mealplanner.data_access;
 // Tests for recipe file persistence.
 // Responsible: Aaryan (primary), Everyone (testing)
 
+import com.mealplanner.data_access.api.SpoonacularApiClient;
+import com.mealplanner.data_access.database.FileRecipeDataAccessObject;
 import com.mealplanner.data_access.database.FileScheduleDataAccessObject;
+import com.mealplanner.data_access.database.FileUserDataAccessObject;
 import com.mealplanner.entity.MealType;
+import com.mealplanner.entity.Recipe;
 import com.mealplanner.entity.Schedule;
+import com.mealplanner.entity.User;
+import com.mealplanner.exception.ConcurrentUpdateException;
+import com.mealplanner.repository.UserRepository;
+import com.mealplanner.repository.impl.FileRecipeRepository;
+import com.mealplanner.repository.impl.RecipeSearchIndex;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 public class FileRecipeDataAccessObjectTest {
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        // Write the pending search segment before the temp directory is removed
+        RecipeSearchIndex.flushAll();
+    }
+
     @Test
     void saveSchedule_savesWithoutError() {
         Schedule schedule = createTestSchedule();
-        FileScheduleDataAccessObject dao = new FileScheduleDataAccessObject();
+        FileScheduleDataAccessObject dao = newScheduleDao();
         // pass schedule into your input data / interactor here
         dao.saveSchedule(schedule);
     }
 
     @Test
     void saveAndLoadSchedule_roundTrip() {
-        FileScheduleDataAccessObject dao = new FileScheduleDataAccessObject();
+        FileScheduleDataAccessObject dao = newScheduleDao();
 
         // ---- build a test schedule ----
         String scheduleId = "test-schedule-1";
@@ -62,6 +89,73 @@ public class FileRecipeDataAccessObjectTest {
                 loadedMeals.get(date).get(MealType.BREAKFAST));
     }
 
+    @Test
+    void saveSchedule_rejectsSecondNewScheduleForSameUser() {
+        FileScheduleDataAccessObject dao = newScheduleDao();
+        dao.saveSchedule(createTestSchedule());
+
+        // A concurrent first add built its own schedule before the first one was saved
+        Schedule other = new Schedule("test-schedule-2", "test-user", new HashMap<>());
+        assertThrows(ConcurrentUpdateException.class, () -> dao.saveSchedule(other));
+        assertNull(dao.loadSchedule("test-schedule-2"));
+        assertEquals("test-schedule-1", dao.findScheduleByUserId("test-user").getScheduleId());
+    }
+
+    @Test
+    void getSavedRecipesByUser_fetchesOnlyMissingRecipesInBulk() throws IOException {
+        FileRecipeRepository recipeRepository = new FileRecipeRepository(tempDir.toString());
+        recipeRepository.save(new Recipe("Local Salad", List.of("lettuce"), "Toss", 1,
+                null, null, null, null, "local-1"));
+
+        User user = new User("user-1", "alice", "password");
+        user.addSavedRecipeId("716429");
+        user.addSavedRecipeId("local-1");
+        user.addSavedRecipeId("715538");
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+
+        SpoonacularApiClient apiClient = mock(SpoonacularApiClient.class);
+        when(apiClient.getRecipesInformationBulk(List.of("716429", "715538"))).thenReturn(Map.of(
+                "716429", new Recipe("Pasta", List.of("pasta"), "Boil", 2, null, null, null, null, "716429"),
+                "715538", new Recipe("Soup", List.of("water"), "Simmer", 2, null, null, null, null, "715538")));
+
+        FileRecipeDataAccessObject dao = new FileRecipeDataAccessObject(userRepository, recipeRepository, apiClient);
+        List<Recipe> first = dao.getSavedRecipesByUser("user-1");
+        List<Recipe> second = dao.getSavedRecipesByUser("user-1");
+
+        assertEquals(List.of("716429", "local-1", "715538"), first.stream().map(Recipe::getRecipeId).collect(Collectors.toList()));
+        assertEquals(3, second.size());
+        // The fetched recipes were stored, so the second load needs no API call
+        verify(apiClient, times(1)).getRecipesInformationBulk(any());
+        assertTrue(recipeRepository.exists("716429"));
+    }
+
+    @Test
+    void getSavedRecipesByUser_keepsLocalRecipesWhenApiFails() throws IOException {
+        FileRecipeRepository recipeRepository = new FileRecipeRepository(tempDir.toString());
+        recipeRepository.save(new Recipe("Local Salad", List.of("lettuce"), "Toss", 1,
+                null, null, null, null, "local-1"));
+
+        User user = new User("user-1", "alice", "password");
+        user.addSavedRecipeId("local-1");
+        user.addSavedRecipeId("716429");
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+        SpoonacularApiClient apiClient = mock(SpoonacularApiClient.class);
+        when(apiClient.getRecipesInformationBulk(any())).thenThrow(new IOException("offline"));
+
+        FileRecipeDataAccessObject dao = new FileRecipeDataAccessObject(userRepository, recipeRepository, apiClient);
+
+        List<Recipe> recipes = dao.getSavedRecipesByUser("user-1");
+        assertEquals(1, recipes.size());
+        assertEquals("local-1", recipes.get(0).getRecipeId());
+    }
+
+    private FileScheduleDataAccessObject newScheduleDao() {
+        // Temp directory, so the tracked schedule files under data/ are left alone
+        return new FileScheduleDataAccessObject(new FileUserDataAccessObject(), null, tempDir.toString());
+    }
+
     public static Schedule createTestSchedule() {
         String scheduleId = "test-schedule-1";
         String userId = "test-user";
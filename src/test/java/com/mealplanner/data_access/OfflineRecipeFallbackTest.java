@@ -0,0 +1,96 @@
+package com.mealplanner.data_access;
+
+// Tests for answering recipe searches from local recipes while Spoonacular is unavailable.
+// Responsible: Everyone (testing)
+
+import com.mealplanner.data_access.api.CircuitOpenException;
+import com.mealplanner.data_access.api.SpoonacularApiClient;
+import com.mealplanner.data_access.database.BrowseRecipeAPIParser;
+import com.mealplanner.data_access.database.LocalPantrySearchDataAccessObject;
+import com.mealplanner.data_access.database.LocalRecipeCatalog;
+import com.mealplanner.data_access.database.SearchByIngredientsDataAccessObject;
+import com.mealplanner.entity.Recipe;
+import com.mealplanner.exception.RecipeNotFoundException;
+import com.mealplanner.repository.impl.InMemoryRecipeRepository;
+import com.mealplanner.use_case.browse_recipe.BrowseRecipeInputData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class OfflineRecipeFallbackTest {
+
+    private InMemoryRecipeRepository repository;
+    private LocalRecipeCatalog catalog;
+    private SpoonacularApiClient apiClient;
+
+    private static Recipe recipe(String id, String name, String... ingredients) {
+        return new Recipe(name, List.of(ingredients), "Cook it.", 2, null, null, null, id);
+    }
+
+    private static List<String> ids(List<Recipe> recipes) {
+        return recipes.stream().map(Recipe::getRecipeId).collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryRecipeRepository();
+        repository.save(recipe("1", "Tomato Soup", "4 tomatoes", "1 onion", "2 cups stock"));
+        repository.save(recipe("2", "Garlic Pasta", "200 g pasta", "3 cloves garlic", "olive oil"));
+        repository.save(recipe("3", "Pasta al Pomodoro", "200 g pasta", "4 tomatoes", "basil"));
+        catalog = new LocalRecipeCatalog(repository);
+        apiClient = mock(SpoonacularApiClient.class);
+    }
+
+    @Test
+    void browse_whileCircuitOpen_searchesLocalRecipes() throws IOException {
+        when(apiClient.complexSearch(anyString(), anyInt(), any())).thenThrow(new CircuitOpenException(30_000));
+        BrowseRecipeAPIParser dataAccess = new BrowseRecipeAPIParser(apiClient, catalog);
+
+        List<Recipe> recipes = dataAccess.searchRecipes(new BrowseRecipeInputData("pasta", 5, null));
+        assertEquals(List.of("2", "3"), ids(recipes));
+
+        recipes = dataAccess.searchRecipes(new BrowseRecipeInputData("pasta", 5, "tomato"));
+        assertEquals(List.of("3"), ids(recipes));
+
+        assertThrows(RecipeNotFoundException.class,
+                () -> dataAccess.searchRecipes(new BrowseRecipeInputData("curry", 5, null)));
+    }
+
+    @Test
+    void browse_withoutCatalog_reportsOpenCircuit() throws IOException {
+        when(apiClient.complexSearch(anyString(), anyInt(), any())).thenThrow(new CircuitOpenException(30_000));
+        BrowseRecipeAPIParser dataAccess = new BrowseRecipeAPIParser(apiClient);
+
+        assertThrows(CircuitOpenException.class,
+                () -> dataAccess.searchRecipes(new BrowseRecipeInputData("pasta", 5, null)));
+    }
+
+    @Test
+    void browse_otherApiErrors_areNotMasked() throws IOException {
+        when(apiClient.complexSearch(anyString(), anyInt(), any())).thenThrow(new IOException("API request failed"));
+        BrowseRecipeAPIParser dataAccess = new BrowseRecipeAPIParser(apiClient, catalog);
+
+        assertThrows(IOException.class, () -> dataAccess.searchRecipes(new BrowseRecipeInputData("pasta", 5, null)));
+    }
+
+    @Test
+    void searchByIngredients_whileCircuitOpen_ranksByIngredientsUsed() throws IOException {
+        when(apiClient.searchByIngredients(anyList())).thenThrow(new CircuitOpenException(30_000));
+        SearchByIngredientsDataAccessObject dataAccess = new SearchByIngredientsDataAccessObject(apiClient,
+                new LocalPantrySearchDataAccessObject(repository, 10), SearchByIngredientsDataAccessObject.Mode.API);
+
+        List<Recipe> recipes = dataAccess.searchByIngredients(List.of("Pasta", "tomatoes"));
+
+        // Uses both, then one each with fewer other ingredients first
+        assertEquals("3", recipes.get(0).getRecipeId());
+        assertEquals(3, recipes.size());
+        assertTrue(dataAccess.searchByIngredients(List.of("saffron")).isEmpty());
+    }
+}
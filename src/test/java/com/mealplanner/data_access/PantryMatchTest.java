@@ -0,0 +1,153 @@
+package com.mealplanner.data_access;
+
+// Tests for ranking saved recipes by the pantry, alone and combined with Spoonacular.
+// Responsible: Everyone (testing)
+
+import com.mealplanner.data_access.api.SpoonacularApiClient;
+import com.mealplanner.data_access.database.LocalPantrySearchDataAccessObject;
+import com.mealplanner.data_access.database.PantryMatchIndex;
+import com.mealplanner.data_access.database.SearchByIngredientsDataAccessObject;
+import com.mealplanner.data_access.database.SearchByIngredientsDataAccessObject.Mode;
+import com.mealplanner.entity.Recipe;
+import com.mealplanner.repository.impl.InMemoryRecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class PantryMatchTest {
+
+    private InMemoryRecipeRepository repository;
+    private SpoonacularApiClient apiClient;
+
+    private static Recipe recipe(String id, String name, String... ingredients) {
+        return new Recipe(name, List.of(ingredients), "Cook it.", 2, null, null, null, id);
+    }
+
+    private static List<String> ids(List<Recipe> recipes) {
+        return recipes.stream().map(Recipe::getRecipeId).collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryRecipeRepository();
+        repository.save(recipe("1", "Garlic Bread", "1 baguette", "2 cloves garlic, minced", "3 tbsp butter (softened)"));
+        repository.save(recipe("2", "Tomato Salad", "4 large tomatoes, sliced", "1 red onion", "fresh basil"));
+        repository.save(recipe("3", "Bruschetta", "1 baguette", "3 diced tomatoes", "1 clove garlic", "basil", "olive oil"));
+        repository.save(recipe("4", "Stuffed Peppers", "4 bell peppers", "200 g rice", "1 tsp black pepper"));
+        apiClient = mock(SpoonacularApiClient.class);
+    }
+
+    @Test
+    void match_normalizesIngredientLines() {
+        PantryMatchIndex index = new PantryMatchIndex();
+        index.rebuild(repository.findAll());
+
+        // "2 cloves garlic, minced", "4 large tomatoes, sliced" and "3 diced tomatoes" all match
+        List<PantryMatchIndex.Match> matches = index.match(List.of("Garlic", "tomato"), 10);
+        assertEquals(List.of("3", "1", "2"),
+                matches.stream().map(match -> match.getRecipe().getRecipeId()).collect(Collectors.toList()));
+        assertEquals(2, matches.get(0).getUsedCount());
+        assertEquals(3, matches.get(0).getMissedCount());
+
+        // One pantry item covers every ingredient containing it
+        PantryMatchIndex.Match peppers = index.match(List.of("pepper"), 10).get(0);
+        assertEquals("4", peppers.getRecipe().getRecipeId());
+        assertEquals(2, peppers.getUsedCount());
+        assertTrue(index.match(List.of("red pepper", "saffron"), 10).isEmpty());
+    }
+
+    @Test
+    void match_ranksMostUsedThenFewestMissed() throws IOException {
+        LocalPantrySearchDataAccessObject local = new LocalPantrySearchDataAccessObject(repository, 10);
+
+        // Bruschetta uses all four; bread and salad use two and miss one each, then by name
+        assertEquals(List.of("3", "1", "2"), ids(local.searchByIngredients(List.of("baguette", "garlic", "basil", "tomatoes"))));
+        assertEquals(List.of("3"), ids(new LocalPantrySearchDataAccessObject(repository, 1)
+                .searchByIngredients(List.of("baguette", "garlic", "basil", "tomatoes"))));
+        assertThrows(IllegalArgumentException.class, () -> local.searchByIngredients(List.of()));
+    }
+
+    @Test
+    void index_followsSavedAndDeletedRecipes() throws IOException {
+        LocalPantrySearchDataAccessObject local = new LocalPantrySearchDataAccessObject(repository, 10);
+        assertTrue(local.searchByIngredients(List.of("mozzarella")).isEmpty());
+
+        repository.save(recipe("5", "Caprese", "1 ball mozzarella", "2 tomatoes"));
+        assertEquals(List.of("5"), ids(local.searchByIngredients(List.of("mozzarella"))));
+
+        PantryMatchIndex index = new PantryMatchIndex();
+        index.rebuild(repository.findAll());
+        index.update(recipe("5", "Caprese", "1 ball burrata", "2 tomatoes"));
+        assertTrue(index.match(List.of("mozzarella"), 10).isEmpty());
+        index.remove("5");
+        assertEquals(4, index.size());
+        assertTrue(index.match(List.of("burrata"), 10).isEmpty());
+    }
+
+    @Test
+    void index_appliesNotifiedChangesWithoutRebuilding() throws IOException {
+        InMemoryRecipeRepository spied = spy(repository);
+        LocalPantrySearchDataAccessObject local = new LocalPantrySearchDataAccessObject(spied, 10);
+        assertTrue(local.searchByIngredients(List.of("mozzarella")).isEmpty());
+
+        // Changes made elsewhere and notified to the listener
+        spied.save(recipe("5", "Caprese", "1 ball mozzarella", "2 tomatoes"));
+        spied.delete("4");
+        local.onDataChanged(Set.of("5"), Set.of("4"));
+
+        assertEquals(List.of("5"), ids(local.searchByIngredients(List.of("mozzarella"))));
+        assertTrue(local.searchByIngredients(List.of("bell peppers")).isEmpty());
+        verify(spied, times(1)).findAll();
+    }
+
+    @Test
+    void hybrid_skipsApiWhenLocalMatchesAreEnough() throws IOException {
+        LocalPantrySearchDataAccessObject local = new LocalPantrySearchDataAccessObject(repository, 1);
+        SearchByIngredientsDataAccessObject dataAccess = new SearchByIngredientsDataAccessObject(apiClient, local, Mode.HYBRID);
+        when(apiClient.searchByIngredients(anyList())).thenReturn(List.of(
+                recipe("3", "Bruschetta", "baguette"), recipe("900", "Garlic Soup", "garlic")));
+
+        // Fewer local matches than spoonacular.max.results: topped up without duplicates
+        assertEquals(List.of("1", "3", "900"), ids(dataAccess.searchByIngredients(List.of("garlic"))));
+
+        SearchByIngredientsDataAccessObject localOnly = new SearchByIngredientsDataAccessObject(apiClient, local, Mode.LOCAL);
+        assertEquals(List.of("1"), ids(localOnly.searchByIngredients(List.of("garlic"))));
+        verify(apiClient, times(1)).searchByIngredients(anyList());
+    }
+
+    @Test
+    void hybrid_apiFailure_returnsLocalMatches() throws IOException {
+        SearchByIngredientsDataAccessObject dataAccess = new SearchByIngredientsDataAccessObject(
+                apiClient, new LocalPantrySearchDataAccessObject(repository, 10), Mode.HYBRID);
+        when(apiClient.searchByIngredients(anyList())).thenThrow(new IOException("API request failed"));
+
+        assertEquals(List.of("4"), ids(dataAccess.searchByIngredients(List.of("rice"))));
+        assertThrows(IOException.class, () -> dataAccess.searchByIngredients(List.of("saffron")));
+    }
+
+    @Test
+    void hybrid_localFailure_fallsBackToApi() throws IOException {
+        LocalPantrySearchDataAccessObject local = mock(LocalPantrySearchDataAccessObject.class);
+        when(local.searchByIngredients(anyList())).thenThrow(new IOException("Failed to read recipes"));
+        when(apiClient.searchByIngredients(anyList())).thenReturn(List.of(recipe("900", "Garlic Soup", "garlic")));
+        SearchByIngredientsDataAccessObject dataAccess = new SearchByIngredientsDataAccessObject(apiClient, local, Mode.HYBRID);
+
+        assertEquals(List.of("900"), ids(dataAccess.searchByIngredients(List.of("garlic"))));
+    }
+
+    @Test
+    void mode_parsesConfiguredNames() {
+        assertEquals(Mode.HYBRID, Mode.fromName(" Hybrid "));
+        assertEquals(Mode.LOCAL, Mode.fromName("local"));
+        assertEquals(Mode.API, Mode.fromName("remote"));
+        assertThrows(IllegalArgumentException.class, () -> new SearchByIngredientsDataAccessObject(apiClient, null, Mode.LOCAL));
+    }
+}
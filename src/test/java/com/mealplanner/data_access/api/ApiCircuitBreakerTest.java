@@ -0,0 +1,175 @@
+package com.mealplanner.data_access.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ApiCircuitBreaker.
+ * Tests tripping on failure and slow-call rates, fast rejection while open, half-open probes
+ * and the state counters.
+ *
+ * Responsible: Everyone (API integration shared responsibility)
+ */
+public class ApiCircuitBreakerTest {
+
+    /**
+     * Clock that only moves when the test advances it.
+     */
+    private static class ManualClock extends Clock {
+        private long millis = Instant.parse("2025-12-01T10:00:00Z").toEpochMilli();
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    // Window of 10, at least 4 calls, opens at 50% failures or 80% calls of 1 s or more
+    private ApiCircuitBreaker breaker(ManualClock clock) {
+        return new ApiCircuitBreaker(10, 4, 0.5, 1_000, 0.8, 30_000, 2, clock);
+    }
+
+    private static void call(ApiCircuitBreaker breaker, boolean failed, long elapsedMillis) throws CircuitOpenException {
+        breaker.acquirePermission();
+        if (failed) {
+            breaker.onFailure(elapsedMillis);
+        } else {
+            breaker.onSuccess(elapsedMillis);
+        }
+    }
+
+    @Test
+    public void testOpensWhenFailureRateReached() throws CircuitOpenException {
+        ManualClock clock = new ManualClock();
+        ApiCircuitBreaker breaker = breaker(clock);
+
+        // Too few calls to judge yet
+        call(breaker, true, 10);
+        call(breaker, true, 10);
+        call(breaker, true, 10);
+        assertEquals(ApiCircuitBreaker.State.CLOSED, breaker.getState());
+
+        call(breaker, true, 10);
+        assertEquals(ApiCircuitBreaker.State.OPEN, breaker.getState());
+        CircuitOpenException e = assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+        assertEquals(30_000, e.getRetryAfterMillis());
+        assertFalse(breaker.isCallPermitted());
+
+        ApiCircuitBreaker.Stats stats = breaker.getStats();
+        assertEquals(1, stats.getTimesOpened());
+        assertEquals(1, stats.getRejectedCalls());
+        assertEquals(4, stats.getFailedCalls());
+    }
+
+    @Test
+    public void testStaysClosedBelowThresholds() throws CircuitOpenException {
+        ApiCircuitBreaker breaker = breaker(new ManualClock());
+
+        for (int i = 0; i < 20; i++) {
+            call(breaker, i % 3 == 2, 10);
+        }
+
+        assertEquals(ApiCircuitBreaker.State.CLOSED, breaker.getState());
+        // Only the last 10 calls count
+        assertEquals(10, breaker.getStats().getBufferedCalls());
+        assertEquals(0.3, breaker.getStats().getFailureRate(), 0.001);
+    }
+
+    @Test
+    public void testOpensWhenCallsAreSlow() throws CircuitOpenException {
+        ApiCircuitBreaker breaker = breaker(new ManualClock());
+
+        call(breaker, false, 50);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, false, 5_000);
+        }
+
+        assertEquals(ApiCircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(4, breaker.getStats().getSlowCalls());
+    }
+
+    @Test
+    public void testClosesAfterSuccessfulProbes() throws CircuitOpenException {
+        ManualClock clock = new ManualClock();
+        ApiCircuitBreaker breaker = breaker(clock);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, true, 10);
+        }
+
+        clock.advance(30_000);
+        assertTrue(breaker.isCallPermitted());
+        breaker.acquirePermission();
+        breaker.acquirePermission();
+        assertEquals(ApiCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // Both probes are out; further calls are still refused
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+
+        breaker.onSuccess(20);
+        breaker.onSuccess(20);
+
+        assertEquals(ApiCircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getStats().getBufferedCalls());
+        call(breaker, true, 10);
+        assertEquals(ApiCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testFailedProbeOpensAgain() throws CircuitOpenException {
+        ManualClock clock = new ManualClock();
+        ApiCircuitBreaker breaker = breaker(clock);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, true, 10);
+        }
+
+        clock.advance(30_000);
+        call(breaker, true, 10);
+
+        assertEquals(ApiCircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, breaker.getStats().getTimesOpened());
+        clock.advance(29_000);
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+    }
+
+    @Test
+    public void testReleasedProbeCanBeRetried() throws CircuitOpenException {
+        ManualClock clock = new ManualClock();
+        ApiCircuitBreaker breaker = new ApiCircuitBreaker(10, 4, 0.5, 1_000, 0.8, 30_000, 1, clock);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, true, 10);
+        }
+        clock.advance(30_000);
+
+        // A probe cancelled by its caller gives its slot back
+        breaker.acquirePermission();
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+        breaker.releasePermission();
+
+        call(breaker, false, 10);
+        assertEquals(ApiCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -0,0 +1,212 @@
+package com.mealplanner.data_access.api;
+
+import com.mealplanner.util.TaskScheduler.Priority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ApiRateLimiter.
+ * Tests token pacing, priority classes, 429 backoff, asynchronous acquisition and the persisted
+ * daily quota ledger.
+ *
+ * Responsible: Everyone (API integration shared responsibility)
+ */
+public class ApiRateLimiterTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Clock that only moves when the test advances it.
+     */
+    private static class ManualClock extends Clock {
+        private long millis = Instant.parse("2025-12-01T10:00:00Z").toEpochMilli();
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    private final List<ApiRateLimiter> ledgerLimiters = new ArrayList<>();
+
+    private ApiRateLimiter limiter(ManualClock clock, int dailyPoints, int reserve) {
+        ApiRateLimiter limiter = new ApiRateLimiter(60, 2, dailyPoints, reserve, 0,
+                tempDir.resolve("quota.json").toString(), clock);
+        ledgerLimiters.add(limiter);
+        return limiter;
+    }
+
+    @AfterEach
+    public void flushLedgers() {
+        // Write pending ledgers now rather than on the timer, after the temp directory is gone
+        ledgerLimiters.forEach(ApiRateLimiter::flushLedger);
+    }
+
+    @Test
+    public void testBurstThenRefill() throws IOException {
+        ManualClock clock = new ManualClock();
+        ApiRateLimiter limiter = limiter(clock, 100, 0);
+
+        limiter.acquire(Priority.UI_CRITICAL);
+        limiter.acquire(Priority.UI_CRITICAL);
+        assertThrows(IOException.class, () -> limiter.acquire(Priority.UI_CRITICAL));
+
+        clock.advance(1_000);
+        limiter.acquire(Priority.UI_CRITICAL);
+        assertEquals(3, limiter.getStats().getRequests());
+        assertEquals(1, limiter.getStats().getRejected());
+    }
+
+    @Test
+    public void testPrefetchCannotUseReservedPoints() throws IOException {
+        ManualClock clock = new ManualClock();
+        ApiRateLimiter limiter = limiter(clock, 10, 8);
+
+        limiter.acquire(Priority.PREFETCH);
+        clock.advance(1_000);
+        limiter.acquire(Priority.PREFETCH);
+        clock.advance(1_000);
+
+        IOException e = assertThrows(IOException.class, () -> limiter.acquire(Priority.PREFETCH));
+        assertTrue(e.getMessage().contains("reserved"));
+        limiter.acquire(Priority.UI_CRITICAL);
+        assertEquals(7, limiter.getStats().getPointsRemaining(), 0.001);
+    }
+
+    @Test
+    public void testRateLimitedResponsePausesRequests() throws IOException {
+        ManualClock clock = new ManualClock();
+        ApiRateLimiter limiter = limiter(clock, 100, 0);
+
+        limiter.acquire(Priority.NORMAL);
+        limiter.recordResponse(429, null, null, 5L);
+        assertEquals(5_000, limiter.getStats().getBackoffRemainingMillis());
+        assertThrows(IOException.class, () -> limiter.acquire(Priority.PREFETCH));
+
+        clock.advance(5_000);
+        limiter.acquire(Priority.PREFETCH);
+        assertEquals(1, limiter.getStats().getRateLimitedResponses());
+    }
+
+    @Test
+    public void testQuotaHeadersCorrectLedger() throws IOException {
+        ManualClock clock = new ManualClock();
+        ApiRateLimiter limiter = limiter(clock, 150, 0);
+
+        limiter.acquire(Priority.NORMAL);
+        limiter.recordResponse(200, null, 1.12, null);
+        assertEquals(1.12, limiter.getStats().getPointsUsed(), 0.001);
+
+        clock.advance(1_000);
+        limiter.acquire(Priority.NORMAL);
+        limiter.recordResponse(200, 42.5, 1.0, null);
+        assertEquals(42.5, limiter.getStats().getPointsUsed(), 0.001);
+    }
+
+    @Test
+    public void testLedgerSurvivesRestartAndResetsNextDay() throws IOException {
+        ManualClock clock = new ManualClock();
+        ApiRateLimiter limiter = limiter(clock, 150, 0);
+        limiter.acquire(Priority.NORMAL);
+        limiter.recordResponse(200, 120.0, null, null);
+        limiter.flushLedger();
+
+        ApiRateLimiter restarted = limiter(clock, 150, 0);
+        assertEquals(120.0, restarted.getStats().getPointsUsed(), 0.001);
+        assertEquals(30.0, restarted.getStats().getPointsRemaining(), 0.001);
+
+        clock.advance(24 * 60 * 60 * 1000L);
+        assertEquals(0.0, restarted.getStats().getPointsUsed(), 0.001);
+        restarted.flushLedger();
+        assertTrue(Files.readString(tempDir.resolve("quota.json")).contains("2025-12-02"));
+    }
+
+    @Test
+    public void testLedgerIsWrittenOnFlushNotPerRequest() throws IOException {
+        ManualClock clock = new ManualClock();
+        ApiRateLimiter limiter = limiter(clock, 150, 0);
+        limiter.acquire(Priority.NORMAL);
+        limiter.recordResponse(200, 7.0, null, null);
+        assertFalse(Files.exists(tempDir.resolve("quota.json")));
+
+        limiter.flushLedger();
+        assertTrue(Files.readString(tempDir.resolve("quota.json")).contains("7.0"));
+    }
+
+    @Test
+    public void testPaymentRequiredExhaustsQuota() throws IOException {
+        ManualClock clock = new ManualClock();
+        ApiRateLimiter limiter = limiter(clock, 150, 0);
+
+        limiter.acquire(Priority.NORMAL);
+        limiter.recordResponse(402, null, null, null);
+        clock.advance(1_000);
+
+        IOException e = assertThrows(IOException.class, () -> limiter.acquire(Priority.UI_CRITICAL));
+        assertTrue(e.getMessage().contains("used up"));
+    }
+
+    @Test
+    public void testAcquireAsyncFollowsSameRules() throws Exception {
+        ManualClock clock = new ManualClock();
+        ApiRateLimiter limiter = limiter(clock, 10, 9);
+
+        assertNull(limiter.acquireAsync(Priority.NORMAL).get(1, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> prefetch = limiter.acquireAsync(Priority.PREFETCH);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> prefetch.get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+        assertTrue(e.getCause().getMessage().contains("reserved"));
+        assertEquals(1, limiter.getStats().getRequests());
+    }
+
+    @Test
+    public void testAcquireAsyncWaitsForToken() throws Exception {
+        // Real clock: one token every 50 ms, no burst beyond the first
+        ApiRateLimiter limiter = new ApiRateLimiter(1_200, 1, 100, 0, 2_000, null, Clock.systemUTC());
+        limiter.acquire(Priority.NORMAL);
+
+        long start = System.nanoTime();
+        limiter.acquireAsync(Priority.NORMAL).get(2, TimeUnit.SECONDS);
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(2, limiter.getStats().getRequests());
+        assertEquals(1, limiter.getStats().getThrottled());
+    }
+}
@@ -0,0 +1,64 @@
+package com.mealplanner.data_access.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ApiRequest.
+ * Tests that equivalent requests share one cache key and that credentials stay out of it.
+ *
+ * Responsible: Everyone (API integration shared responsibility)
+ */
+public class ApiRequestTest {
+
+    @Test
+    public void testQueryIsTrimmedAndCaseFolded() {
+        String a = ApiRequest.to("/recipes/complexSearch").query("query", "Chicken ").param("number", 12).getCacheKey();
+        String b = ApiRequest.to("/recipes/complexSearch").query("query", "  chicken").param("number", 12).getCacheKey();
+        String c = ApiRequest.to("/recipes/complexSearch").query("query", "CHICKEN   soup").param("number", 12).getCacheKey();
+
+        assertEquals(a, b);
+        assertEquals("/recipes/complexSearch?number=12&query=chicken", a);
+        assertEquals("/recipes/complexSearch?number=12&query=chicken+soup", c);
+    }
+
+    @Test
+    public void testParameterOrderDoesNotMatter() {
+        String a = ApiRequest.to("/recipes/random").param("number", 3).param("tags", "vegan").getCacheKey();
+        String b = ApiRequest.to("/recipes/random").param("tags", "vegan").param("number", 3).getCacheKey();
+
+        assertEquals(a, b);
+    }
+
+    @Test
+    public void testIngredientListsAreSorted() {
+        String a = ApiRequest.to("/recipes/findByIngredients").list("ingredients", List.of("Tomato", " egg", "tomato")).getCacheKey();
+        String b = ApiRequest.to("/recipes/findByIngredients").list("ingredients", "egg,tomato").getCacheKey();
+
+        assertEquals(a, b);
+        assertEquals("/recipes/findByIngredients?ingredients=egg%2Ctomato", a);
+    }
+
+    @Test
+    public void testEmptyValuesAreSkipped() {
+        String key = ApiRequest.to("/recipes/complexSearch").query("query", "pasta")
+                .list("includeIngredients", " , ").list("ingredients", (String) null).getCacheKey();
+
+        assertEquals("/recipes/complexSearch?query=pasta", key);
+    }
+
+    @Test
+    public void testApiKeyOnlyInUrl() {
+        ApiRequest request = ApiRequest.to("/recipes/716429/information").param("includeNutrition", true);
+
+        assertFalse(request.getCacheKey().contains("apiKey"));
+        assertEquals("https://api.example.com/recipes/716429/information?includeNutrition=true&apiKey=secret",
+                request.toUrl("https://api.example.com", "secret"));
+        assertEquals("https://api.example.com/recipes/716429/nutritionWidget.json?apiKey=secret",
+                ApiRequest.to("/recipes/716429/nutritionWidget.json").toUrl("https://api.example.com", "secret"));
+        assertThrows(IllegalArgumentException.class, () -> request.param("apiKey", "secret"));
+    }
+}
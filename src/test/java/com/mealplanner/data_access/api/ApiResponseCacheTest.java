@@ -0,0 +1,154 @@
+package com.mealplanner.data_access.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ApiResponseCache.
+ * Tests single-flight loading, asynchronous loading and cancellation, failure handling,
+ * expiry and the size bound.
+ *
+ * Responsible: Everyone (API integration shared responsibility)
+ */
+public class ApiResponseCacheTest {
+
+    private static final long ONE_MINUTE = 60_000;
+
+    @Test
+    public void testConcurrentMissesShareOneLoad() throws Exception {
+        ApiResponseCache cache = new ApiResponseCache(10);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            futures.add(executor.submit(() -> cache.getOrLoad("/recipes/random", ONE_MINUTE, () -> {
+                loads.incrementAndGet();
+                try {
+                    release.await(2, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "{\"recipes\":[]}";
+            })));
+        }
+        // Give every caller time to reach the cache before the load finishes
+        Thread.sleep(200);
+        release.countDown();
+        for (Future<String> future : futures) {
+            assertEquals("{\"recipes\":[]}", future.get(2, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, loads.get());
+        assertEquals(callers - 1, cache.getCoalesced());
+        assertEquals("{\"recipes\":[]}", cache.get("/recipes/random"));
+    }
+
+    @Test
+    public void testFailureIsNotCached() throws Exception {
+        ApiResponseCache cache = new ApiResponseCache(10);
+
+        assertThrows(IOException.class, () -> cache.getOrLoad("key", ONE_MINUTE, () -> {
+            throw new IOException("offline");
+        }));
+
+        assertEquals("value", cache.getOrLoad("key", ONE_MINUTE, () -> "value"));
+        assertEquals("value", cache.getOrLoad("key", ONE_MINUTE, () -> "other"));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testExpiredEntryIsReloaded() throws Exception {
+        ApiResponseCache cache = new ApiResponseCache(10);
+        cache.put("key", "old", 1);
+        Thread.sleep(10);
+
+        assertNull(cache.get("key"));
+        assertEquals("new", cache.getOrLoad("key", ONE_MINUTE, () -> "new"));
+    }
+
+    @Test
+    public void testLeastRecentlyReadEntryIsEvicted() throws Exception {
+        ApiResponseCache cache = new ApiResponseCache(2);
+        cache.put("a", "1", ONE_MINUTE);
+        Thread.sleep(2);
+        cache.put("b", "2", ONE_MINUTE);
+        Thread.sleep(2);
+        cache.get("a");
+        cache.put("c", "3", ONE_MINUTE);
+
+        assertEquals(2, cache.size());
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("c"));
+    }
+
+    @Test
+    public void testAsyncCallersShareOneLoad() throws Exception {
+        ApiResponseCache cache = new ApiResponseCache(10);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> source = new CompletableFuture<>();
+        ApiResponseCache.AsyncLoader loader = () -> {
+            loads.incrementAndGet();
+            return source;
+        };
+
+        CompletableFuture<String> first = cache.getOrLoadAsync("key", ONE_MINUTE, loader);
+        CompletableFuture<String> second = cache.getOrLoadAsync("key", ONE_MINUTE, loader);
+        assertFalse(first.isDone());
+        source.complete("value");
+
+        assertEquals("value", first.get(1, TimeUnit.SECONDS));
+        assertEquals("value", second.get(1, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getCoalesced());
+        assertEquals("value", cache.getOrLoadAsync("key", ONE_MINUTE, loader).get());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testLoadIsCancelledOnlyWhenNoCallerWaits() {
+        ApiResponseCache cache = new ApiResponseCache(10);
+        CompletableFuture<String> source = new CompletableFuture<>();
+
+        CompletableFuture<String> first = cache.getOrLoadAsync("key", ONE_MINUTE, () -> source);
+        CompletableFuture<String> second = cache.getOrLoadAsync("key", ONE_MINUTE, () -> source);
+        first.cancel(true);
+        assertFalse(source.isCancelled());
+
+        second.orTimeout(10, TimeUnit.MILLISECONDS);
+        assertThrows(Exception.class, second::join);
+        assertTrue(source.isCancelled());
+
+        // The abandoned flight is gone, so the next caller starts a new load
+        assertEquals("fresh", cache.getOrLoadAsync("key", ONE_MINUTE,
+                () -> CompletableFuture.completedFuture("fresh")).join());
+    }
+
+    @Test
+    public void testAsyncFailureIsNotCached() throws Exception {
+        ApiResponseCache cache = new ApiResponseCache(10);
+
+        CompletableFuture<String> failed = cache.getOrLoadAsync("key", ONE_MINUTE,
+                () -> CompletableFuture.failedFuture(new IOException("offline")));
+        Exception e = assertThrows(Exception.class, failed::join);
+        assertTrue(e.getCause() instanceof IOException);
+
+        assertEquals("value", cache.getOrLoad("key", ONE_MINUTE, () -> "value"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.mealplanner.data_access.api;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ApiResponseDiskCache.
+ * Tests persistence across instances, per-entry expiry, LRU eviction and statistics.
+ *
+ * Responsible: Everyone (API integration shared responsibility)
+ */
+public class ApiResponseDiskCacheTest {
+
+    private static final long ONE_HOUR = 60 * 60 * 1000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testResponsesSurviveRestart() {
+        ApiResponseDiskCache cache = new ApiResponseDiskCache(tempDir.toString(), 10_000);
+        cache.put("/recipes/1/information", "{\"id\":1}", ONE_HOUR);
+
+        ApiResponseDiskCache reopened = new ApiResponseDiskCache(tempDir.toString(), 10_000);
+
+        assertEquals("{\"id\":1}", reopened.get("/recipes/1/information"));
+        assertEquals(1, reopened.getStats().getEntryCount());
+        assertEquals(1, reopened.getStats().getHits());
+    }
+
+    @Test
+    public void testExpiredEntryIsRemoved() throws Exception {
+        ApiResponseDiskCache cache = new ApiResponseDiskCache(tempDir.toString(), 10_000);
+        cache.put("/recipes/random?number=3", "{\"recipes\":[]}", 1);
+        Thread.sleep(20);
+
+        assertNull(cache.get("/recipes/random?number=3"));
+        ApiResponseDiskCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.getExpired());
+        assertEquals(0, stats.getEntryCount());
+        assertEquals(0, stats.getTotalBytes());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvictedOverBudget() {
+        String body = "x".repeat(400);
+        ApiResponseDiskCache cache = new ApiResponseDiskCache(tempDir.toString(), 1_000);
+        cache.put("a", body, ONE_HOUR);
+        cache.put("b", body, ONE_HOUR);
+        cache.get("a");
+        cache.put("c", body, ONE_HOUR);
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(1, cache.getStats().getEvictions());
+        assertTrue(cache.getStats().getTotalBytes() <= 1_000);
+    }
+
+    @Test
+    public void testMissAndClear() {
+        ApiResponseDiskCache cache = new ApiResponseDiskCache(tempDir.toString(), 10_000);
+        assertNull(cache.get("missing"));
+        cache.put("key", "value", ONE_HOUR);
+        cache.clear();
+
+        assertNull(cache.get("key"));
+        assertEquals(2, cache.getStats().getMisses());
+        assertEquals(0, cache.getStats().getEntryCount());
+    }
+}
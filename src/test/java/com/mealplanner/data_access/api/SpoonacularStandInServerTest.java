@@ -0,0 +1,143 @@
+package com.mealplanner.data_access.api;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SpoonacularStandInServer.
+ * Tests fixture replay, fault and latency injection, and record mode.
+ *
+ * Responsible: Everyone (API integration shared responsibility)
+ */
+public class SpoonacularStandInServerTest {
+
+    @TempDir
+    Path fixtures;
+
+    private final OkHttpClient client = new OkHttpClient();
+    private SpoonacularStandInServer standIn;
+    private SpoonacularStandInServer upstream;
+
+    @AfterEach
+    public void tearDown() {
+        if (standIn != null) {
+            standIn.stop();
+        }
+        if (upstream != null) {
+            upstream.stop();
+        }
+    }
+
+    private SpoonacularStandInServer start(SpoonacularStandInServer.Settings settings) throws IOException {
+        SpoonacularStandInServer server = new SpoonacularStandInServer(settings.seed(42), client);
+        server.start();
+        return server;
+    }
+
+    private Response get(String baseUrl, String pathAndQuery) throws IOException {
+        return client.newCall(new Request.Builder().url(baseUrl + pathAndQuery).build()).execute();
+    }
+
+    @Test
+    public void testRecordedFixtureMatchesNormalizedRequest() throws IOException {
+        String name = SpoonacularStandInServer.fixtureName("complexSearch", "/recipes/complexSearch",
+                "query=pasta&number=5&apiKey=one");
+        Files.writeString(fixtures.resolve(name), "{\"results\":[]}");
+        Files.writeString(fixtures.resolve("complexSearch.json"), "{\"results\":[{\"id\":1}]}");
+        standIn = start(new SpoonacularStandInServer.Settings().fixturesPath(fixtures.toString()));
+
+        // Same request with the parameters reordered and another key
+        try (Response response = get(standIn.getBaseUrl(), "/recipes/complexSearch?number=5&apiKey=two&query=pasta")) {
+            assertEquals(200, response.code());
+            assertEquals("{\"results\":[]}", response.body().string());
+            assertEquals("1", response.header("X-API-Quota-Request"));
+        }
+        // Any other search falls back to the default fixture
+        try (Response response = get(standIn.getBaseUrl(), "/recipes/complexSearch?query=soup")) {
+            assertEquals("{\"results\":[{\"id\":1}]}", response.body().string());
+        }
+    }
+
+    @Test
+    public void testDefaultFixtureGetsRecipeId() throws IOException {
+        Files.writeString(fixtures.resolve("information.json"), "{\"id\":{{id}},\"title\":\"Soup\"}");
+        standIn = start(new SpoonacularStandInServer.Settings().fixturesPath(fixtures.toString()));
+
+        try (Response response = get(standIn.getBaseUrl(), "/recipes/716429/information?includeNutrition=true")) {
+            assertEquals("{\"id\":716429,\"title\":\"Soup\"}", response.body().string());
+        }
+        try (Response response = get(standIn.getBaseUrl(), "/recipes/716429/nutritionWidget.json")) {
+            assertEquals(404, response.code());
+        }
+        try (Response response = get(standIn.getBaseUrl(), "/recipes/unknown")) {
+            assertEquals(404, response.code());
+        }
+    }
+
+    @Test
+    public void testInjectsRateLimitsErrorsAndLatency() throws IOException {
+        Files.writeString(fixtures.resolve("random.json"), "{\"recipes\":[]}");
+        standIn = start(new SpoonacularStandInServer.Settings().fixturesPath(fixtures.toString())
+                .rateLimitRate(1.0).retryAfterSeconds(3));
+        try (Response response = get(standIn.getBaseUrl(), "/recipes/random?number=3")) {
+            assertEquals(429, response.code());
+            assertEquals("3", response.header("Retry-After"));
+        }
+        standIn.stop();
+
+        standIn = start(new SpoonacularStandInServer.Settings().fixturesPath(fixtures.toString())
+                .errorRate(1.0).latency(100, 0));
+        long start = System.nanoTime();
+        try (Response response = get(standIn.getBaseUrl(), "/recipes/random?number=3")) {
+            assertEquals(500, response.code());
+        }
+        assertTrue(System.nanoTime() - start >= 100_000_000L);
+        assertEquals(1, standIn.getInjectedErrorCount());
+    }
+
+    @Test
+    public void testRecordModeSavesFixturesForReplay(@TempDir Path upstreamFixtures) throws IOException {
+        Files.writeString(upstreamFixtures.resolve("findByIngredients.json"), "[{\"id\":7,\"title\":\"Omelette\"}]");
+        upstream = start(new SpoonacularStandInServer.Settings().fixturesPath(upstreamFixtures.toString()));
+        standIn = start(new SpoonacularStandInServer.Settings().fixturesPath(fixtures.toString())
+                .recordUpstream(upstream.getBaseUrl()));
+
+        String request = "/recipes/findByIngredients?ingredients=egg%2Ccheese&number=10&apiKey=secret";
+        try (Response response = get(standIn.getBaseUrl(), request)) {
+            assertEquals("[{\"id\":7,\"title\":\"Omelette\"}]", response.body().string());
+        }
+        assertEquals(1, standIn.getRecordedCount());
+        standIn.stop();
+
+        // Replay without the upstream
+        upstream.stop();
+        upstream = null;
+        standIn = start(new SpoonacularStandInServer.Settings().fixturesPath(fixtures.toString()));
+        try (Response response = get(standIn.getBaseUrl(), request)) {
+            assertEquals(200, response.code());
+            assertEquals("[{\"id\":7,\"title\":\"Omelette\"}]", response.body().string());
+        }
+        try (var files = Files.list(fixtures)) {
+            assertTrue(files.noneMatch(path -> readQuietly(path).contains("secret")));
+        }
+    }
+
+    private static String readQuietly(Path path) {
+        try {
+            return path.getFileName().toString() + Files.readString(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.mealplanner.data_access.api;
+
+import com.mealplanner.entity.DietaryRestriction;
+import com.mealplanner.entity.Recipe;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StreamingRecipeParser.
+ * Tests that streamed recipes match those of ApiResponseParser and that bad entries are skipped.
+ *
+ * Responsible: Everyone (API integration shared responsibility)
+ */
+public class StreamingRecipeParserTest {
+
+    private static final String FULL_RECIPE = "{"
+            + "\"vegetarian\":false,\"id\":716429,\"title\":\"Pasta with Garlic\",\"readyInMinutes\":45,"
+            + "\"servings\":2,\"sourceUrl\":\"https://example.com/pasta\","
+            + "\"image\":\"https://img.spoonacular.com/recipes/716429-556x370.jpg\","
+            + "\"winePairing\":{\"pairedWines\":[\"merlot\"],\"pairingText\":\"Merlot\"},"
+            + "\"nutrition\":{\"nutrients\":["
+            + "{\"name\":\"Calories\",\"amount\":584.46,\"unit\":\"kcal\"},"
+            + "{\"name\":\"Fat\",\"amount\":19.8,\"unit\":\"g\"},"
+            + "{\"name\":\"Saturated Fat\",\"amount\":4.1,\"unit\":\"g\"},"
+            + "{\"name\":\"Carbohydrates\",\"amount\":83.9,\"unit\":\"g\"},"
+            + "{\"name\":\"Protein\",\"amount\":19.3,\"unit\":\"g\"}],"
+            + "\"ingredients\":[{\"id\":1,\"name\":\"butter\",\"nutrients\":[{\"name\":\"Fat\",\"amount\":1}]}],"
+            + "\"caloricBreakdown\":{\"percentProtein\":13.2}},"
+            + "\"extendedIngredients\":["
+            + "{\"id\":1001,\"name\":\"butter\",\"nameClean\":\"butter\",\"amount\":1.0,\"unit\":\"tbsp\","
+            + "\"measures\":{\"us\":{\"amount\":1.0}}},"
+            + "{\"id\":2,\"name\":\"cauliflower florets\",\"nameClean\":null,\"amount\":2.5,\"unit\":\"cups \"},"
+            + "{\"id\":3,\"name\":\"salt\",\"amount\":0,\"unit\":\"\"}],"
+            + "\"analyzedInstructions\":[{\"name\":\"\",\"steps\":["
+            + "{\"number\":1,\"step\":\"Boil the pasta.\",\"ingredients\":[]},"
+            + "{\"number\":2,\"step\":\"Add the garlic.\"}]},"
+            + "{\"name\":\"Sauce\",\"steps\":[{\"number\":1,\"step\":\"Ignored.\"}]}],"
+            + "\"instructions\":\"Ignored because analyzed instructions exist.\","
+            + "\"diets\":[\"vegetarian\",\"not a diet\"]}";
+
+    private static final String INSTRUCTIONS_ONLY = "{"
+            + "\"id\":12,\"title\":\"Toast\",\"servings\":0,\"readyInMinutes\":0,"
+            + "\"extendedIngredients\":[{\"name\":\"bread\",\"amount\":2,\"unit\":\"slices\"}],"
+            + "\"instructions\":\"<ol><li>Toast the bread. Spread the butter.</li></ol>\","
+            + "\"nutrition\":{\"calories\":150,\"protein\":\"4\",\"carbohydrates\":{\"amount\":20.5}}}";
+
+    private static List<Recipe> parseWithTree(String response, String arrayField) throws Exception {
+        JSONArray array = new JSONObject(response).getJSONArray(arrayField);
+        List<Recipe> recipes = new ArrayList<>();
+        for (int i = 0; i < array.length(); i++) {
+            try {
+                recipes.add(ApiResponseParser.parseRecipe(array.getJSONObject(i)));
+            } catch (Exception e) {
+                // Skipped like the callers do
+            }
+        }
+        return recipes;
+    }
+
+    @Test
+    public void testMatchesTreeParser() throws Exception {
+        String response = "{\"offset\":0,\"number\":2,\"results\":[" + FULL_RECIPE + "," + INSTRUCTIONS_ONLY
+                + "],\"totalResults\":2}";
+
+        StreamingRecipeParser.Result result = StreamingRecipeParser.parseSearchResults(new StringReader(response));
+
+        assertEquals(parseWithTree(response, "results"), result.getRecipes());
+        assertEquals(2, result.getTotal());
+        assertEquals(0, result.getFailed());
+    }
+
+    @Test
+    public void testReadsOnlyNeededFields() throws IOException {
+        String response = "{\"recipes\":[" + FULL_RECIPE + "]}";
+
+        Recipe recipe = StreamingRecipeParser.parseRandomRecipes(new StringReader(response)).getRecipes().get(0);
+
+        assertEquals("716429", recipe.getRecipeId());
+        assertEquals(List.of("1 tbsp butter", "2.5 cups cauliflower florets", "salt"), recipe.getIngredients());
+        assertEquals("Boil the pasta.\nAdd the garlic.", recipe.getSteps());
+        assertEquals(584, recipe.getNutritionInfo().getCalories());
+        assertEquals(83.9, recipe.getNutritionInfo().getCarbs(), 0.001);
+        assertEquals(List.of(DietaryRestriction.VEGETARIAN), recipe.getDietaryRestrictions());
+    }
+
+    @Test
+    public void testEntriesWithoutTitleOrIdAreSkipped() throws IOException {
+        String response = "{\"results\":[{\"id\":1},{\"title\":\"No id\"},\"oops\"," + INSTRUCTIONS_ONLY + "]}";
+
+        StreamingRecipeParser.Result result = StreamingRecipeParser.parseSearchResults(new StringReader(response));
+
+        assertEquals(1, result.getRecipes().size());
+        assertEquals(4, result.getTotal());
+        assertEquals(3, result.getFailed());
+    }
+
+    @Test
+    public void testMalformedJsonFails() {
+        assertThrows(IOException.class,
+                () -> StreamingRecipeParser.parseSearchResults(new StringReader("{\"results\":[{\"id\":1,")));
+    }
+}
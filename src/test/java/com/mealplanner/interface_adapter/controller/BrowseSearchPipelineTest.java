@@ -0,0 +1,132 @@
+package com.mealplanner.interface_adapter.controller;
+
+import com.mealplanner.use_case.browse_recipe.BrowseRecipeOutputBoundary;
+import com.mealplanner.use_case.browse_recipe.BrowseRecipeOutputData;
+import com.mealplanner.util.TaskScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for BrowseSearchPipeline.
+ * Tests cancellation and dropping of stale search results.
+ *
+ * Responsible: Regina (primary)
+ */
+public class BrowseSearchPipelineTest {
+
+    private TaskScheduler scheduler;
+    private BrowseSearchPipeline pipeline;
+
+    @BeforeEach
+    public void setUp() {
+        scheduler = new TaskScheduler(2, 10);
+        pipeline = new BrowseSearchPipeline(scheduler, "test-search");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testResultsOfSupersededSearchAreDropped() throws Exception {
+        BrowseRecipeOutputBoundary presenter = mock(BrowseRecipeOutputBoundary.class);
+        BrowseRecipeOutputBoundary guarded = pipeline.guard(presenter);
+        BrowseRecipeOutputData stale = new BrowseRecipeOutputData(Collections.emptyList());
+        BrowseRecipeOutputData fresh = new BrowseRecipeOutputData(Collections.emptyList());
+
+        CountDownLatch staleStarted = new CountDownLatch(1);
+        CountDownLatch releaseStale = new CountDownLatch(1);
+        CountDownLatch staleFinished = new CountDownLatch(1);
+        pipeline.submitNow("pizza", query -> {
+            staleStarted.countDown();
+            // Simulates a slow request that ignores cancellation and finishes late
+            while (true) {
+                try {
+                    releaseStale.await();
+                    break;
+                } catch (InterruptedException ignored) {
+                    // keep waiting
+                }
+            }
+            guarded.presentRecipeDetails(stale);
+            staleFinished.countDown();
+        }, null);
+        assertTrue(staleStarted.await(2, TimeUnit.SECONDS));
+
+        CountDownLatch freshFinished = new CountDownLatch(1);
+        pipeline.submitNow("pasta", query -> {
+            guarded.presentRecipeDetails(fresh);
+            freshFinished.countDown();
+        }, null);
+        assertTrue(freshFinished.await(2, TimeUnit.SECONDS));
+
+        releaseStale.countDown();
+        assertTrue(staleFinished.await(2, TimeUnit.SECONDS));
+
+        verify(presenter).presentRecipeDetails(fresh);
+        verify(presenter, never()).presentRecipeDetails(stale);
+    }
+
+    @Test
+    public void testCancelStopsQueuedSearch() throws Exception {
+        BrowseSearchPipeline.SearchAction action = mock(BrowseSearchPipeline.SearchAction.class);
+        CountDownLatch blocker = new CountDownLatch(1);
+
+        // Occupy both workers so the search stays queued
+        scheduler.submit(TaskScheduler.Priority.UI_CRITICAL, () -> awaitQuietly(blocker));
+        scheduler.submit(TaskScheduler.Priority.UI_CRITICAL, () -> awaitQuietly(blocker));
+        pipeline.submitNow("pasta", action, null);
+        pipeline.cancel();
+        blocker.countDown();
+        Thread.sleep(150);
+
+        verify(action, never()).search(any());
+    }
+
+    @Test
+    public void testErrorIsReportedForLatestSearch() throws Exception {
+        AtomicReference<Exception> error = new AtomicReference<>();
+        CountDownLatch failed = new CountDownLatch(1);
+
+        pipeline.submitNow("pasta", query -> {
+            throw new IOException("offline");
+        }, e -> {
+            error.set(e);
+            failed.countDown();
+        });
+
+        assertTrue(failed.await(2, TimeUnit.SECONDS));
+        assertEquals("offline", error.get().getMessage());
+    }
+
+    @Test
+    public void testOutputOutsidePipelineIsPassedThrough() {
+        BrowseRecipeOutputBoundary presenter = mock(BrowseRecipeOutputBoundary.class);
+
+        pipeline.guard(presenter).presentError("error");
+
+        verify(presenter).presentError("error");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.mealplanner.repository;
+
+// Tests for the write-through recipe cache.
+// Responsible: Database team
+
+import com.mealplanner.entity.Recipe;
+import com.mealplanner.repository.impl.CachingRecipeRepository;
+import com.mealplanner.repository.impl.FileRecipeRepository;
+import com.mealplanner.repository.impl.RecipeSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingRecipeRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileRecipeRepository fileRepository;
+
+    @BeforeEach
+    void setUp() {
+        fileRepository = new FileRecipeRepository(tempDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Write the pending search segment before the temp directory is removed
+        RecipeSearchIndex.flushAll();
+    }
+
+    @Test
+    void findAll_servesFromMemoryAfterFirstLoad() throws Exception {
+        fileRepository.save(createRecipe("r1", "Pancakes"));
+        CachingRecipeRepository repository = new CachingRecipeRepository(fileRepository, 10);
+
+        assertEquals(1, repository.findAll().size());
+
+        // A file removed behind the cache's back is not noticed until invalidation
+        Files.delete(tempDir.resolve("r1.json"));
+        assertEquals(1, repository.findAll().size());
+        assertTrue(repository.findById("r1").isPresent());
+
+        repository.invalidateAll();
+        assertTrue(repository.findAll().isEmpty());
+    }
+
+    @Test
+    void saveAndDelete_writeThroughToDisk() throws Exception {
+        CachingRecipeRepository repository = new CachingRecipeRepository(fileRepository, 10);
+        assertEquals(0, repository.count());
+
+        repository.save(createRecipe("r1", "Pancakes"));
+        assertTrue(Files.exists(tempDir.resolve("r1.json")));
+        assertEquals(1, repository.count());
+        assertEquals(1, repository.findByName("pan").size());
+
+        assertTrue(repository.delete("r1"));
+        assertFalse(Files.exists(tempDir.resolve("r1.json")));
+        assertFalse(repository.exists("r1"));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void boundedCache_fallsBackToDelegateWhenCatalogDoesNotFit() throws Exception {
+        fileRepository.save(createRecipe("r1", "Pancakes"));
+        fileRepository.save(createRecipe("r2", "Waffles"));
+        fileRepository.save(createRecipe("r3", "Omelette"));
+        CachingRecipeRepository repository = new CachingRecipeRepository(fileRepository, 2);
+
+        List<Recipe> all = repository.findAll();
+
+        assertEquals(3, all.size());
+        assertEquals(2, repository.cachedSize());
+        assertEquals(3, repository.count());
+        assertTrue(repository.findById("r1").isPresent());
+        assertTrue(repository.exists("r2"));
+        assertTrue(repository.exists("r3"));
+    }
+
+    @Test
+    void onDataChanged_reloadsOnlyChangedFiles() throws Exception {
+        fileRepository.save(createRecipe("r1", "Pancakes"));
+        CachingRecipeRepository repository = new CachingRecipeRepository(fileRepository, 10);
+        assertEquals(1, repository.findAll().size());
+
+        // Simulate an import script writing one file and removing another
+        fileRepository.save(createRecipe("r2", "Waffles"));
+        Files.delete(tempDir.resolve("r1.json"));
+        repository.onDataChanged(Set.of("r2"), Set.of("r1"));
+
+        List<Recipe> all = repository.findAll();
+        assertEquals(1, all.size());
+        assertEquals("Waffles", all.get(0).getName());
+    }
+
+    private Recipe createRecipe(String id, String name) {
+        return new Recipe(name, Arrays.asList("1 cup flour"), "Mix and cook", 2,
+                null, 10, null, "http://example.com/" + id + ".jpg", id);
+    }
+}
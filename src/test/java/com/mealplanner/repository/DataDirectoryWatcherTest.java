@@ -0,0 +1,68 @@
+package com.mealplanner.repository;
+
+// Tests for the data directory change feed.
+// Responsible: Database team
+
+import com.mealplanner.repository.impl.DataDirectoryWatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataDirectoryWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void burstOfWrites_isDeliveredAsChangedIds() throws Exception {
+        Set<String> changed = new CopyOnWriteArraySet<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        try (DataDirectoryWatcher watcher = new DataDirectoryWatcher(tempDir.toString(), ".json", 100)) {
+            watcher.addListener((changedIds, deletedIds) -> {
+                changed.addAll(changedIds);
+                if (changed.contains("a") && changed.contains("b")) {
+                    latch.countDown();
+                }
+            });
+            watcher.start();
+
+            Files.writeString(tempDir.resolve("a.json"), "{}");
+            Files.writeString(tempDir.resolve("b.json"), "{}");
+            Files.writeString(tempDir.resolve("ignored.tmp"), "{}");
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS), "Expected change notification");
+        }
+
+        assertFalse(changed.contains("ignored"));
+    }
+
+    @Test
+    void deletedFile_isReportedAsDeleted() throws Exception {
+        Files.writeString(tempDir.resolve("gone.json"), "{}");
+        Set<String> deleted = new CopyOnWriteArraySet<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        try (DataDirectoryWatcher watcher = new DataDirectoryWatcher(tempDir.toString(), ".json", 50)) {
+            watcher.addListener((changedIds, deletedIds) -> {
+                deleted.addAll(deletedIds);
+                if (deleted.contains("gone")) {
+                    latch.countDown();
+                }
+            });
+            watcher.start();
+
+            Files.delete(tempDir.resolve("gone.json"));
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS), "Expected delete notification");
+        }
+    }
+}
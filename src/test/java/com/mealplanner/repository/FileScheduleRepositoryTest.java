@@ -0,0 +1,144 @@
+package com.mealplanner.repository;
+
+// Tests for schedule lookups through the user and date indexes.
+// Responsible: Database team
+
+import com.mealplanner.entity.MealType;
+import com.mealplanner.entity.Schedule;
+import com.mealplanner.repository.impl.FileScheduleRepository;
+import com.mealplanner.repository.impl.ScheduleUserIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileScheduleRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void findByUserId_resolvesThroughIndex() throws Exception {
+        FileScheduleRepository repository = new FileScheduleRepository(tempDir.toString());
+        repository.save(new Schedule("s1", "u1"));
+        repository.save(new Schedule("s2", "u2"));
+
+        assertTrue(Files.exists(tempDir.resolve("user-schedule.index")));
+        assertEquals("s2", repository.findByUserId("u2").map(Schedule::getScheduleId).orElse(null));
+        assertFalse(repository.findByUserId("unknown").isPresent());
+
+        assertTrue(repository.deleteByUserId("u1"));
+        assertFalse(repository.findByUserId("u1").isPresent());
+    }
+
+    @Test
+    void findByUserId_picksUpScheduleWrittenByAnotherProcess() throws Exception {
+        FileScheduleRepository repository = new FileScheduleRepository(tempDir.toString());
+        repository.save(new Schedule("s1", "u1"));
+
+        Files.writeString(tempDir.resolve("s9.json"),
+                "{\"scheduleId\": \"s9\", \"userId\": \"u9\", \"mealsByDate\": {}}");
+
+        Optional<Schedule> schedule = repository.findByUserId("u9");
+        assertTrue(schedule.isPresent());
+        assertEquals("s9", schedule.get().getScheduleId());
+    }
+
+    @Test
+    void findByUserId_doesNotRebuildForSkippedFiles() throws Exception {
+        FileScheduleRepository repository = new FileScheduleRepository(tempDir.toString());
+        repository.save(new Schedule("s1", "u1"));
+        repository.save(new Schedule("s2", "u1"));
+        Files.writeString(tempDir.resolve("broken.json"), "{ not json");
+
+        assertFalse(repository.findByUserId("unknown").isPresent());
+
+        // Neither the second schedule of u1 nor the broken file makes later misses rebuild
+        Files.delete(tempDir.resolve("user-schedule.index"));
+        assertFalse(repository.findByUserId("other").isPresent());
+        assertFalse(Files.exists(tempDir.resolve("user-schedule.index")));
+    }
+
+    @Test
+    void findByUserId_resolvesToLatestScheduleAfterRebuildToo() throws Exception {
+        FileScheduleRepository repository = new FileScheduleRepository(tempDir.toString());
+        repository.save(new Schedule("s1", "u1"));
+
+        // A newer schedule of the same user written elsewhere replaces the indexed one
+        Path newer = tempDir.resolve("s0.json");
+        Files.writeString(newer, "{\"scheduleId\": \"s0\", \"userId\": \"u1\", \"mealsByDate\": {}}");
+        Files.setLastModifiedTime(newer, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+        assertFalse(repository.findByUserId("unknown").isPresent());
+        assertEquals("s0", repository.findByUserId("u1").map(Schedule::getScheduleId).orElse(null));
+
+        ScheduleUserIndex index = new ScheduleUserIndex(tempDir.toString(), ".json");
+        index.rebuild();
+        assertEquals("s0", index.findScheduleId("u1"));
+
+        // A save is always the latest
+        repository.save(new Schedule("s1", "u1"));
+        assertEquals("s1", repository.findByUserId("u1").map(Schedule::getScheduleId).orElse(null));
+    }
+
+    @Test
+    void findByDate_andRange_useDateIndex() throws Exception {
+        FileScheduleRepository repository = new FileScheduleRepository(tempDir.toString());
+        LocalDate monday = LocalDate.of(2025, 12, 1);
+        LocalDate friday = LocalDate.of(2025, 12, 5);
+
+        Schedule first = new Schedule("s1", "u1");
+        first.addMeal(monday, MealType.BREAKFAST, "r1");
+        Schedule second = new Schedule("s2", "u2");
+        second.addMeal(friday, MealType.DINNER, "r2");
+        repository.save(first);
+        repository.save(second);
+
+        assertEquals(List.of("s1"), ids(repository.findByDate(monday)));
+        assertTrue(repository.findByDate(monday.plusDays(1)).isEmpty());
+        assertEquals(2, repository.findByDateRange(monday, friday).size());
+        assertEquals(List.of("s2"), ids(repository.findByDateRange(monday.plusDays(1), friday)));
+
+        // Moving the meal re-indexes the schedule incrementally
+        first.removeMeal(monday, MealType.BREAKFAST);
+        first.addMeal(friday, MealType.LUNCH, "r3");
+        repository.save(first);
+        assertTrue(repository.findByDate(monday).isEmpty());
+        assertEquals(2, repository.findByDate(friday).size());
+
+        repository.delete("s2");
+        assertEquals(List.of("s1"), ids(repository.findByDate(friday)));
+    }
+
+    @Test
+    void findByDate_doesNotRebuildForUnreadableFiles() throws Exception {
+        FileScheduleRepository repository = new FileScheduleRepository(tempDir.toString());
+        LocalDate monday = LocalDate.of(2025, 12, 1);
+        Schedule schedule = new Schedule("s1", "u1");
+        schedule.addMeal(monday, MealType.LUNCH, "r1");
+        repository.save(schedule);
+        Files.writeString(tempDir.resolve("broken.json"), "{ not json");
+
+        assertEquals(1, repository.findByDate(monday).size());
+
+        Files.delete(tempDir.resolve("date.index"));
+        assertEquals(1, repository.findByDateRange(monday, monday.plusDays(6)).size());
+        assertFalse(Files.exists(tempDir.resolve("date.index")));
+
+        // A schedule written elsewhere is still picked up, without a rebuild
+        Files.writeString(tempDir.resolve("s9.json"), "{\"scheduleId\": \"s9\", \"userId\": \"u9\", "
+                + "\"mealsByDate\": {\"2025-12-01\": {\"DINNER\": \"r9\"}}}");
+        assertEquals(2, repository.findByDate(monday).size());
+    }
+
+    private List<String> ids(List<Schedule> schedules) {
+        return schedules.stream().map(Schedule::getScheduleId).sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,72 @@
+package com.mealplanner.repository;
+
+// Tests for username lookups through the persistent username index.
+// Responsible: Database team
+
+import com.mealplanner.entity.User;
+import com.mealplanner.repository.impl.FileUserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileUserRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void findByUsername_usesIndexMaintainedOnSaveAndDelete() throws Exception {
+        FileUserRepository repository = new FileUserRepository(tempDir.toString());
+        repository.save(new User("u1", "alice", "password1"));
+        repository.save(new User("u2", "bob", "password2"));
+
+        assertTrue(Files.exists(tempDir.resolve("username.index")));
+        assertTrue(repository.usernameExists("alice"));
+        assertEquals("u2", repository.findByUsername("bob").map(User::getUserId).orElse(null));
+
+        repository.delete("u1");
+        assertFalse(repository.usernameExists("alice"));
+        assertFalse(repository.findByUsername("alice").isPresent());
+    }
+
+    @Test
+    void renamedUser_replacesOldUsernameInIndex() throws Exception {
+        FileUserRepository repository = new FileUserRepository(tempDir.toString());
+        repository.save(new User("u1", "alice", "password1"));
+        repository.save(new User("u1", "alicia", "password1"));
+
+        assertFalse(repository.usernameExists("alice"));
+        assertTrue(repository.usernameExists("alicia"));
+    }
+
+    @Test
+    void userFileWrittenElsewhere_isFoundOnIndexMiss() throws Exception {
+        FileUserRepository repository = new FileUserRepository(tempDir.toString());
+        repository.save(new User("u1", "alice", "password1"));
+        assertFalse(repository.usernameExists("bob"));
+
+        Files.writeString(tempDir.resolve("u2.user"), "userId=u2\nusername=bob\npassword=salt:hash\n");
+        Files.writeString(tempDir.resolve("broken.user"), "not a user");
+
+        assertTrue(repository.usernameExists("bob"));
+        assertEquals("u2", repository.findByUsername("bob").map(User::getUserId).orElse(null));
+        assertFalse(repository.usernameExists("carol"));
+    }
+
+    @Test
+    void corruptIndex_isRebuiltFromUserFiles() throws Exception {
+        Files.writeString(tempDir.resolve("u1.user"), "userId=u1\nusername=alice\npassword=salt:hash\n");
+        Files.writeString(tempDir.resolve("username.index"), "{ not json");
+
+        FileUserRepository repository = new FileUserRepository(tempDir.toString());
+        Optional<User> user = repository.findByUsername("alice");
+
+        assertTrue(user.isPresent());
+        assertEquals("u1", user.get().getUserId());
+    }
+}
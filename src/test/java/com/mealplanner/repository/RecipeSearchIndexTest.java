@@ -0,0 +1,167 @@
+package com.mealplanner.repository;
+
+// Tests for ranked full-text recipe search and its persistent index.
+// Responsible: Database team
+
+import com.mealplanner.entity.Recipe;
+import com.mealplanner.repository.impl.FileRecipeRepository;
+import com.mealplanner.repository.impl.RecipeSearchIndex;
+import com.mealplanner.util.TextAnalyzer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecipeSearchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileRecipeRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FileRecipeRepository(tempDir.toString());
+        repository.save(createRecipe("r1", "Tomato Soup", List.of("6 tomatoes", "1 onion", "2 cups stock"),
+                "Simmer the tomatoes with the onion. Blend until smooth."));
+        repository.save(createRecipe("r2", "Garlic Bread", List.of("1 baguette", "3 cloves garlic", "butter"),
+                "Spread garlic butter on the bread and bake."));
+        repository.save(createRecipe("r3", "Shakshuka", List.of("4 eggs", "1 can chopped tomatoes", "1 pepper"),
+                "Cook the pepper, add tomatoes and crack in the eggs."));
+        repository.save(createRecipe("r4", "Pancakes", List.of("2 eggs", "1 cup flour", "1 cup milk"),
+                "Whisk everything and fry in a hot pan."));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Write pending segments before the temp directories are removed
+        RecipeSearchIndex.flushAll();
+    }
+
+    private static List<String> ids(List<Recipe> recipes) {
+        return recipes.stream().map(Recipe::getRecipeId).collect(Collectors.toList());
+    }
+
+    @Test
+    void analyze_stemsAndDropsUnitsAndQuantities() {
+        assertEquals(List.of("tomato", "chop", "bak", "berri"), TextAnalyzer.analyze("2 cups Tomatoes, chopped; baking the berries"));
+        assertEquals(TextAnalyzer.analyze("baked tomato berry"), TextAnalyzer.analyze("bake tomatoes berries"));
+        assertEquals(List.of("shred"), TextAnalyzer.analyze("shred"));
+    }
+
+    @Test
+    void search_ranksNameAboveIngredientsAboveSteps() {
+        // Named after tomatoes, then uses tomatoes; pancakes never mention them
+        assertEquals(List.of("r1", "r3"), ids(repository.search("tomato", 10)));
+        assertEquals(List.of("r1"), ids(repository.search("tomatoes", 1)));
+    }
+
+    @Test
+    void search_combinesTermsAndMatchesStems() {
+        List<Recipe> results = repository.search("baking garlic butter", 10);
+
+        assertEquals("r2", results.get(0).getRecipeId());
+        assertEquals(List.of("r3", "r4"), ids(repository.search("egg", 10)));
+        assertTrue(repository.search("curry", 10).isEmpty());
+        assertTrue(repository.search("the and", 10).isEmpty());
+    }
+
+    @Test
+    void saveAndDelete_updateIndexIncrementally() {
+        repository.save(createRecipe("r5", "Tomato Salad", List.of("3 tomatoes", "basil"), "Slice and season."));
+        assertTrue(ids(repository.search("basil", 10)).contains("r5"));
+
+        // Renamed: the old name no longer matches
+        repository.save(createRecipe("r5", "Caprese", List.of("mozzarella", "basil"), "Slice and layer."));
+        assertFalse(ids(repository.search("salad", 10)).contains("r5"));
+        assertEquals(List.of("r5"), ids(repository.search("mozzarella", 10)));
+
+        assertTrue(repository.delete("r5"));
+        assertTrue(repository.search("mozzarella", 10).isEmpty());
+    }
+
+    @Test
+    void recipeFileWrittenElsewhere_isIndexedWithoutRebuild() throws Exception {
+        assertEquals(List.of("r1", "r3"), ids(repository.search("tomato", 10)));
+
+        Files.writeString(tempDir.resolve("r9.json"),
+                Files.readString(tempDir.resolve("r1.json")).replace("\"r1\"", "\"r9\"").replace("Soup", "Tart"));
+        Files.writeString(tempDir.resolve("broken.json"), "{ not json");
+        assertEquals(List.of("r9"), ids(repository.search("tart", 10)));
+
+        // The unreadable file is not read again and does not make every search rebuild
+        assertFalse(RecipeSearchIndex.open(tempDir.toString(), ".json").rebuildIfIncomplete());
+    }
+
+    @Test
+    void segmentFile_isWrittenInBatches() throws Exception {
+        RecipeSearchIndex.flushAll();
+        Path segment = tempDir.resolve("search.index");
+        String written = Files.readString(segment);
+
+        repository.save(createRecipe("r5", "Tomato Salad", List.of("3 tomatoes", "basil"), "Slice and season."));
+        repository.delete("r2");
+        assertEquals(written, Files.readString(segment));
+
+        RecipeSearchIndex.open(tempDir.toString(), ".json").flush();
+        String updated = Files.readString(segment);
+        assertTrue(updated.contains("\"r5\""));
+        assertFalse(updated.contains("\"r2\""));
+    }
+
+    @Test
+    void saveWithSameTerms_keepsSegmentNewerThanRecipeFile() throws Exception {
+        RecipeSearchIndex.flushAll();
+        Path segment = tempDir.resolve("search.index");
+        String written = Files.readString(segment);
+        Files.setLastModifiedTime(segment, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+
+        // Only the servings change, so the terms and the segment contents stay the same
+        repository.save(new Recipe("Tomato Soup", List.of("6 tomatoes", "1 onion", "2 cups stock"),
+                "Simmer the tomatoes with the onion. Blend until smooth.", 4, null, null, null, "r1"));
+        RecipeSearchIndex.open(tempDir.toString(), ".json").flush();
+
+        assertEquals(written, Files.readString(segment));
+        assertTrue(Files.getLastModifiedTime(segment).compareTo(Files.getLastModifiedTime(tempDir.resolve("r1.json"))) >= 0);
+    }
+
+    @Test
+    void segmentFile_isLoadedWithoutReindexing(@TempDir Path copyDir) throws Exception {
+        RecipeSearchIndex.flushAll();
+        Path segment = tempDir.resolve("search.index");
+        assertTrue(Files.exists(segment));
+
+        // Only the segment is copied: hits can only come from the stored postings
+        Files.copy(segment, copyDir.resolve("search.index"));
+        RecipeSearchIndex copy = RecipeSearchIndex.open(copyDir.toString(), ".json");
+
+        List<RecipeSearchIndex.Hit> hits = copy.search("eggs", 10);
+        assertEquals(List.of("r3", "r4"), hits.stream().map(RecipeSearchIndex.Hit::getRecipeId).collect(Collectors.toList()));
+        assertEquals(4, copy.size());
+
+        // Against the real directory the segment is incomplete and gets rebuilt
+        assertTrue(copy.rebuildIfIncomplete());
+        assertEquals(0, copy.size());
+    }
+
+    @Test
+    void corruptSegment_isRebuiltFromRecipeFiles(@TempDir Path otherDir) throws Exception {
+        FileRecipeRepository other = new FileRecipeRepository(otherDir.toString());
+        Files.writeString(otherDir.resolve("r1.json"), Files.readString(tempDir.resolve("r1.json")));
+        Files.writeString(otherDir.resolve("search.index"), "{ not json");
+
+        assertEquals(List.of("r1"), ids(other.search("soup", 10)));
+    }
+
+    private static Recipe createRecipe(String id, String name, List<String> ingredients, String steps) {
+        return new Recipe(name, ingredients, steps, 2, null, null, null, id);
+    }
+}
@@ -0,0 +1,111 @@
+package com.mealplanner.use_case.manage_meal_plan;
+
+import com.mealplanner.entity.MealType;
+import com.mealplanner.entity.Schedule;
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealDataAccessInterface;
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealInputData;
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealInteractor;
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealOutputBoundary;
+import com.mealplanner.use_case.manage_meal_plan.batch.BatchMealOutputData;
+import com.mealplanner.use_case.manage_meal_plan.batch.MealSlotChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for BatchMealInteractor.
+ * Tests applying several slot changes with a single schedule read and write.
+ *
+ * Responsible: Grace (primary)
+ */
+public class BatchMealInteractorTest {
+
+    private BatchMealInteractor interactor;
+
+    @Mock
+    private BatchMealDataAccessInterface dataAccess;
+
+    @Mock
+    private BatchMealOutputBoundary presenter;
+
+    private final LocalDate monday = LocalDate.of(2025, 12, 1);
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        interactor = new BatchMealInteractor(dataAccess, presenter);
+    }
+
+    @Test
+    public void testCopyWeekReadsAndWritesOnce() {
+        Schedule schedule = new Schedule("schedule-1", "user-1");
+        when(dataAccess.getUserSchedule()).thenReturn(schedule);
+
+        List<MealSlotChange> changes = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            for (MealType mealType : MealType.values()) {
+                changes.add(MealSlotChange.add(monday.plusDays(day), mealType, "recipe-" + day));
+            }
+        }
+        interactor.execute(new BatchMealInputData(changes));
+
+        verify(dataAccess, times(1)).getUserSchedule();
+        verify(dataAccess, times(1)).saveSchedule(schedule);
+        ArgumentCaptor<BatchMealOutputData> captor = ArgumentCaptor.forClass(BatchMealOutputData.class);
+        verify(presenter).presentBatchSuccess(captor.capture());
+        assertEquals(changes.size(), captor.getValue().getAppliedCount());
+        assertTrue(captor.getValue().getFailures().isEmpty());
+        assertEquals(changes.size(), schedule.getMealCount());
+    }
+
+    @Test
+    public void testConflictsAreReportedPerSlot() {
+        Schedule schedule = new Schedule("schedule-1", "user-1");
+        schedule.addMeal(monday, MealType.BREAKFAST, "existing");
+        when(dataAccess.getUserSchedule()).thenReturn(schedule);
+
+        interactor.execute(new BatchMealInputData(List.of(
+                MealSlotChange.add(monday, MealType.BREAKFAST, "recipe-1"),
+                MealSlotChange.add(monday, MealType.LUNCH, "recipe-2"),
+                MealSlotChange.delete(monday, MealType.DINNER))));
+
+        ArgumentCaptor<BatchMealOutputData> captor = ArgumentCaptor.forClass(BatchMealOutputData.class);
+        verify(presenter).presentBatchSuccess(captor.capture());
+        BatchMealOutputData output = captor.getValue();
+        assertEquals(1, output.getAppliedCount());
+        assertEquals(2, output.getFailures().size());
+        assertTrue(output.getFailures().get(0).isConflict());
+        assertEquals(MealType.BREAKFAST, output.getFailures().get(0).getChange().getMealType());
+        assertFalse(output.getFailures().get(1).isConflict());
+        assertEquals("existing", schedule.getMeal(monday, MealType.BREAKFAST).orElse(null));
+        verify(dataAccess, times(1)).saveSchedule(schedule);
+    }
+
+    @Test
+    public void testNothingAppliedSkipsSave() {
+        Schedule schedule = new Schedule("schedule-1", "user-1");
+        when(dataAccess.getUserSchedule()).thenReturn(schedule);
+
+        interactor.execute(new BatchMealInputData(List.of(MealSlotChange.edit(monday, MealType.LUNCH, "recipe-1"))));
+
+        verify(dataAccess, never()).saveSchedule(any());
+        verify(presenter).presentBatchSuccess(argThat(output -> output.getAppliedCount() == 0));
+    }
+
+    @Test
+    public void testEmptyBatchIsRejected() {
+        interactor.execute(new BatchMealInputData(List.of()));
+
+        verify(presenter).presentBatchError(contains("No meal changes"));
+        verify(dataAccess, never()).getUserSchedule();
+    }
+}
@@ -0,0 +1,125 @@
+package com.mealplanner.use_case.manage_meal_plan;
+
+import com.mealplanner.entity.MealType;
+import com.mealplanner.entity.Schedule;
+import com.mealplanner.exception.ConcurrentUpdateException;
+import com.mealplanner.use_case.manage_meal_plan.add.AddMealDataAccessInterface;
+import com.mealplanner.use_case.manage_meal_plan.add.AddMealInputData;
+import com.mealplanner.use_case.manage_meal_plan.add.AddMealInteractor;
+import com.mealplanner.use_case.manage_meal_plan.add.AddMealOutputBoundary;
+import com.mealplanner.use_case.manage_meal_plan.add.AddMealOutputData;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ScheduleLockManager.
+ * Tests that concurrent read-modify-write of a schedule loses no updates.
+ *
+ * Responsible: Grace (primary)
+ */
+public class ScheduleLockManagerTest {
+
+    /**
+     * In-memory schedule store with the same optimistic version check as the file DAO.
+     */
+    private static class VersionedStore implements AddMealDataAccessInterface {
+        private Schedule stored = new Schedule("schedule-1", "user-1", Collections.emptyMap(), 1L);
+        private final AtomicInteger conflicts = new AtomicInteger();
+
+        @Override
+        public synchronized Schedule getUserSchedule() {
+            return stored.copy();
+        }
+
+        @Override
+        public synchronized void saveSchedule(Schedule schedule) {
+            if (schedule.getVersion() > 0 && schedule.getVersion() != stored.getVersion()) {
+                conflicts.incrementAndGet();
+                throw new ConcurrentUpdateException(schedule.getScheduleId(), schedule.getVersion(), stored.getVersion());
+            }
+            schedule.setVersion(stored.getVersion() + 1);
+            stored = schedule.copy();
+        }
+    }
+
+    private static class CountingPresenter implements AddMealOutputBoundary {
+        private final AtomicInteger successes = new AtomicInteger();
+        private final List<String> errors = new ArrayList<>();
+
+        @Override
+        public void presentAddSuccess(AddMealOutputData outputData) {
+            successes.incrementAndGet();
+        }
+
+        @Override
+        public synchronized void presentAddError(String error) {
+            errors.add(error);
+        }
+    }
+
+    @Test
+    public void testConcurrentAddsOnSameUserAreAllApplied() throws Exception {
+        VersionedStore store = new VersionedStore();
+        CountingPresenter presenter = new CountingPresenter();
+        AddMealInteractor interactor = new AddMealInteractor(store, presenter, new ScheduleLockManager(8));
+        LocalDate start = LocalDate.of(2025, 12, 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int day = 0; day < 20; day++) {
+            LocalDate date = start.plusDays(day);
+            for (MealType mealType : MealType.values()) {
+                futures.add(executor.submit(() ->
+                        interactor.execute(new AddMealInputData(date, mealType, "recipe-" + date))));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertTrue(presenter.errors.isEmpty(), presenter.errors.toString());
+        assertEquals(futures.size(), presenter.successes.get());
+        assertEquals(futures.size(), store.getUserSchedule().getMealCount());
+    }
+
+    @Test
+    public void testUpdateRetriesAfterConcurrentUpdate() {
+        VersionedStore store = new VersionedStore();
+        ScheduleLockManager lockManager = new ScheduleLockManager(4);
+        AtomicInteger attempts = new AtomicInteger();
+
+        int mealCount = lockManager.update(store::getUserSchedule, schedule -> {
+            if (attempts.incrementAndGet() == 1) {
+                // Another writer (e.g. a different process) saves in between
+                Schedule other = store.getUserSchedule();
+                other.addMeal(LocalDate.of(2025, 12, 1), MealType.LUNCH, "recipe-other");
+                store.saveSchedule(other);
+            }
+            schedule.addMeal(LocalDate.of(2025, 12, 1), MealType.DINNER, "recipe-mine");
+            store.saveSchedule(schedule);
+            return schedule.getMealCount();
+        });
+
+        assertEquals(2, attempts.get());
+        assertEquals(2, mealCount);
+        assertEquals(1, store.conflicts.get());
+    }
+
+    @Test
+    public void testSameKeyMapsToSameLock() {
+        ScheduleLockManager lockManager = new ScheduleLockManager(16);
+        assertSame(lockManager.lockFor("user-1"), lockManager.lockFor("user-1"));
+        assertNotNull(lockManager.lockFor(null));
+    }
+}
@@ -0,0 +1,114 @@
+package com.mealplanner.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Test class for AtomicFileWriter.
+ * Tests that writes replace files completely and never leave partial or temp files behind.
+ *
+ * Responsible: Everyone (shared utility)
+ */
+public class AtomicFileWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testWriteReplacesExistingFile() throws IOException {
+        Path target = tempDir.resolve("schedule.json");
+        AtomicFileWriter.write(target, "{\"version\": 1}");
+        AtomicFileWriter.write(target, writer -> writer.write("{\"version\": 2}"));
+
+        assertEquals("{\"version\": 2}", Files.readString(target));
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    public void testFailedWriteKeepsOldContent() throws IOException {
+        Path target = tempDir.resolve("schedule.json");
+        AtomicFileWriter.write(target, "original");
+
+        assertThrows(IOException.class, () -> AtomicFileWriter.write(target, writer -> {
+            writer.write("partial");
+            throw new IOException("disk full");
+        }));
+
+        assertEquals("original", Files.readString(target));
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    public void testBatchCommitsNothingWhenOneWriteFails() throws IOException {
+        Path first = tempDir.resolve("a.json");
+        Path second = tempDir.resolve("b.json");
+
+        AtomicFileWriter.Batch batch = AtomicFileWriter.batch()
+                .add(first, "a")
+                .add(second, writer -> {
+                    throw new IOException("disk full");
+                });
+        assertThrows(IOException.class, batch::commit);
+        assertFalse(Files.exists(first));
+        assertEquals(0, countFiles());
+
+        AtomicFileWriter.batch().add(first, "a").add(second, "b").commit();
+        assertEquals("a", Files.readString(first));
+        assertEquals("b", Files.readString(second));
+    }
+
+    @Test
+    public void testBatchLeavesNoTempFilesWhenRenameFails() throws IOException {
+        Path first = tempDir.resolve("a.json");
+        // A non-empty directory cannot be replaced by a file
+        Path blocked = tempDir.resolve("b.json");
+        Files.createDirectory(blocked);
+        Files.writeString(blocked.resolve("inside"), "x");
+        Path third = tempDir.resolve("c.json");
+
+        AtomicFileWriter.Batch batch = AtomicFileWriter.batch().add(first, "a").add(blocked, "b").add(third, "c");
+        assertThrows(IOException.class, batch::commit);
+
+        assertEquals("a", Files.readString(first));
+        assertFalse(Files.exists(third));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertTrue(files.noneMatch(path -> path.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    public void testWriteKeepsTargetPermissions() throws IOException {
+        Path target = tempDir.resolve("user.json");
+        assumeTrue(Files.getFileAttributeView(tempDir, PosixFileAttributeView.class) != null);
+        Files.writeString(target, "old");
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(target, permissions);
+
+        AtomicFileWriter.write(target, "new");
+        assertEquals(permissions, Files.getPosixFilePermissions(target));
+
+        // A new file is not left owner-only
+        Files.setPosixFilePermissions(tempDir, PosixFilePermissions.fromString("rwxr-xr-x"));
+        Path created = tempDir.resolve("recipe.json");
+        AtomicFileWriter.write(created, "{}");
+        assertEquals(PosixFilePermissions.fromString("rw-r--r--"), Files.getPosixFilePermissions(created));
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+}
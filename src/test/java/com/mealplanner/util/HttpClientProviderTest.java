@@ -0,0 +1,165 @@
+package com.mealplanner.util;
+
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for HttpClientProvider.
+ * Tests the shared connection pool, timeouts, per-host concurrency limit, call metrics and
+ * asynchronous calls.
+ *
+ * Responsible: Everyone (shared utility)
+ */
+public class HttpClientProviderTest {
+
+    private HttpServer server;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private final CountDownLatch hangReleased = new CountDownLatch(1);
+    private String baseUrl;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/slow", exchange -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/hang", exchange -> {
+            try {
+                hangReleased.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        hangReleased.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void testClientsShareConnectionPool() {
+        HttpClientProvider provider = new HttpClientProvider(4, 60, 2, 5);
+        OkHttpClient timed = provider.withTimeout(7);
+
+        assertSame(provider.getClient().connectionPool(), timed.connectionPool());
+        assertSame(provider.getClient().dispatcher(), timed.dispatcher());
+        assertEquals(7_000, timed.callTimeoutMillis());
+        assertEquals(7_000, timed.readTimeoutMillis());
+        assertEquals(5_000, timed.connectTimeoutMillis());
+    }
+
+    @Test
+    public void testConcurrentCallsPerHostAreLimited() throws Exception {
+        HttpClientProvider provider = new HttpClientProvider(4, 60, 2, 5);
+        OkHttpClient client = provider.getClient();
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(executor.submit(() -> {
+                try (Response response = client.newCall(new Request.Builder().url(baseUrl + "/slow").build()).execute()) {
+                    return response.body().string();
+                }
+            }));
+        }
+        for (Future<String> future : futures) {
+            assertEquals("ok", future.get());
+        }
+        executor.shutdown();
+
+        assertTrue(maxActive.get() <= 2, "max concurrent calls was " + maxActive.get());
+    }
+
+    @Test
+    public void testMetricsArePerHost() throws Exception {
+        HttpClientProvider provider = new HttpClientProvider(4, 60, 2, 5);
+        OkHttpClient client = provider.getClient();
+
+        try (Response response = client.newCall(new Request.Builder().url(baseUrl + "/slow").build()).execute()) {
+            assertTrue(response.isSuccessful());
+        }
+        try (Response response = client.newCall(new Request.Builder().url(baseUrl + "/missing").build()).execute()) {
+            assertEquals(404, response.code());
+        }
+
+        HttpClientProvider.HostMetrics metrics = provider.getMetrics().get("127.0.0.1");
+        assertNotNull(metrics);
+        assertEquals(2, metrics.getCalls());
+        assertEquals(1, metrics.getFailures());
+        assertTrue(metrics.getMaxMillis() >= 100);
+    }
+
+    @Test
+    public void testCallAsyncCompletesWithHandlerResult() throws Exception {
+        HttpClientProvider provider = new HttpClientProvider(4, 60, 2, 5);
+        Request request = new Request.Builder().url(baseUrl + "/slow").build();
+
+        CompletableFuture<String> body = HttpClientProvider.callAsync(provider.getClient(), request,
+                response -> response.body().string());
+        CompletableFuture<Integer> missing = HttpClientProvider.callAsync(provider.getClient(),
+                new Request.Builder().url(baseUrl + "/missing").build(), Response::code);
+
+        assertEquals("ok", body.get(2, TimeUnit.SECONDS));
+        assertEquals(404, missing.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testTimedOutAsyncCallIsCancelled() throws Exception {
+        HttpClientProvider provider = new HttpClientProvider(4, 60, 2, 5);
+        OkHttpClient client = provider.getClient();
+        Request request = new Request.Builder().url(baseUrl + "/hang").build();
+
+        CompletableFuture<String> future = HttpClientProvider.callAsync(client, request, response -> "done")
+                .orTimeout(100, TimeUnit.MILLISECONDS);
+
+        assertThrows(Exception.class, () -> future.get(2, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (client.dispatcher().runningCallsCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, client.dispatcher().runningCallsCount());
+    }
+}
@@ -0,0 +1,108 @@
+package com.mealplanner.util;
+
+import com.mealplanner.data_access.api.ApiResponseParser;
+import com.mealplanner.entity.Recipe;
+import com.mealplanner.repository.impl.InMemoryRecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for IngredientAutocomplete and PrefixTrie.
+ * Tests popularity-ranked completions and incremental updates as recipes change.
+ *
+ * Responsible: Everyone (shared utility)
+ */
+public class IngredientAutocompleteTest {
+
+    private InMemoryRecipeRepository repository;
+    private IngredientAutocomplete autocomplete;
+
+    private static Recipe recipe(String id, String... ingredients) {
+        return new Recipe("Recipe " + id, List.of(ingredients), "Cook it.", 2, null, null, null, id);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        repository = new InMemoryRecipeRepository();
+        repository.save(recipe("1", "2 cloves garlic, minced", "1 tbsp olive oil", "200 g pasta"));
+        repository.save(recipe("2", "3 cloves garlic", "4 tomatoes", "fresh basil"));
+        repository.save(recipe("3", "1 onion", "1 tsp garlic powder", "2 tbsp olive oil"));
+        autocomplete = new IngredientAutocomplete(repository);
+        autocomplete.load();
+    }
+
+    @Test
+    public void testTrieRanksByWeightThenName() {
+        PrefixTrie trie = new PrefixTrie(3);
+        trie.add("garlic", 5);
+        trie.add("garam masala", 1);
+        trie.add("garlic powder", 2);
+        trie.add("ginger", 4);
+
+        assertEquals(List.of("garlic", "ginger", "garlic powder"), trie.complete("g", 10));
+        assertEquals(List.of("garlic", "garlic powder"), trie.complete("garl", 10));
+        assertEquals(List.of("garlic"), trie.complete("ga", 1));
+        assertTrue(trie.complete("x", 10).isEmpty());
+
+        // Lowering a cached completion lets the next best one in
+        trie.add("garlic", -5);
+        assertEquals(List.of("ginger", "garlic powder", "garam masala"), trie.complete("", 10));
+        assertEquals(0, trie.weight("garlic"));
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    public void testNormalizeNameKeepsBareIngredient() {
+        assertEquals("garlic", IngredientAutocomplete.normalizeName("2 cloves garlic, minced"));
+        assertEquals("butter", IngredientAutocomplete.normalizeName("3 tbsp Butter (softened)"));
+        assertEquals("basil", IngredientAutocomplete.normalizeName("fresh basil"));
+        assertEquals("", IngredientAutocomplete.normalizeName("  "));
+    }
+
+    @Test
+    public void testSuggestsMostUsedIngredientsFirst() {
+        assertEquals(List.of("garlic", "garlic powder"), autocomplete.suggest("Gar", 5));
+        assertEquals(List.of("olive oil"), autocomplete.suggest("olive ", 5));
+        assertEquals(List.of("garlic"), autocomplete.suggest("g", 1));
+        assertTrue(autocomplete.suggest(" ", 5).isEmpty());
+    }
+
+    @Test
+    public void testFollowsSavedAndDeletedRecipes() {
+        repository.save(recipe("4", "1 tsp garlic powder", "2 tsp garlic powder", "1 tsp ginger"));
+        repository.save(recipe("5", "garlic powder"));
+        autocomplete.onDataChanged(Set.of("4", "5"), Set.of());
+        // Counted once per recipe: powder is now in three recipes, plain garlic in two
+        assertEquals(List.of("garlic powder", "garlic"), autocomplete.suggest("garlic", 5));
+        assertEquals(List.of("ginger"), autocomplete.suggest("gi", 5));
+
+        repository.delete("4");
+        autocomplete.onDataChanged(Set.of(), Set.of("4"));
+        assertTrue(autocomplete.suggest("gi", 5).isEmpty());
+        assertEquals(List.of("garlic", "garlic powder"), autocomplete.suggest("garlic", 5));
+    }
+
+    @Test
+    public void testCountsNamesFromCachedApiResponses() {
+        String body = "{\"results\":[{\"id\":1,\"extendedIngredients\":[{\"name\":\"Ginger\"},{\"name\":\"garlic\"}]}],"
+                + "\"other\":{\"missedIngredients\":[{\"nameClean\":\"ginger\",\"name\":\"fresh ginger\"}]}}";
+        List<String> names = new ArrayList<>(ApiResponseParser.parseIngredientNames(body));
+        Collections.sort(names);
+        assertEquals(List.of("Ginger", "garlic", "ginger"), names);
+        assertTrue(ApiResponseParser.parseIngredientNames("not json").isEmpty());
+
+        autocomplete.addNames(ApiResponseParser.parseIngredientNames(body));
+        assertEquals(List.of("garlic", "ginger", "garlic powder"), autocomplete.suggest("g", 5));
+
+        // Reloading the catalog keeps the API names
+        autocomplete.load();
+        assertEquals(List.of("ginger"), autocomplete.suggest("gi", 5));
+    }
+}
@@ -0,0 +1,96 @@
+package com.mealplanner.util;
+
+import com.mealplanner.entity.DietaryRestriction;
+import com.mealplanner.entity.NutritionInfo;
+import com.mealplanner.entity.Recipe;
+import com.mealplanner.util.RecipeFacetIndex.CalorieRange;
+import com.mealplanner.util.RecipeFacetIndex.CookTimeBucket;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RecipeFacetIndex.
+ * Tests filtering and facet counts by category, diet, cook time and calories.
+ *
+ * Responsible: Everyone (shared utility)
+ */
+public class RecipeFacetIndexTest {
+
+    private static Recipe recipe(String id, String name, Integer cookTime, int calories, DietaryRestriction... diets) {
+        NutritionInfo nutrition = calories > 0 ? new NutritionInfo(calories, 10, 10, 10) : null;
+        return new Recipe(name, List.of("1 ingredient"), "Cook it.", 2, nutrition, cookTime, List.of(diets), id);
+    }
+
+    private static List<String> ids(List<Recipe> recipes) {
+        return recipes.stream().map(Recipe::getRecipeId).collect(Collectors.toList());
+    }
+
+    private final RecipeFacetIndex index = new RecipeFacetIndex(List.of(
+            recipe("1", "Blueberry Pancakes", 20, 450, DietaryRestriction.VEGETARIAN),
+            recipe("2", "Chicken Caesar Salad", 15, 550, DietaryRestriction.GLUTEN_FREE),
+            recipe("3", "Lentil Soup", 45, 320, DietaryRestriction.VEGAN, DietaryRestriction.GLUTEN_FREE),
+            recipe("4", "Grilled Steak", 10, 900),
+            recipe("5", "Chocolate Cake", 90, 0, DietaryRestriction.VEGETARIAN)));
+
+    @Test
+    public void testFilterByCategoryKeepsOrder() {
+        assertEquals(List.of("1"), ids(index.filter("Breakfast")));
+        assertEquals(List.of("2", "3"), ids(index.filter("Lunch")));
+        assertEquals(List.of("2", "4"), ids(index.filter("Dinner")));
+        assertEquals(List.of("1", "2", "3", "4", "5"), ids(index.filter("All")));
+        assertEquals(5, index.filter(null).size());
+        assertEquals(5, index.filter("Brunch").size());
+        assertTrue(index.filter("Snacks").isEmpty());
+    }
+
+    @Test
+    public void testVegetarianAndVeganUseDietsAndNames() {
+        // Tagged recipes count even if their name mentions dairy; untagged ones go by name
+        assertEquals(List.of("1", "3", "5"), ids(index.filter("Vegetarian")));
+        assertEquals(List.of("1", "3", "5"), ids(index.filter("Vegan")));
+
+        RecipeFacetIndex milky = new RecipeFacetIndex(List.of(
+                recipe("6", "Milk Chocolate Mousse", null, 0, DietaryRestriction.VEGETARIAN)));
+        assertEquals(1, milky.filter("Vegetarian").size());
+        assertTrue(milky.filter("Vegan").isEmpty());
+    }
+
+    @Test
+    public void testMeatAndFishNamesAreNeitherVegetarianNorVegan() {
+        RecipeFacetIndex untagged = new RecipeFacetIndex(List.of(
+                recipe("7", "Grilled Steak", null, 0),
+                recipe("8", "Bacon Sandwich", null, 0),
+                recipe("9", "Fish Tacos", null, 0),
+                recipe("10", "Pork Dumplings", null, 0),
+                recipe("11", "Bean Chili", null, 0)));
+
+        assertEquals(List.of("11"), ids(untagged.filter("Vegetarian")));
+        assertEquals(List.of("11"), ids(untagged.filter("Vegan")));
+    }
+
+    @Test
+    public void testCombinesFacets() {
+        assertEquals(List.of("2", "3"), ids(index.filter(null, EnumSet.of(DietaryRestriction.GLUTEN_FREE), null, null)));
+        assertEquals(List.of("3"), ids(index.filter("Lunch",
+                EnumSet.of(DietaryRestriction.GLUTEN_FREE, DietaryRestriction.VEGAN), null, null)));
+        assertEquals(List.of("1", "2"), ids(index.filter(null, null, CookTimeBucket.UNDER_30_MIN, CalorieRange.FROM_300_TO_600)));
+        assertEquals(List.of("5"), ids(index.filter(null, null, CookTimeBucket.OVER_60_MIN, CalorieRange.UNKNOWN)));
+        assertEquals(1, index.count("Dinner", null, null, CalorieRange.OVER_900));
+    }
+
+    @Test
+    public void testFacetCounts() {
+        assertEquals(1, index.getCategoryCounts().get("Breakfast"));
+        assertEquals(0, index.getCategoryCounts().get("Snacks"));
+        assertEquals(List.copyOf(RecipeFacetIndex.CATEGORIES), List.copyOf(index.getCategoryCounts().keySet()));
+        assertEquals(2, index.getDietCounts().get(DietaryRestriction.GLUTEN_FREE));
+        assertEquals(1, index.getCookTimeCounts().get(CookTimeBucket.UNDER_15_MIN));
+        assertEquals(1, index.getCalorieCounts().get(CalorieRange.UNKNOWN));
+        assertEquals(0, new RecipeFacetIndex(null).size());
+    }
+}
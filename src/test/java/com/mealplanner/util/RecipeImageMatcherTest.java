@@ -0,0 +1,73 @@
+package com.mealplanner.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RecipeImageMatcher.
+ * Tests exact, case-insensitive and trigram-based matching of recipe names to image files.
+ *
+ * Responsible: Everyone (shared utility)
+ */
+public class RecipeImageMatcherTest {
+
+    private final RecipeImageMatcher.ImageIndex index = new RecipeImageMatcher.ImageIndex(List.of(
+            "Avocado Toast.jpg", "Beef Stir Fry.jpg", "Classic Scrambled Eggs.jpg", "French Toast.jpg",
+            "Spaghetti Carbonara.jpg", "Vegetable Stir Fry.jpg", "Mexican-Style Stuffed Bell Peppers.png"));
+
+    @Test
+    public void testExactAndCaseInsensitiveMatch() {
+        assertEquals("/recipe_images/Avocado Toast.jpg", index.find("Avocado Toast"));
+        assertEquals("/recipe_images/Avocado Toast.jpg", index.find("  avocado   TOAST! "));
+        assertEquals("/recipe_images/Mexican-Style Stuffed Bell Peppers.png", index.find("mexican-style stuffed bell peppers"));
+    }
+
+    @Test
+    public void testPartialMatchByContainment() {
+        // Prefix removed, then the image name is contained in the recipe name
+        assertEquals("/recipe_images/French Toast.jpg", index.find("Classic French Toast with Berries"));
+        assertEquals("/recipe_images/Classic Scrambled Eggs.jpg", index.find("Scrambled Eggs"));
+        // Several images contain it: the closest one wins
+        assertEquals("/recipe_images/French Toast.jpg", index.find("Toast"));
+    }
+
+    @Test
+    public void testFuzzyMatchPicksMostSimilarImage() {
+        assertEquals("/recipe_images/Spaghetti Carbonara.jpg", index.find("Spagetti Carbonarra"));
+        assertEquals("/recipe_images/Vegetable Stir Fry.jpg", index.find("Vegetables Stir-Fry"));
+        assertEquals("/recipe_images/Beef Stir Fry.jpg", index.find("Beef Stir Fry Bowl"));
+    }
+
+    @Test
+    public void testDissimilarNamesDoNotMatch() {
+        assertNull(index.find("Beef Wellington"));
+        assertNull(index.find("Chicken Tikka Masala"));
+        // Memoized misses stay misses
+        assertNull(index.find("Beef Wellington"));
+    }
+
+    @Test
+    public void testCachedResultsAreBounded() {
+        index.find("Avocado Toast");
+        index.find("  Avocado   Toast! ");
+        assertEquals(1, index.cachedResultCount(), "Names are cached by their normalized form");
+
+        for (int i = 0; i < 1500; i++) {
+            index.find("Search Result " + i);
+        }
+        assertTrue(index.cachedResultCount() <= 1000);
+        assertEquals("/recipe_images/Avocado Toast.jpg", index.find("Avocado Toast"));
+    }
+
+    @Test
+    public void testFindImageUrlUsesRecipeImagesResources() {
+        RecipeImageMatcher.clearCache();
+
+        assertEquals("/recipe_images/Authentic Greek Salad.jpg", RecipeImageMatcher.findImageUrl("authentic greek salad"));
+        assertNull(RecipeImageMatcher.findImageUrl(" "));
+        assertNull(RecipeImageMatcher.findImageUrl(null));
+    }
+}
@@ -0,0 +1,123 @@
+package com.mealplanner.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TaskScheduler.
+ * Tests priority ordering, superseding of keyed tasks and metrics.
+ *
+ * Responsible: Everyone (shared utility)
+ */
+public class TaskSchedulerTest {
+
+    private final TaskScheduler scheduler = new TaskScheduler(1, 2);
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testHigherPriorityRunsFirst() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        // Occupy the only worker so the following tasks queue up
+        scheduler.submit(TaskScheduler.Priority.NORMAL, () -> awaitQuietly(blocker));
+        Future<?> prefetch = scheduler.submit(TaskScheduler.Priority.PREFETCH, () -> order.add("prefetch"));
+        Future<?> normal = scheduler.submit(TaskScheduler.Priority.NORMAL, () -> order.add("normal"));
+        Future<?> critical = scheduler.submit(TaskScheduler.Priority.UI_CRITICAL, () -> order.add("critical"));
+        blocker.countDown();
+
+        prefetch.get(5, TimeUnit.SECONDS);
+        normal.get(5, TimeUnit.SECONDS);
+        critical.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("critical", "normal", "prefetch"), order);
+    }
+
+    @Test
+    public void testNewTaskSupersedesTaskWithSameKey() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+        List<String> results = new CopyOnWriteArrayList<>();
+
+        scheduler.submit(TaskScheduler.Priority.NORMAL, () -> awaitQuietly(blocker));
+        Future<?> first = scheduler.submit("search", TaskScheduler.Priority.UI_CRITICAL, () -> results.add("first"));
+        Future<?> second = scheduler.submit("search", TaskScheduler.Priority.UI_CRITICAL, () -> results.add("second"));
+        blocker.countDown();
+
+        second.get(5, TimeUnit.SECONDS);
+        assertTrue(first.isCancelled());
+        assertEquals(List.of("second"), results);
+        assertEquals(1, scheduler.getMetrics().getCancelled());
+    }
+
+    @Test
+    public void testSupersededRunningTaskIsNotInterrupted() throws Exception {
+        scheduler.shutdown();
+        TaskScheduler twoWorkers = new TaskScheduler(2, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch cancelActionRan = new CountDownLatch(1);
+        List<Boolean> observed = new CopyOnWriteArrayList<>();
+
+        try {
+            Future<?> first = twoWorkers.submit("refresh", TaskScheduler.Priority.NORMAL, () -> {
+                TaskScheduler.onCurrentTaskCancelled(cancelActionRan::countDown);
+                started.countDown();
+                awaitQuietly(release);
+                observed.add(Thread.currentThread().isInterrupted());
+                observed.add(TaskScheduler.isCurrentTaskCancelled());
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<?> second = twoWorkers.submit("refresh", TaskScheduler.Priority.NORMAL, () -> { });
+
+            assertTrue(cancelActionRan.await(5, TimeUnit.SECONDS));
+            assertTrue(first.isCancelled());
+            release.countDown();
+            second.get(5, TimeUnit.SECONDS);
+            waitForSize(observed, 2);
+            assertEquals(List.of(false, true), observed);
+        } finally {
+            twoWorkers.shutdown();
+        }
+    }
+
+    @Test
+    public void testPrefetchRejectedWhenQueueFull() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+
+        scheduler.submit(TaskScheduler.Priority.NORMAL, () -> awaitQuietly(blocker));
+        scheduler.submit(TaskScheduler.Priority.NORMAL, () -> { });
+        scheduler.submit(TaskScheduler.Priority.NORMAL, () -> { });
+        Future<?> prefetch = scheduler.submit(TaskScheduler.Priority.PREFETCH, () -> { });
+
+        assertTrue(prefetch.isCancelled());
+        assertEquals(2, scheduler.getQueueDepth());
+        assertEquals(1, scheduler.getMetrics().getRejected());
+        blocker.countDown();
+    }
+
+    private static void waitForSize(List<?> list, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (list.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}